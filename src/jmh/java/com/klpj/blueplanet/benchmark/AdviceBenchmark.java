@@ -0,0 +1,69 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.hint.Hint;
+import com.klpj.blueplanet.model.services.AdviceCache;
+import com.klpj.blueplanet.model.services.GptService;
+import com.klpj.blueplanet.model.services.HintService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조언 요청에서 모델 호출을 뺀 부분: 상태 조회, 힌트 계산, 캐시 키 생성(질문 정규화), 캐시 조회.
+ * 네트워크 호출은 측정 대상이 아니므로 같은 키의 응답을 미리 캐시에 넣어 두고 적중 경로만 잽니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdviceBenchmark {
+
+    private static final String TITLE = "공장 폐수 문제";
+    private static final String CONTENT = "  이번 선택에서 수질을 지키려면 어떤 선택지가 좋을까요?  ";
+
+    private BenchmarkContext bench;
+    private GptService gptService;
+    private Long userId;
+    private Long eventId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bench = BenchmarkContext.start();
+        gptService = bench.bean(GptService.class);
+        AdviceCache adviceCache = bench.bean(AdviceCache.class);
+
+        userId = bench.playGame(3);
+        eventId = bench.catalog.getEvents().get(0).getId();
+
+        UserStatus status = adviceCache.representative(bench.gameSessionCache.getStatus(userId));
+        Hint hint = bench.bean(HintService.class).hint(bench.catalog, status, eventId, HintService.DEFAULT_TARGET_ENDING);
+        AdviceCache.Key key = adviceCache.keyOf(bench.catalog.getVersion(), eventId, status,
+                hint.recommendedChoiceId(), TITLE, CONTENT);
+        adviceCache.getOrLoad(key, () -> CompletableFuture.completedFuture("미리 넣어 둔 조언"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bench.close();
+    }
+
+    @Benchmark
+    public String cachedAdvice() {
+        return gptService.askAdviceAsync(userId, eventId, TITLE, CONTENT).join();
+    }
+}
@@ -0,0 +1,84 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.BlueplanetApplication;
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.services.ContentCatalogService;
+import com.klpj.blueplanet.model.services.GameService;
+import com.klpj.blueplanet.model.session.GameSessionCache;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트.
+ * 인메모리 H2에 실제 XLSX 콘텐츠를 적재(DataInitializer)하고 카탈로그를 로딩한 상태로 시작합니다.
+ * 웹 서버는 띄우지 않고, 세션 주기 flush는 측정에 끼어들지 않도록 꺼 둡니다.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    final ConfigurableApplicationContext context;
+    final GameService gameService;
+    final GameSessionCache gameSessionCache;
+    final ContentCatalog catalog;
+
+    // 이벤트마다 선택지 하나씩 (이벤트 순서대로, 선택지 위치는 돌아가며)
+    final List<Choice> choices = new ArrayList<>();
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.gameService = context.getBean(GameService.class);
+        this.gameSessionCache = context.getBean(GameSessionCache.class);
+        this.catalog = context.getBean(ContentCatalogService.class).current();
+        for (Event event : catalog.getEvents()) {
+            List<Choice> eventChoices = catalog.getChoices(event.getId());
+            if (!eventChoices.isEmpty()) {
+                choices.add(eventChoices.get(choices.size() % eventChoices.size()));
+            }
+        }
+        if (choices.isEmpty()) {
+            throw new IllegalStateException("콘텐츠가 적재되지 않았습니다");
+        }
+    }
+
+    static BenchmarkContext start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlueplanetApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "game.session.flush-interval-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        return new BenchmarkContext(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 새 게임을 시작하고 turns번 선택한 뒤 DB까지 반영합니다. 선택지는 {@link #choices}에서 차례로 고릅니다.
+     */
+    Long playGame(int turns) {
+        Long userId = gameService.startNewGame().getUserStatus().getUserId();
+        for (int i = 0; i < turns; i++) {
+            gameService.processChoice(userId, choices.get(i % choices.size()).getId());
+        }
+        gameSessionCache.flush(userId);
+        return userId;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
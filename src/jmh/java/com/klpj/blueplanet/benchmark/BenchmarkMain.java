@@ -0,0 +1,30 @@
+package com.klpj.blueplanet.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 벤치마크 실행 진입점 (mvn -Pjmh verify).
+ * 모든 벤치마크에 GC 프로파일러를 붙여 처리량과 함께 할당량(gc.alloc.rate, gc.alloc.rate.norm = bytes/op)을 보고하고,
+ * 결과를 target/jmh-result.json으로 남겨 이전 실행과 비교할 수 있게 합니다.
+ * 인자는 JMH 명령행 옵션과 같습니다. (예: "ProcessChoice -f 1 -wi 2 -i 3")
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
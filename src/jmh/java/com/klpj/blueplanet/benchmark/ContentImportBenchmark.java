@@ -0,0 +1,102 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.model.importer.ContentSheet;
+import com.klpj.blueplanet.model.importer.XlsxSheetReader;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 콘텐츠 XLSX 한 파일 읽기: 시트 전체를 DOM으로 올리던 XSSFWorkbook 방식과 XlsxSheetReader(SAX 스트리밍) 비교.
+ * workbook은 변경 전 DataInitializer처럼 셀 타입을 보고 숫자/문자열 값을 꺼내고,
+ * streaming은 같은 셀을 XlsxRow로 읽으며, readRows는 DataInitializer가 쓰는 테이블 행 변환까지 포함합니다.
+ * 파일 바이트는 미리 읽어 두므로 클래스패스 I/O는 포함하지 않습니다. 할당량은 GC 프로파일러의 gc.alloc.rate.norm으로 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentImportBenchmark {
+
+    @Param({"Events", "Choices", "Endings", "Tooltips", "SpecialEvents", "SpecialEventConditions"})
+    public String sheetName;
+
+    private ContentSheet sheet;
+    private byte[] bytes;
+    private int columns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        sheet = ContentSheet.ALL.stream()
+                .filter(s -> s.name().equals(sheetName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 시트: " + sheetName));
+        try (InputStream in = ContentImportBenchmark.class.getResourceAsStream(sheet.path())) {
+            if (in == null) {
+                throw new IllegalStateException("콘텐츠 파일이 없습니다: " + sheet.path());
+            }
+            bytes = in.readAllBytes();
+        }
+        columns = sheet.columns().size();
+    }
+
+    @Benchmark
+    public void workbook(Blackhole blackhole) throws IOException {
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            for (Row row : wb.getSheetAt(0)) {
+                for (int column = 0; column < columns; column++) {
+                    Cell cell = row.getCell(column);
+                    if (cell == null) {
+                        continue;
+                    }
+                    if (cell.getCellType() == CellType.NUMERIC) {
+                        blackhole.consume(cell.getNumericCellValue());
+                    } else if (cell.getCellType() == CellType.STRING) {
+                        blackhole.consume(cell.getStringCellValue());
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws IOException {
+        XlsxSheetReader.read(new ByteArrayInputStream(bytes), row -> {
+            for (int column = 0; column < columns; column++) {
+                if (row.isNumeric(column)) {
+                    blackhole.consume(row.getNumber(column));
+                } else {
+                    blackhole.consume(row.getString(column));
+                }
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Object[]> readRows() {
+        return sheet.readRows(bytes);
+    }
+}
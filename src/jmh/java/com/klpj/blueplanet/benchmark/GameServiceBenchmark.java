@@ -0,0 +1,88 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.responses.NextEventResponse;
+import com.klpj.blueplanet.model.rules.GameRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매 턴 호출되는 규칙 판정과 다음 이벤트 선택.
+ * 수치/턴은 고정 시드로 만든 상태 묶음을 돌아가며 사용해 분기 예측이 한 경로에 고정되지 않게 합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+
+    private static final int SAMPLES = 64;
+
+    private BenchmarkContext bench;
+    private UserStatus[] statuses;
+    private Long userId;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bench = BenchmarkContext.start();
+
+        Random random = new Random(42);
+        statuses = new UserStatus[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            UserStatus status = new UserStatus();
+            status.setAir(random.nextInt(101));
+            status.setWater(random.nextInt(101));
+            status.setBiology(random.nextInt(101));
+            status.setPopularity(random.nextInt(101));
+            status.setTurnCount(1 + random.nextInt(GameRules.ENDING_TURN));
+            statuses[i] = status;
+        }
+
+        // 몇 턴 진행한 게임: 남은 이벤트 중에서 고르는 경로를 측정
+        userId = bench.playGame(5);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bench.close();
+    }
+
+    private UserStatus nextStatus() {
+        UserStatus status = statuses[cursor];
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return status;
+    }
+
+    @Benchmark
+    public List<SpecialEvent> triggeredSpecialEvents() {
+        return bench.gameService.getTriggeredSpecialEvents(nextStatus());
+    }
+
+    @Benchmark
+    public int nextEventType() {
+        return bench.gameService.determineNextEventType(nextStatus());
+    }
+
+    @Benchmark
+    public NextEventResponse nextEvent() {
+        return bench.gameService.getNextEvent(userId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.services.DataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메일함 목록 조립 (이벤트 메일 19통 + 조언 메일 5통).
+ * latestPage는 첫 화면, poll은 최신 커서 이후 새 메일이 없는 폴링 요청입니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InboxBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int ADVICE_EMAILS = 5;
+
+    private BenchmarkContext bench;
+    private DataService dataService;
+    private Long userId;
+    private String latestCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bench = BenchmarkContext.start();
+        dataService = bench.bean(DataService.class);
+
+        userId = bench.playGame(GameRules.ENDING_TURN - 1);
+        for (int i = 0; i < ADVICE_EMAILS; i++) {
+            Choice choice = bench.choices.get(i);
+            Long eventId = bench.catalog.getEventOfChoice(choice.getId()).getId();
+            dataService.saveAdviceEmail(userId, eventId, "조언 요청 " + i, "어떤 선택이 좋을까요?");
+        }
+        latestCursor = dataService.getEmailPage(userId, null, null, PAGE_SIZE).latestCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bench.close();
+    }
+
+    @Benchmark
+    public DataService.EmailPage latestPage() {
+        return dataService.getEmailPage(userId, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public DataService.EmailPage poll() {
+        return dataService.getEmailPage(userId, latestCursor, null, PAGE_SIZE);
+    }
+}
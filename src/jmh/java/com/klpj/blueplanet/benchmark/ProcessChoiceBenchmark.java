@@ -0,0 +1,74 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.model.responses.GameUpdateResponse;
+import com.klpj.blueplanet.model.rules.GameRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선택 처리 한 번 = 세션 상태 변경 + H2 반영(flush).
+ * 선택 처리만 잰 값(processChoice)은 세션 캐시가 저장을 미루는 만큼 빠르게 나오므로, flush를 포함한 값과 함께 봅니다.
+ * 한 게임은 엔딩 턴 직전까지만 진행하고 새 게임으로 넘어갑니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessChoiceBenchmark {
+
+    private BenchmarkContext bench;
+    private Long userId;
+    private int turn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bench = BenchmarkContext.start();
+        newGame();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bench.close();
+    }
+
+    private void newGame() {
+        if (userId != null) {
+            bench.gameSessionCache.flush(userId);
+        }
+        userId = bench.gameService.startNewGame().getUserStatus().getUserId();
+        turn = 0;
+    }
+
+    private Long nextChoiceId() {
+        if (turn == GameRules.ENDING_TURN - 1) {
+            newGame();
+        }
+        return bench.choices.get(turn++ % bench.choices.size()).getId();
+    }
+
+    @Benchmark
+    public GameUpdateResponse processChoice() {
+        return bench.gameService.processChoice(userId, nextChoiceId());
+    }
+
+    @Benchmark
+    public GameUpdateResponse processChoiceAndFlush() {
+        GameUpdateResponse response = bench.gameService.processChoice(userId, nextChoiceId());
+        bench.gameSessionCache.flush(userId);
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package com.klpj.blueplanet.benchmark;
+
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.UserChoiceHistory;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.services.SummaryPromptBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔딩 직전(19턴 진행) 게임의 요약 프롬프트 생성.
+ * summarizeUserFlow는 선택 이력 조회(H2)까지 포함하고, promptBuild는 같은 이력으로 문자열 조립만 잽니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SummaryBenchmark {
+
+    private BenchmarkContext bench;
+    private SummaryPromptBuilder summaryPromptBuilder;
+    private Long userId;
+    private UserStatus status;
+    private List<UserChoiceHistory> history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bench = BenchmarkContext.start();
+        summaryPromptBuilder = bench.bean(SummaryPromptBuilder.class);
+
+        int turns = GameRules.ENDING_TURN - 1;
+        userId = bench.playGame(turns);
+        status = bench.gameSessionCache.getStatus(userId);
+
+        history = new ArrayList<>();
+        long chosenAt = System.currentTimeMillis();
+        for (int i = 0; i < turns; i++) {
+            Choice choice = bench.choices.get(i % bench.choices.size());
+            UserChoiceHistory entry = new UserChoiceHistory();
+            entry.setUserStatusId(userId);
+            entry.setEventId(bench.catalog.getEventOfChoice(choice.getId()).getId());
+            entry.setChoiceId(choice.getId());
+            entry.setChosenAt(new Date(chosenAt + i * 1000L));
+            history.add(entry);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bench.close();
+    }
+
+    @Benchmark
+    public String summarizeUserFlow() {
+        return bench.gameService.summarizeUserFlow(userId);
+    }
+
+    @Benchmark
+    public String promptBuild() {
+        return summaryPromptBuilder.build(userId, status, history, bench.catalog);
+    }
+}
@@ -0,0 +1,172 @@
+package com.klpj.blueplanet.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 응답 시간/오류와 초 단위 처리량 곡선을 모읍니다.
+ */
+final class LoadMetrics {
+
+    enum Endpoint {
+        START("GET /game/start"),
+        COMMON("GET /game/common"),
+        SPECIAL("GET /game/special"),
+        CHOICE("POST /game/choice"),
+        ENDING("GET /game/ending"),
+        SUMMARY("GET /gpt/summary");
+
+        final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final Map<String, LongAdder> errorKinds = new ConcurrentHashMap<>();
+    }
+
+    private final long startedAtNanos = System.nanoTime();
+    private final Map<Endpoint, EndpointStats> endpoints = new EnumMap<>(Endpoint.class);
+
+    // 초 단위 곡선 (시작 시점 기준)
+    private final int seconds;
+    private final AtomicLongArray requestsPerSecond;
+    private final AtomicLongArray errorsPerSecond;
+    private final AtomicLongArray gamesPerSecond;
+    private final AtomicLongArray activePlayers;
+    private final AtomicReferenceArray<LatencyHistogram> latencyPerSecond;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final LongAdder gamesFailed = new LongAdder();
+
+    LoadMetrics(int seconds) {
+        this.seconds = seconds;
+        this.requestsPerSecond = new AtomicLongArray(seconds);
+        this.errorsPerSecond = new AtomicLongArray(seconds);
+        this.gamesPerSecond = new AtomicLongArray(seconds);
+        this.activePlayers = new AtomicLongArray(seconds);
+        this.latencyPerSecond = new AtomicReferenceArray<>(seconds);
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint, new EndpointStats());
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAtNanos;
+    }
+
+    private int second() {
+        return (int) Math.min(elapsedNanos() / 1_000_000_000L, seconds - 1);
+    }
+
+    void success(Endpoint endpoint, long micros) {
+        endpoints.get(endpoint).latency.record(micros);
+        int second = second();
+        requestsPerSecond.incrementAndGet(second);
+        latencyAt(second).record(micros);
+    }
+
+    /**
+     * 실패한 요청. 응답 시간은 성공과 같은 히스토그램에 넣지 않습니다. (타임아웃이 백분위를 가리지 않도록)
+     */
+    void error(Endpoint endpoint, String kind) {
+        EndpointStats stats = endpoints.get(endpoint);
+        stats.errors.increment();
+        stats.errorKinds.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        int second = second();
+        requestsPerSecond.incrementAndGet(second);
+        errorsPerSecond.incrementAndGet(second);
+    }
+
+    void playerJoined() {
+        active.incrementAndGet();
+    }
+
+    void playerLeft() {
+        active.decrementAndGet();
+    }
+
+    int activePlayers() {
+        return active.get();
+    }
+
+    /**
+     * 현재 초의 동시 플레이어 수를 기록합니다. (실행 중 주기적으로 호출)
+     */
+    void sampleActivePlayers() {
+        activePlayers.set(second(), active.get());
+    }
+
+    void gameCompleted() {
+        gamesCompleted.increment();
+        gamesPerSecond.incrementAndGet(second());
+    }
+
+    void gameFailed() {
+        gamesFailed.increment();
+    }
+
+    private LatencyHistogram latencyAt(int second) {
+        LatencyHistogram histogram = latencyPerSecond.get(second);
+        if (histogram == null) {
+            latencyPerSecond.compareAndSet(second, null, new LatencyHistogram());
+            histogram = latencyPerSecond.get(second);
+        }
+        return histogram;
+    }
+
+    LoadTestReport report(LoadTestOptions options) {
+        double elapsedSeconds = elapsedNanos() / 1e9;
+
+        List<LoadTestReport.EndpointReport> endpointReports = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats stats = endpoints.get(endpoint);
+            long ok = stats.latency.count();
+            long errors = stats.errors.sum();
+            Map<String, Long> kinds = new TreeMap<>();
+            stats.errorKinds.forEach((kind, n) -> kinds.put(kind, n.sum()));
+            endpointReports.add(new LoadTestReport.EndpointReport(
+                    endpoint.label, ok + errors, errors,
+                    ok + errors == 0 ? 0 : (double) errors / (ok + errors),
+                    (ok + errors) / elapsedSeconds,
+                    millis(stats.latency.meanMicros()),
+                    millis(stats.latency.percentileMicros(50)),
+                    millis(stats.latency.percentileMicros(90)),
+                    millis(stats.latency.percentileMicros(99)),
+                    millis(stats.latency.percentileMicros(99.9)),
+                    millis(stats.latency.maxMicros()),
+                    kinds));
+        }
+
+        List<LoadTestReport.SecondReport> timeline = new ArrayList<>();
+        int last = Math.min((int) Math.ceil(elapsedSeconds), seconds);
+        for (int second = 0; second < last; second++) {
+            LatencyHistogram histogram = latencyPerSecond.get(second);
+            timeline.add(new LoadTestReport.SecondReport(second + 1,
+                    requestsPerSecond.get(second), errorsPerSecond.get(second), gamesPerSecond.get(second),
+                    activePlayers.get(second),
+                    histogram != null ? millis(histogram.percentileMicros(50)) : 0,
+                    histogram != null ? millis(histogram.percentileMicros(99)) : 0));
+        }
+
+        return new LoadTestReport(options, elapsedSeconds, gamesCompleted.sum(), gamesFailed.sum(),
+                endpointReports, timeline);
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,127 @@
+package com.klpj.blueplanet.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.klpj.blueplanet.BlueplanetApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 플레이어로 REST API를 통해 게임을 끝까지 진행하는 부하 테스트 (mvn -Pload-test verify).
+ * 엔드포인트별 응답 시간 백분위/오류율과 초 단위 처리량 곡선을 출력하고 target/load-test-result.json에 남깁니다.
+ *
+ * 인자 (key=value, 모두 선택):
+ *   target=http://host:8080  실행 중인 서버. 없으면 인메모리 H2 + 스텁 LLM으로 애플리케이션을 같은 JVM에 띄움
+ *   players=1000 ramp=10 duration=60 think-ms=0 llm-delay-ms=500 timeout=30 seed=42
+ * 같은 JVM에 띄울 때 서버 설정은 -D로 바꿀 수 있습니다. (예: -Dserver.tomcat.threads.max=400)
+ */
+public final class LoadTestMain {
+
+    // 마감 뒤 진행 중인 게임을 마치기까지 기다리는 최대 시간
+    private static final int DRAIN_SECONDS = 60;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        StubLlmServer llm = null;
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.target().replaceAll("/+$", "");
+        if (options.embedded()) {
+            llm = StubLlmServer.start(options.llmDelayMillis());
+            context = startApplication(llm.baseUrl());
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            LoadTestReport report = run(options, baseUrl);
+            report.print(System.out);
+            if (llm != null) {
+                System.out.printf("%n스텁 LLM 호출 %d회%n", llm.requests());
+            }
+
+            Path output = Path.of("target", "load-test-result.json");
+            Files.createDirectories(output.getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+            System.out.println("결과: " + output.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (llm != null) {
+                llm.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String llmBaseUrl) {
+        return new SpringApplicationBuilder(BlueplanetApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "openai.base-url=" + llmBaseUrl,
+                        "openai.api-key=load-test",
+                        "openai.max-concurrent-requests=1024",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    static LoadTestReport run(LoadTestOptions options, String baseUrl) {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(options.timeoutSeconds()))
+                .executor(clientExecutor)
+                .build();
+        ObjectMapper mapper = new ObjectMapper();
+
+        int seconds = options.rampSeconds() + options.durationSeconds() + DRAIN_SECONDS + 1;
+        LoadMetrics metrics = new LoadMetrics(seconds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.rampSeconds() + options.durationSeconds());
+
+        // 플레이어를 ramp 동안 고르게 투입하고, 동시 플레이어 수는 200ms마다 기록
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleAtFixedRate(metrics::sampleActivePlayers, 0, 200, TimeUnit.MILLISECONDS);
+        List<CompletableFuture<Void>> players = new ArrayList<>(options.players());
+        long rampNanos = TimeUnit.SECONDS.toNanos(options.rampSeconds());
+        for (int i = 0; i < options.players(); i++) {
+            CompletableFuture<Void> player = new CompletableFuture<>();
+            players.add(player);
+            SimulatedPlayer simulated = new SimulatedPlayer(client, mapper, options, baseUrl, metrics,
+                    options.seed() + i, deadline);
+            long delay = rampNanos * i / options.players();
+            scheduler.schedule(() -> simulated.run().whenComplete((ignored, e) -> player.complete(null)),
+                    delay, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            CompletableFuture.allOf(players.toArray(new CompletableFuture[0]))
+                    .get(options.rampSeconds() + options.durationSeconds() + DRAIN_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.out.printf("마감 뒤 %d초 안에 끝나지 않은 플레이어 %d명%n", DRAIN_SECONDS, metrics.activePlayers());
+        } finally {
+            scheduler.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+        return metrics.report(options);
+    }
+}
@@ -0,0 +1,48 @@
+package com.klpj.blueplanet.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. 인자는 key=value 형식입니다.
+ *
+ * @param target       대상 서버 주소. 비어 있으면 H2 + 스텁 LLM으로 애플리케이션을 같은 JVM에 띄웁니다.
+ * @param players      동시에 게임하는 플레이어 수
+ * @param rampSeconds  플레이어를 모두 투입하기까지 걸리는 시간 (고르게 나눠 투입)
+ * @param durationSeconds 새 게임을 시작하는 시간. 끝나면 진행 중인 게임만 마칩니다.
+ * @param thinkMillis  요청 사이 대기 시간 (실제 사용자가 읽고 고르는 시간)
+ * @param llmDelayMillis 스텁 LLM 응답 시간 (같은 JVM에 띄울 때만)
+ * @param timeoutSeconds 요청 하나의 제한 시간
+ * @param seed         선택지 고르기용 시드
+ */
+record LoadTestOptions(String target, int players, int rampSeconds, int durationSeconds,
+                       long thinkMillis, long llmDelayMillis, int timeoutSeconds, long seed) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("key=value 형식이 아닙니다: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("target", ""),
+                Integer.parseInt(values.getOrDefault("players", "1000")),
+                Integer.parseInt(values.getOrDefault("ramp", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Long.parseLong(values.getOrDefault("think-ms", "0")),
+                Long.parseLong(values.getOrDefault("llm-delay-ms", "500")),
+                Integer.parseInt(values.getOrDefault("timeout", "30")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+        if (options.players < 1 || options.durationSeconds < 1 || options.rampSeconds < 0) {
+            throw new IllegalArgumentException("players, duration은 1 이상, ramp는 0 이상이어야 합니다.");
+        }
+        return options;
+    }
+
+    boolean embedded() {
+        return target.isBlank();
+    }
+}
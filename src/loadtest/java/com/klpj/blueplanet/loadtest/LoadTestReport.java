@@ -0,0 +1,43 @@
+package com.klpj.blueplanet.loadtest;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과. 시간 값은 모두 ms입니다.
+ *
+ * @param timeline 초 단위 처리량 곡선 (플레이어 투입 구간을 포함)
+ */
+record LoadTestReport(LoadTestOptions options, double elapsedSeconds, long gamesCompleted, long gamesFailed,
+                      List<EndpointReport> endpoints, List<SecondReport> timeline) {
+
+    record EndpointReport(String endpoint, long requests, long errors, double errorRate, double requestsPerSecond,
+                          double mean, double p50, double p90, double p99, double p999, double max,
+                          Map<String, Long> errorKinds) {
+    }
+
+    record SecondReport(int second, long requests, long errors, long gamesCompleted, long activePlayers,
+                        double p50, double p99) {
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n플레이어 %d명, %.1f초: 완료 게임 %d (%.1f/s), 실패 게임 %d%n",
+                options.players(), elapsedSeconds, gamesCompleted, gamesCompleted / elapsedSeconds, gamesFailed);
+
+        out.printf("%n%-20s %9s %8s %7s %9s %8s %8s %8s %8s %9s%n",
+                "endpoint", "requests", "errors", "err%", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (EndpointReport e : endpoints) {
+            out.printf("%-20s %9d %8d %6.2f%% %9.1f %8.2f %8.2f %8.2f %8.2f %9.2f%n",
+                    e.endpoint, e.requests, e.errors, e.errorRate * 100, e.requestsPerSecond,
+                    e.p50, e.p90, e.p99, e.p999, e.max);
+            e.errorKinds.forEach((kind, count) -> out.printf("%22s- %s: %d%n", "", kind, count));
+        }
+
+        out.printf("%n%6s %9s %7s %7s %8s %8s %8s%n", "sec", "req/s", "errors", "games", "players", "p50", "p99");
+        for (SecondReport s : timeline) {
+            out.printf("%6d %9d %7d %7d %8d %8.2f %8.2f%n",
+                    s.second, s.requests, s.errors, s.gamesCompleted, s.activePlayers, s.p50, s.p99);
+        }
+    }
+}
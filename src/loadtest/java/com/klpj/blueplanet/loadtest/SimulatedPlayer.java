@@ -0,0 +1,198 @@
+package com.klpj.blueplanet.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klpj.blueplanet.loadtest.LoadMetrics.Endpoint;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프론트엔드와 같은 순서로 게임을 끝까지 진행하는 가상 플레이어.
+ * /game/start → (nextEvent에 따라 /game/common + /game/choice 또는 /game/special) 반복 → /game/ending → /gpt/summary
+ * 요청은 모두 비동기로 보내므로 플레이어 수만큼 스레드가 필요하지 않습니다.
+ * 요청이 실패하면 그 게임은 버리고 새 게임을 시작합니다.
+ */
+final class SimulatedPlayer {
+
+    // 서버가 엔딩으로 보내지 않는 경우를 막기 위한 한 게임의 최대 요청 수
+    private static final int MAX_STEPS = 200;
+    // 게임이 실패한 뒤 다음 게임을 시작하기까지 대기 (서버가 내려갔을 때 헛돌지 않도록)
+    private static final Executor RETRY_DELAY = CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS);
+
+    private static final int NEXT_COMMON = 1;
+    private static final int NEXT_SPECIAL = 2;
+    private static final int NEXT_ENDING = 3;
+
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final LoadMetrics metrics;
+    private final Duration timeout;
+    private final Executor thinkDelay;
+    private final Random random;
+    private final long deadlineNanos;
+
+    private record Game(long userId, String gameLogFile) {
+    }
+
+    private static final class RequestFailed extends RuntimeException {
+        RequestFailed(String kind) {
+            super(kind, null, false, false);
+        }
+    }
+
+    SimulatedPlayer(HttpClient client, ObjectMapper mapper, LoadTestOptions options, String baseUrl,
+                    LoadMetrics metrics, long seed, long deadlineNanos) {
+        this.client = client;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+        this.timeout = Duration.ofSeconds(options.timeoutSeconds());
+        this.thinkDelay = options.thinkMillis() > 0
+                ? CompletableFuture.delayedExecutor(options.thinkMillis(), TimeUnit.MILLISECONDS)
+                : null;
+        this.random = new Random(seed);
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 마감 시각까지 게임을 반복하고, 마지막 게임이 끝나면 완료되는 future를 반환합니다.
+     */
+    CompletableFuture<Void> run() {
+        metrics.playerJoined();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        playUntilDeadline(done);
+        return done.whenComplete((ignored, e) -> metrics.playerLeft());
+    }
+
+    private void playUntilDeadline(CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadlineNanos) {
+            done.complete(null);
+            return;
+        }
+        playGame().whenComplete((ignored, e) -> {
+            if (e == null) {
+                metrics.gameCompleted();
+                playUntilDeadline(done);
+            } else {
+                metrics.gameFailed();
+                RETRY_DELAY.execute(() -> playUntilDeadline(done));
+            }
+        });
+    }
+
+    private CompletableFuture<Void> playGame() {
+        return send(Endpoint.START, get("/game/start"))
+                .thenCompose(response -> {
+                    JsonNode body = json(response);
+                    Game game = new Game(body.path("userStatus").path("userId").asLong(),
+                            response.headers().firstValue("Game-Log-File").orElse(""));
+                    return step(game, body.path("nextEvent").asInt(NEXT_COMMON), 0);
+                });
+    }
+
+    private CompletableFuture<Void> step(Game game, int nextEvent, int steps) {
+        if (steps >= MAX_STEPS) {
+            return CompletableFuture.failedFuture(new RequestFailed("엔딩에 도달하지 않음"));
+        }
+        CompletableFuture<Integer> next = switch (nextEvent) {
+            case NEXT_SPECIAL -> special(game);
+            case NEXT_ENDING -> null;
+            default -> commonAndChoice(game);
+        };
+        if (next == null) {
+            return ending(game);
+        }
+        if (thinkDelay == null) {
+            return next.thenCompose(type -> step(game, type, steps + 1));
+        }
+        return next.thenComposeAsync(type -> step(game, type, steps + 1), thinkDelay);
+    }
+
+    private CompletableFuture<Integer> commonAndChoice(Game game) {
+        return send(Endpoint.COMMON, get("/game/common?userId=" + game.userId + "&gameLogFile=" + encode(game.gameLogFile)))
+                .thenCompose(response -> {
+                    JsonNode choices = json(response).path("choices");
+                    if (choices.isEmpty()) {
+                        throw new RequestFailed("선택지 없음");
+                    }
+                    long choiceId = choices.get(random.nextInt(choices.size())).path("id").asLong();
+                    String body = "{\"userStatusId\":" + game.userId + ",\"choiceId\":" + choiceId + "}";
+                    HttpRequest request = request("/game/choice?gameLogFile=" + encode(game.gameLogFile))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    return send(Endpoint.CHOICE, request);
+                })
+                .thenApply(response -> json(response).path("nextEvent").asInt(NEXT_COMMON));
+    }
+
+    private CompletableFuture<Integer> special(Game game) {
+        return send(Endpoint.SPECIAL, get("/game/special?userId=" + game.userId + "&gameLogFile=" + encode(game.gameLogFile)))
+                // 204: 조건이 그 사이 바뀌어 발동할 특별 이벤트가 없음 → 상시 이벤트로 진행
+                .thenApply(response -> response.statusCode() == 204
+                        ? NEXT_COMMON
+                        : json(response).path("nextEvent").asInt(NEXT_COMMON));
+    }
+
+    private CompletableFuture<Void> ending(Game game) {
+        return send(Endpoint.ENDING, get("/game/ending?userId=" + game.userId + "&gameLogFile=" + encode(game.gameLogFile)))
+                .thenCompose(ignored -> send(Endpoint.SUMMARY, get("/gpt/summary?userId=" + game.userId)))
+                .thenApply(ignored -> null);
+    }
+
+    /**
+     * 요청을 보내고 응답 시간을 기록합니다. 2xx가 아니거나 전송에 실패하면 오류로 기록하고 실패한 future를 반환합니다.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(Endpoint endpoint, HttpRequest request) {
+        long started = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        String kind = cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+                        metrics.error(endpoint, kind);
+                        throw new RequestFailed(kind);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        String kind = "HTTP " + response.statusCode();
+                        metrics.error(endpoint, kind);
+                        throw new RequestFailed(kind);
+                    }
+                    metrics.success(endpoint, (System.nanoTime() - started) / 1_000);
+                    return response;
+                });
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+    }
+
+    private JsonNode json(HttpResponse<byte[]> response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (Exception e) {
+            throw new RequestFailed("응답 JSON 오류");
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.klpj.blueplanet.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI chat completions 형식으로 고정 응답을 돌려주는 로컬 서버.
+ * 모델 응답 시간은 delayMillis로 흉내 내며, 대기 중에 스레드를 잡고 있지 않도록 응답을 예약해서 보냅니다.
+ */
+final class StubLlmServer implements AutoCloseable {
+
+    private static final byte[] RESPONSE = ("{\"id\":\"stub\",\"object\":\"chat.completion\",\"choices\":[{\"index\":0,"
+            + "\"message\":{\"role\":\"assistant\",\"content\":\"부하 테스트용 요약입니다. 선택한 정책이 환경 수치에 미친 영향을 정리했습니다.\"},"
+            + "\"finish_reason\":\"stop\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ScheduledExecutorService scheduler;
+    private final long delayMillis;
+    private final AtomicLong requests = new AtomicLong();
+
+    private StubLlmServer(HttpServer server, ScheduledExecutorService scheduler, long delayMillis) {
+        this.server = server;
+        this.scheduler = scheduler;
+        this.delayMillis = delayMillis;
+    }
+
+    static StubLlmServer start(long delayMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        StubLlmServer stub = new StubLlmServer(server, scheduler, delayMillis);
+        server.createContext("/v1/chat/completions", stub::handle);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        scheduler.schedule(() -> respond(exchange), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void respond(HttpExchange exchange) {
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            out.write(RESPONSE);
+        } catch (IOException ignored) {
+            // 호출 측이 먼저 끊은 경우
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        scheduler.shutdownNow();
+    }
+}
@@ -1,286 +1,349 @@
 package com.klpj.blueplanet;
 
 
-import com.klpj.blueplanet.model.dao.*;
-import com.klpj.blueplanet.model.dto.*;
+import com.klpj.blueplanet.model.dao.ContentSourceVersionDao;
+import com.klpj.blueplanet.model.dao.GameSnapshotDao;
+import com.klpj.blueplanet.model.dao.UserStatusDao;
+import com.klpj.blueplanet.model.dto.ContentSourceVersion;
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.dto.GameSnapshot;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.importer.BulkInserter;
+import com.klpj.blueplanet.model.importer.ContentIdMigration;
+import com.klpj.blueplanet.model.importer.ContentPack;
+import com.klpj.blueplanet.model.importer.ContentPackLoader;
+import com.klpj.blueplanet.model.importer.ContentSheet;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
- * 데이터베이스를 매번 초기화하고
- * 최신 XLSX 파일로 덮어씁니다.
- * 모든 테이블을 truncate하여 시퀀스를 리셋하고,
- * 관계형 제약 조건을 CASCADE 처리합니다.
+ * 기동 시 콘텐츠 원본 XLSX 파일을 DB에 반영합니다.
+ *
+ * 적재 방식
+ * - 콘텐츠 바이너리 팩(ContentPackCompiler가 생성)이 있으면 XLSX 대신 팩의 섹션을 읽습니다.
+ *   XLSX도 함께 있으면 해시만 계산해 팩이 최신인지 확인하고, 다르면 그 시트만 XLSX를 직접 파싱합니다.
+ * - 파일마다 SHA-256을 content_source_version에 기록해 두고, 해시가 같은 파일은 읽지 않습니다.
+ *   아무것도 바뀌지 않았으면 DB에는 해시 조회 한 번만 합니다.
+ * - 바뀐 파일은 SAX 스트리밍으로 동시에 읽은 뒤, 한 트랜잭션에서 시트의 id 열(A열) 기준으로
+ *   upsert(값이 같은 행은 건드리지 않음)와 삭제를 합니다. 중간에 실패하면 이전 콘텐츠가 그대로 남습니다.
+ * - id는 시트에 적힌 값을 그대로 쓰므로 재시작해도 바뀌지 않고,
+ *   진행 중인 게임의 user_choice_history / advice_emails가 가리키는 id도 계속 유효합니다.
+ *   예전(행 순서 번호) id로 적재된 DB는 시트 id로 처음 반영할 때 ContentIdMigration이 사용자 데이터의 참조를 먼저 옮깁니다.
+ * - 부모 테이블(이벤트, 엔딩, 툴팁, 특별 이벤트)을 먼저 쓰고, 자식 테이블(선택지, 특별 이벤트 조건)의
+ *   삭제를 부모보다 먼저 합니다.
  */
 @Component
 @RequiredArgsConstructor
 public class DataInitializer {
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
+    /**
+     * 시트 하나의 원본. 팩 섹션이나 XLSX 중 하나이며, rows는 반영이 필요할 때만 호출합니다.
+     */
+    private record SheetSource(ContentSheet sheet, String sha256, String origin, Supplier<List<Object[]>> rows) {
+    }
+
+    private record SheetData(ContentSheet sheet, String sha256, List<Object[]> rows) {
+    }
+
+    // 시트 6개를 동시에 읽을 수 있는 정도면 충분함
+    private static final int IMPORT_THREADS = 6;
+
+    // 스냅샷 백필 한 트랜잭션에서 처리할 게임 수
+    private static final int SNAPSHOT_BACKFILL_BATCH = 500;
+
     private final JdbcTemplate jdbcTemplate;
-    private final EventDao eventDao;
-    private final ChoiceDao choiceDao;
-    private final EndingDao endingDao;
-    private final TooltipDao tooltipDao;
-    private final SpecialEventDao specialEventDao;
-    private final SpecialEventConditionDao specialEventConditionDao;
+    private final BulkInserter bulkInserter;
+    private final ContentIdMigration contentIdMigration;
+    private final ContentSourceVersionDao contentSourceVersionDao;
+    private final UserStatusDao userStatusDao;
+    private final GameSnapshotDao gameSnapshotDao;
+    private final PlatformTransactionManager transactionManager;
+    private final ContentPackLoader contentPackLoader;
 
     @PostConstruct
     public void init() {
-        // 1) 모든 테이블 truncate 및 identity reset
-        String sql = "TRUNCATE TABLE events, choices, endings, tooltips, special_events, special_event_conditions RESTART IDENTITY CASCADE";
-        jdbcTemplate.execute(sql);
-        logger.info("테이블 초기화 및 시퀀스 리셋 완료");
-
-        // 2) 데이터 로드
-        initEvents();
-        initChoices();
-        initEndings();
-        initTooltips();
-        initSpecialEvents();
-        initSpecialEventConditions();
-
-        logger.info("✅ 데이터 재초기화 완료");
+        // 바뀐 콘텐츠 원본만 반영
+        importContent();
+
+        // 메일함 읽기 모델이 비어 있으면 기존 선택 이력/조언 메일로 채움
+        backfillInbox();
+
+        // 게임 이벤트 기록 이전에 시작된 게임에 현재 상태 스냅샷을 만들어 둠
+        backfillGameSnapshots();
+
+        logger.info("✅ 데이터 초기화 완료");
     }
 
-    private void initEvents() {
-        InputStream is = getClass().getResourceAsStream("/data/events/Regular_Events.xlsx");
-        if (is == null) {
-            logger.error("Regular_Events.xlsx not found");
-            return;
+    private void importContent() {
+        long started = System.nanoTime();
+        resetHeapPeaks();
+
+        Map<String, String> applied = new HashMap<>();
+        for (ContentSourceVersion version : contentSourceVersionDao.findAll()) {
+            applied.put(version.getSource(), version.getSha256());
         }
-        try (Workbook wb = new XSSFWorkbook(is)) {
-            Sheet sheet = wb.getSheetAt(0);
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue; // 첫 번째 줄은 헤더니까 건너뜀
-
-                try {
-                    String title = getStringSafe(row, 1);
-                    String writer = getStringSafe(row, 2);
-                    String content = getStringSafe(row, 3);
-
-                    // 필수 값 누락 시 스킵
-                    if (title == null || title.isBlank() || content == null || content.isBlank()) {
-                        logger.warn("❗ 빈 값이 있는 row({})는 건너뜀", row.getRowNum());
-                        continue;
-                    }
-
-                    Event e = new Event();
-                    e.setTitle(title);
-                    e.setWriter(writer);
-                    e.setContent(content);
-
-                    eventDao.save(e); // 여기서만 save
-                } catch (Exception ex) {
-                    logger.warn("❌ row {} 저장 중 오류 발생: {}", row.getRowNum(), ex.getMessage());
-                }
+
+        // 1) 해시가 달라진 시트만 고름
+        ContentPack pack = contentPackLoader.load();
+        List<SheetSource> changed = new ArrayList<>();
+        for (ContentSheet sheet : ContentSheet.ALL) {
+            SheetSource source = sourceOf(sheet, pack);
+            if (source == null) {
+                logger.error("{} not found", sheet.path());
+                continue;
+            }
+            if (!source.sha256().equals(applied.get(sheet.path()))) {
+                changed.add(source);
             }
-            logger.info("✅ Events 초기화 완료");
-        } catch (Exception e) {
-            logger.error("Events 로딩 실패", e);
         }
-    }
-
-    private void initChoices() {
-        InputStream is = getClass().getResourceAsStream("/data/events/Regular_Events_Choices.xlsx");
-        if (is == null) {
-            logger.error("Choice_test.xlsx not found");
+        if (changed.isEmpty()) {
+            logger.info("콘텐츠 원본 변경 없음, 적재 건너뜀 ({}ms)", (System.nanoTime() - started) / 1_000_000);
             return;
         }
-        try (Workbook wb = new XSSFWorkbook(is)) {
-            for (Row row : wb.getSheetAt(0)) {
-                if (row.getRowNum() == 0) continue;
-
-                Cell eventIdCell = row.getCell(1);
-                if (eventIdCell == null || eventIdCell.getCellType() != CellType.NUMERIC) continue;
-
-                long eventId = (long) eventIdCell.getNumericCellValue();
-
-                eventDao.findById(eventId).ifPresent(event -> {
-                    try {
-                        Choice c = new Choice();
-                        c.setEvent(event);
-                        c.setAirImpact(getIntCellValue(row.getCell(2)));
-                        c.setWaterImpact(getIntCellValue(row.getCell(3)));
-                        c.setBiologyImpact(getIntCellValue(row.getCell(4)));
-                        c.setPopularityImpact(getIntCellValue(row.getCell(5)));
-                        c.setResult(getStringCellValue(row.getCell(6)));
-                        c.setContent(getStringCellValue(row.getCell(7)));
-                        choiceDao.save(c);
-                    } catch (Exception innerEx) {
-                        logger.warn("⚠️ 특정 Choice 로딩 중 오류 발생 (eventId={}): {}", eventId, innerEx.getMessage());
-                    }
-                });
-            }
-            logger.info("✅ Choices 초기화 완료");
+
+        try {
+            // 2) 바뀐 시트를 동시에 읽음
+            List<SheetData> parsed = parseAll(changed);
+
+            // 3) 한 트랜잭션에서 id 기준 차이만 반영
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (applied.isEmpty()) {
+                    // 시트 id로 처음 반영: 예전 id를 가리키는 사용자 데이터를 먼저 옮김 (빈 DB면 할 일 없음)
+                    contentIdMigration.remapLegacyIds(parsed.stream()
+                            .collect(Collectors.toMap(data -> data.sheet().table(), SheetData::rows)));
+                }
+                apply(parsed);
+            });
+            alignContentSequences(parsed);
         } catch (Exception e) {
-            logger.error("Choices 로딩 실패", e);
+            logger.error("❌ 콘텐츠 적재 실패, 이전 콘텐츠를 유지합니다", e);
+            return;
         }
-    }
-
-    // 안전하게 숫자 셀 값을 가져오는 유틸
-    private int getIntCellValue(Cell cell) {
-        return (cell != null && cell.getCellType() == CellType.NUMERIC) ? (int) cell.getNumericCellValue() : 0;
-    }
 
-    // 안전하게 문자열 셀 값을 가져오는 유틸
-    private String getStringCellValue(Cell cell) {
-        return (cell != null) ? cell.getStringCellValue() : "";
+        logger.info("콘텐츠 적재 {}ms (변경된 시트 {}개, 원본 {}), 적재 중 최대 힙 사용량 {}MB",
+                (System.nanoTime() - started) / 1_000_000, changed.size(),
+                changed.stream().map(SheetSource::origin).distinct().toList(), heapPeakBytes() / (1024 * 1024));
     }
 
+    private SheetSource sourceOf(ContentSheet sheet, ContentPack pack) {
+        byte[] xlsx = readResource(sheet.path());
+        String xlsxHash = xlsx != null ? ContentSheet.sha256(xlsx) : null;
 
-
-    private void initEndings() {
-        InputStream is = getClass().getResourceAsStream("/data/endings/Endings.xlsx");
-        if (is == null) {
-            logger.error("Endings.xlsx not found");
-            return;
+        ContentPack.Section section = pack != null ? pack.section(sheet.path()) : null;
+        if (section != null && section.columns().equals(sheet.columns())
+                && (xlsxHash == null || xlsxHash.equals(section.sha256()))) {
+            return new SheetSource(sheet, section.sha256(), "pack", section::readRows);
         }
-        try (Workbook wb = new XSSFWorkbook(is)) {
-            Sheet sheet = wb.getSheetAt(0);
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue;
-
-                try {
-                    String title = getStringSafe(row, 1);
-                    String content = getStringSafe(row, 2);
-                    String imgUrl  = getStringSafe(row, 3);
-
-                    if (title.isBlank() || content.isBlank()) {
-                        logger.warn("❗ 빈 값이 있는 row({})는 건너뜀", row.getRowNum());
-                        continue;
-                    }
-
-                    Ending e = new Ending();
-                    e.setTitle(title);
-                    e.setContent(content);
-                    e.setImgUrl(imgUrl);
-
-                    endingDao.save(e);
-                } catch (Exception ex) {
-                    logger.warn("❌ row {} 저장 중 오류 발생: {}", row.getRowNum(), ex.getMessage());
-                }
-            }
-            logger.info("✅ Endings 초기화 완료");
-        } catch (Exception e) {
-            logger.error("Endings 로딩 실패", e);
+        if (section != null) {
+            logger.warn("{}: 콘텐츠 팩이 원본과 달라 XLSX를 직접 읽습니다", sheet.name());
+        }
+        if (xlsx == null) {
+            return null;
         }
+        return new SheetSource(sheet, xlsxHash, "xlsx", () -> sheet.readRows(xlsx));
     }
 
-    private void initTooltips() {
-        InputStream is = getClass().getResourceAsStream("/data/events/Regular_Events_Keyword.xlsx");
-        if (is == null) {
-            logger.error("Tooltip_test.xlsx not found");
-            return;
+    private List<SheetData> parseAll(List<SheetSource> changed) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(changed.size(), IMPORT_THREADS), r -> {
+            Thread t = new Thread(r, "data-import-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<CompletableFuture<SheetData>> futures = new ArrayList<>();
+            for (SheetSource source : changed) {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> new SheetData(source.sheet(), source.sha256(), source.rows().get()), pool));
+            }
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            pool.shutdown();
         }
-        try (Workbook wb = new XSSFWorkbook(is)) {
-            for (Row row : wb.getSheetAt(0)) {
-                if (row.getRowNum() == 0) continue; // 헤더 스킵
-
-                Cell keywordCell = row.getCell(1);
-                Cell contentCell = row.getCell(2);
+    }
 
-                // keyword 셀이 null이거나 빈 문자열이면 무시
-                if (keywordCell == null || keywordCell.getStringCellValue().isBlank()) {
-                    continue;
-                }
+    /**
+     * 바뀐 시트를 부모 → 자식 순서로 upsert하고, 시트에서 사라진 행은 자식 → 부모 순서로 지웁니다.
+     * 바뀌지 않은 자식 시트가 지워질 부모 행을 가리키면 외래 키 위반으로 전체가 롤백됩니다.
+     */
+    private void apply(List<SheetData> parsed) {
+        Map<String, Set<Long>> sheetIds = new HashMap<>();
+        Map<String, List<Long>> removed = new HashMap<>();
+        List<ContentSourceVersion> versions = new ArrayList<>();
+
+        for (SheetData data : parsed) {
+            ContentSheet sheet = data.sheet();
+            List<Object[]> rows = data.rows();
+            if (sheet.parentTable() != null) {
+                Set<Long> parentIds = sheetIds.get(sheet.parentTable());
+                rows = withExistingParent(sheet, rows, parentIds != null ? parentIds : bulkInserter.ids(sheet.parentTable()));
+            }
 
-                Tooltip t = new Tooltip();
-                t.setKeyword(keywordCell.getStringCellValue());
-                t.setContent(contentCell != null ? contentCell.getStringCellValue() : "");
-                tooltipDao.save(t);
+            Set<Long> ids = new HashSet<>();
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
             }
-            logger.info("✅ Tooltips 초기화 완료");
-        } catch (Exception e) {
-            logger.error("Tooltips 로딩 실패", e);
+            Set<Long> existing = bulkInserter.ids(sheet.table());
+            List<Long> gone = existing.stream().filter(id -> !ids.contains(id)).toList();
+            sheetIds.put(sheet.table(), ids);
+            removed.put(sheet.table(), gone);
+
+            // 빈 테이블(처음 기동)은 COPY/배치 INSERT로 한 번에 넣음
+            long written = existing.isEmpty()
+                    ? bulkInserter.insert(sheet.table(), sheet.columns(), rows)
+                    : bulkInserter.upsert(sheet.table(), sheet.columns(), rows);
+            logger.info("✅ {} 반영: 시트 {}건, 추가/변경 {}건, 삭제 {}건", sheet.name(), rows.size(), written, gone.size());
+            versions.add(new ContentSourceVersion(sheet.path(), data.sha256(), rows.size()));
+        }
+
+        for (int i = parsed.size() - 1; i >= 0; i--) {
+            String table = parsed.get(i).sheet().table();
+            bulkInserter.deleteByIds(table, removed.get(table));
         }
+        contentSourceVersionDao.saveAll(versions);
     }
 
-    private final Map<Long, SpecialEvent> seqToEvent = new HashMap<>();
+    // 부모 id가 없는 행은 외래 키를 만족할 수 없으므로 예전처럼 버림
+    private static List<Object[]> withExistingParent(ContentSheet sheet, List<Object[]> rows, Set<Long> parentIds) {
+        List<Object[]> resolved = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (parentIds.contains((Long) row[1])) {
+                resolved.add(row);
+            } else {
+                logger.warn("{} id={}: {} id={} not found", sheet.name(), row[0], sheet.parentTable(), row[1]);
+            }
+        }
+        return resolved;
+    }
 
-    private void initSpecialEvents() {
-        try (InputStream is = getClass().getResourceAsStream("/data/special/SpecialEvent_test.xlsx");
-             Workbook wb = (is == null ? null : new XSSFWorkbook(is))) {
+    /**
+     * id를 직접 넣었으므로 각 테이블의 identity 시퀀스를 최대 id 다음으로 맞춥니다.
+     */
+    private void alignContentSequences(List<SheetData> parsed) {
+        for (SheetData data : parsed) {
+            String table = data.sheet().table();
+            try {
+                jdbcTemplate.queryForList(
+                        "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM " + table);
+            } catch (Exception e) {
+                logger.warn("{} id 시퀀스 정렬 실패: {}", table, e.getMessage());
+            }
+        }
+    }
 
-            if (wb == null) {
-                logger.error("SpecialEvent_test.xlsx not found");
+    /**
+     * inbox_message 테이블이 새로 생긴 경우, 이전에 쌓인 선택 이력과 조언 메일로 한 번 채웁니다.
+     * 이후에는 선택 처리/조언 저장 시점에 함께 기록됩니다.
+     */
+    private void backfillInbox() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inbox_message", Integer.class);
+            if (existing != null && existing > 0) {
                 return;
             }
-            for (Row row : wb.getSheetAt(0)) {
-                if (row.getRowNum() == 0) continue;
-                Cell seqCell = row.getCell(0);
-                if (seqCell == null || seqCell.getCellType() != CellType.NUMERIC) continue;
-
-                long seq = (long) seqCell.getNumericCellValue();
-                SpecialEvent s = new SpecialEvent();
-                s.setTitle(getStringSafe(row, 1));
-                s.setContent(getStringSafe(row, 2));
-                s.setImgUrl(getStringSafe(row, 3));
-                s.setAirImpact((int) getNumericSafe(row, 4));
-                s.setWaterImpact((int) getNumericSafe(row, 5));
-                s.setBiologyImpact((int) getNumericSafe(row, 6));
-                s.setPopularityImpact((int) getNumericSafe(row, 7));
-                s.setPriority((int) getNumericSafe(row, 8));
-                specialEventDao.save(s);
-
-                seqToEvent.put(seq, s);
+            int events = jdbcTemplate.update(
+                    "INSERT INTO inbox_message (id, user_id, type, ref_id, event_id, title, selected_choice_id, selected_choice_content, received_at) " +
+                    "SELECT nextval('inbox_message_seq'), h.user_status_id, 'event', h.event_id, h.event_id, e.title, h.choice_id, c.content, " +
+                    "COALESCE(h.chosen_at, h.created_at) " +
+                    "FROM user_choice_history h JOIN events e ON e.id = h.event_id LEFT JOIN choices c ON c.id = h.choice_id");
+            int advices = jdbcTemplate.update(
+                    "INSERT INTO inbox_message (id, user_id, type, ref_id, event_id, title, content, received_at) " +
+                    "SELECT nextval('inbox_message_seq'), a.user_id, 'advice', a.id, a.event_id, a.title, a.content, " +
+                    "COALESCE(a.created_at, now()) FROM advice_emails a");
+            if (events + advices > 0) {
+                logger.info("메일함 백필 완료: 이벤트 메일 {}건, 조언 메일 {}건", events, advices);
             }
-            logger.info("✅ SpecialEvents 초기화 완료");
         } catch (Exception e) {
-            logger.error("SpecialEvents 로딩 실패", e);
+            logger.warn("메일함 백필 실패: {}", e.getMessage());
         }
     }
 
-    private void initSpecialEventConditions() {
-        try (InputStream is = getClass().getResourceAsStream("/data/special/SpecialEventCondition_test.xlsx");
-             Workbook wb = (is == null ? null : new XSSFWorkbook(is))) {
-
-            if (wb == null) {
-                logger.error("SpecialEventCondition_test.xlsx not found");
-                return;
+    /**
+     * 스냅샷이 하나도 없는 게임(게임 이벤트 기록 이전에 시작된 게임)은 현재 UserStatus를 첫 스냅샷으로 저장합니다.
+     * 이런 게임은 이 시점 이후의 턴으로만 되돌릴 수 있습니다.
+     * 사용된 이벤트 목록의 저장 형태는 매핑에 따라 다르므로 SQL이 아닌 엔티티(GameSnapshot.of)로 만듭니다.
+     * 스냅샷이 없으면 되돌리기가 항상 실패하므로, 백필에 실패하면 기동을 멈춥니다.
+     *
+     * ending_id 컬럼 추가 전에 저장된 게임 종료 스냅샷에는 엔딩 이벤트 기록으로 엔딩 ID를 채웁니다.
+     * (엔딩이 반영된 스냅샷으로 되돌리면 엔딩 이벤트가 지워지지 않음)
+     */
+    private void backfillGameSnapshots() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int created = 0;
+        while (true) {
+            Integer saved = tx.execute(status -> {
+                List<UserStatus> legacy = userStatusDao.findWithoutSnapshot(Limit.of(SNAPSHOT_BACKFILL_BATCH));
+                gameSnapshotDao.saveAll(legacy.stream().map(GameSnapshot::of).toList());
+                return legacy.size();
+            });
+            created += saved;
+            if (saved < SNAPSHOT_BACKFILL_BATCH) {
+                break;
             }
-            for (Row row : wb.getSheetAt(0)) {
-                if (row.getRowNum() == 0) continue;
-                Cell seqCell = row.getCell(1);
-                if (seqCell == null || seqCell.getCellType() != CellType.NUMERIC) continue;
-
-                long seq = (long) seqCell.getNumericCellValue();
-                SpecialEvent parent = seqToEvent.get(seq);
-                if (parent == null) {
-                    logger.warn("SpecialEvent seq={} not found (row {})", seq, row.getRowNum());
-                    continue;
-                }
+        }
+        int endings = jdbcTemplate.update(
+                "UPDATE game_snapshot SET ending_id = (SELECT MAX(e.ref_id) FROM game_event e " +
+                "WHERE e.user_status_id = game_snapshot.user_status_id AND e.type = " + GameEvent.TYPE_ENDING +
+                " AND e.seq <= game_snapshot.seq) " +
+                "WHERE ending_id = 0 AND EXISTS (SELECT 1 FROM game_event e " +
+                "WHERE e.user_status_id = game_snapshot.user_status_id AND e.type = " + GameEvent.TYPE_ENDING +
+                " AND e.seq <= game_snapshot.seq)");
+        if (created + endings > 0) {
+            logger.info("게임 스냅샷 백필 완료: 첫 스냅샷 {}건, 엔딩 ID {}건", created, endings);
+        }
+    }
 
-                SpecialEventCondition cond = new SpecialEventCondition();
-                cond.setSpecialEvent(parent);
-                cond.setStatusType(getStringSafe(row, 2));
-                cond.setOperator(getStringSafe(row, 3));
-                cond.setVariation(getIntCellValue(row.getCell(4)));
-                specialEventConditionDao.save(cond);
-            }
-            logger.info("✅ SpecialEventConditions 초기화 완료");
-        } catch (Exception e) {
-            logger.error("SpecialEventConditions 로딩 실패", e);
+    private byte[] readResource(String path) {
+        try (InputStream is = getClass().getResourceAsStream(path)) {
+            return is == null ? null : is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(path + " 읽기 실패", e);
         }
     }
 
-    private String getStringSafe(Row row, int idx) {
-        Cell cell = row.getCell(idx);
-        return cell == null ? "" : cell.getStringCellValue();
+    private static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
     }
 
-    private double getNumericSafe(Row row, int idx) {
-        Cell cell = row.getCell(idx);
-        return cell == null ? 0 : cell.getNumericCellValue();
+    // 힙 영역별 최대 사용량의 합 (영역마다 최대 시점이 달라 실제보다 약간 크게 나올 수 있음)
+    private static long heapPeakBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
     }
 }
@@ -0,0 +1,62 @@
+package com.klpj.blueplanet.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 운영용 API(/admin/**)는 X-Admin-Token 헤더가 admin.token과 같은 요청만 처리합니다.
+ * - 헤더가 없거나 다르면 401
+ * - admin.token이 설정되지 않았으면 운영용 API를 모두 막음 (403)
+ */
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminTokenInterceptor.class);
+
+    private final byte[] token;
+
+    public AdminTokenInterceptor(@Value("${admin.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        if (token.isEmpty()) {
+            logger.warn("admin.token이 설정되지 않아 /admin API를 사용할 수 없습니다");
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/admin/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (CorsUtils.isPreFlightRequest(request)) {
+            return true; // 브라우저 사전 요청에는 헤더가 없음 (실제 요청에서 확인)
+        }
+        if (token.length == 0) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return false;
+        }
+        String presented = request.getHeader(TOKEN_HEADER);
+        // 비교 시간으로 토큰을 추측할 수 없도록 MessageDigest.isEqual 사용
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("운영용 API 인증 실패: {} {} ({})", request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        return true;
+    }
+}
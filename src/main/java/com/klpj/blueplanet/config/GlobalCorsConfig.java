@@ -1,5 +1,6 @@
 package com.klpj.blueplanet.config;
 
+import com.klpj.blueplanet.controller.DataController;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -20,6 +21,8 @@ public class GlobalCorsConfig {
                         )
                         .allowedMethods("*")
                         .allowedHeaders("*")
+                        // 메일함 폴링에 필요한 응답 헤더를 브라우저 스크립트에 노출
+                        .exposedHeaders("ETag", DataController.NEXT_CURSOR_HEADER, DataController.LATEST_CURSOR_HEADER)
                         .allowCredentials(true);
             }
         };
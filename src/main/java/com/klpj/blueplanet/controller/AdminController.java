@@ -0,0 +1,69 @@
+package com.klpj.blueplanet.controller;
+
+import com.klpj.blueplanet.model.journal.GameJournal;
+import com.klpj.blueplanet.model.metrics.QueryBudget;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.services.SimulationService;
+import com.klpj.blueplanet.model.simulation.ChoicePolicy;
+import com.klpj.blueplanet.model.simulation.SimulationOptions;
+import com.klpj.blueplanet.model.simulation.SimulationReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 운영용 API. 모든 요청에 X-Admin-Token 헤더가 필요합니다. (AdminTokenInterceptor)
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    private SimulationService simulationService;
+
+    @Autowired
+    private GameJournal gameJournal;
+
+    /**
+     * 현재 콘텐츠로 게임을 playthroughs번 진행해 엔딩 빈도, 선택지별 민감도, 특별 이벤트 발동률을 반환합니다.
+     * - policy: random(기본) 또는 balanced
+     * - seed: 생략하면 무작위. 응답에 사용한 seed가 포함되므로 같은 결과를 다시 만들 수 있습니다.
+     * - endingTurn: 엔딩 턴을 바꿔 보고 싶을 때 (기본 20)
+     */
+    @PostMapping("/simulation")
+    public ResponseEntity<SimulationReport> simulate(
+            @RequestParam(value = "playthroughs", defaultValue = "100000") long playthroughs,
+            @RequestParam(value = "policy", defaultValue = "random") String policy,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "endingTurn", defaultValue = "" + GameRules.ENDING_TURN) int endingTurn
+    ) {
+        try {
+            SimulationOptions options = new SimulationOptions(playthroughs, ChoicePolicy.of(policy),
+                    seed != null ? seed : ThreadLocalRandom.current().nextLong(), endingTurn);
+            return ResponseEntity.ok(simulationService.simulate(options));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * 한 게임의 로그 (시작 시 Game-Log-File 헤더로 받은 식별자).
+     * 식별자는 사용자 id와 시작 시각이라 추측할 수 있으므로 게임 API가 아닌, 토큰이 필요한 운영용 경로에 둡니다.
+     */
+    @QueryBudget(0)
+    @GetMapping(value = "/gameLog", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getGameLog(@RequestParam("gameLogFile") String gameLogFile) {
+        List<String> lines = gameJournal.read(gameLogFile);
+        if (lines.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(String.join("\n", lines) + "\n");
+    }
+}
@@ -1,10 +1,13 @@
 package com.klpj.blueplanet.controller;
 
+import com.klpj.blueplanet.model.metrics.QueryBudget;
 import com.klpj.blueplanet.model.responses.*;
 import com.klpj.blueplanet.model.services.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,30 +15,65 @@ import java.util.List;
 @RequestMapping("/data")
 public class DataController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String LATEST_CURSOR_HEADER = "X-Latest-Cursor";
+
     @Autowired
     private DataService dataService;
 
+    @Autowired
+    private StaticContentCache staticContentCache;
+
     /**
      * /data/tooltips 엔드포인트는 모든 툴팁 정보를 TooltipResponse DTO 목록으로 반환합니다.
      */
+    @QueryBudget(0)
     @GetMapping("/tooltips")
-    public ResponseEntity<List<TooltipResponse>> getTooltips() {
-        return ResponseEntity.ok(dataService.getAllTooltips());
+    public ResponseEntity<byte[]> getTooltips(WebRequest request) {
+        // 콘텐츠 버전별로 미리 직렬화/압축된 본문 (List<TooltipResponse>)
+        return PreparedResponses.serve(staticContentCache.tooltips(), request);
     }
 
     /**
-     * /data/emailList 엔드포인트는 지정된 userId에 대한 이메일(이벤트) 목록 요약 정보를 반환합니다.
+     * /data/emailList 엔드포인트는 지정된 userId에 대한 이메일(이벤트) 목록 요약 정보를 최신순으로 반환합니다.
+     * - since: 마지막으로 받은 X-Latest-Cursor. 그 이후 새로 도착한 메일만 반환합니다.
+     * - before: X-Next-Cursor. 그보다 오래된 다음 페이지를 반환합니다.
+     * - If-None-Match가 현재 ETag와 같으면 목록을 읽지 않고 304를 반환합니다.
      */
+    @QueryBudget(20)
     @GetMapping("/emailList")
-    public ResponseEntity<List<EmailSummaryResponse>> getEmailList(@RequestParam("userId") Long userId) {
-        List<EmailSummaryResponse> emailList = dataService.getEmailList(userId);
-        return ResponseEntity.ok(emailList);
+    public ResponseEntity<List<EmailSummaryResponse>> getEmailList(
+            @RequestParam("userId") Long userId,
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            WebRequest request) {
+        String etag = dataService.emailListETag(userId, since, before, limit);
+        if (request.checkNotModified(etag)) {
+            return null; // 304
+        }
+        try {
+            DataService.EmailPage page = dataService.getEmailPage(userId, since, before, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache());
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            if (page.latestCursor() != null) {
+                response.header(LATEST_CURSOR_HEADER, page.latestCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
      * /data/emailDetail 엔드포인트는 userId와 eventId를 받아 해당 이벤트의 상세 정보와
      * 사용자가 선택한 선택지를 포함한 이메일 상세 정보를 반환합니다.
      */
+    @QueryBudget(20)
     @GetMapping("/emailDetail")
     public ResponseEntity<EmailDetailResponse> getEmailDetail(
             @RequestParam("userId") Long userId,
@@ -48,18 +86,29 @@ public class DataController {
     /**
      * /data/newsList 엔드포인트는 사용자(userId)가 수신한 특수 이벤트(뉴스) 목록의 요약 정보를 반환합니다.
      */
+    @QueryBudget(5)
     @GetMapping("/newsList")
-    public ResponseEntity<List<NewsSummaryResponse>> getNewsList(@RequestParam("userId") Long userId) {
+    public ResponseEntity<List<NewsSummaryResponse>> getNewsList(@RequestParam("userId") Long userId,
+                                                                 WebRequest request) {
+        String etag = dataService.newsListETag(userId);
+        if (request.checkNotModified(etag)) {
+            return null; // 304
+        }
         List<NewsSummaryResponse> newsList = dataService.getNewsList(userId);
-        return ResponseEntity.ok(newsList);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(newsList);
     }
 
     /**
      * /data/newsDetail 엔드포인트는 특정 특수 이벤트(specialEventId)의 상세 정보를 반환합니다.
      */
+    @QueryBudget(0)
     @GetMapping("/newsDetail")
-    public ResponseEntity<NewsDetailResponse> getNewsDetail(@RequestParam("specialEventId") Long specialEventId) {
-        NewsDetailResponse response = dataService.getNewsDetail(specialEventId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getNewsDetail(@RequestParam("specialEventId") Long specialEventId,
+                                                WebRequest request) {
+        // 콘텐츠 버전별로 미리 직렬화/압축된 본문 (NewsDetailResponse)
+        return PreparedResponses.serve(staticContentCache.newsDetail(specialEventId), request);
     }
 }
\ No newline at end of file
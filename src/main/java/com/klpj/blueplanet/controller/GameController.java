@@ -1,141 +1,205 @@
 package com.klpj.blueplanet.controller;
 
-import com.klpj.blueplanet.model.dao.*;
 import com.klpj.blueplanet.model.dto.*;
+import com.klpj.blueplanet.model.hint.Hint;
+import com.klpj.blueplanet.model.journal.GameJournal;
+import com.klpj.blueplanet.model.metrics.QueryBudget;
 import com.klpj.blueplanet.model.requests.*;
 import com.klpj.blueplanet.model.responses.*;
 import com.klpj.blueplanet.model.services.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
+import com.klpj.blueplanet.model.session.GameCommandExecutor;
+import com.klpj.blueplanet.model.session.GameSessionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/game")
 public class GameController {
 
-    private static final Logger gameLogger = LoggerFactory.getLogger("gameLog");
-
     @Autowired
     private GameService gameService;
 
     @Autowired
-    private UserStatusDao userStatusDao;
+    private ContentCatalogService contentCatalogService;
+
+    @Autowired
+    private GameSessionCache gameSessionCache;
+
+    @Autowired
+    private GameCommandExecutor gameCommandExecutor;
+
+    @Autowired
+    private StaticContentCache staticContentCache;
+
+    @Autowired
+    private GameJournal gameJournal;
 
     @Autowired
-    private EndingDao endingDao;
+    private HintService hintService;
 
+    @QueryBudget(5)
     @GetMapping("/start")
     public ResponseEntity<StartGameResponse> startGame() {
         StartGameResponse response = gameService.startNewGame();
         Long userId = response.getUserStatus().getUserId();
         String timestamp = new SimpleDateFormat("yyMMddHHmmss").format(new Date());
         String gameLogFile = userId + "_" + timestamp;
-        MDC.put("gameLogFile", gameLogFile);
-        try {
-            gameLogger.info("Game started for user {} with log file identifier {}.", userId, gameLogFile);
-            return ResponseEntity
-                    .ok()
-                    .header("Game-Log-File", gameLogFile)
-                    .body(response);
-        } finally {
-            MDC.remove("gameLogFile");
-        }
+        gameJournal.info(gameLogFile, "Game started for user {} with log file identifier {}.", userId, gameLogFile);
+        return ResponseEntity
+                .ok()
+                .header("Game-Log-File", gameLogFile)
+                .body(response);
     }
 
+    @QueryBudget(5)
     @GetMapping("/common")
-    public ResponseEntity<NextEventResponse> getNextEvent(
+    public CompletableFuture<ResponseEntity<NextEventResponse>> getNextEvent(
             @RequestParam("userId") Long userId,
             @RequestParam(value = "gameLogFile", required = false) String gameLogFile
     ) {
-        if (gameLogFile != null && !gameLogFile.isEmpty()) {
-            MDC.put("gameLogFile", gameLogFile);
-        }
-        try {
+        return gameCommandExecutor.submit(userId, () -> {
             NextEventResponse resp = gameService.getNextEvent(userId);
-            gameLogger.info("User {} received event {}: {}. Available choices: {}.",
+            gameJournal.info(gameLogFile, "User {} received event {}: {}. Available choices: {}.",
                     userId,
                     resp.getEvent().getEventId(),
                     resp.getEvent().getTitle(),
                     resp.getChoices());
             return ResponseEntity.ok(resp);
-        } finally {
-            MDC.remove("gameLogFile");
-        }
+        });
     }
 
+    @QueryBudget(5)
     @GetMapping("/special")
-    public ResponseEntity<SpecialEventResponse> triggerSpecialEvent(
+    public CompletableFuture<ResponseEntity<SpecialEventResponse>> triggerSpecialEvent(
             @RequestParam("userId") Long userId,
             @RequestParam(value = "gameLogFile", required = false) String gameLogFile
     ) {
-        if (gameLogFile != null && !gameLogFile.isEmpty()) {
-            MDC.put("gameLogFile", gameLogFile);
-        }
+        return gameCommandExecutor.submit(userId, () -> {
+            try {
+                SpecialEventResponse resp = gameService.triggerSpecialEventIfAny(userId);
+                gameJournal.info(gameLogFile, "User {} triggered special event: {}.", userId, resp.getTitle());
+                return ResponseEntity.ok(resp);
+            } catch (RuntimeException e) {
+                gameJournal.info(gameLogFile, "User {} did not trigger any special event. Reason: {}", userId, e.getMessage());
+                return ResponseEntity.noContent().<SpecialEventResponse>build();
+            }
+        });
+    }
+
+    /**
+     * 현재 이벤트의 선택지별 예상 엔딩을 바로 계산합니다. (로컬 탐색, GPT 호출 없음)
+     * 더 자세한 설명이 필요하면 /gpt/advice를 요청합니다.
+     * - targetEnding: 추천 기준 엔딩 (기본 9). hint.target-endings에 없는 엔딩이면 400
+     */
+    @QueryBudget(5)
+    @GetMapping("/hint")
+    public ResponseEntity<Hint> getHint(
+            @RequestParam("userId") Long userId,
+            @RequestParam("eventId") Long eventId,
+            @RequestParam(value = "targetEnding", defaultValue = "" + HintService.DEFAULT_TARGET_ENDING) int targetEnding
+    ) {
         try {
-            SpecialEventResponse resp = gameService.triggerSpecialEventIfAny(userId);
-            gameLogger.info("User {} triggered special event: {}.", userId, resp.getTitle());
-            return ResponseEntity.ok(resp);
-        } catch (RuntimeException e) {
-            gameLogger.info("User {} did not trigger any special event. Reason: {}", userId, e.getMessage());
-            return ResponseEntity.noContent().build();
-        } finally {
-            MDC.remove("gameLogFile");
+            return ResponseEntity.ok(hintService.hint(userId, eventId, targetEnding));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
+    @QueryBudget(5)
     @PostMapping("/choice")
-    public ResponseEntity<GameUpdateResponse> processChoice(
+    public CompletableFuture<ResponseEntity<GameUpdateResponse>> processChoice(
             @RequestBody ChoiceRequest request,
             @RequestParam(value = "gameLogFile", required = false) String gameLogFile
     ) {
-        if (gameLogFile != null && !gameLogFile.isEmpty()) {
-            MDC.put("gameLogFile", gameLogFile);
+        // 게임 ID가 없으면 명령 큐에 넣을 수 없음
+        if (request.getUserStatusId() == null || request.getChoiceId() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
-        try {
-            GameUpdateResponse resp = gameService.processChoice(request.getUserStatusId(), request.getChoiceId());
-            gameLogger.info("User {} selected choice {}. Updated status: {}.",
+        return gameCommandExecutor.submit(request.getUserStatusId(), () -> {
+            GameUpdateResponse resp;
+            try {
+                resp = gameService.processChoice(request.getUserStatusId(), request.getChoiceId());
+            } catch (IllegalStateException e) {
+                gameJournal.warn(gameLogFile, "User {} could not select choice {}. Reason: {}",
+                        request.getUserStatusId(), request.getChoiceId(), e.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT).<GameUpdateResponse>build();
+            }
+            gameJournal.info(gameLogFile, "User {} selected choice {}. Updated status: {}.",
                     request.getUserStatusId(),
                     request.getChoiceId(),
                     resp.getUserStatus());
             return ResponseEntity.ok(resp);
-        } finally {
-            MDC.remove("gameLogFile");
-        }
+        });
     }
 
-    @GetMapping("/ending")
-    public ResponseEntity<Ending> getEndingEvent(
+    /**
+     * 게임을 turn 턴에서 선택하기 직전 상태로 되돌립니다.
+     */
+    @QueryBudget(30)
+    @PostMapping("/rewind")
+    public CompletableFuture<ResponseEntity<GameUpdateResponse>> rewind(
             @RequestParam("userId") Long userId,
+            @RequestParam("turn") int turn,
             @RequestParam(value = "gameLogFile", required = false) String gameLogFile
     ) {
-        if (gameLogFile != null && !gameLogFile.isEmpty()) {
-            MDC.put("gameLogFile", gameLogFile);
-        }
-        try {
+        return gameCommandExecutor.submit(userId, () -> {
+            try {
+                GameUpdateResponse resp = gameService.rewind(userId, turn);
+                gameJournal.info(gameLogFile, "User {} rewound to turn {}. Status: {}.", userId, turn, resp.getUserStatus());
+                return ResponseEntity.ok().cacheControl(PreparedResponses.GAME_STATE).body(resp);
+            } catch (IllegalArgumentException e) {
+                gameJournal.warn(gameLogFile, "User {} could not rewind to turn {}. Reason: {}", userId, turn, e.getMessage());
+                return ResponseEntity.badRequest().<GameUpdateResponse>build();
+            }
+        });
+    }
+
+    @QueryBudget(25)
+    @GetMapping("/ending")
+    public CompletableFuture<ResponseEntity<byte[]>> getEndingEvent(
+            @RequestParam("userId") Long userId,
+            @RequestParam(value = "gameLogFile", required = false) String gameLogFile,
+            WebRequest request
+    ) {
+        return gameCommandExecutor.submit(userId, () -> {
             // UserStatus 엔티티 가져오기
-            UserStatus status = userStatusDao.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+            UserStatus status = gameSessionCache.getStatus(userId);
+            if (status.getEndingId() != 0) {
+                // 이미 끝난 게임 (새로고침, 재시도 등) - 같은 엔딩을 다시 보내고 기록은 하지 않음
+                Ending reached = contentCatalogService.current().getEnding(status.getEndingId());
+                if (reached == null) {
+                    throw new RuntimeException("Ending not found with id: " + status.getEndingId());
+                }
+                gameJournal.info(gameLogFile, "User {} requested ending {} again.", userId, reached.getId());
+                return PreparedResponses.serve(staticContentCache.ending(reached), request, PreparedResponses.GAME_STATE);
+            }
             // endingId 결정
             int endingId = gameService.determineEndingId(status);
             if (endingId == 0) {
-                gameLogger.warn("User {} does not meet any ending condition. Skipping ending event.", userId);
-                return ResponseEntity.noContent().build();
+                gameJournal.warn(gameLogFile, "User {} does not meet any ending condition. Skipping ending event.", userId);
+                return ResponseEntity.noContent().<byte[]>build();
             }
-            // Ending 조회
-            Ending ending = endingDao.findById((long) endingId)
-                    .orElseThrow(() -> new RuntimeException("Ending not found with id: " + endingId));
-            gameLogger.info("User {} triggered ending {}: {} (imgUrl={}).",
+            // Ending 조회 (카탈로그)
+            Ending ending = contentCatalogService.current().getEnding(endingId);
+            if (ending == null) {
+                throw new RuntimeException("Ending not found with id: " + endingId);
+            }
+            // 게임이 끝났으므로 엔딩을 기록하고 세션을 즉시 저장한 뒤 메모리에서 내림
+            gameService.recordEnding(userId, endingId);
+            gameSessionCache.finish(userId);
+            gameJournal.info(gameLogFile, "User {} triggered ending {}: {} (imgUrl={}).",
                     userId, ending.getId(), ending.getTitle(), ending.getImgUrl());
-            return ResponseEntity.ok(ending);
-        } finally {
-            MDC.remove("gameLogFile");
-        }
+            // 엔딩 본문은 콘텐츠 버전별로 미리 직렬화/압축된 것을 사용 (EndingResponse)
+            // 어떤 엔딩인지는 사용자 진행에 따라 다르므로 공개 캐시 정책을 쓰지 않음
+            return PreparedResponses.serve(staticContentCache.ending(ending), request, PreparedResponses.GAME_STATE);
+        });
     }
 
 }
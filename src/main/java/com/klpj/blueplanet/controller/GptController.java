@@ -2,20 +2,48 @@ package com.klpj.blueplanet.controller;
 
 import com.klpj.blueplanet.model.dao.*;
 import com.klpj.blueplanet.model.dto.*;
+import com.klpj.blueplanet.model.metrics.QueryBudget;
 import com.klpj.blueplanet.model.services.*;
+import com.klpj.blueplanet.model.session.GameCommandExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
+/**
+ * GPT 호출 엔드포인트.
+ * 모델 응답을 기다리는 동안 요청 스레드를 반환하도록 CompletableFuture를 반환합니다.
+ * /stream 엔드포인트는 모델 토큰을 SSE로 도착하는 대로 전달합니다.
+ *   - event: token  data: {"content": "..."}  (생성된 조각)
+ *   - event: done   data: {"content": "..."}  (전체 응답, 조언은 title 포함)
+ *   - event: error  data: {"content": "..."}
+ * 요청부터 첫 토큰을 보낼 때까지의 시간은 llm.stream.first_token 타이머(kind=summary|advice)에 기록합니다.
+ */
 @RestController
 @RequestMapping("/gpt")
 public class GptController {
+
+    private static final Logger logger = LoggerFactory.getLogger(GptController.class);
+
     @Autowired
     private GptService gptService;
 
@@ -23,58 +51,209 @@ public class GptController {
     private GameService gameService;
 
     @Autowired
-    private AdviceEmailDao adviceEmailDao;
+    private DataService dataService;
 
-    @GetMapping("/summary")
-    public ResponseEntity<Map<String, String>> summarizeUserFlow(@RequestParam Long userId){
+    @Autowired
+    private GameCommandExecutor gameCommandExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer summaryFirstToken;
+    private Timer adviceFirstToken;
+
+    // 스트림 최대 유지 시간. 지나면 연결을 닫고 모델 호출도 중단합니다.
+    @Value("${gpt.stream.timeout-ms:120000}")
+    private long streamTimeoutMillis;
+
+    @PostConstruct
+    void registerTimers() {
+        summaryFirstToken = firstTokenTimer("summary");
+        adviceFirstToken = firstTokenTimer("advice");
+    }
+
+    private Timer firstTokenTimer(String kind) {
+        return Timer.builder("llm.stream.first_token")
+                .description("스트림 요청부터 첫 토큰을 보낼 때까지의 시간")
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
+    @QueryBudget(20)
+    @GetMapping("/summary")
+    public CompletableFuture<ResponseEntity<Map<String, String>>> summarizeUserFlow(@RequestParam Long userId){
         try {
             // 선택 흐름 요약 텍스트 생성
             String userFlow = gameService.summarizeUserFlow(userId);
 
             // GPT API 호출하여 요약 요청
-            String gptSummary = gptService.sendPrompt(userFlow);
+            return gptService.sendPromptAsync(userFlow)
+                    .thenApply(gptSummary -> {
+                        // 결과를 JSON 형태로 반환
+                        Map<String, String> response = new HashMap<>();
+                        response.put("content", gptSummary);
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(e -> {
+                        logger.error("요약 중 오류 발생 (userId={})", userId, e);
+                        return ResponseEntity.status(500).body(Map.of("content", "요약 중 오류 발생"));
+                    });
+        } catch (Exception e) {
+            logger.error("요약 중 오류 발생 (userId={})", userId, e);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(500).body(Map.of("content", "요약 중 오류 발생")));
+        }
+    }
 
-            // 결과를 JSON 형태로 반환
-            Map<String, String> response = new HashMap<>();
-            response.put("content", gptSummary);
+    @QueryBudget(10)
+    @GetMapping("/advice")
+    public CompletableFuture<ResponseEntity<Map<String, String>>> askAdvice(
+            @RequestParam Long userId,
+            @RequestParam Long eventId,
+            @RequestParam String title,
+            @RequestParam String content) {
+
+        try {
+            //GPT에게 조언 요청
+            return gptService.askAdviceAsync(userId, eventId, title, content)
+                    // 응답 저장은 모델 응답 스레드가 아닌 워커에서, 이 요청의 쿼리 예산 안에서 함
+                    .thenApplyAsync(advice -> {
+                        String reTitle = "RE:" + title;
 
-            return ResponseEntity.ok(response);
-        }catch(Exception e){
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of("content", "요약 중 오류 발생"));
+                        // 응답 저장 (조언 메일 + 메일함)
+                        dataService.saveAdviceEmail(userId, eventId, reTitle, advice);
+
+                        // 결과를 JSON 으로 반환
+                        Map<String, String> response = Map.of("title", reTitle, "content", advice);
+                        return ResponseEntity.ok(response);
+                    }, gameCommandExecutor.currentRequest())
+                    .exceptionally(e -> {
+                        logger.error("조언 요청 중 오류 발생 (userId={}, eventId={})", userId, eventId, e);
+                        return ResponseEntity.status(500).body(Map.of("content", "‼️조언 요청 중 오류 발생"));
+                    });
+        } catch (Exception e) {
+            logger.error("조언 요청 중 오류 발생 (userId={}, eventId={})", userId, eventId, e);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(500).body(Map.of("content", "‼️조언 요청 중 오류 발생")));
         }
+    }
+
+    @QueryBudget(20)
+    @GetMapping(value = "/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSummary(@RequestParam Long userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        long startedAt = System.nanoTime();
+        try {
+            String userFlow = gameService.summarizeUserFlow(userId);
 
+            CompletableFuture<String> call = gptService.streamPrompt(userFlow, tokenSender(emitter, startedAt, summaryFirstToken));
+            cancelOnDisconnect(emitter, () -> call.cancel(true));
+            call.whenComplete((summary, error) -> {
+                if (error != null) {
+                    logger.error("요약 중 오류 발생 (userId={})", userId, error);
+                    sendErrorAndClose(emitter, "요약 중 오류 발생");
+                    return;
+                }
+                logStreamDone("summary", startedAt);
+                sendDoneAndClose(emitter, Map.of("content", summary));
+            });
+        } catch (Exception e) {
+            logger.error("요약 중 오류 발생 (userId={})", userId, e);
+            sendErrorAndClose(emitter, "요약 중 오류 발생");
+        }
+        return emitter;
     }
 
-    @GetMapping("/advice")
-    public ResponseEntity<Map<String, String>> askAdvice(
+    @QueryBudget(10)
+    @GetMapping(value = "/advice/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAdvice(
             @RequestParam Long userId,
             @RequestParam Long eventId,
             @RequestParam String title,
             @RequestParam String content) {
 
-        try{
-            //GPT에게 조언 요청
-            String advice = gptService.askAdvice(userId, eventId, title, content);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        long startedAt = System.nanoTime();
+        try {
+            AdviceCache.Subscription answer = gptService.streamAdvice(userId, eventId, title, content,
+                    tokenSender(emitter, startedAt, adviceFirstToken));
+            cancelOnDisconnect(emitter, answer::cancel);
+
+            // 스트림이 끝난 뒤의 저장도 모델 응답 스레드가 아닌 워커에서 함
+            answer.result().whenCompleteAsync((advice, error) -> {
+                if (error != null) {
+                    logger.error("조언 요청 중 오류 발생 (userId={}, eventId={})", userId, eventId, error);
+                    sendErrorAndClose(emitter, "‼️조언 요청 중 오류 발생");
+                    return;
+                }
+                String reTitle = "RE:" + title;
+
+                // 스트림이 끝난 뒤 응답 저장 (조언 메일 + 메일함)
+                dataService.saveAdviceEmail(userId, eventId, reTitle, advice);
 
-            String reTitle = "RE:" + title;
+                if (!answer.streaming()) {
+                    // 캐시 적중: 토큰 없이 전체 응답만 있으므로 한 조각으로 보냄
+                    tokenSender(emitter, startedAt, adviceFirstToken).accept(advice);
+                }
+                logStreamDone("advice", startedAt);
+                sendDoneAndClose(emitter, Map.of("title", reTitle, "content", advice));
+            }, gameCommandExecutor.currentRequest());
+        } catch (Exception e) {
+            logger.error("조언 요청 중 오류 발생 (userId={}, eventId={})", userId, eventId, e);
+            sendErrorAndClose(emitter, "‼️조언 요청 중 오류 발생");
+        }
+        return emitter;
+    }
+
+    /**
+     * 토큰을 SSE로 보내는 콜백. 첫 토큰까지 걸린 시간(TTFB)을 firstToken 타이머에 기록합니다.
+     * 전송에 실패하면(클라이언트 연결 끊김) 예외를 던져 모델 스트림을 중단시킵니다.
+     */
+    private Consumer<String> tokenSender(SseEmitter emitter, long startedAt, Timer firstToken) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return token -> {
+            if (first.compareAndSet(true, false)) {
+                firstToken.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+            try {
+                emitter.send(SseEmitter.event().name("token")
+                        .data(Map.of("content", token), MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 
-            // 응답 저장
-            AdviceEmail adviceEmail = new AdviceEmail();
-            adviceEmail.setUserId(userId);
-            adviceEmail.setEventId(eventId);
-            adviceEmail.setTitle(reTitle);
-            adviceEmail.setContent(advice);
-            adviceEmailDao.save(adviceEmail);
+    // 클라이언트가 연결을 끊거나 시간이 초과되면 진행 중인 모델 호출을 중단 (이미 끝난 호출이면 아무 일도 없음)
+    private void cancelOnDisconnect(SseEmitter emitter, Runnable cancel) {
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        emitter.onCompletion(cancel);
+    }
 
-            // 결과를 JSON 으로 반환
-            Map<String, String> response = Map.of("title", reTitle, "content", advice);
-            return ResponseEntity.ok(response);
+    // 전체 스트림 시간은 llm.requests(mode=stream) 타이머에 기록되므로 디버그 로그로만 남김
+    private void logStreamDone(String kind, long startedAt) {
+        logger.debug("GPT {} 스트림 완료: {}ms", kind, (System.nanoTime() - startedAt) / 1_000_000);
+    }
 
-        }catch(Exception e){
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of("content", "‼️조언 요청 중 오류 발생"));
+    private void sendDoneAndClose(SseEmitter emitter, Map<String, String> body) {
+        try {
+            emitter.send(SseEmitter.event().name("done").data(body, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // 이미 끊긴 연결
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void sendErrorAndClose(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("content", message), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
         }
     }
 
@@ -0,0 +1,102 @@
+package com.klpj.blueplanet.controller;
+
+import com.klpj.blueplanet.model.services.StaticContentCache.PreparedBody;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 미리 직렬화된 본문(PreparedBody)을 HTTP 응답으로 만듭니다.
+ * If-None-Match가 맞으면 304, Accept-Encoding에 gzip이 있으면 압축 본문을 그대로 보냅니다.
+ */
+final class PreparedResponses {
+
+    // 콘텐츠는 재로딩 때만 바뀌므로 잠시 캐시하되, 이후에는 ETag로 재검증
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES)
+            .cachePublic()
+            .mustRevalidate();
+
+    // 사용자 게임 진행에 따른 응답: 공유 캐시에 두지 않고 매번 ETag로 재검증
+    static final CacheControl GAME_STATE = CacheControl.noCache().cachePrivate();
+
+    private PreparedResponses() {
+    }
+
+    /**
+     * 모든 사용자에게 같은 콘텐츠(툴팁, 뉴스 상세)를 공개 캐시 정책으로 보냅니다.
+     */
+    static ResponseEntity<byte[]> serve(PreparedBody body, WebRequest request) {
+        return serve(body, request, CACHE_CONTROL);
+    }
+
+    static ResponseEntity<byte[]> serve(PreparedBody body, WebRequest request, CacheControl cacheControl) {
+        boolean gzip = body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? body.gzipEtag() : body.etag();
+
+        if (notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), body)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.contentLength(body.gzip().length).body(body.gzip());
+        }
+        return response.contentLength(body.identity().length).body(body.identity());
+    }
+
+    // 같은 내용의 두 표현(identity/gzip) 중 어느 ETag든 일치하면 304
+    private static boolean notModified(String ifNoneMatch, PreparedBody body) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(body.etag()) || candidate.equals(body.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 은 거부 의사
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
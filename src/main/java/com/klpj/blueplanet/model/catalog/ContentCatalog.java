@@ -0,0 +1,212 @@
+package com.klpj.blueplanet.model.catalog;
+
+import com.klpj.blueplanet.model.dto.*;
+import com.klpj.blueplanet.model.responses.TooltipAnnotation;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * DataInitializer가 적재한 게임 콘텐츠(이벤트, 선택지, 엔딩, 특별 이벤트, 툴팁)의 읽기 전용 스냅샷.
+ * - 한 번 만들어지면 변경되지 않으며, 콘텐츠가 다시 로딩되면 새 버전의 카탈로그로 통째로 교체됩니다.
+ * - 모든 조회는 id(long) 기준 맵에서 이루어지므로 턴 처리 중에는 콘텐츠 조회 쿼리가 발생하지 않습니다.
+ * - 여기 담긴 엔티티는 detached 상태이므로 Event.getChoices() 대신 getChoices(eventId)를 사용해야 합니다.
+ * - 툴팁 키워드로 만든 KeywordMatcher로 이벤트/특별 이벤트/엔딩 본문의 키워드 위치를 미리 계산해 둡니다.
+ */
+public final class ContentCatalog {
+
+    public static final ContentCatalog EMPTY = new ContentCatalog(0L,
+            List.of(), List.of(), Map.of(), List.of(), List.of(), List.of(), SpecialEventRuleSet.EMPTY);
+
+    private final long version;
+    private final Instant loadedAt;
+
+    private final List<Event> events;
+    private final LongMap<Event> eventsById;
+    private final LongMap<Integer> eventIndexes; // 이벤트 ID → events 리스트 내 위치 (0..n-1)
+    private final LongMap<Choice> choicesById;
+    private final LongMap<List<Choice>> choicesByEvent;
+    private final LongMap<Event> eventsByChoice;
+    private final LongMap<Ending> endingsById;
+    private final List<SpecialEvent> specialEvents;
+    private final LongMap<SpecialEvent> specialEventsById;
+    private final List<Tooltip> tooltips;
+    private final SpecialEventRuleSet specialEventRules;
+
+    private final KeywordMatcher keywordMatcher;
+    private final LongMap<List<TooltipAnnotation>> eventAnnotations;
+    private final LongMap<List<TooltipAnnotation>> specialEventAnnotations;
+    private final LongMap<List<TooltipAnnotation>> endingAnnotations;
+
+    /**
+     * @param choiceEventIds 선택지 ID → 소속 이벤트 ID (Choice.event는 lazy 프록시이므로 세션 안에서 미리 풀어둔 값)
+     */
+    public ContentCatalog(long version,
+                          List<Event> events,
+                          List<Choice> choices,
+                          Map<Long, Long> choiceEventIds,
+                          List<Ending> endings,
+                          List<SpecialEvent> specialEvents,
+                          List<Tooltip> tooltips,
+                          SpecialEventRuleSet specialEventRules) {
+        this.version = version;
+        this.loadedAt = Instant.now();
+
+        List<Event> sortedEvents = new ArrayList<>(events);
+        sortedEvents.sort(Comparator.comparing(Event::getId));
+        this.events = Collections.unmodifiableList(sortedEvents);
+        this.eventsById = new LongMap<>(sortedEvents.size());
+        this.eventIndexes = new LongMap<>(sortedEvents.size());
+        for (int i = 0; i < sortedEvents.size(); i++) {
+            Event e = sortedEvents.get(i);
+            eventsById.put(e.getId(), e);
+            eventIndexes.put(e.getId(), i);
+        }
+
+        List<Choice> sortedChoices = new ArrayList<>(choices);
+        sortedChoices.sort(Comparator.comparing(Choice::getId));
+        this.choicesById = new LongMap<>(sortedChoices.size());
+        this.eventsByChoice = new LongMap<>(sortedChoices.size());
+        Map<Long, List<Choice>> grouped = new LinkedHashMap<>();
+        for (Choice c : sortedChoices) {
+            choicesById.put(c.getId(), c);
+            Long eventId = choiceEventIds.get(c.getId());
+            Event owner = eventId != null ? eventsById.get(eventId) : null;
+            if (owner != null) {
+                eventsByChoice.put(c.getId(), owner);
+                grouped.computeIfAbsent(eventId, k -> new ArrayList<>()).add(c);
+            }
+        }
+        this.choicesByEvent = new LongMap<>(grouped.size());
+        grouped.forEach((eventId, list) -> choicesByEvent.put(eventId, Collections.unmodifiableList(list)));
+
+        this.endingsById = new LongMap<>(endings.size());
+        for (Ending e : endings) {
+            endingsById.put(e.getId(), e);
+        }
+
+        List<SpecialEvent> sortedSpecialEvents = new ArrayList<>(specialEvents);
+        sortedSpecialEvents.sort(Comparator.comparing(SpecialEvent::getId));
+        this.specialEvents = Collections.unmodifiableList(sortedSpecialEvents);
+        this.specialEventsById = new LongMap<>(sortedSpecialEvents.size());
+        for (SpecialEvent s : sortedSpecialEvents) {
+            specialEventsById.put(s.getId(), s);
+        }
+
+        List<Tooltip> sortedTooltips = new ArrayList<>(tooltips);
+        sortedTooltips.sort(Comparator.comparing(Tooltip::getId));
+        this.tooltips = Collections.unmodifiableList(sortedTooltips);
+
+        this.specialEventRules = specialEventRules;
+
+        // 본문 툴팁 키워드 위치
+        this.keywordMatcher = KeywordMatcher.build(sortedTooltips.stream().map(Tooltip::getKeyword).toList());
+        this.eventAnnotations = new LongMap<>(sortedEvents.size());
+        for (Event e : sortedEvents) {
+            eventAnnotations.put(e.getId(), keywordMatcher.annotate(e.getContent()));
+        }
+        this.specialEventAnnotations = new LongMap<>(sortedSpecialEvents.size());
+        for (SpecialEvent s : sortedSpecialEvents) {
+            specialEventAnnotations.put(s.getId(), keywordMatcher.annotate(s.getContent()));
+        }
+        this.endingAnnotations = new LongMap<>(endings.size());
+        for (Ending e : endings) {
+            endingAnnotations.put(e.getId(), keywordMatcher.annotate(e.getContent()));
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * 모든 상시 이벤트 (id 오름차순)
+     */
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    public Event getEvent(long eventId) {
+        return eventsById.get(eventId);
+    }
+
+    /**
+     * 이벤트의 events 리스트 내 위치를 반환합니다. 카탈로그에 없는 이벤트면 -1입니다.
+     */
+    public int getEventIndex(long eventId) {
+        Integer index = eventIndexes.get(eventId);
+        return index != null ? index : -1;
+    }
+
+    public Choice getChoice(long choiceId) {
+        return choicesById.get(choiceId);
+    }
+
+    /**
+     * 이벤트에 속한 선택지 목록 (id 오름차순). 없으면 빈 리스트를 반환합니다.
+     */
+    public List<Choice> getChoices(long eventId) {
+        List<Choice> choices = choicesByEvent.get(eventId);
+        return choices != null ? choices : List.of();
+    }
+
+    /**
+     * 선택지가 속한 이벤트를 반환합니다.
+     */
+    public Event getEventOfChoice(long choiceId) {
+        return eventsByChoice.get(choiceId);
+    }
+
+    public Ending getEnding(long endingId) {
+        return endingsById.get(endingId);
+    }
+
+    /**
+     * 모든 특별 이벤트 (id 오름차순)
+     */
+    public List<SpecialEvent> getSpecialEvents() {
+        return specialEvents;
+    }
+
+    public SpecialEvent getSpecialEvent(long specialEventId) {
+        return specialEventsById.get(specialEventId);
+    }
+
+    /**
+     * 모든 툴팁 (id 오름차순)
+     */
+    public List<Tooltip> getTooltips() {
+        return tooltips;
+    }
+
+    public SpecialEventRuleSet getSpecialEventRules() {
+        return specialEventRules;
+    }
+
+    /**
+     * 툴팁 키워드 매처. 카탈로그에 없는 본문(예: GPT 조언)에 키워드 위치를 붙일 때 사용합니다.
+     */
+    public KeywordMatcher getKeywordMatcher() {
+        return keywordMatcher;
+    }
+
+    public List<TooltipAnnotation> getEventAnnotations(long eventId) {
+        List<TooltipAnnotation> annotations = eventAnnotations.get(eventId);
+        return annotations != null ? annotations : List.of();
+    }
+
+    public List<TooltipAnnotation> getSpecialEventAnnotations(long specialEventId) {
+        List<TooltipAnnotation> annotations = specialEventAnnotations.get(specialEventId);
+        return annotations != null ? annotations : List.of();
+    }
+
+    public List<TooltipAnnotation> getEndingAnnotations(long endingId) {
+        List<TooltipAnnotation> annotations = endingAnnotations.get(endingId);
+        return annotations != null ? annotations : List.of();
+    }
+}
@@ -0,0 +1,177 @@
+package com.klpj.blueplanet.model.catalog;
+
+import com.klpj.blueplanet.model.responses.TooltipAnnotation;
+
+import java.util.*;
+
+/**
+ * 툴팁 키워드 전체로 만든 Aho-Corasick 오토마톤.
+ * 본문을 한 번 훑어 모든 키워드 위치를 찾고, 겹치는 경우 먼저 시작하는(같으면 더 긴) 키워드를 남깁니다.
+ * 대소문자는 구분하지 않습니다. 만든 뒤에는 읽기 전용이라 여러 스레드에서 함께 사용할 수 있습니다.
+ */
+public final class KeywordMatcher {
+
+    public static final KeywordMatcher EMPTY = build(List.of());
+
+    // 상태별 전이: labels[s]는 정렬된 문자, targets[s]는 같은 위치의 다음 상태
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    // 상태에서 끝나는 가장 긴 키워드 (없으면 -1), 그리고 더 짧은 키워드가 끝나는 상태로의 링크 (없으면 -1)
+    private final int[] output;
+    private final int[] dictionaryLink;
+    private final String[] keywords;
+
+    private KeywordMatcher(char[][] labels, int[][] targets, int[] fail, int[] output, int[] dictionaryLink,
+                           String[] keywords) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.output = output;
+        this.dictionaryLink = dictionaryLink;
+        this.keywords = keywords;
+    }
+
+    public static KeywordMatcher build(Collection<String> keywordList) {
+        List<String> keywords = new ArrayList<>();
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        outputs.add(-1);
+
+        Set<String> seen = new HashSet<>();
+        for (String keyword : keywordList) {
+            if (keyword == null || keyword.isBlank()) {
+                continue;
+            }
+            String normalized = lower(keyword.strip());
+            if (!seen.add(normalized)) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    outputs.add(-1);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.set(state, keywords.size());
+            keywords.add(keyword.strip());
+        }
+
+        int size = trie.size();
+        char[][] labels = new char[size][];
+        int[][] targets = new int[size][];
+        for (int s = 0; s < size; s++) {
+            List<Character> chars = new ArrayList<>(trie.get(s).keySet());
+            Collections.sort(chars);
+            labels[s] = new char[chars.size()];
+            targets[s] = new int[chars.size()];
+            for (int i = 0; i < chars.size(); i++) {
+                labels[s][i] = chars.get(i);
+                targets[s][i] = trie.get(s).get(chars.get(i));
+            }
+        }
+
+        int[] output = new int[size];
+        for (int s = 0; s < size; s++) {
+            output[s] = outputs.get(s);
+        }
+        int[] fail = new int[size];
+        int[] dictionaryLink = new int[size];
+        Arrays.fill(dictionaryLink, -1);
+
+        // BFS로 실패 링크 계산
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int i = 0; i < labels[s].length; i++) {
+                char c = labels[s][i];
+                int child = targets[s][i];
+                int f = fail[s];
+                int next;
+                while ((next = step(labels, targets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 && next != child ? next : 0;
+                int link = fail[child];
+                dictionaryLink[child] = output[link] >= 0 ? link : dictionaryLink[link];
+                queue.add(child);
+            }
+        }
+        return new KeywordMatcher(labels, targets, fail, output, dictionaryLink, keywords.toArray(new String[0]));
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * 본문에서 키워드 위치를 찾습니다. 결과는 시작 위치 순이며 서로 겹치지 않습니다.
+     */
+    public List<TooltipAnnotation> annotate(String text) {
+        if (text == null || text.isEmpty() || keywords.length == 0) {
+            return List.of();
+        }
+        // 모든 일치를 시작 위치별 가장 긴 키워드로 모음
+        int[] longestAt = new int[text.length()];
+        Arrays.fill(longestAt, -1);
+        boolean found = false;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = step(labels, targets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            for (int s = output[state] >= 0 ? state : dictionaryLink[state]; s >= 0; s = dictionaryLink[s]) {
+                int keyword = output[s];
+                int start = i + 1 - keywords[keyword].length();
+                if (longestAt[start] < 0 || keywords[longestAt[start]].length() < keywords[keyword].length()) {
+                    longestAt[start] = keyword;
+                }
+                found = true;
+            }
+        }
+        if (!found) {
+            return List.of();
+        }
+
+        // 앞에서부터 겹치지 않게 선택
+        List<TooltipAnnotation> annotations = new ArrayList<>();
+        int covered = 0;
+        for (int start = 0; start < longestAt.length; start++) {
+            int keyword = longestAt[start];
+            if (keyword < 0 || start < covered) {
+                continue;
+            }
+            int end = start + keywords[keyword].length();
+            annotations.add(new TooltipAnnotation(start, end, keywords[keyword]));
+            covered = end;
+        }
+        return Collections.unmodifiableList(annotations);
+    }
+
+    private static int step(char[][] labels, int[][] targets, int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i >= 0 ? targets[state][i] : -1;
+    }
+
+    private static String lower(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
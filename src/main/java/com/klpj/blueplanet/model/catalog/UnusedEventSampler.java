@@ -0,0 +1,102 @@
+package com.klpj.blueplanet.model.catalog;
+
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * 한 게임에서 아직 사용되지 않은 상시 이벤트를 O(1)로 뽑기 위한 샘플러.
+ * - 남은 이벤트를 카탈로그의 이벤트 위치(int) 배열로 들고 있으며, 사용 처리 시 마지막 원소와 자리를 바꿔 제거합니다.
+ * - 뽑기와 사용 처리 모두 객체를 생성하지 않습니다.
+ * - 어떤 카탈로그 버전과 usedEventIds 개수를 기준으로 만들어졌는지 기억해두고, 어긋나면 다시 만들어야 합니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 합니다.
+ */
+public final class UnusedEventSampler {
+
+    private final ContentCatalog catalog;
+    private final int[] remaining; // 남은 이벤트 위치 (앞쪽 size개만 유효)
+    private final int[] positions; // 이벤트 위치 → remaining 내 인덱스 (-1이면 사용됨)
+    private int size;
+    private int usedEventCount; // 동기화된 usedEventIds 크기
+
+    private UnusedEventSampler(ContentCatalog catalog) {
+        int n = catalog.getEvents().size();
+        this.catalog = catalog;
+        this.remaining = new int[n];
+        this.positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            remaining[i] = i;
+            positions[i] = i;
+        }
+        this.size = n;
+    }
+
+    /**
+     * 카탈로그와 DB에서 읽은 usedEventIds를 기준으로 샘플러를 만듭니다.
+     */
+    public static UnusedEventSampler create(ContentCatalog catalog, Set<Long> usedEventIds) {
+        UnusedEventSampler sampler = new UnusedEventSampler(catalog);
+        for (Long eventId : usedEventIds) {
+            sampler.remove(eventId);
+        }
+        sampler.usedEventCount = usedEventIds.size();
+        return sampler;
+    }
+
+    /**
+     * 이 샘플러가 주어진 카탈로그/사용 이력과 일치하는지 확인합니다.
+     */
+    public boolean isInSync(ContentCatalog catalog, int usedEventCount) {
+        return this.catalog == catalog && this.usedEventCount == usedEventCount;
+    }
+
+    /**
+     * 남은 이벤트 중 하나를 무작위로 골라 이벤트 ID를 반환합니다. 남은 이벤트가 없으면 -1을 반환합니다.
+     * 뽑은 이벤트는 markUsed를 호출하기 전까지 남은 목록에 그대로 있습니다.
+     */
+    public long pick(RandomGenerator random) {
+        if (size == 0) {
+            return -1L;
+        }
+        int eventIndex = remaining[random.nextInt(size)];
+        return catalog.getEvents().get(eventIndex).getId();
+    }
+
+    /**
+     * usedEventIds에 새 이벤트 ID가 추가되었을 때 호출합니다.
+     */
+    public void markUsed(long eventId) {
+        remove(eventId);
+        usedEventCount++;
+    }
+
+    /**
+     * 모든 이벤트가 남아 있는 처음 상태로 되돌립니다. (시뮬레이션에서 게임마다 샘플러를 재사용할 때)
+     */
+    public void reset() {
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = i;
+            positions[i] = i;
+        }
+        size = remaining.length;
+        usedEventCount = 0;
+    }
+
+    public int remainingCount() {
+        return size;
+    }
+
+    private void remove(long eventId) {
+        int eventIndex = catalog.getEventIndex(eventId);
+        if (eventIndex < 0) {
+            return; // 카탈로그에서 사라진 이벤트
+        }
+        int pos = positions[eventIndex];
+        if (pos < 0) {
+            return;
+        }
+        int last = remaining[--size];
+        remaining[pos] = last;
+        positions[last] = pos;
+        positions[eventIndex] = -1;
+    }
+}
@@ -0,0 +1,9 @@
+package com.klpj.blueplanet.model.dao;
+
+import com.klpj.blueplanet.model.dto.ContentSourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentSourceVersionDao extends JpaRepository<ContentSourceVersion, String> {
+}
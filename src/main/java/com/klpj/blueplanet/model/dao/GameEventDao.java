@@ -0,0 +1,25 @@
+package com.klpj.blueplanet.model.dao;
+
+import com.klpj.blueplanet.model.dto.GameEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GameEventDao extends JpaRepository<GameEvent, Long> {
+    // 스냅샷(또는 UserStatus) 이후의 이벤트 (uk_game_event_user_seq 인덱스 범위 조회)
+    List<GameEvent> findByUserStatusIdAndSeqGreaterThanOrderBySeqAsc(Long userStatusId, int seq);
+
+    // 스냅샷 이후 turn 턴까지의 이벤트
+    List<GameEvent> findByUserStatusIdAndSeqGreaterThanAndTurnLessThanEqualOrderBySeqAsc(Long userStatusId, int seq, int turn);
+
+    List<GameEvent> findByUserStatusIdAndTypeOrderBySeqAsc(Long userStatusId, short type);
+
+    @Modifying
+    @Query("delete from GameEvent e where e.userStatusId = :userStatusId and e.seq > :seq")
+    int deleteAfter(@Param("userStatusId") Long userStatusId, @Param("seq") int seq);
+}
@@ -0,0 +1,20 @@
+package com.klpj.blueplanet.model.dao;
+
+import com.klpj.blueplanet.model.dto.GameSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GameSnapshotDao extends JpaRepository<GameSnapshot, Long> {
+    // turnCount 턴 이전의 가장 최근 스냅샷 중 엔딩 여부(endingId 0: 엔딩 전)가 맞는 것
+    Optional<GameSnapshot> findFirstByUserStatusIdAndTurnCountLessThanEqualAndEndingIdOrderBySeqDesc(Long userStatusId, int turnCount, int endingId);
+
+    @Modifying
+    @Query("delete from GameSnapshot s where s.userStatusId = :userStatusId and s.seq >= :seq")
+    int deleteFrom(@Param("userStatusId") Long userStatusId, @Param("seq") int seq);
+}
@@ -0,0 +1,48 @@
+package com.klpj.blueplanet.model.dao;
+
+import com.klpj.blueplanet.model.dto.InboxMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InboxMessageDao extends JpaRepository<InboxMessage, Long> {
+    // 메일함 첫 페이지 (최신순, idx_inbox_message_user_received 인덱스 범위 조회)
+    List<InboxMessage> findByUserIdOrderByReceivedAtDescIdDesc(Long userId, Limit limit);
+
+    // 커서보다 오래된 메일 (최신순 다음 페이지)
+    @Query("select m from InboxMessage m where m.userId = :userId " +
+            "and (m.receivedAt < :receivedAt or (m.receivedAt = :receivedAt and m.id < :id)) " +
+            "order by m.receivedAt desc, m.id desc")
+    List<InboxMessage> findOlder(@Param("userId") Long userId,
+                                 @Param("receivedAt") LocalDateTime receivedAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    // 커서보다 새로운 메일 (오래된 순으로 limit개)
+    @Query("select m from InboxMessage m where m.userId = :userId " +
+            "and (m.receivedAt > :receivedAt or (m.receivedAt = :receivedAt and m.id > :id)) " +
+            "order by m.receivedAt asc, m.id asc")
+    List<InboxMessage> findNewer(@Param("userId") Long userId,
+                                 @Param("receivedAt") LocalDateTime receivedAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    // 메일 상세 (idx_inbox_message_user_ref)
+    Optional<InboxMessage> findFirstByUserIdAndTypeAndRefIdOrderByIdAsc(Long userId, String type, Long refId);
+
+    // 되돌린 선택의 이벤트 메일 삭제
+    @Modifying
+    @Query("delete from InboxMessage m where m.userId = :userId and m.type = :type and m.refId in :refIds")
+    int deleteEventMessages(@Param("userId") Long userId,
+                            @Param("type") String type,
+                            @Param("refIds") Collection<Long> refIds);
+}
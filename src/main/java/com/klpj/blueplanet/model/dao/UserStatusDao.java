@@ -1,9 +1,16 @@
 package com.klpj.blueplanet.model.dao;
 
 import com.klpj.blueplanet.model.dto.UserStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserStatusDao extends JpaRepository<UserStatus, Long> {
-}
\ No newline at end of file
+    // 스냅샷이 하나도 없는 게임 (게임 이벤트 기록 이전에 시작된 게임)
+    @Query("select u from UserStatus u where not exists (select 1 from GameSnapshot s where s.userStatusId = u.userId) order by u.userId")
+    List<UserStatus> findWithoutSnapshot(Limit limit);
+}
@@ -0,0 +1,38 @@
+package com.klpj.blueplanet.model.dto;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 콘텐츠 원본 XLSX 파일별로 마지막으로 적용한 내용의 해시.
+ * 기동 시 해시가 같은 파일은 다시 읽지 않습니다.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "content_source_version")
+public class ContentSourceVersion {
+    // 클래스패스 기준 파일 경로 (예: /data/events/Regular_Events.xlsx)
+    @Id
+    @Column(length = 200)
+    private String source;
+
+    // 파일 바이트의 SHA-256 (hex)
+    @Column(length = 64, nullable = false)
+    private String sha256;
+
+    // 적용된 행 수
+    private int rowCount;
+
+    private LocalDateTime importedAt;
+
+    public ContentSourceVersion(String source, String sha256, int rowCount) {
+        this.source = source;
+        this.sha256 = sha256;
+        this.rowCount = rowCount;
+        this.importedAt = LocalDateTime.now();
+    }
+}
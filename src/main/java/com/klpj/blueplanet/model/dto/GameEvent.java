@@ -0,0 +1,94 @@
+package com.klpj.blueplanet.model.dto;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 게임 이벤트 로그의 한 행. 게임 상태(UserStatus)를 바꾸는 일은 모두 이 이벤트로 기록되고,
+ * UserStatus는 스냅샷(GameSnapshot) 위에 이후 이벤트를 차례로 적용한 결과입니다. (GameProjection)
+ * 수치 변화량을 이벤트에 함께 저장하므로, 콘텐츠가 나중에 바뀌어도 과거 상태를 그대로 재현할 수 있습니다.
+ * (user_status_id, seq)가 유일하므로 다른 서버가 같은 게임에 먼저 기록하면 INSERT가 실패해 충돌을 감지합니다.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "game_event", uniqueConstraints =
+        @UniqueConstraint(name = "uk_game_event_user_seq", columnNames = {"user_status_id", "seq"}))
+public class GameEvent {
+
+    public static final short TYPE_CHOICE = 1;
+    public static final short TYPE_SPECIAL_EVENT = 2;
+    public static final short TYPE_ENDING = 3;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_event_seq")
+    @SequenceGenerator(name = "game_event_seq", sequenceName = "game_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_status_id", nullable = false)
+    private Long userStatusId;
+
+    // 게임 안에서의 순번 (1부터)
+    @Column(nullable = false)
+    private int seq;
+
+    // 이벤트가 일어난 턴 (적용 전 turnCount)
+    @Column(nullable = false)
+    private int turn;
+
+    // TYPE_CHOICE, TYPE_SPECIAL_EVENT, TYPE_ENDING
+    @Column(nullable = false)
+    private short type;
+
+    // 선택지 ID / 특별 이벤트 ID / 엔딩 ID
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    // 선택지가 속한 상시 이벤트 ID (TYPE_CHOICE)
+    private Long eventId;
+
+    private short airDelta;
+    private short waterDelta;
+    private short biologyDelta;
+    private short popularityDelta;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date occurredAt = new Date();
+
+    public static GameEvent ofChoice(Event event, Choice choice) {
+        GameEvent gameEvent = of(TYPE_CHOICE, choice.getId());
+        gameEvent.setEventId(event.getId());
+        gameEvent.setDeltas(choice.getAirImpact(), choice.getWaterImpact(),
+                choice.getBiologyImpact(), choice.getPopularityImpact());
+        return gameEvent;
+    }
+
+    public static GameEvent ofSpecialEvent(SpecialEvent specialEvent) {
+        GameEvent gameEvent = of(TYPE_SPECIAL_EVENT, specialEvent.getId());
+        gameEvent.setDeltas(specialEvent.getAirImpact(), specialEvent.getWaterImpact(),
+                specialEvent.getBiologyImpact(), specialEvent.getPopularityImpact());
+        return gameEvent;
+    }
+
+    public static GameEvent ofEnding(int endingId) {
+        return of(TYPE_ENDING, (long) endingId);
+    }
+
+    private static GameEvent of(short type, Long refId) {
+        GameEvent gameEvent = new GameEvent();
+        gameEvent.setType(type);
+        gameEvent.setRefId(refId);
+        return gameEvent;
+    }
+
+    private void setDeltas(int air, int water, int biology, int popularity) {
+        this.airDelta = (short) air;
+        this.waterDelta = (short) water;
+        this.biologyDelta = (short) biology;
+        this.popularityDelta = (short) popularity;
+    }
+}
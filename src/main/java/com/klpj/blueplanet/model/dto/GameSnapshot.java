@@ -0,0 +1,102 @@
+package com.klpj.blueplanet.model.dto;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 이벤트 seq 시점의 게임 상태. 게임 시작 시와 이후 이벤트가 일정 개수 쌓일 때마다 저장되어,
+ * 임의 턴의 상태를 "그 이전의 가장 가까운 스냅샷 + 이후 이벤트 몇 개"로 다시 만들 수 있게 합니다.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "game_snapshot", uniqueConstraints =
+        @UniqueConstraint(name = "uk_game_snapshot_user_seq", columnNames = {"user_status_id", "seq"}))
+public class GameSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_snapshot_seq")
+    @SequenceGenerator(name = "game_snapshot_seq", sequenceName = "game_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_status_id", nullable = false)
+    private Long userStatusId;
+
+    // 마지막으로 반영된 이벤트 seq (게임 시작 시 0)
+    @Column(nullable = false)
+    private int seq;
+
+    @Column(name = "turn_count", nullable = false)
+    private int turnCount;
+
+    private int air;
+    private int water;
+    private int biology;
+    private int popularity;
+
+    // 스냅샷에 반영된 엔딩 ID (0이면 엔딩 전). 기존 행에도 컬럼이 추가될 수 있도록 기본값 0을 지정
+    @Column(name = "ending_id", columnDefinition = "integer default 0 not null")
+    private int endingId;
+
+    // 사용된 상시/특별 이벤트 ID (쉼표로 구분)
+    @Column(columnDefinition = "TEXT")
+    private String usedEventIds;
+
+    @Column(columnDefinition = "TEXT")
+    private String usedSpecialEventIds;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt = new Date();
+
+    public static GameSnapshot of(UserStatus status) {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.setUserStatusId(status.getUserId());
+        snapshot.setSeq(status.getEventSeq());
+        snapshot.setTurnCount(status.getTurnCount());
+        snapshot.setAir(status.getAir());
+        snapshot.setWater(status.getWater());
+        snapshot.setBiology(status.getBiology());
+        snapshot.setPopularity(status.getPopularity());
+        snapshot.setEndingId(status.getEndingId());
+        snapshot.setUsedEventIds(join(status.getUsedEventIds()));
+        snapshot.setUsedSpecialEventIds(join(status.getUsedSpecialEventIds()));
+        return snapshot;
+    }
+
+    /**
+     * 스냅샷 시점의 상태
+     */
+    public UserStatus toStatus() {
+        UserStatus status = new UserStatus();
+        status.setUserId(userStatusId);
+        status.setEventSeq(seq);
+        status.setTurnCount(turnCount);
+        status.setAir(air);
+        status.setWater(water);
+        status.setBiology(biology);
+        status.setPopularity(popularity);
+        status.setEndingId(endingId);
+        status.setUsedEventIds(split(usedEventIds));
+        status.setUsedSpecialEventIds(split(usedSpecialEventIds));
+        return status;
+    }
+
+    private static String join(Set<Long> ids) {
+        return ids.stream().sorted().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static Set<Long> split(String ids) {
+        Set<Long> set = new HashSet<>();
+        if (ids != null && !ids.isEmpty()) {
+            Arrays.stream(ids.split(",")).map(Long::valueOf).forEach(set::add);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,93 @@
+package com.klpj.blueplanet.model.dto;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 사용자 메일함 읽기 모델.
+ * 선택 이력(이벤트 메일)과 조언 메일을 쓰는 시점에 함께 기록해 두어,
+ * 목록은 (user_id, received_at, id) 인덱스 범위 조회 한 번으로, 상세는 행 하나로 제공합니다.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "inbox_message", indexes = {
+        @Index(name = "idx_inbox_message_user_received", columnList = "user_id, received_at, id"),
+        @Index(name = "idx_inbox_message_user_ref", columnList = "user_id, type, ref_id")
+})
+public class InboxMessage {
+
+    public static final String TYPE_EVENT = "event";
+    public static final String TYPE_ADVICE = "advice";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inbox_message_seq")
+    @SequenceGenerator(name = "inbox_message_seq", sequenceName = "inbox_message_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // "event" or "advice"
+    @Column(nullable = false, length = 10)
+    private String type;
+
+    // 메일 ID (이벤트 메일은 eventId, 조언 메일은 AdviceEmail ID)
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    // 관련 이벤트 ID
+    private Long eventId;
+
+    @Column(length = 100)
+    private String title;
+
+    // 조언 메일 본문 (이벤트 메일 본문은 카탈로그에서 읽음)
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    // 사용자가 선택한 선택지 (이벤트 메일)
+    private Long selectedChoiceId;
+
+    @Column(columnDefinition = "TEXT")
+    private String selectedChoiceContent;
+
+    // 사용자 기준 수신 시각
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    /**
+     * 선택 이벤트(GameEvent.TYPE_CHOICE) 한 건에 해당하는 이벤트 메일
+     */
+    public static InboxMessage ofChoice(GameEvent gameEvent, Event event, Choice choice) {
+        InboxMessage message = new InboxMessage();
+        message.setUserId(gameEvent.getUserStatusId());
+        message.setType(TYPE_EVENT);
+        message.setRefId(event.getId());
+        message.setEventId(event.getId());
+        message.setTitle(event.getTitle());
+        message.setSelectedChoiceId(choice.getId());
+        message.setSelectedChoiceContent(choice.getContent());
+        message.setReceivedAt(LocalDateTime.ofInstant(gameEvent.getOccurredAt().toInstant(), ZoneId.systemDefault()));
+        return message;
+    }
+
+    /**
+     * 저장된 조언 메일에 해당하는 메일
+     */
+    public static InboxMessage ofAdvice(AdviceEmail advice) {
+        InboxMessage message = new InboxMessage();
+        message.setUserId(advice.getUserId());
+        message.setType(TYPE_ADVICE);
+        message.setRefId(advice.getId());
+        message.setEventId(advice.getEventId());
+        message.setTitle(advice.getTitle());
+        message.setContent(advice.getContent());
+        message.setReceivedAt(advice.getCreatedAt() != null ? advice.getCreatedAt() : LocalDateTime.now());
+        return message;
+    }
+}
@@ -1,5 +1,6 @@
 package com.klpj.blueplanet.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -26,6 +27,22 @@ public class UserStatus {
     @Column(name = "turn_count")
     private int turnCount;
 
+    // 이 상태에 반영된 마지막 게임 이벤트 seq (GameEvent). 이후 이벤트는 불러올 때 다시 적용됨
+    @JsonIgnore
+    @Column(name = "event_seq", columnDefinition = "integer default 0 not null")
+    private int eventSeq;
+
+    // 도달한 엔딩 ID (0이면 진행 중). 엔딩 게임 이벤트에서 정해지므로 세션을 다시 불러와도 유지됨
+    @JsonIgnore
+    @Column(name = "ending_id", columnDefinition = "integer default 0 not null")
+    private int endingId;
+
+    // 메일함이 바뀔 때마다 올라가는 버전 (메일함 목록 ETag). 이벤트 메일은 선택 게임 이벤트를 적용할 때,
+    // 조언 메일과 되돌리기는 세션에서 직접 올리며, 되돌려도 이전 값으로 돌아가지 않음
+    @JsonIgnore
+    @Column(name = "inbox_version", columnDefinition = "integer default 0 not null")
+    private int inboxVersion;
+
     // 사용된 상시이벤트 ID를 저장하는 집합
     @CollectionTable(name = "user_status_used_events", joinColumns = @JoinColumn(name = "user_status_id"))
     @Column(name = "event_id")
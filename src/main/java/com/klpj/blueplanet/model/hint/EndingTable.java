@@ -0,0 +1,149 @@
+package com.klpj.blueplanet.model.hint;
+
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+
+import java.util.Arrays;
+
+/**
+ * HintSolver의 탐색 깊이 너머를 평가하는 엔딩 분포 표.
+ * - (턴, 수치 4개를 quantum 단위로 묶은 칸)마다, 남은 턴 동안 목표 엔딩 확률이 가장 높은 선택지를 계속 고를 때의
+ *   엔딩 분포를 마지막 턴부터 거꾸로 계산해 둡니다. 칸의 값은 칸 가운데 수치로 계산합니다.
+ * - 다음 이벤트는 선택지가 있는 모든 상시 이벤트 중 균등하게 나온다고 보고, 특별 이벤트는 고려하지 않습니다.
+ *   (사용 이력을 칸에 담을 수 없으므로. 가까운 턴은 HintSolver가 실제 규칙으로 탐색합니다)
+ * 만든 뒤에는 변경되지 않으므로 여러 스레드에서 읽어도 됩니다.
+ */
+final class EndingTable {
+
+    static final int ENDING_SLOTS = GameRules.ENDING_COUNT + 1;
+
+    // 상시 이벤트 직전 상태의 수치 범위 (0 이하, 100 이상이면 엔딩)
+    private static final int MIN_STAT = 1;
+    private static final int MAX_STAT = 99;
+
+    private final int quantum;
+    private final int buckets;
+    private final int endingTurn;
+    private final float[] values; // 상태 위치 * ENDING_SLOTS + endingId → 확률
+
+    private EndingTable(int quantum, int endingTurn) {
+        this.quantum = quantum;
+        this.buckets = MAX_STAT / quantum + 1;
+        this.endingTurn = endingTurn;
+        this.values = new float[endingTurn * buckets * buckets * buckets * buckets * ENDING_SLOTS];
+    }
+
+    /**
+     * @param choicesByEvent 이벤트별 선택지 (선택지가 없는 이벤트는 나오지 않는 것으로 봄)
+     * @param target         선택 기준 엔딩
+     */
+    static EndingTable build(Choice[][] choicesByEvent, int target, int quantum, int endingTurn) {
+        EndingTable table = new EndingTable(quantum, endingTurn);
+        int eventCount = 0;
+        for (Choice[] choices : choicesByEvent) {
+            if (choices.length > 0) {
+                eventCount++;
+            }
+        }
+        if (eventCount == 0) {
+            return table; // 모든 상태가 0 (엔딩 전에 이벤트 소진과 같음)
+        }
+
+        UserStatus probe = new UserStatus();
+        double[] sum = new double[ENDING_SLOTS];
+        int b = table.buckets;
+        for (int turn = endingTurn - 1; turn >= 1; turn--) {
+            for (int air = 0; air < b; air++) {
+                for (int water = 0; water < b; water++) {
+                    for (int biology = 0; biology < b; biology++) {
+                        for (int popularity = 0; popularity < b; popularity++) {
+                            Arrays.fill(sum, 0);
+                            for (Choice[] choices : choicesByEvent) {
+                                if (choices.length == 0) {
+                                    continue;
+                                }
+                                int best = 0;
+                                double bestValue = -1;
+                                for (Choice choice : choices) {
+                                    probe.setAir(table.center(air) + choice.getAirImpact());
+                                    probe.setWater(table.center(water) + choice.getWaterImpact());
+                                    probe.setBiology(table.center(biology) + choice.getBiologyImpact());
+                                    probe.setPopularity(table.center(popularity) + choice.getPopularityImpact());
+                                    probe.setTurnCount(turn + 1);
+                                    int next = table.next(probe);
+                                    double value = table.valueOf(next, target);
+                                    if (value > bestValue) {
+                                        best = next;
+                                        bestValue = value;
+                                    }
+                                }
+                                table.addTo(sum, best);
+                            }
+                            int offset = table.offset(turn, air, water, biology, popularity);
+                            for (int id = 0; id < ENDING_SLOTS; id++) {
+                                table.values[offset + id] = (float) (sum[id] / eventCount);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 상시 이벤트 직전 상태(수치 1~99, 턴이 엔딩 턴 미만)의 엔딩 분포를 반환합니다.
+     */
+    double[] lookup(UserStatus status) {
+        int offset = offset(status.getTurnCount(), bucket(status.getAir()), bucket(status.getWater()),
+                bucket(status.getBiology()), bucket(status.getPopularity()));
+        double[] distribution = new double[ENDING_SLOTS];
+        for (int id = 0; id < ENDING_SLOTS; id++) {
+            distribution[id] = values[offset + id];
+        }
+        return distribution;
+    }
+
+    // 선택 뒤 상태가 엔딩이면 -(endingId + 1), 아니면 다음 턴 칸의 위치
+    private int next(UserStatus status) {
+        if (GameRules.nextEventType(status, SpecialEventRuleSet.EMPTY, endingTurn) == GameRules.NEXT_ENDING) {
+            return -(GameRules.endingId(status, endingTurn) + 1);
+        }
+        return offset(status.getTurnCount(), bucket(status.getAir()), bucket(status.getWater()),
+                bucket(status.getBiology()), bucket(status.getPopularity()));
+    }
+
+    private double valueOf(int next, int target) {
+        if (next < 0) {
+            return -(next + 1) == target ? 1.0 : 0.0;
+        }
+        return values[next + target];
+    }
+
+    private void addTo(double[] sum, int next) {
+        if (next < 0) {
+            sum[-(next + 1)] += 1.0;
+            return;
+        }
+        for (int id = 0; id < ENDING_SLOTS; id++) {
+            sum[id] += values[next + id];
+        }
+    }
+
+    private int offset(int turn, int air, int water, int biology, int popularity) {
+        return ((((turn * buckets + air) * buckets + water) * buckets + biology) * buckets + popularity) * ENDING_SLOTS;
+    }
+
+    private int bucket(int stat) {
+        return stat / quantum;
+    }
+
+    // 칸에 속하는 1~99 범위 수치의 가운데 값
+    private int center(int bucket) {
+        int low = Math.max(MIN_STAT, bucket * quantum);
+        int high = Math.min(MAX_STAT, bucket * quantum + quantum - 1);
+        return (low + high) / 2;
+    }
+}
@@ -0,0 +1,29 @@
+package com.klpj.blueplanet.model.hint;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 이벤트의 선택지별 예상 엔딩.
+ *
+ * @param targetEndingId      추천 기준 엔딩. 이 엔딩에 도달할 확률이 가장 높은 선택지를 추천합니다
+ * @param recommendedChoiceId 추천 선택지. 이벤트에 선택지가 없으면 null
+ * @param choices             선택지별 예상 엔딩 (선택지 id 오름차순)
+ * @param states              탐색 중 계산한(메모이즈된) 상태 수
+ */
+public record Hint(long eventId,
+                   int targetEndingId,
+                   Long recommendedChoiceId,
+                   List<ChoiceHint> choices,
+                   int states,
+                   long elapsedMicros) {
+
+    /**
+     * @param expectedEndingId 가장 가능성이 높은 엔딩 (0: 엔딩 전에 상시 이벤트 소진)
+     * @param targetRate       추천 기준 엔딩에 도달할 확률
+     * @param endingRates      엔딩 분포 (endingId → 확률, 0보다 큰 것만)
+     */
+    public record ChoiceHint(long choiceId, String content, int expectedEndingId, double targetRate,
+                             Map<Integer, Double> endingRates) {
+    }
+}
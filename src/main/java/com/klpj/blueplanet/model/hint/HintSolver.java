@@ -0,0 +1,299 @@
+package com.klpj.blueplanet.model.hint;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.hint.Hint.ChoiceHint;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.rules.SpecialEventRule;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 상태에서 이벤트의 선택지마다 엔딩 분포를 계산하는 expectimax 탐색기. (GPT 없이 바로 응답하는 힌트)
+ * - 선택 뒤의 진행은 실제 게임과 같은 GameRules, SpecialEventRuleSet으로 판단합니다.
+ *   (특별 이벤트 발동 → 다음 이벤트 판단 → ... → 엔딩)
+ * - 다음 상시 이벤트는 남은 이벤트 중 균등하게 나온다고 보고 평균을 내고(기대값 노드),
+ *   각 이벤트에서는 목표 엔딩 확률이 가장 높은 선택지를 고른다고 가정합니다(최대값 노드).
+ * - 남은 이벤트 목록은 탐색 시작 시점 그대로 사용합니다. (남은 턴보다 남은 이벤트가 훨씬 많으므로 근사)
+ * - 이후 depth개 이벤트까지만 직접 탐색하고, 그 너머는 수치를 묶은 칸마다 미리 계산해 둔 EndingTable로 평가합니다.
+ *   탐색 중 같은 상태(턴, 수치, 사용된 특별 이벤트)는 한 번만 계산합니다.
+ * 카탈로그 하나에 대해 만들며, solve는 호출마다 별도의 탐색 상태를 사용하므로 여러 스레드에서 호출해도 됩니다.
+ */
+public final class HintSolver {
+
+    private static final int ENDING_SLOTS = EndingTable.ENDING_SLOTS; // 0: 이벤트 소진
+
+    // 상태 키: 턴 8비트 | 수치 7비트 x 4 | 사용된 특별 이벤트 28비트
+    private static final int MASK_BITS = 28;
+
+    // 엔딩 하나로 확정된 분포 (읽기 전용으로 공유)
+    private static final double[][] POINT_MASSES = new double[ENDING_SLOTS][];
+
+    static {
+        for (int id = 0; id < ENDING_SLOTS; id++) {
+            POINT_MASSES[id] = new double[ENDING_SLOTS];
+            POINT_MASSES[id][id] = 1.0;
+        }
+    }
+
+    private final ContentCatalog catalog;
+    private final SpecialEventRuleSet rules;
+    private final Choice[][] choicesByEvent; // 이벤트 위치 → 선택지
+    private final Map<Long, Integer> specialEventSlots;
+    private final int depth;
+    private final int tableQuantum;
+    private final Map<Integer, EndingTable> tables = new ConcurrentHashMap<>(); // 목표 엔딩 → 표
+
+    /**
+     * @param depth        직접 탐색할 이후 이벤트 수 (0이면 현재 선택지 바로 뒤부터 표로 평가)
+     * @param tableQuantum EndingTable에서 수치를 묶는 단위
+     */
+    public HintSolver(ContentCatalog catalog, int depth, int tableQuantum) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("탐색 깊이는 0 이상이어야 합니다: " + depth);
+        }
+        if (tableQuantum < 1) {
+            throw new IllegalArgumentException("tableQuantum은 1 이상이어야 합니다: " + tableQuantum);
+        }
+        this.catalog = catalog;
+        this.rules = catalog.getSpecialEventRules();
+        this.depth = depth;
+        this.tableQuantum = tableQuantum;
+
+        List<Event> events = catalog.getEvents();
+        this.choicesByEvent = new Choice[events.size()][];
+        for (int i = 0; i < events.size(); i++) {
+            choicesByEvent[i] = catalog.getChoices(events.get(i).getId()).toArray(new Choice[0]);
+        }
+
+        List<SpecialEvent> specialEvents = catalog.getSpecialEvents();
+        this.specialEventSlots = new HashMap<>();
+        for (int i = 0; i < specialEvents.size(); i++) {
+            specialEventSlots.put(specialEvents.get(i).getId(), i);
+        }
+    }
+
+    public ContentCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * 목표 엔딩의 EndingTable을 만들어 둡니다. solve는 이렇게 만들어 둔 목표 엔딩만 받습니다.
+     * 표 하나를 만드는 데 수백 ms가 걸리므로 요청 처리 중에는 만들지 않습니다.
+     */
+    public void prepare(int targetEndingId) {
+        checkEndingId(targetEndingId);
+        tables.computeIfAbsent(targetEndingId,
+                target -> EndingTable.build(choicesByEvent, target, tableQuantum, GameRules.ENDING_TURN));
+    }
+
+    /**
+     * solve에 넘길 수 있는 목표 엔딩인지 여부
+     */
+    public boolean isPrepared(int targetEndingId) {
+        return tables.containsKey(targetEndingId);
+    }
+
+    private static void checkEndingId(int targetEndingId) {
+        if (targetEndingId < 1 || targetEndingId > GameRules.ENDING_COUNT) {
+            throw new IllegalArgumentException("엔딩 id는 1~" + GameRules.ENDING_COUNT + " 사이여야 합니다: " + targetEndingId);
+        }
+    }
+
+    /**
+     * status에서 eventId 이벤트의 각 선택지를 골랐을 때의 엔딩 분포를 계산합니다.
+     *
+     * @param targetEndingId 추천 기준 엔딩 (1~10, prepare로 표를 만들어 둔 엔딩)
+     * @throws IllegalArgumentException 카탈로그에 없는 이벤트이거나 엔딩 id가 범위를 벗어나거나 표가 없는 경우
+     */
+    public Hint solve(UserStatus status, long eventId, int targetEndingId) {
+        int eventIndex = catalog.getEventIndex(eventId);
+        if (eventIndex < 0) {
+            throw new IllegalArgumentException("Event not found with id: " + eventId);
+        }
+        checkEndingId(targetEndingId);
+        EndingTable table = tables.get(targetEndingId);
+        if (table == null) {
+            throw new IllegalArgumentException("힌트를 제공하지 않는 목표 엔딩입니다: " + targetEndingId);
+        }
+        long started = System.nanoTime();
+
+        Search search = new Search(status, eventIndex, targetEndingId, table);
+        List<ChoiceHint> hints = new ArrayList<>(choicesByEvent[eventIndex].length);
+        ChoiceHint best = null;
+        for (Choice choice : choicesByEvent[eventIndex]) {
+            ChoiceHint hint = toHint(choice, search.afterChoice(choice), targetEndingId);
+            hints.add(hint);
+            if (best == null || hint.targetRate() > best.targetRate()) {
+                best = hint;
+            }
+        }
+
+        long elapsedMicros = (System.nanoTime() - started) / 1_000;
+        return new Hint(eventId, targetEndingId, best != null ? best.choiceId() : null, hints,
+                search.memo.size(), elapsedMicros);
+    }
+
+    private static ChoiceHint toHint(Choice choice, double[] distribution, int targetEndingId) {
+        Map<Integer, Double> endingRates = new LinkedHashMap<>();
+        int expected = 0;
+        for (int id = 0; id < ENDING_SLOTS; id++) {
+            if (distribution[id] > 0) {
+                endingRates.put(id, distribution[id]);
+            }
+            if (distribution[id] > distribution[expected]) {
+                expected = id;
+            }
+        }
+        return new ChoiceHint(choice.getId(), choice.getContent(), expected, distribution[targetEndingId], endingRates);
+    }
+
+    /**
+     * solve 한 번의 탐색 상태. 수치와 사용된 특별 이벤트는 탐색용 사본에 적용했다가 되돌립니다.
+     */
+    private final class Search {
+        private final UserStatus status = new UserStatus();
+        private final int[] pool; // 남은 상시 이벤트 위치 (현재 이벤트, 선택지 없는 이벤트 제외)
+        private final int target;
+        private final EndingTable table;
+        private final int lastSearchedTurn; // 이 턴까지의 상시 이벤트는 직접 탐색, 이후는 표로 평가
+        private final Map<Long, double[]> memo = new HashMap<>();
+        private long usedSpecialMask;
+
+        Search(UserStatus root, int currentEventIndex, int target, EndingTable table) {
+            this.target = target;
+            this.table = table;
+            this.lastSearchedTurn = root.getTurnCount() + depth;
+            status.setAir(root.getAir());
+            status.setWater(root.getWater());
+            status.setBiology(root.getBiology());
+            status.setPopularity(root.getPopularity());
+            status.setTurnCount(root.getTurnCount());
+            status.getUsedSpecialEventIds().addAll(root.getUsedSpecialEventIds());
+            for (Long specialEventId : root.getUsedSpecialEventIds()) {
+                usedSpecialMask |= specialBit(specialEventId);
+            }
+
+            List<Event> events = catalog.getEvents();
+            int[] remaining = new int[events.size()];
+            int size = 0;
+            for (int i = 0; i < events.size(); i++) {
+                if (i != currentEventIndex && choicesByEvent[i].length > 0
+                        && !root.getUsedEventIds().contains(events.get(i).getId())) {
+                    remaining[size++] = i;
+                }
+            }
+            this.pool = Arrays.copyOf(remaining, size);
+        }
+
+        // 선택지를 적용한 뒤의 엔딩 분포
+        double[] afterChoice(Choice choice) {
+            addImpacts(choice.getAirImpact(), choice.getWaterImpact(),
+                    choice.getBiologyImpact(), choice.getPopularityImpact(), 1);
+            status.setTurnCount(status.getTurnCount() + 1);
+            double[] result = resolve();
+            status.setTurnCount(status.getTurnCount() - 1);
+            addImpacts(choice.getAirImpact(), choice.getWaterImpact(),
+                    choice.getBiologyImpact(), choice.getPopularityImpact(), -1);
+            return result;
+        }
+
+        // 다음 이벤트를 판단해 엔딩이면 확정, 특별 이벤트면 적용 후 다시 판단, 상시 이벤트면 기대값 계산
+        private double[] resolve() {
+            int next = GameRules.nextEventType(status, rules, GameRules.ENDING_TURN);
+            if (next == GameRules.NEXT_ENDING) {
+                return POINT_MASSES[GameRules.endingId(status, GameRules.ENDING_TURN)];
+            }
+            if (next == GameRules.NEXT_SPECIAL) {
+                SpecialEventRule rule = rules.findFirstMatch(status);
+                SpecialEvent event = catalog.getSpecialEvent(rule.getSpecialEventId());
+                if (event != null) {
+                    return afterSpecialEvent(event);
+                }
+                // 조건만 있고 카탈로그에 없는 특별 이벤트는 발동하지 않으므로 상시 이벤트로 진행
+            }
+            return chance();
+        }
+
+        private double[] afterSpecialEvent(SpecialEvent event) {
+            long bit = specialBit(event.getId());
+            long previousMask = usedSpecialMask;
+            addImpacts(event.getAirImpact(), event.getWaterImpact(),
+                    event.getBiologyImpact(), event.getPopularityImpact(), 1);
+            status.getUsedSpecialEventIds().add(event.getId());
+            usedSpecialMask |= bit;
+            double[] result = resolve();
+            usedSpecialMask = previousMask;
+            status.getUsedSpecialEventIds().remove(event.getId());
+            addImpacts(event.getAirImpact(), event.getWaterImpact(),
+                    event.getBiologyImpact(), event.getPopularityImpact(), -1);
+            return result;
+        }
+
+        // 남은 이벤트 중 하나가 균등하게 나오고, 그 이벤트에서 목표 엔딩 확률이 가장 높은 선택지를 고름
+        private double[] chance() {
+            if (pool.length == 0) {
+                return POINT_MASSES[0];
+            }
+            if (status.getTurnCount() > lastSearchedTurn) {
+                return table.lookup(status); // 표 조회가 메모 조회보다 싸므로 메모하지 않음
+            }
+            long key = key();
+            double[] cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            double[] sum = new double[ENDING_SLOTS];
+            for (int eventIndex : pool) {
+                double[] best = null;
+                for (Choice choice : choicesByEvent[eventIndex]) {
+                    double[] result = afterChoice(choice);
+                    if (best == null || result[target] > best[target]) {
+                        best = result;
+                    }
+                }
+                for (int id = 0; id < ENDING_SLOTS; id++) {
+                    sum[id] += best[id];
+                }
+            }
+            for (int id = 0; id < ENDING_SLOTS; id++) {
+                sum[id] /= pool.length;
+            }
+            memo.put(key, sum);
+            return sum;
+        }
+
+        // 상시 이벤트 직전 상태이므로 수치는 1~99, 턴은 엔딩 턴 미만
+        private long key() {
+            long key = Math.min(status.getTurnCount(), 0xFF);
+            key = key << 7 | status.getAir();
+            key = key << 7 | status.getWater();
+            key = key << 7 | status.getBiology();
+            key = key << 7 | status.getPopularity();
+            return key << MASK_BITS | usedSpecialMask;
+        }
+
+        private void addImpacts(int air, int water, int biology, int popularity, int sign) {
+            status.setAir(status.getAir() + sign * air);
+            status.setWater(status.getWater() + sign * water);
+            status.setBiology(status.getBiology() + sign * biology);
+            status.setPopularity(status.getPopularity() + sign * popularity);
+        }
+    }
+
+    // 특별 이벤트가 MASK_BITS개보다 많으면 비트를 나눠 쓰므로, 서로 다른 사용 이력이 같은 키가 될 수 있음 (메모이즈 근사)
+    private long specialBit(Long specialEventId) {
+        Integer slot = specialEventSlots.get(specialEventId);
+        return slot != null ? 1L << (slot % MASK_BITS) : 0L;
+    }
+}
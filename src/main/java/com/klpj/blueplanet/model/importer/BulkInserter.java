@@ -0,0 +1,205 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 콘텐츠 테이블에 여러 행을 한 번에 씁니다.
+ * - 빈 테이블은 insert: PostgreSQL이면 COPY ... FROM STDIN (CSV)으로 한 번의 왕복에 모두 보내고,
+ *   그 외 DB(H2 등)이거나 COPY가 꺼져 있으면 JDBC 배치 INSERT를 사용합니다.
+ * - 이미 채워진 테이블은 upsert/deleteByIds로 id 기준 차이만 반영합니다.
+ *   upsert는 PostgreSQL이면 INSERT ... ON CONFLICT 한 문장으로, 그 외 DB는 기존 행과 비교해 UPDATE/INSERT 배치로 씁니다.
+ * 모든 메서드는 호출한 쪽의 트랜잭션에 참여합니다.
+ */
+@Component
+public class BulkInserter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkInserter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean copyEnabled;
+    private final int batchSize;
+
+    public BulkInserter(JdbcTemplate jdbcTemplate,
+                        @Value("${data.import.copy-enabled:true}") boolean copyEnabled,
+                        @Value("${data.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyEnabled = copyEnabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param columns 열 이름 목록. rows의 각 배열은 이 순서를 따릅니다.
+     * @return 들어간 행 수
+     */
+    public long insert(String table, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String columnList = String.join(", ", columns);
+        Long copied = copyEnabled ? jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            if (!con.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            String sql = "COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)";
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(toCsv(rows)));
+            } catch (IOException e) {
+                throw new SQLException("COPY 실패: " + table, e);
+            }
+        }) : null;
+        if (copied != null) {
+            return copied;
+        }
+        return batchInsert(table, columns, rows);
+    }
+
+    private long batchInsert(String table, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String columnList = String.join(", ", columns);
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        String sql = "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")";
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+        logger.debug("{}: JDBC 배치로 {}행 입력", table, rows.size());
+        return rows.size();
+    }
+
+    /**
+     * id(columns의 첫 번째 열)가 같은 행은 갱신하고 없는 행은 넣습니다.
+     * 값이 모두 같은 행은 건드리지 않으므로, 반환값은 실제로 추가되거나 바뀐 행 수입니다.
+     */
+    public long upsert(String table, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> con.isWrapperFor(PGConnection.class));
+        return Boolean.TRUE.equals(postgres)
+                ? upsertOnConflict(table, columns, rows)
+                : upsertByComparison(table, columns, rows);
+    }
+
+    // PostgreSQL: ON CONFLICT ... WHERE ... IS DISTINCT FROM 으로 바뀐 행만 갱신
+    private long upsertOnConflict(String table, List<String> columns, List<Object[]> rows) {
+        List<String> values = columns.subList(1, columns.size());
+        String sql = "INSERT INTO " + table + " AS t (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(c -> "?").collect(Collectors.joining(", ")) + ") "
+                + "ON CONFLICT (" + columns.get(0) + ") DO UPDATE SET "
+                + values.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "))
+                + " WHERE (" + values.stream().map(c -> "t." + c).collect(Collectors.joining(", ")) + ")"
+                + " IS DISTINCT FROM (" + values.stream().map(c -> "EXCLUDED." + c).collect(Collectors.joining(", ")) + ")";
+        int[][] counts = jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+        long affected = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // 드라이버가 행 수를 모르면 SUCCESS_NO_INFO(-2)를 돌려주므로 1건으로 셈
+                affected += count == 0 ? 0 : 1;
+            }
+        }
+        return affected;
+    }
+
+    // 그 외 DB(H2 등): 기존 행을 한 번 읽어 비교한 뒤, 바뀐 행은 UPDATE 배치, 없는 행은 INSERT 배치
+    private long upsertByComparison(String table, List<String> columns, List<Object[]> rows) {
+        // TEXT 열이 CLOB으로 읽히는 DB도 있으므로 모두 문자열로 비교
+        Map<Long, List<String>> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT " + String.join(", ", columns) + " FROM " + table, rs -> {
+            List<String> values = new ArrayList<>(columns.size());
+            for (int i = 1; i <= columns.size(); i++) {
+                values.add(rs.getString(i));
+            }
+            existing.put(rs.getLong(1), values);
+        });
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Object[] row : rows) {
+            List<String> current = existing.get((Long) row[0]);
+            if (current == null) {
+                inserts.add(row);
+            } else if (!current.equals(asText(row))) {
+                updates.add(row);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            String sql = "UPDATE " + table + " SET "
+                    + columns.subList(1, columns.size()).stream().map(c -> c + " = ?").collect(Collectors.joining(", "))
+                    + " WHERE " + columns.get(0) + " = ?";
+            jdbcTemplate.batchUpdate(sql, updates, batchSize, (ps, row) -> {
+                for (int i = 1; i < row.length; i++) {
+                    ps.setObject(i, row[i]);
+                }
+                ps.setObject(row.length, row[0]);
+            });
+        }
+        batchInsert(table, columns, inserts);
+        return inserts.size() + updates.size();
+    }
+
+    private static List<String> asText(Object[] row) {
+        List<String> values = new ArrayList<>(row.length);
+        for (Object value : row) {
+            values.add(value == null ? null : value.toString());
+        }
+        return values;
+    }
+
+    public Set<Long> ids(String table) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM " + table, Long.class));
+    }
+
+    public long deleteByIds(String table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM " + table + " WHERE id = ?", ids, batchSize,
+                (ps, id) -> ps.setLong(1, id));
+        return ids.size();
+    }
+
+    // CSV 형식에서 따옴표 없는 빈 값은 NULL, 따옴표로 감싼 빈 값은 빈 문자열
+    static String toCsv(List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                Object value = row[i];
+                if (value instanceof Number) {
+                    csv.append(value);
+                } else if (value != null) {
+                    csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,225 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 시트 id로 적재하기 전의 콘텐츠 id를 가리키는 사용자 데이터를 시트 id로 한 번 옮깁니다.
+ * <p>
+ * 예전 적재는 유효한 행 순서대로 1부터 번호를 붙였으므로, A열 id와 번호가 다른 행이 있습니다.
+ * (선택지 시트 114행 이후, 마지막 줄에 있는 프롤로그 특별 이벤트 등) 그대로 id 기준으로 반영하면
+ * 기존 행이 다른 콘텐츠로 바뀌어 선택 이력과 사용된 이벤트 id가 엉뚱한 콘텐츠를 가리키게 됩니다.
+ * <p>
+ * 그래서 시트 id로 처음 반영하기 직전(같은 트랜잭션)에 기존 행을 자연 키로 시트 행과 짝지은 뒤,
+ * 사용자 테이블의 참조를 새 id로 바꿉니다. 콘텐츠 행 자체는 이어지는 upsert가 시트 id로 다시 씁니다.
+ * - 이벤트, 엔딩, 특별 이벤트: 제목 + 본문
+ * - 선택지: (옮긴) 이벤트 id + 본문
+ * 같은 키가 여러 행이면 id 순서와 시트 순서대로 짝짓습니다. 짝이 없는 기존 id는 그대로 두고 경고만 남깁니다.
+ * 사용자 테이블은 콘텐츠에 외래 키가 없으므로 콘텐츠 반영 전에 바꿔도 됩니다.
+ */
+@Component
+public class ContentIdMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ContentIdMigration.class);
+
+    private static final int CHOICE = 1;
+    private static final int SPECIAL_EVENT = 2;
+    private static final int ENDING = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContentIdMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param sheetRows 테이블 이름 → 시트 행 (ContentSheet.columns 순서). 없는 테이블은 옮기지 않습니다.
+     */
+    public void remapLegacyIds(Map<String, List<Object[]>> sheetRows) {
+        Map<Long, Long> events = Map.of();
+        if (sheetRows.containsKey("events")) {
+            events = match("events", existing("SELECT id, title, content FROM events", 0),
+                    sheetRows.get("events"), row -> key(row[1], row[3]));
+            rewrite(events, "user_choice_history", "event_id", null);
+            rewriteUsedEvents(events);
+            rewrite(events, "advice_emails", "event_id", null);
+            rewrite(events, "game_event", "event_id", null);
+            rewrite(events, "inbox_message", "event_id", null);
+            rewrite(events, "inbox_message", "ref_id", "type = 'event'");
+        }
+        if (sheetRows.containsKey("choices")) {
+            Map<Long, Long> eventIds = events;
+            Map<Long, Long> choices = match("choices", existing("SELECT id, event_id, content FROM choices", 1)
+                            .entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                                    e -> movedKey(e.getValue(), eventIds))),
+                    sheetRows.get("choices"), row -> key(row[1], row[7]));
+            rewrite(choices, "user_choice_history", "choice_id", null);
+            rewrite(choices, "inbox_message", "selected_choice_id", null);
+            rewrite(choices, "game_event", "ref_id", "type = " + CHOICE);
+        }
+        Map<Long, Long> specialEvents = Map.of();
+        if (sheetRows.containsKey("special_events")) {
+            specialEvents = match("special_events", existing("SELECT id, title, content FROM special_events", 0),
+                    sheetRows.get("special_events"), row -> key(row[1], row[2]));
+            rewrite(specialEvents, "user_status_used_special_events", "special_event_id", null);
+            rewrite(specialEvents, "game_event", "ref_id", "type = " + SPECIAL_EVENT);
+        }
+        if (sheetRows.containsKey("endings")) {
+            Map<Long, Long> endings = match("endings", existing("SELECT id, title, content FROM endings", 0),
+                    sheetRows.get("endings"), row -> key(row[1], row[2]));
+            rewrite(endings, "game_event", "ref_id", "type = " + ENDING);
+            rewrite(endings, "user_status", "ending_id", null);
+            rewrite(endings, "game_snapshot", "ending_id", null);
+        }
+        rewriteSnapshots(events, specialEvents);
+    }
+
+    // 기존 id → 자연 키. parentColumn이 0보다 크면 키 앞에 그 열(부모 id)의 값을 붙임
+    private Map<Long, String> existing(String sql, int parentColumn) {
+        Map<Long, String> keys = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            keys.put(rs.getLong(1), parentColumn > 0
+                    ? key(rs.getLong(2), rs.getString(3))
+                    : key(rs.getString(2), rs.getString(3)));
+        });
+        return keys;
+    }
+
+    // 부모 id가 옮겨졌으면 옮긴 id로 키를 다시 만듦
+    private static String movedKey(String key, Map<Long, Long> parentIds) {
+        int separator = key.indexOf('\u0000');
+        long parentId = Long.parseLong(key.substring(0, separator));
+        return parentIds.getOrDefault(parentId, parentId) + key.substring(separator);
+    }
+
+    private static String key(Object first, Object second) {
+        return text(first) + "\u0000" + text(second);
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString().strip();
+    }
+
+    /**
+     * 기존 id → 시트 id. 같은 키끼리 기존 id 순서와 시트 순서대로 짝짓습니다.
+     */
+    private static Map<Long, Long> match(String table, Map<Long, String> existing, List<Object[]> rows,
+                                         Function<Object[], String> keyOf) {
+        Map<String, ArrayDeque<Long>> sheetIds = new HashMap<>();
+        for (Object[] row : rows) {
+            sheetIds.computeIfAbsent(keyOf.apply(row), k -> new ArrayDeque<>()).add((Long) row[0]);
+        }
+        Map<Long, Long> moved = new LinkedHashMap<>();
+        List<Long> unmatched = new ArrayList<>();
+        existing.keySet().stream().sorted().forEach(id -> {
+            ArrayDeque<Long> candidates = sheetIds.get(existing.get(id));
+            Long sheetId = candidates != null ? candidates.poll() : null;
+            if (sheetId == null) {
+                unmatched.add(id);
+            } else if (!sheetId.equals(id)) {
+                moved.put(id, sheetId);
+            }
+        });
+        if (!unmatched.isEmpty()) {
+            logger.warn("{}: 시트에서 찾지 못한 기존 id {}개는 옮기지 않음 {}", table, unmatched.size(), unmatched);
+        }
+        if (!moved.isEmpty()) {
+            logger.info("{}: 기존 id {}개를 시트 id로 옮김", table, moved.size());
+        }
+        return moved;
+    }
+
+    /**
+     * table.column의 값을 moved에 따라 바꿉니다.
+     * (user_id, event_id) 같은 unique 키 안에서 두 id가 서로 바뀌는 경우가 있으므로,
+     * 먼저 -(새 id + 1)로 옮긴 다음 되돌립니다. (콘텐츠 id는 0 이상이라 음수와 겹치지 않음)
+     */
+    private void rewrite(Map<Long, Long> moved, String table, String column, String filter) {
+        if (moved.isEmpty()) {
+            return;
+        }
+        String where = filter != null ? " AND " + filter : "";
+        String cases = moved.entrySet().stream()
+                .map(e -> "WHEN " + e.getKey() + " THEN " + (-e.getValue() - 1))
+                .collect(Collectors.joining(" "));
+        String ids = moved.keySet().stream().map(String::valueOf).collect(Collectors.joining(", "));
+        int updated = jdbcTemplate.update("UPDATE " + table + " SET " + column + " = CASE " + column + " " + cases
+                + " END WHERE " + column + " IN (" + ids + ")" + where);
+        jdbcTemplate.update("UPDATE " + table + " SET " + column + " = -" + column + " - 1 WHERE " + column + " < 0" + where);
+        if (updated > 0) {
+            logger.info("{}.{}: {}행을 시트 id로 옮김", table, column, updated);
+        }
+    }
+
+    // 사용된 상시 이벤트 목록은 user_status.event_id 배열 컬럼 (UserStatus.usedEventIds가 컬렉션 테이블 없이 매핑됨)
+    private void rewriteUsedEvents(Map<Long, Long> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("SELECT user_id, event_id FROM user_status WHERE event_id IS NOT NULL", rs -> {
+            Long[] usedEvents = Arrays.stream((Object[]) rs.getArray(2).getArray())
+                    .map(id -> ((Number) id).longValue())
+                    .toArray(Long[]::new);
+            Long[] movedEvents = Arrays.stream(usedEvents)
+                    .map(id -> events.getOrDefault(id, id))
+                    .toArray(Long[]::new);
+            if (!Arrays.equals(movedEvents, usedEvents)) {
+                updates.add(new Object[]{movedEvents, rs.getLong(1)});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE user_status SET event_id = ? WHERE user_id = ?", updates, updates.size(),
+                    (ps, row) -> {
+                        ps.setArray(1, ps.getConnection().createArrayOf("bigint", (Long[]) row[0]));
+                        ps.setLong(2, (Long) row[1]);
+                    });
+            logger.info("user_status.event_id: {}행의 사용된 이벤트 목록을 시트 id로 옮김", updates.size());
+        }
+    }
+
+    // 스냅샷의 사용된 이벤트 목록은 쉼표로 구분된 문자열
+    private void rewriteSnapshots(Map<Long, Long> events, Map<Long, Long> specialEvents) {
+        if (events.isEmpty() && specialEvents.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, used_event_ids, used_special_event_ids FROM game_snapshot", rs -> {
+            String usedEvents = rs.getString(2);
+            String usedSpecialEvents = rs.getString(3);
+            String movedEvents = moveAll(usedEvents, events);
+            String movedSpecialEvents = moveAll(usedSpecialEvents, specialEvents);
+            if (!Objects.equals(movedEvents, usedEvents) || !Objects.equals(movedSpecialEvents, usedSpecialEvents)) {
+                updates.add(new Object[]{movedEvents, movedSpecialEvents, rs.getLong(1)});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE game_snapshot SET used_event_ids = ?, used_special_event_ids = ? WHERE id = ?", updates);
+            logger.info("game_snapshot: {}행의 사용된 이벤트 목록을 시트 id로 옮김", updates.size());
+        }
+    }
+
+    private static String moveAll(String ids, Map<Long, Long> moved) {
+        if (ids == null || ids.isEmpty()) {
+            return ids;
+        }
+        return Arrays.stream(ids.split(","))
+                .map(Long::valueOf)
+                .map(id -> moved.getOrDefault(id, id))
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,182 @@
+package com.klpj.blueplanet.model.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ContentPackCompiler가 만든 콘텐츠 바이너리 팩을 읽습니다.
+ * 버퍼(보통 메모리 맵)의 절대 위치로만 읽으므로 여러 스레드에서 동시에 사용해도 안전하고,
+ * 섹션의 행과 문자열은 요청할 때 디코딩합니다.
+ *
+ * 형식 (big-endian, 문자열 ref = offset int + length int, null 문자열은 length -1)
+ * - 헤더(20)      magic "BPCP" | 형식 버전 | 섹션 수 | 문자열 영역 시작 | 문자열 영역 길이
+ * - 디렉터리(32)  섹션마다 원본 경로 ref | 원본 SHA-256 ref | 열 수 | 행 수 | 열 정의 위치 | 행 위치
+ * - 열 정의(12)   열마다 이름 ref | 타입
+ * - 행            고정 폭 레코드. LONG 8바이트, INT 4바이트, STRING ref 8바이트
+ * - 문자열 영역    UTF-8 바이트. 같은 문자열은 한 번만 저장
+ */
+public final class ContentPack {
+
+    public static final int FORMAT_VERSION = 1;
+
+    static final int MAGIC = 0x42504350; // "BPCP"
+    static final int HEADER_SIZE = 20;
+    static final int SECTION_ENTRY_SIZE = 32;
+    static final int COLUMN_ENTRY_SIZE = 12;
+
+    public enum ColumnType {
+        LONG(8), INT(4), STRING(8);
+
+        final int width;
+
+        ColumnType(int width) {
+            this.width = width;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int stringsOffset;
+    private final int stringsLength;
+    private final Map<String, Section> sections;
+
+    private ContentPack(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("콘텐츠 팩 형식이 아닙니다");
+        }
+        int version = buffer.getInt(4);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 콘텐츠 팩 버전: " + version);
+        }
+        int sectionCount = buffer.getInt(8);
+        this.stringsOffset = buffer.getInt(12);
+        this.stringsLength = buffer.getInt(16);
+        if (stringsOffset < 0 || (long) stringsOffset + stringsLength > buffer.capacity()) {
+            throw new IllegalArgumentException("콘텐츠 팩이 손상되었습니다");
+        }
+
+        Map<String, Section> map = new LinkedHashMap<>();
+        for (int i = 0; i < sectionCount; i++) {
+            Section section = new Section(HEADER_SIZE + i * SECTION_ENTRY_SIZE);
+            map.put(section.source, section);
+        }
+        this.sections = Collections.unmodifiableMap(map);
+    }
+
+    public static ContentPack open(ByteBuffer buffer) {
+        return new ContentPack(buffer.asReadOnlyBuffer());
+    }
+
+    /** 원본 경로(ContentSheet.path)에 해당하는 섹션. 없으면 null */
+    public Section section(String source) {
+        return sections.get(source);
+    }
+
+    public List<Section> sections() {
+        return List.copyOf(sections.values());
+    }
+
+    private String string(int at) {
+        int offset = buffer.getInt(at);
+        int length = buffer.getInt(at + 4);
+        if (length < 0) {
+            return null;
+        }
+        if (offset < 0 || (long) offset + length > stringsLength) {
+            throw new IllegalArgumentException("콘텐츠 팩이 손상되었습니다");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(stringsOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public final class Section {
+        private final String source;
+        private final String sha256;
+        private final List<String> columns;
+        private final ColumnType[] types;
+        private final int[] fieldOffsets;
+        private final int rowCount;
+        private final int rowsOffset;
+        private final int rowWidth;
+
+        private Section(int entry) {
+            this.source = string(entry);
+            this.sha256 = string(entry + 8);
+            int columnCount = buffer.getInt(entry + 16);
+            this.rowCount = buffer.getInt(entry + 20);
+            int columnsOffset = buffer.getInt(entry + 24);
+            this.rowsOffset = buffer.getInt(entry + 28);
+
+            List<String> names = new ArrayList<>(columnCount);
+            this.types = new ColumnType[columnCount];
+            this.fieldOffsets = new int[columnCount];
+            int width = 0;
+            ColumnType[] all = ColumnType.values();
+            for (int c = 0; c < columnCount; c++) {
+                int at = columnsOffset + c * COLUMN_ENTRY_SIZE;
+                names.add(string(at));
+                int type = buffer.getInt(at + 8);
+                if (type < 0 || type >= all.length) {
+                    throw new IllegalArgumentException("알 수 없는 열 타입: " + type);
+                }
+                types[c] = all[type];
+                fieldOffsets[c] = width;
+                width += types[c].width;
+            }
+            this.columns = List.copyOf(names);
+            this.rowWidth = width;
+            if ((long) rowsOffset + (long) rowWidth * rowCount > buffer.capacity()) {
+                throw new IllegalArgumentException("콘텐츠 팩이 손상되었습니다: " + source);
+            }
+        }
+
+        public String source() {
+            return source;
+        }
+
+        /** 팩을 만들 때 읽은 원본 XLSX의 SHA-256 */
+        public String sha256() {
+            return sha256;
+        }
+
+        public List<String> columns() {
+            return columns;
+        }
+
+        public int rowCount() {
+            return rowCount;
+        }
+
+        /** index번째 행을 [id, 나머지 열...] 형태로 디코딩 */
+        public Object[] row(int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int base = rowsOffset + index * rowWidth;
+            Object[] row = new Object[types.length];
+            for (int c = 0; c < types.length; c++) {
+                int at = base + fieldOffsets[c];
+                row[c] = switch (types[c]) {
+                    case LONG -> buffer.getLong(at);
+                    case INT -> buffer.getInt(at);
+                    case STRING -> string(at);
+                };
+            }
+            return row;
+        }
+
+        public List<Object[]> readRows() {
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(row(i));
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.klpj.blueplanet.model.importer;
+
+import com.klpj.blueplanet.model.importer.ContentPackWriter.SectionData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * src/main/resources/data 아래 XLSX 원본을 콘텐츠 바이너리 팩으로 컴파일합니다.
+ * POI는 이 단계에서만 필요하고, 팩이 있으면 기동 시에는 XLSX를 파싱하지 않습니다.
+ *
+ * 사용법: mvn -Pcontent-pack package (process-classes 단계에서 실행)
+ *   또는 java -cp ... ContentPackCompiler [원본 data 디렉터리] [출력 파일]
+ */
+public final class ContentPackCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(ContentPackCompiler.class);
+
+    private static final String DATA_PREFIX = "/data/";
+
+    private ContentPackCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dataDir = Path.of(args.length > 0 ? args[0] : "src/main/resources/data");
+        Path output = Path.of(args.length > 1 ? args[1] : "target/classes/data/content.pack");
+
+        long started = System.nanoTime();
+        byte[] pack = compile(dataDir);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.write(output, pack);
+        logger.info("콘텐츠 팩 생성: {} ({} bytes, {}ms)", output, pack.length, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public static byte[] compile(Path dataDir) throws IOException {
+        List<SectionData> sections = new ArrayList<>();
+        for (ContentSheet sheet : ContentSheet.ALL) {
+            Path file = dataDir.resolve(sheet.path().substring(DATA_PREFIX.length()));
+            byte[] bytes = Files.readAllBytes(file);
+            List<Object[]> rows = sheet.readRows(bytes);
+            sections.add(new SectionData(sheet.path(), ContentSheet.sha256(bytes), sheet.columns(), rows));
+            logger.info("{}: {}행", sheet.name(), rows.size());
+        }
+        return ContentPackWriter.write(sections);
+    }
+}
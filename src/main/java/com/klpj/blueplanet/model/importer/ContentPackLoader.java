@@ -0,0 +1,61 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 콘텐츠 바이너리 팩을 엽니다.
+ * 파일 시스템에 있는 팩(개발 환경의 target/classes, 또는 content.pack.location으로 지정한 경로)은
+ * 메모리 맵으로 열고, jar 안에 있는 팩은 한 번에 읽어 들입니다.
+ */
+@Component
+public class ContentPackLoader {
+    private static final Logger logger = LoggerFactory.getLogger(ContentPackLoader.class);
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    public ContentPackLoader(ResourceLoader resourceLoader,
+                             @Value("${content.pack.location:classpath:/data/content.pack}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    /**
+     * @return 팩이 없거나 읽을 수 없으면 null (XLSX 원본을 직접 읽음)
+     */
+    public ContentPack load() {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer;
+            if (resource.isFile()) {
+                // 매핑은 채널을 닫아도 유지됨
+                try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            } else {
+                try (InputStream in = resource.getInputStream()) {
+                    buffer = ByteBuffer.wrap(in.readAllBytes());
+                }
+            }
+            ContentPack pack = ContentPack.open(buffer);
+            logger.info("콘텐츠 팩 사용: {} (섹션 {}개)", location, pack.sections().size());
+            return pack;
+        } catch (Exception e) {
+            logger.warn("콘텐츠 팩을 읽을 수 없어 XLSX 원본을 사용합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+}
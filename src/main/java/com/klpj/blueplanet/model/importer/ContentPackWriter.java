@@ -0,0 +1,156 @@
+package com.klpj.blueplanet.model.importer;
+
+import com.klpj.blueplanet.model.importer.ContentPack.ColumnType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 콘텐츠 바이너리 팩을 만듭니다. 형식은 ContentPack 참고.
+ */
+public final class ContentPackWriter {
+
+    /**
+     * @param source  원본 경로 (ContentSheet.path)
+     * @param sha256  원본 XLSX의 SHA-256
+     * @param rows    [id, 나머지 열...]. 같은 열의 값은 모두 Long, Integer, String 중 한 타입이어야 함
+     */
+    public record SectionData(String source, String sha256, List<String> columns, List<Object[]> rows) {
+    }
+
+    private final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+    private final Map<String, Integer> stringOffsets = new HashMap<>();
+
+    private ContentPackWriter() {
+    }
+
+    public static byte[] write(List<SectionData> sections) {
+        return new ContentPackWriter().writeAll(sections);
+    }
+
+    private byte[] writeAll(List<SectionData> sections) {
+        // 섹션별 열 타입과 위치를 먼저 정해 전체 크기를 계산
+        ColumnType[][] types = new ColumnType[sections.size()][];
+        int[] columnsOffsets = new int[sections.size()];
+        int[] rowsOffsets = new int[sections.size()];
+        int position = ContentPack.HEADER_SIZE + sections.size() * ContentPack.SECTION_ENTRY_SIZE;
+        for (int s = 0; s < sections.size(); s++) {
+            SectionData section = sections.get(s);
+            types[s] = columnTypes(section);
+            columnsOffsets[s] = position;
+            position += section.columns().size() * ContentPack.COLUMN_ENTRY_SIZE;
+            rowsOffsets[s] = position;
+            position += rowWidth(types[s]) * section.rows().size();
+        }
+        int stringsOffset = position;
+
+        // 문자열 영역은 행을 쓰면서 채우므로 본문을 먼저 쓰고 마지막에 붙임
+        ByteBuffer body = ByteBuffer.allocate(stringsOffset);
+        body.putInt(0, ContentPack.MAGIC);
+        body.putInt(4, ContentPack.FORMAT_VERSION);
+        body.putInt(8, sections.size());
+        body.putInt(12, stringsOffset);
+
+        for (int s = 0; s < sections.size(); s++) {
+            SectionData section = sections.get(s);
+            int entry = ContentPack.HEADER_SIZE + s * ContentPack.SECTION_ENTRY_SIZE;
+            putString(body, entry, section.source());
+            putString(body, entry + 8, section.sha256());
+            body.putInt(entry + 16, section.columns().size());
+            body.putInt(entry + 20, section.rows().size());
+            body.putInt(entry + 24, columnsOffsets[s]);
+            body.putInt(entry + 28, rowsOffsets[s]);
+
+            for (int c = 0; c < types[s].length; c++) {
+                int at = columnsOffsets[s] + c * ContentPack.COLUMN_ENTRY_SIZE;
+                putString(body, at, section.columns().get(c));
+                body.putInt(at + 8, types[s][c].ordinal());
+            }
+
+            int at = rowsOffsets[s];
+            for (Object[] row : section.rows()) {
+                for (int c = 0; c < types[s].length; c++) {
+                    switch (types[s][c]) {
+                        case LONG -> body.putLong(at, row[c] == null ? 0L : (Long) row[c]);
+                        case INT -> body.putInt(at, row[c] == null ? 0 : (Integer) row[c]);
+                        case STRING -> putString(body, at, (String) row[c]);
+                    }
+                    at += types[s][c].width;
+                }
+            }
+        }
+        body.putInt(16, strings.size());
+
+        byte[] pack = new byte[stringsOffset + strings.size()];
+        System.arraycopy(body.array(), 0, pack, 0, stringsOffset);
+        System.arraycopy(strings.toByteArray(), 0, pack, stringsOffset, strings.size());
+        return pack;
+    }
+
+    private void putString(ByteBuffer body, int at, String value) {
+        if (value == null) {
+            body.putInt(at, 0);
+            body.putInt(at + 4, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        Integer offset = stringOffsets.get(value);
+        if (offset == null) {
+            offset = strings.size();
+            strings.write(bytes, 0, bytes.length);
+            stringOffsets.put(value, offset);
+        }
+        body.putInt(at, offset);
+        body.putInt(at + 4, bytes.length);
+    }
+
+    private static ColumnType[] columnTypes(SectionData section) {
+        ColumnType[] types = new ColumnType[section.columns().size()];
+        for (Object[] row : section.rows()) {
+            if (row.length != types.length) {
+                throw new IllegalArgumentException(section.source() + ": 열 수가 맞지 않는 행");
+            }
+            for (int c = 0; c < types.length; c++) {
+                if (row[c] == null) {
+                    continue;
+                }
+                ColumnType type = typeOf(row[c]);
+                if (types[c] != null && types[c] != type) {
+                    throw new IllegalArgumentException(section.source() + ": " + section.columns().get(c) + " 열의 타입이 섞여 있음");
+                }
+                types[c] = type;
+            }
+        }
+        for (int c = 0; c < types.length; c++) {
+            if (types[c] == null) {
+                types[c] = ColumnType.STRING;
+            }
+        }
+        return types;
+    }
+
+    private static ColumnType typeOf(Object value) {
+        if (value instanceof Long) {
+            return ColumnType.LONG;
+        }
+        if (value instanceof Integer) {
+            return ColumnType.INT;
+        }
+        if (value instanceof String) {
+            return ColumnType.STRING;
+        }
+        throw new IllegalArgumentException("지원하지 않는 값 타입: " + value.getClass().getName());
+    }
+
+    private static int rowWidth(ColumnType[] types) {
+        int width = 0;
+        for (ColumnType type : types) {
+            width += type.width;
+        }
+        return width;
+    }
+}
@@ -0,0 +1,174 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 콘텐츠 원본 XLSX 파일 하나와, 그 행을 DB 테이블 행으로 바꾸는 규칙.
+ * DataInitializer(기동 시 반영)와 ContentPackCompiler(바이너리 팩 생성)가 같은 규칙을 사용합니다.
+ *
+ * @param path        클래스패스 기준 원본 경로. content_source_version의 키로도 사용
+ * @param columns     테이블 열 이름. 첫 번째는 항상 id
+ * @param parentTable 1번 칸(외래 키)이 가리키는 테이블. 없으면 null
+ * @param mapper      시트 행 → 테이블 행 [id, 나머지 열...]. null을 돌려주면 그 행은 버림
+ */
+public record ContentSheet(String name, String path, String table, List<String> columns,
+                           String parentTable, Function<XlsxRow, Object[]> mapper) {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentSheet.class);
+
+    /** 전체 원본 시트. 부모 → 자식 순서 */
+    public static final List<ContentSheet> ALL = List.of(
+            new ContentSheet("Events", "/data/events/Regular_Events.xlsx", "events",
+                    List.of("id", "title", "writer", "content"),
+                    null, ContentSheet::eventRow),
+            new ContentSheet("Endings", "/data/endings/Endings.xlsx", "endings",
+                    List.of("id", "title", "content", "img_url"),
+                    null, ContentSheet::endingRow),
+            new ContentSheet("Tooltips", "/data/events/Regular_Events_Keyword.xlsx", "tooltips",
+                    List.of("id", "keyword", "content"),
+                    null, ContentSheet::tooltipRow),
+            new ContentSheet("SpecialEvents", "/data/special/SpecialEvent_test.xlsx", "special_events",
+                    List.of("id", "title", "content", "img_url",
+                            "air_impact", "water_impact", "biology_impact", "popularity_impact", "priority"),
+                    null, ContentSheet::specialEventRow),
+            new ContentSheet("Choices", "/data/events/Regular_Events_Choices.xlsx", "choices",
+                    List.of("id", "event_id", "air_impact", "water_impact",
+                            "biology_impact", "popularity_impact", "result", "content"),
+                    "events", ContentSheet::choiceRow),
+            new ContentSheet("SpecialEventConditions", "/data/special/SpecialEventCondition_test.xlsx", "special_event_conditions",
+                    List.of("id", "special_event_id", "status_type", "operator", "variation"),
+                    "special_events", ContentSheet::specialEventConditionRow));
+
+    // A열의 숫자 id. 없으면 null
+    private static Long idOf(XlsxRow row) {
+        return row.isNumeric(0) ? row.getLong(0) : null;
+    }
+
+    private static Object[] eventRow(XlsxRow row) {
+        String title = row.getString(1);
+        String writer = row.getString(2);
+        String content = row.getString(3);
+
+        // 필수 값 누락 시 스킵
+        if (title.isBlank() || content.isBlank()) {
+            logger.warn("❗ 빈 값이 있는 row({})는 건너뜀", row.getRowNum());
+            return null;
+        }
+        return withId(row, title, writer, content);
+    }
+
+    private static Object[] choiceRow(XlsxRow row) {
+        if (!row.isNumeric(1)) return null;
+
+        return withId(row, row.getLong(1),
+                row.getInt(2), row.getInt(3), row.getInt(4), row.getInt(5),
+                row.getString(6), row.getString(7));
+    }
+
+    private static Object[] endingRow(XlsxRow row) {
+        String title = row.getString(1);
+        String content = row.getString(2);
+        String imgUrl = row.getString(3);
+
+        if (title.isBlank() || content.isBlank()) {
+            logger.warn("❗ 빈 값이 있는 row({})는 건너뜀", row.getRowNum());
+            return null;
+        }
+        return withId(row, title, content, imgUrl);
+    }
+
+    private static Object[] tooltipRow(XlsxRow row) {
+        String keyword = row.getString(1);
+
+        // keyword 셀이 비어 있으면 무시
+        if (keyword.isBlank()) {
+            return null;
+        }
+        return withId(row, keyword, row.getString(2));
+    }
+
+    private static Object[] specialEventRow(XlsxRow row) {
+        if (!row.isNumeric(0)) return null;
+
+        return withId(row, row.getString(1), row.getString(2), row.getString(3),
+                row.getInt(4), row.getInt(5), row.getInt(6), row.getInt(7), row.getInt(8));
+    }
+
+    private static Object[] specialEventConditionRow(XlsxRow row) {
+        // B열은 부모 특별 이벤트의 id
+        if (!row.isNumeric(1)) return null;
+
+        return withId(row, row.getLong(1), row.getString(2), row.getString(3), row.getInt(4));
+    }
+
+    private static Object[] withId(XlsxRow row, Object... values) {
+        Long id = idOf(row);
+        if (id == null) {
+            logger.warn("❗ id가 없는 row({})는 건너뜀", row.getRowNum());
+            return null;
+        }
+        Object[] result = new Object[values.length + 1];
+        result[0] = id;
+        System.arraycopy(values, 0, result, 1, values.length);
+        return result;
+    }
+
+    /**
+     * 원본 XLSX 바이트의 첫 번째 시트를 스트리밍으로 읽어 mapper가 만든 행을 모읍니다. 첫 줄은 헤더이므로 건너뜁니다.
+     * mapper가 null을 돌려주면 그 행은 버리고, 한 행의 오류는 경고만 남기고 계속 진행합니다.
+     * 파일 자체를 읽지 못하면 예외를 던집니다. (일부만 읽은 시트로 나머지 행을 지우지 않도록)
+     */
+    public List<Object[]> readRows(byte[] bytes) {
+        List<Object[]> rows = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        // unique 컬럼(툴팁 keyword)은 중복 행 하나 때문에 전체 반영이 실패하지 않도록 처음 것만 사용
+        Set<String> keywords = new HashSet<>();
+        try {
+            XlsxSheetReader.read(new ByteArrayInputStream(bytes), row -> {
+                if (row.getRowNum() == 0) return; // 첫 번째 줄은 헤더니까 건너뜀
+
+                try {
+                    Object[] values = mapper.apply(row);
+                    if (values == null) {
+                        return;
+                    }
+                    if (!ids.add((Long) values[0])) {
+                        logger.warn("❗ {}: 중복된 id({})는 건너뜀 (row {})", name, values[0], row.getRowNum());
+                        return;
+                    }
+                    if (table.equals("tooltips") && !keywords.add((String) values[1])) {
+                        logger.warn("❗ 중복된 툴팁 keyword({})는 건너뜀 (row {})", values[1], row.getRowNum());
+                        return;
+                    }
+                    rows.add(values);
+                } catch (Exception ex) {
+                    logger.warn("❌ {} row {} 읽기 중 오류 발생: {}", path, row.getRowNum(), ex.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(path + " 로딩 실패", e);
+        }
+        return rows;
+    }
+
+    public static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
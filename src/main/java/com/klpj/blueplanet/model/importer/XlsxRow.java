@@ -0,0 +1,56 @@
+package com.klpj.blueplanet.model.importer;
+
+/**
+ * 스트리밍으로 읽은 시트의 한 행.
+ * 셀 값은 원본 문자열 그대로 보관하고, 숫자 셀인지 여부만 따로 기억합니다.
+ */
+public final class XlsxRow {
+
+    private final int rowNum;
+    private final String[] values;
+    private final boolean[] numeric;
+
+    XlsxRow(int rowNum, String[] values, boolean[] numeric) {
+        this.rowNum = rowNum;
+        this.values = values;
+        this.numeric = numeric;
+    }
+
+    /** 0부터 시작하는 행 번호 (엑셀의 행 번호 - 1) */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public boolean isEmpty(int column) {
+        return column >= values.length || values[column] == null;
+    }
+
+    public boolean isNumeric(int column) {
+        return column < numeric.length && numeric[column];
+    }
+
+    /** 셀 문자열. 빈 셀은 "" */
+    public String getString(int column) {
+        return isEmpty(column) ? "" : values[column];
+    }
+
+    /** 숫자 셀 값. 빈 셀이나 숫자가 아닌 셀은 0 */
+    public double getNumber(int column) {
+        if (!isNumeric(column)) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(values[column]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public int getInt(int column) {
+        return (int) getNumber(column);
+    }
+
+    public long getLong(int column) {
+        return (long) getNumber(column);
+    }
+}
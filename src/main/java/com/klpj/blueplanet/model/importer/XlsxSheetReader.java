@@ -0,0 +1,154 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * XLSX 첫 번째 시트를 SAX로 한 행씩 읽습니다.
+ * XSSFWorkbook처럼 시트 전체의 DOM을 만들지 않으므로, 행 수와 관계없이 한 행 분량의 메모리만 사용합니다.
+ * 공유 문자열 표만 메모리에 올리며, 셀 서식은 해석하지 않고 저장된 값을 그대로 전달합니다.
+ */
+public final class XlsxSheetReader {
+
+    private XlsxSheetReader() {
+    }
+
+    public static void read(InputStream in, Consumer<XlsxRow> consumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(in)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            Iterator<InputStream> sheets = new XSSFReader(pkg).getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(strings, consumer));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("XLSX 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // "AB12" 같은 셀 참조에서 0부터 시작하는 열 번호를 구함
+    static int columnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char ch = cellRef.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            column = column * 26 + (ch - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable strings;
+        private final Consumer<XlsxRow> consumer;
+        private final StringBuilder text = new StringBuilder();
+
+        private String[] values = new String[16];
+        private boolean[] numeric = new boolean[16];
+        private int width;
+        private int rowNum = -1;
+
+        private int column;
+        private String cellType;
+        private boolean capturing;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, Consumer<XlsxRow> consumer) {
+            this.strings = strings;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    Arrays.fill(values, 0, width, null);
+                    Arrays.fill(numeric, 0, width, false);
+                    width = 0;
+                    column = -1;
+                }
+                case "c" -> {
+                    String r = attributes.getValue("r");
+                    column = r != null ? columnIndex(r) : column + 1;
+                    cellType = attributes.getValue("t");
+                    text.setLength(0);
+                }
+                // <v>: 값, <t>: 인라인 문자열 (서식 있는 문자열은 여러 <t>로 나뉨)
+                case "v", "t" -> capturing = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (capturing) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> capturing = false;
+                case "c" -> endCell();
+                case "row" -> consumer.accept(new XlsxRow(rowNum,
+                        Arrays.copyOf(values, width), Arrays.copyOf(numeric, width)));
+                default -> {
+                }
+            }
+        }
+
+        private void endCell() {
+            if (column < 0 || text.isEmpty()) {
+                return;
+            }
+            String raw = text.toString();
+            String value;
+            boolean isNumber = false;
+            if ("s".equals(cellType)) {
+                value = strings.getItemAt(Integer.parseInt(raw)).getString();
+            } else if (cellType == null || "n".equals(cellType)) {
+                value = raw;
+                isNumber = true;
+            } else {
+                // inlineStr, str(수식 결과 문자열), b, e
+                value = raw;
+            }
+            ensureCapacity(column + 1);
+            values[column] = value;
+            numeric[column] = isNumber;
+            width = Math.max(width, column + 1);
+        }
+
+        private void ensureCapacity(int size) {
+            if (size > values.length) {
+                int capacity = Math.max(size, values.length * 2);
+                values = Arrays.copyOf(values, capacity);
+                numeric = Arrays.copyOf(numeric, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package com.klpj.blueplanet.model.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 모든 게임이 함께 쓰는 비동기 게임 이벤트 저널.
+ * - 호출한 스레드는 큐에 넣기만 하고, 쓰기 스레드 하나가 모아서 현재 세그먼트 파일에 이어 씁니다.
+ *   (게임마다 파일을 열던 SiftingAppender와 달리 열린 파일은 항상 하나)
+ * - 세그먼트가 segment-bytes를 넘으면 새 세그먼트로 넘어가고, 닫힌 세그먼트는 게임별 오프셋 색인(.idx)을 남긴 뒤
+ *   백그라운드에서 gzip으로 압축됩니다. max-segments를 넘는 오래된 세그먼트는 지웁니다.
+ * - 메모리에는 게임 id별로 레코드가 들어 있는 세그먼트 번호만 색인해 두고, 한 게임의 로그는 그 세그먼트만 읽습니다.
+ *   레코드 오프셋은 열린 세그먼트의 것만 메모리에 있고, 닫힌 세그먼트의 것은 읽을 때 .idx에서 가져옵니다.
+ * - 큐가 가득 차면 게임 진행을 막지 않도록 레코드를 버리고 개수를 셉니다.
+ *
+ * 레코드 형식 (한 줄): 게임 id \t 시각 [스레드] 레벨 gameLog - 메시지 (줄바꿈과 역슬래시는 이스케이프)
+ */
+@Component
+public class GameJournal {
+    private static final Logger logger = LoggerFactory.getLogger(GameJournal.class);
+
+    public static final String DEFAULT_GAME_ID = "default";
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("game-journal-(\\d+)\\.(log|log\\.gz|idx)");
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final int MAX_GAME_ID_LENGTH = 100;
+
+    private record Entry(String gameId, long timestamp, String thread, String level, String message) {
+    }
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final int batchSize;
+    private final BlockingQueue<Entry> queue;
+    private final JournalIndex index = new JournalIndex();
+    private final ConcurrentSkipListSet<Integer> segments = new ConcurrentSkipListSet<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService compressor;
+    private final Thread writer;
+    private volatile boolean running;
+
+    // 쓰기 스레드만 사용
+    private int segment;
+    private OutputStream out;
+    private long position;
+
+    public GameJournal(@Value("${game.journal.dir:logs/journal}") String dir,
+                       @Value("${game.journal.segment-bytes:16777216}") long segmentBytes,
+                       @Value("${game.journal.max-segments:500}") int maxSegments,
+                       @Value("${game.journal.queue-capacity:65536}") int queueCapacity,
+                       @Value("${game.journal.batch-size:1024}") int batchSize) {
+        this.dir = Path.of(dir);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-journal-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = new Thread(this::runWriter, "game-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(dir);
+        recover();
+        openSegment(segments.isEmpty() ? 1 : segments.last() + 1);
+        running = true;
+        writer.start();
+    }
+
+    public void info(String gameId, String pattern, Object... args) {
+        append(gameId, "INFO", pattern, args);
+    }
+
+    public void warn(String gameId, String pattern, Object... args) {
+        append(gameId, "WARN", pattern, args);
+    }
+
+    /** 큐가 가득 차서 버린 레코드 수 */
+    public long droppedRecords() {
+        return dropped.get();
+    }
+
+    /** 아직 파일에 쓰지 않은 레코드 수 */
+    public int pendingRecords() {
+        return queue.size();
+    }
+
+    /** 색인에 남아 있는 게임 수 */
+    int indexedGames() {
+        return index.games();
+    }
+
+    /** 메모리에 들고 있는 레코드 오프셋 수 (열린 세그먼트의 레코드만) */
+    int offsetsInMemory() {
+        return index.offsetsInMemory();
+    }
+
+    private void append(String gameId, String level, String pattern, Object[] args) {
+        String message = MessageFormatter.arrayFormat(pattern, args).getMessage();
+        Entry entry = new Entry(normalizeGameId(gameId), System.currentTimeMillis(),
+                Thread.currentThread().getName(), level, message);
+        if (!queue.offer(entry)) {
+            long count = dropped.incrementAndGet();
+            if (count == 1 || count % 1000 == 0) {
+                logger.warn("게임 저널 큐가 가득 차 레코드를 버렸습니다 (누적 {}건)", count);
+            }
+        }
+    }
+
+    /**
+     * 한 게임의 로그를 기록된 순서대로 반환합니다. 파일에 쓰이기 전(큐에 있는) 레코드는 포함되지 않습니다.
+     */
+    public List<String> read(String gameId) {
+        String id = normalizeGameId(gameId);
+        List<String> lines = new ArrayList<>();
+        for (int segmentNo : index.segments(id)) {
+            try {
+                long[] offsets = index.openOffsets(segmentNo, id);
+                if (offsets == null) {
+                    offsets = readIndexOffsets(segmentNo, id);
+                }
+                readRecords(segmentNo, offsets, id, lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException("게임 저널 읽기 실패: " + id, e);
+            }
+        }
+        return lines;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        compressor.shutdown();
+        compressor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // ===== 쓰기 스레드 =====
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                logger.error("게임 저널 쓰기 실패", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            logger.error("게임 저널 세그먼트 닫기 실패", e);
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) throws IOException {
+        String[] gameIds = new String[batch.size()];
+        long[] offsets = new long[batch.size()];
+        int pending = 0;
+        for (Entry entry : batch) {
+            byte[] line = format(entry);
+            if (position > 0 && position + line.length > segmentBytes) {
+                out.flush();
+                publish(gameIds, offsets, pending);
+                pending = 0;
+                rotate();
+            }
+            gameIds[pending] = entry.gameId();
+            offsets[pending] = position;
+            pending++;
+            out.write(line);
+            position += line.length;
+        }
+        // 디스크에 내려간 뒤에 색인에 올려야 읽는 쪽이 반쯤 쓰인 줄을 보지 않음
+        out.flush();
+        publish(gameIds, offsets, pending);
+    }
+
+    private void publish(String[] gameIds, long[] offsets, int count) {
+        for (int i = 0; i < count; i++) {
+            index.add(gameIds[i], offsets[i]);
+        }
+    }
+
+    private void rotate() throws IOException {
+        int sealed = segment;
+        closeSegment();
+        compressor.execute(() -> compress(sealed));
+        openSegment(sealed + 1);
+        enforceRetention();
+    }
+
+    private void openSegment(int number) throws IOException {
+        segment = number;
+        position = 0;
+        out = new BufferedOutputStream(Files.newOutputStream(logFile(number)), 64 * 1024);
+        segments.add(number);
+        index.open(number);
+    }
+
+    private void closeSegment() throws IOException {
+        if (out == null) {
+            return;
+        }
+        out.close();
+        out = null;
+        if (position == 0) {
+            Files.deleteIfExists(logFile(segment));
+            segments.remove(segment);
+            return;
+        }
+        // 색인 파일을 쓴 뒤에 다음 세그먼트를 열어야 읽는 쪽이 오프셋을 놓치지 않음
+        writeIndexFile(segment, index.openOffsets());
+    }
+
+    // ===== 세그먼트 파일 =====
+
+    private Path logFile(int number) {
+        return dir.resolve(String.format("game-journal-%06d.log", number));
+    }
+
+    private Path gzipFile(int number) {
+        return dir.resolve(String.format("game-journal-%06d.log.gz", number));
+    }
+
+    private Path indexFile(int number) {
+        return dir.resolve(String.format("game-journal-%06d.idx", number));
+    }
+
+    private void compress(int number) {
+        Path plain = logFile(number);
+        Path tmp = dir.resolve(gzipFile(number).getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(plain);
+             OutputStream gz = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+            in.transferTo(gz);
+        } catch (NoSuchFileException e) {
+            return; // 이미 압축되었거나 보존 기간이 지나 삭제됨
+        } catch (IOException e) {
+            logger.warn("게임 저널 세그먼트 {} 압축 실패: {}", number, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, gzipFile(number), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(plain);
+        } catch (IOException e) {
+            logger.warn("게임 저널 세그먼트 {} 압축 파일 교체 실패: {}", number, e.getMessage());
+        }
+    }
+
+    private void enforceRetention() {
+        while (segments.size() > maxSegments) {
+            Integer oldest = segments.pollFirst();
+            if (oldest == null || oldest == segment) {
+                break;
+            }
+            index.removeSegment(oldest);
+            try {
+                Files.deleteIfExists(logFile(oldest));
+                Files.deleteIfExists(gzipFile(oldest));
+                Files.deleteIfExists(indexFile(oldest));
+            } catch (IOException e) {
+                logger.warn("게임 저널 세그먼트 {} 삭제 실패: {}", oldest, e.getMessage());
+            }
+        }
+    }
+
+    // 압축 중에 원본이 지워질 수 있으므로, 원본이 없으면 gzip을 엶
+    private InputStream openRecords(int number) throws IOException {
+        try {
+            return new BufferedInputStream(Files.newInputStream(logFile(number)));
+        } catch (NoSuchFileException e) {
+            try {
+                return new BufferedInputStream(new GZIPInputStream(Files.newInputStream(gzipFile(number)), 64 * 1024));
+            } catch (NoSuchFileException gone) {
+                return null;
+            }
+        }
+    }
+
+    private void readRecords(int number, long[] offsets, String gameId, List<String> lines) throws IOException {
+        try (InputStream in = openRecords(number)) {
+            if (in == null) {
+                return;
+            }
+            long pos = 0;
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            for (long offset : offsets) {
+                in.skipNBytes(offset - pos);
+                pos = offset;
+                line.reset();
+                int b;
+                while ((b = in.read()) != -1 && b != '\n') {
+                    line.write(b);
+                }
+                pos += line.size() + (b == -1 ? 0 : 1);
+
+                String record = line.toString(StandardCharsets.UTF_8);
+                int tab = record.indexOf('\t');
+                if (tab == gameId.length() && record.startsWith(gameId)) {
+                    lines.add(unescape(record.substring(tab + 1)));
+                }
+            }
+        }
+    }
+
+    // ===== 기동 시 복구 =====
+
+    private void recover() throws IOException {
+        TreeSet<Integer> found = new TreeSet<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                Matcher m = SEGMENT_FILE.matcher(name);
+                if (m.matches() && !m.group(2).equals("idx")) {
+                    found.add(Integer.parseInt(m.group(1)));
+                }
+            }
+        }
+        for (int number : found) {
+            segments.add(number);
+            if (Files.exists(indexFile(number))) {
+                readIndexFile(number);
+            } else {
+                // 비정상 종료로 색인이 없으면 세그먼트를 훑어서 다시 만듦
+                scanSegment(number);
+            }
+            if (Files.exists(logFile(number))) {
+                compressor.execute(() -> compress(number));
+            }
+        }
+        enforceRetention();
+        if (!found.isEmpty()) {
+            logger.info("게임 저널 복구: 세그먼트 {}개, 게임 {}개", found.size(), index.games());
+        }
+    }
+
+    private void scanSegment(int number) throws IOException {
+        Map<String, JournalIndex.Offsets> offsets = new LinkedHashMap<>();
+        try (InputStream in = openRecords(number)) {
+            if (in == null) {
+                return;
+            }
+            long pos = 0;
+            ByteArrayOutputStream gameId = new ByteArrayOutputStream(64);
+            boolean inGameId = true;
+            long lineStart = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                pos++;
+                if (b == '\n') {
+                    inGameId = true;
+                    gameId.reset();
+                    lineStart = pos;
+                } else if (inGameId) {
+                    if (b == '\t') {
+                        inGameId = false;
+                        offsets.computeIfAbsent(gameId.toString(StandardCharsets.UTF_8), id -> new JournalIndex.Offsets())
+                                .add(lineStart);
+                    } else {
+                        gameId.write(b);
+                    }
+                }
+            }
+        }
+        Map<String, long[]> found = new LinkedHashMap<>();
+        offsets.forEach((gameId, list) -> {
+            found.put(gameId, list.toArray());
+            index.addSegment(gameId, number);
+        });
+        writeIndexFile(number, found);
+    }
+
+    // 색인 파일 형식: 줄마다 "게임 id \t 오프셋,오프셋,..."
+    private void writeIndexFile(int number, Map<String, long[]> offsets) throws IOException {
+        StringBuilder text = new StringBuilder();
+        offsets.forEach((gameId, list) -> {
+            text.append(gameId).append('\t');
+            for (int i = 0; i < list.length; i++) {
+                if (i > 0) {
+                    text.append(',');
+                }
+                text.append(list[i]);
+            }
+            text.append('\n');
+        });
+        Path tmp = dir.resolve(indexFile(number).getFileName() + ".tmp");
+        Files.writeString(tmp, text);
+        Files.move(tmp, indexFile(number), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 기동 시에는 세그먼트에 어떤 게임이 있는지만 색인에 올림
+    private void readIndexFile(int number) throws IOException {
+        for (String line : Files.readAllLines(indexFile(number), StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab > 0) {
+                index.addSegment(line.substring(0, tab), number);
+            }
+        }
+    }
+
+    // 닫힌 세그먼트에서 한 게임의 오프셋. 보존 기간이 지나 지워졌으면 빈 배열
+    private long[] readIndexOffsets(int number, String gameId) throws IOException {
+        String prefix = gameId + '\t';
+        try (Stream<String> lines = Files.lines(indexFile(number), StandardCharsets.UTF_8)) {
+            return lines.filter(line -> line.startsWith(prefix))
+                    .findFirst()
+                    .map(line -> Arrays.stream(line.substring(prefix.length()).split(","))
+                            .filter(s -> !s.isEmpty())
+                            .mapToLong(Long::parseLong)
+                            .toArray())
+                    .orElse(new long[0]);
+        } catch (NoSuchFileException e) {
+            return new long[0];
+        }
+    }
+
+    // ===== 레코드 형식 =====
+
+    // 게임 id는 클라이언트가 넘기는 값이므로 레코드 구분자와 겹치지 않는 문자만 남김
+    static String normalizeGameId(String gameId) {
+        if (gameId == null || gameId.isBlank()) {
+            return DEFAULT_GAME_ID;
+        }
+        StringBuilder id = new StringBuilder(Math.min(gameId.length(), MAX_GAME_ID_LENGTH));
+        for (int i = 0; i < gameId.length() && id.length() < MAX_GAME_ID_LENGTH; i++) {
+            char ch = gameId.charAt(i);
+            boolean allowed = (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+                    || ch == '_' || ch == '-';
+            id.append(allowed ? ch : '_');
+        }
+        return id.toString();
+    }
+
+    private static byte[] format(Entry entry) {
+        String line = entry.gameId() + '\t'
+                + TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestamp()))
+                + " [" + entry.thread() + "] "
+                + String.format("%-5s", entry.level())
+                + " gameLog - " + entry.message();
+        return (escape(line) + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String escape(String text) {
+        if (text.indexOf('\\') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(ch);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                plain.append(switch (next) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                plain.append(ch);
+            }
+        }
+        return plain.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.klpj.blueplanet.model.journal;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 게임 id → 저널 세그먼트 색인.
+ * 메모리에는 게임마다 레코드가 들어 있는 세그먼트 번호만 두고, 레코드 오프셋은 지금 쓰고 있는 세그먼트의 것만 보관합니다.
+ * 닫힌 세그먼트의 오프셋은 세그먼트를 닫을 때 색인 파일(.idx)로 내려가며, 읽을 때 그 파일에서 가져옵니다.
+ */
+final class JournalIndex {
+
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Integer>> segmentsByGame = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Set<String>> gamesBySegment = new ConcurrentHashMap<>();
+    private volatile OpenSegment open = new OpenSegment(0);
+
+    /** 쓰기 스레드가 새 세그먼트를 열 때 호출. 이전 세그먼트의 오프셋은 메모리에서 빠짐 */
+    void open(int segment) {
+        open = new OpenSegment(segment);
+    }
+
+    /** 열린 세그먼트에 쓴 레코드의 오프셋을 추가 (쓰기 스레드만 호출) */
+    void add(String gameId, long offset) {
+        OpenSegment current = open;
+        current.offsets.computeIfAbsent(gameId, id -> new Offsets()).add(offset);
+        addSegment(gameId, current.number);
+    }
+
+    /** 닫힌 세그먼트에 게임의 레코드가 있음을 기록 (기동 시 복구에서 사용) */
+    void addSegment(String gameId, int segment) {
+        gamesBySegment.computeIfAbsent(segment, s -> ConcurrentHashMap.newKeySet()).add(gameId);
+        segmentsByGame.computeIfAbsent(gameId, id -> new ConcurrentSkipListSet<>()).add(segment);
+    }
+
+    /** 게임의 레코드가 들어 있는 세그먼트 번호 (오름차순) */
+    int[] segments(String gameId) {
+        Set<Integer> segments = segmentsByGame.get(gameId);
+        return segments == null ? new int[0] : segments.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 열린 세그먼트에 있는 게임의 오프셋. 세그먼트가 이미 닫혔으면 null을 반환하므로 색인 파일에서 읽어야 합니다.
+     */
+    long[] openOffsets(int segment, String gameId) {
+        OpenSegment current = open;
+        if (current.number != segment) {
+            return null;
+        }
+        Offsets offsets = current.offsets.get(gameId);
+        return offsets == null ? new long[0] : offsets.toArray();
+    }
+
+    /** 열린 세그먼트의 게임별 오프셋. 세그먼트를 닫을 때 색인 파일로 저장하는 데 사용 */
+    Map<String, long[]> openOffsets() {
+        Map<String, long[]> offsets = new LinkedHashMap<>();
+        open.offsets.forEach((gameId, list) -> offsets.put(gameId, list.toArray()));
+        return offsets;
+    }
+
+    /** 지워진 세그먼트를 색인에서 뺌 */
+    void removeSegment(int segment) {
+        Set<String> games = gamesBySegment.remove(segment);
+        if (games == null) {
+            return;
+        }
+        for (String gameId : games) {
+            segmentsByGame.computeIfPresent(gameId, (id, segments) -> {
+                segments.remove(segment);
+                return segments.isEmpty() ? null : segments;
+            });
+        }
+    }
+
+    int games() {
+        return segmentsByGame.size();
+    }
+
+    /** 메모리에 들고 있는 레코드 오프셋 수 (열린 세그먼트의 레코드 수) */
+    int offsetsInMemory() {
+        return open.offsets.values().stream().mapToInt(Offsets::size).sum();
+    }
+
+    private record OpenSegment(int number, ConcurrentHashMap<String, Offsets> offsets) {
+        OpenSegment(int number) {
+            this(number, new ConcurrentHashMap<>());
+        }
+    }
+
+    /** 한 세그먼트 안에서 한 게임의 레코드 오프셋 (기록된 순서) */
+    static final class Offsets {
+        private long[] entries = new long[8];
+        private int size;
+
+        synchronized void add(long offset) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = offset;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(entries, size);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
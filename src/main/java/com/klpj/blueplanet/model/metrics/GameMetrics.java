@@ -0,0 +1,79 @@
+package com.klpj.blueplanet.model.metrics;
+
+import com.klpj.blueplanet.model.journal.GameJournal;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.services.AdviceCache;
+import com.klpj.blueplanet.model.session.GameCommandExecutor;
+import com.klpj.blueplanet.model.session.GameSessionCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게임 진행 지표.
+ * - 카운터: 특별 이벤트 발동(specialEventId별), 엔딩 도달(endingId별)
+ * - 게이지: 메모리의 게임 세션 수, 명령 큐가 있는 게임 수, 저널 대기/누락 기록 수
+ * - 조언 캐시: cache.gets(hit/miss), cache.evictions, cache.size (cache=advice)
+ * 카운터는 미리 만들어 두고 증가만 하므로 요청 처리 중 레지스트리를 조회하지 않습니다.
+ */
+@Component
+public class GameMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter[] endings = new Counter[GameRules.ENDING_COUNT + 1];
+    private final ConcurrentHashMap<Long, Counter> specialEvents = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry, GameSessionCache gameSessionCache,
+                       GameCommandExecutor gameCommandExecutor, GameJournal gameJournal, AdviceCache adviceCache) {
+        this.registry = registry;
+        for (int endingId = 1; endingId <= GameRules.ENDING_COUNT; endingId++) {
+            endings[endingId] = Counter.builder("game.endings")
+                    .description("엔딩에 도달한 게임 수")
+                    .tag("ending", Integer.toString(endingId))
+                    .register(registry);
+        }
+
+        Gauge.builder("game.sessions.active", gameSessionCache, GameSessionCache::size)
+                .description("메모리에 올라와 있는 게임 세션 수")
+                .register(registry);
+        Gauge.builder("game.commands.active", gameCommandExecutor, GameCommandExecutor::activeGames)
+                .description("명령이 대기 중이거나 실행 중인 게임 수")
+                .register(registry);
+        Gauge.builder("game.journal.pending", gameJournal, GameJournal::pendingRecords)
+                .description("파일에 쓰이기를 기다리는 저널 기록 수")
+                .register(registry);
+        FunctionCounter.builder("game.journal.dropped", gameJournal, GameJournal::droppedRecords)
+                .description("큐가 가득 차 버린 저널 기록 수")
+                .register(registry);
+
+        FunctionCounter.builder("cache.gets", adviceCache, cache -> cache.stats().hits())
+                .tag("cache", "advice").tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", adviceCache, cache -> cache.stats().misses())
+                .tag("cache", "advice").tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", adviceCache, cache -> cache.stats().evictions())
+                .tag("cache", "advice")
+                .register(registry);
+        Gauge.builder("cache.size", adviceCache, cache -> cache.stats().size())
+                .tag("cache", "advice")
+                .register(registry);
+    }
+
+    public void specialEventTriggered(long specialEventId) {
+        specialEvents.computeIfAbsent(specialEventId, id -> Counter.builder("game.special_events")
+                .description("발동한 특별 이벤트 수")
+                .tag("special_event", Long.toString(id))
+                .register(registry)).increment();
+    }
+
+    public void endingReached(int endingId) {
+        if (endingId >= 1 && endingId <= GameRules.ENDING_COUNT) {
+            endings[endingId].increment();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.klpj.blueplanet.model.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔드포인트 요청 하나가 실행할 수 있는 SQL 문 수의 상한.
+ * 넘으면 경고 로그(표본으로 스택 트레이스 포함)와 http.server.requests.db.over_budget 카운터를 남기고,
+ * query-budget.fail-on-exceed=true(테스트)이면 요청을 실패시킵니다.
+ * 컨트롤러 클래스에 붙이면 그 클래스의 모든 엔드포인트에 적용되고, 메서드에 붙인 값이 우선합니다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
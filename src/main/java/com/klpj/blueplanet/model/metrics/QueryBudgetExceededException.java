@@ -0,0 +1,11 @@
+package com.klpj.blueplanet.model.metrics;
+
+/**
+ * 요청이 쿼리 예산({@link QueryBudget})을 넘었을 때 (query-budget.fail-on-exceed=true인 경우만)
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message, Throwable firstExceeded) {
+        super(message, firstExceeded);
+    }
+}
@@ -0,0 +1,58 @@
+package com.klpj.blueplanet.model.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청을 처리할 핸들러가 정해지면 그 엔드포인트의 쿼리 예산을 현재 요청의 {@link QueryScope}에 설정합니다.
+ * 예산이 없는 엔드포인트는 query-budget.default (0이면 제한 없음)를 사용합니다.
+ */
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final int NONE = -1;
+
+    private final int defaultBudget;
+
+    // 핸들러 메서드별 예산 (NONE: 예산 없음)
+    private final ConcurrentHashMap<Method, Integer> budgets = new ConcurrentHashMap<>();
+
+    public QueryBudgetInterceptor(@Value("${query-budget.default:0}") int defaultBudget) {
+        this.defaultBudget = defaultBudget > 0 ? defaultBudget : NONE;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryScope scope = QueryScope.current();
+        if (scope != null && handler instanceof HandlerMethod method) {
+            int budget = budgets.computeIfAbsent(method.getMethod(), m -> budgetOf(method));
+            if (budget != NONE) {
+                scope.setBudget(budget);
+            }
+        }
+        return true;
+    }
+
+    private int budgetOf(HandlerMethod method) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
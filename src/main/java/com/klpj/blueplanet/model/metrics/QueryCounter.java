@@ -0,0 +1,43 @@
+package com.klpj.blueplanet.model.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hibernate가 준비하는 모든 SQL 문을 셉니다. (전체 db.queries 카운터 + 현재 요청의 {@link QueryScope})
+ * SQL은 바꾸지 않으며, 문 하나당 ThreadLocal 조회와 카운터 증가만 합니다.
+ * 배치로 묶인 INSERT/UPDATE는 문 하나로 셉니다.
+ * 요청에 쿼리 예산이 있으면 예산을 넘긴 첫 문의 위치도 범위에 남깁니다. (추적 표본 요청만)
+ */
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final Counter total;
+
+    public QueryCounter(MeterRegistry registry) {
+        this.total = Counter.builder("db.queries")
+                .description("Hibernate가 실행한 SQL 문 수")
+                .register(registry);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        total.increment();
+        QueryScope scope = QueryScope.current();
+        if (scope != null) {
+            scope.increment(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,99 @@
+package com.klpj.blueplanet.model.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 HTTP 요청 동안 실행된 SQL 문 수와 그 요청의 쿼리 예산({@link QueryBudget}).
+ * 요청 스레드에서 열리고(RequestMetricsFilter), 같은 요청의 작업이 다른 스레드에서 실행될 때는
+ * 그 스레드에 {@link #bind(QueryScope)}로 이어 붙입니다. (예: GameCommandExecutor 워커)
+ * 추적 표본으로 뽑힌 요청은 예산을 처음 넘긴 SQL 문의 스택 트레이스를 남겨 N+1 위치를 찾을 수 있게 합니다.
+ */
+public final class QueryScope {
+
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * bind로 바꾼 스레드의 범위를 원래대로 돌립니다.
+     */
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Binding NOOP = () -> {
+    };
+
+    private static final int NO_BUDGET = -1;
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final boolean traceSampled;
+    private volatile int budget = NO_BUDGET;
+    private volatile Throwable firstExceeded;
+
+    /**
+     * @param traceSampled 예산을 넘긴 첫 SQL 문의 스택 트레이스를 남길지 (스택 수집 비용 때문에 표본 요청만)
+     */
+    public QueryScope(boolean traceSampled) {
+        this.traceSampled = traceSampled;
+    }
+
+    /**
+     * 현재 스레드에 연결된 범위. 요청 밖이면 null.
+     */
+    public static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드를 scope에 연결합니다. scope가 null이면 아무것도 하지 않습니다.
+     */
+    public static Binding bind(QueryScope scope) {
+        if (scope == null) {
+            return NOOP;
+        }
+        QueryScope previous = CURRENT.get();
+        CURRENT.set(scope);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    void increment(String sql) {
+        int count = statements.incrementAndGet();
+        // 예산을 처음 넘긴 문에서만 스택을 수집 (이후 문은 카운트만)
+        if (count == budget + 1 && budget != NO_BUDGET && traceSampled) {
+            firstExceeded = new Throwable("쿼리 예산(" + budget + ")을 넘긴 첫 SQL: " + sql);
+        }
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * 예산. 없으면 -1.
+     */
+    public int budget() {
+        return budget;
+    }
+
+    public boolean overBudget() {
+        int limit = budget;
+        return limit != NO_BUDGET && statements.get() > limit;
+    }
+
+    /**
+     * 예산을 처음 넘긴 SQL 문이 실행된 위치. 표본이 아니었거나 예산을 넘지 않았으면 null.
+     */
+    public Throwable firstExceeded() {
+        return firstExceeded;
+    }
+}
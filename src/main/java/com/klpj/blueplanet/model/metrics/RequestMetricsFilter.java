@@ -0,0 +1,122 @@
+package com.klpj.blueplanet.model.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청마다 {@link QueryScope}를 열고, 요청이 끝나면 실행된 SQL 문 수를 엔드포인트별 분포(http.server.requests.db.queries)로 기록합니다.
+ * CompletableFuture를 반환하는 엔드포인트는 비동기 디스패치가 끝난 뒤에 기록합니다.
+ * (응답 시간은 스프링 기본 http.server.requests 타이머가 기록)
+ *
+ * 엔드포인트의 쿼리 예산({@link QueryBudget})을 넘긴 요청은 http.server.requests.db.over_budget으로 세고 경고 로그를 남깁니다.
+ * - query-budget.trace-sample-rate: 예산을 넘긴 첫 SQL의 스택 트레이스를 경고에 붙일 요청 비율 (기본 0.01)
+ * - query-budget.fail-on-exceed: true이면 예산을 넘긴 요청을 {@link QueryBudgetExceededException}으로 실패시킴 (테스트용, 항상 추적)
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String SCOPE_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".scope";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final boolean failOnExceed;
+    private final double traceSampleRate;
+
+    // method + uri 패턴별 분포/카운터 (매 요청 빌더 조회를 피하려고 보관)
+    private final ConcurrentHashMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> overBudget = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry registry,
+                                @Value("${query-budget.fail-on-exceed:false}") boolean failOnExceed,
+                                @Value("${query-budget.trace-sample-rate:0.01}") double traceSampleRate) {
+        this.registry = registry;
+        this.failOnExceed = failOnExceed;
+        this.traceSampleRate = failOnExceed ? 1.0 : traceSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryScope scope = (QueryScope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope == null) {
+            scope = new QueryScope(ThreadLocalRandom.current().nextDouble() < traceSampleRate);
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        }
+        try (QueryScope.Binding ignored = QueryScope.bind(scope)) {
+            chain.doFilter(request, response);
+        } finally {
+            // 비동기 처리 중이면 마지막(비동기) 디스패치에서 기록
+            if (!request.isAsyncStarted()) {
+                summaryOf(request).record(scope.statements());
+                if (scope.overBudget()) {
+                    reportOverBudget(request, scope);
+                }
+            }
+        }
+        // 요청 처리 중 난 예외를 가리지 않도록 정상 완료된 경우에만 실패시킴
+        if (failOnExceed && !request.isAsyncStarted() && scope.overBudget()) {
+            throw new QueryBudgetExceededException(describe(request, scope), scope.firstExceeded());
+        }
+    }
+
+    private void reportOverBudget(HttpServletRequest request, QueryScope scope) {
+        String method = request.getMethod();
+        String uri = uriOf(request);
+        overBudget.computeIfAbsent(method + " " + uri, key -> Counter
+                .builder("http.server.requests.db.over_budget")
+                .description("쿼리 예산을 넘긴 요청 수")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)).increment();
+        Throwable trace = scope.firstExceeded();
+        if (trace != null) {
+            logger.warn(describe(request, scope), trace);
+        } else {
+            logger.warn(describe(request, scope));
+        }
+    }
+
+    private static String describe(HttpServletRequest request, QueryScope scope) {
+        return "쿼리 예산 초과: " + request.getMethod() + " " + uriOf(request)
+                + " (SQL " + scope.statements() + "개, 예산 " + scope.budget() + "개)";
+    }
+
+    static String uriOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // 매핑되지 않은 요청(404 등)은 경로별로 나누지 않음
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private DistributionSummary summaryOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String uri = uriOf(request);
+        return summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary
+                .builder("http.server.requests.db.queries")
+                .description("요청 하나가 실행한 SQL 문 수")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
@@ -19,4 +19,5 @@ public class EmailDetailResponse {
     private String content;
     private List<ChoiceSimpleResponse> choices;
     private ChoiceSimpleResponse selectedChoice; // 사용자가 선택한 선택지가 없으면 null
+    private List<TooltipAnnotation> annotations; // content 안의 툴팁 키워드 위치
 }
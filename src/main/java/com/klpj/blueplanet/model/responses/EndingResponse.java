@@ -0,0 +1,30 @@
+package com.klpj.blueplanet.model.responses;
+
+import com.klpj.blueplanet.model.dto.Ending;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 엔딩 응답. Ending 엔티티와 같은 필드에 본문 툴팁 키워드 위치를 더한 것입니다.
+ */
+@Setter
+@Getter
+public class EndingResponse {
+    private Long id;
+    private String title;
+    private String content;
+    private String imgUrl;
+    private List<TooltipAnnotation> annotations; // content 안의 툴팁 키워드 위치
+
+    public EndingResponse() {}
+
+    public EndingResponse(Ending ending, List<TooltipAnnotation> annotations) {
+        this.id = ending.getId();
+        this.title = ending.getTitle();
+        this.content = ending.getContent();
+        this.imgUrl = ending.getImgUrl();
+        this.annotations = annotations;
+    }
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,5 +14,6 @@ public class NewsDetailResponse {
     private String title;
     private String content;
     private String imgUrl;
+    private List<TooltipAnnotation> annotations; // content 안의 툴팁 키워드 위치
     // 필요시 영향치(airImpact, waterImpact 등)를 포함할 수 있습니다.
 }
@@ -10,12 +10,19 @@ import java.util.List;
 public class NextEventResponse {
     private EventResponse event;         // 이벤트 정보 (eventId, title, content, writer)
     private List<ChoiceSimpleResponse> choices; // 선택지 목록 (id, content)
+    private List<TooltipAnnotation> annotations; // event.content 안의 툴팁 키워드 위치
 
     public NextEventResponse() {}
 
     public NextEventResponse(EventResponse event, List<ChoiceSimpleResponse> choices) {
+        this(event, choices, List.of());
+    }
+
+    public NextEventResponse(EventResponse event, List<ChoiceSimpleResponse> choices,
+                             List<TooltipAnnotation> annotations) {
         this.event = event;
         this.choices = choices;
+        this.annotations = annotations;
     }
 
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,15 +17,18 @@ public class SpecialEventResponse {
     private String title;
     private String content;
     private String imgUrl;
+    private List<TooltipAnnotation> annotations; // content 안의 툴팁 키워드 위치
 
     private UserStatus userStatus;
     private int nextEvent;
 
-    public SpecialEventResponse(SpecialEvent event, UserStatus userStatus, int nextEvent) {
+    public SpecialEventResponse(SpecialEvent event, List<TooltipAnnotation> annotations,
+                                UserStatus userStatus, int nextEvent) {
         this.id = event.getId();
         this.title = event.getTitle();
         this.content = event.getContent();
         this.imgUrl = event.getImgUrl();
+        this.annotations = annotations;
         this.userStatus = userStatus;
         this.nextEvent = nextEvent;
     }
@@ -0,0 +1,18 @@
+package com.klpj.blueplanet.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 본문 안에서 툴팁 키워드가 나타나는 위치.
+ * start/end는 본문 문자열의 UTF-16 인덱스(end는 미포함)로, 프론트엔드의 String.slice(start, end)와 같습니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TooltipAnnotation {
+    private int start;
+    private int end;
+    private String keyword; // /data/tooltips의 keyword와 같은 값
+}
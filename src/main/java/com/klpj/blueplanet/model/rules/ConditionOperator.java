@@ -0,0 +1,46 @@
+package com.klpj.blueplanet.model.rules;
+
+/**
+ * 특별 이벤트 조건의 비교 연산자.
+ * XLSX에 문자열(">", ">=" ...)로 저장된 값을 로딩 시점에 한 번만 해석합니다.
+ */
+public enum ConditionOperator {
+    GT(">"),
+    GE(">="),
+    LT("<"),
+    LE("<="),
+    EQ("==");
+
+    private final String symbol;
+
+    ConditionOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public boolean test(int value, int threshold) {
+        switch (this) {
+            case GT: return value > threshold;
+            case GE: return value >= threshold;
+            case LT: return value < threshold;
+            case LE: return value <= threshold;
+            case EQ: return value == threshold;
+            default: return false;
+        }
+    }
+
+    /**
+     * 연산자 문자열을 enum으로 변환합니다. 알 수 없는 연산자는 null을 반환합니다.
+     */
+    public static ConditionOperator fromSymbol(String symbol) {
+        if (symbol == null) return null;
+        String trimmed = symbol.trim();
+        for (ConditionOperator op : values()) {
+            if (op.symbol.equals(trimmed)) return op;
+        }
+        return null;
+    }
+}
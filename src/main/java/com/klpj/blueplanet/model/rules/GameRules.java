@@ -0,0 +1,72 @@
+package com.klpj.blueplanet.model.rules;
+
+import com.klpj.blueplanet.model.dto.UserStatus;
+
+/**
+ * 다음 이벤트 종류와 엔딩을 정하는 규칙.
+ * GameService(실제 진행)와 PlaythroughSimulator(밸런스 시뮬레이션)가 같은 규칙을 사용합니다.
+ */
+public final class GameRules {
+
+    public static final int NEXT_COMMON = 1;
+    public static final int NEXT_SPECIAL = 2;
+    public static final int NEXT_ENDING = 3;
+
+    // 이 턴에 도달하면 수치와 관계없이 엔딩으로 이동
+    public static final int ENDING_TURN = 20;
+
+    public static final int ENDING_COUNT = 10;
+
+    private GameRules() {
+    }
+
+    /**
+     * 다음 이벤트 종류를 판단합니다. (1:상시, 2:특별, 3:엔딩)
+     */
+    public static int nextEventType(UserStatus status, SpecialEventRuleSet rules, int endingTurn) {
+        // 1. 엔딩 조건
+        if (isOutOfRange(status.getAir())) return NEXT_ENDING;
+        if (isOutOfRange(status.getWater())) return NEXT_ENDING;
+        if (isOutOfRange(status.getBiology())) return NEXT_ENDING;
+        if (isOutOfRange(status.getPopularity())) return NEXT_ENDING;
+
+        if (status.getTurnCount() >= endingTurn) {
+            return NEXT_ENDING; // 엔딩 ID는 endingId로 판단
+        }
+
+        // 2. 특별 이벤트 조건
+        if (rules.findFirstMatch(status) != null) {
+            return NEXT_SPECIAL;
+        }
+
+        // 3. 상시 이벤트
+        return NEXT_COMMON;
+    }
+
+    /**
+     * 엔딩 ID(1~10)를 판단합니다. 엔딩 조건을 충족하지 않으면 0입니다.
+     */
+    public static int endingId(UserStatus status, int endingTurn) {
+        if (status.getAir() <= 0) return 1;
+        if (status.getAir() >= 100) return 2;
+        if (status.getWater() <= 0) return 3;
+        if (status.getWater() >= 100) return 4;
+        if (status.getBiology() <= 0) return 5;
+        if (status.getBiology() >= 100) return 6;
+        if (status.getPopularity() <= 0) return 7;
+        if (status.getPopularity() >= 100) return 8;
+
+        if (status.getTurnCount() >= endingTurn) {
+            int sum = status.getAir() + status.getWater() +
+                    status.getBiology() + status.getPopularity();
+            int average = sum / 4;
+            return (average >= 50) ? 9 : 10;
+        }
+
+        return 0; // 0이면 엔딩 조건 미충족
+    }
+
+    private static boolean isOutOfRange(int value) {
+        return value >= 100 || value <= 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.klpj.blueplanet.model.rules;
+
+import com.klpj.blueplanet.model.dto.UserStatus;
+
+/**
+ * 하나의 특별 이벤트에 대한 컴파일된 발동 조건.
+ * 모든 조건(수치 인덱스, 연산자, 기준값)을 배열로 들고 있어 평가 중 객체를 생성하지 않습니다.
+ */
+public final class SpecialEventRule {
+
+    private final Long specialEventId; // usedSpecialEventIds 조회 시 박싱을 피하기 위해 미리 박싱해둠
+    private final int priority;
+    private final int[] statIndexes;
+    private final ConditionOperator[] operators;
+    private final int[] thresholds;
+
+    SpecialEventRule(Long specialEventId, int priority,
+                     int[] statIndexes, ConditionOperator[] operators, int[] thresholds) {
+        this.specialEventId = specialEventId;
+        this.priority = priority;
+        this.statIndexes = statIndexes;
+        this.operators = operators;
+        this.thresholds = thresholds;
+    }
+
+    public Long getSpecialEventId() {
+        return specialEventId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getConditionCount() {
+        return statIndexes.length;
+    }
+
+    /**
+     * 모든 조건을 만족하는지 검사합니다.
+     */
+    public boolean matches(UserStatus status) {
+        for (int i = 0; i < statIndexes.length; i++) {
+            int value = StatType.valueOf(status, statIndexes[i]);
+            if (!operators[i].test(value, thresholds[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
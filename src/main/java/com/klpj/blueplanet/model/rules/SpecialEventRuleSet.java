@@ -0,0 +1,97 @@
+package com.klpj.blueplanet.model.rules;
+
+import com.klpj.blueplanet.model.dto.SpecialEventCondition;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * 특별 이벤트 발동 조건 전체를 컴파일한 불변 규칙 집합.
+ * - 규칙은 SpecialEvent.priority 오름차순(동률이면 id 오름차순)으로 정렬됩니다.
+ * - 평가는 첫 번째로 만족하는 규칙에서 멈추며, 평가 중 객체를 생성하지 않습니다.
+ * - 조건이 다시 로딩되면 새 인스턴스를 만들어 통째로 교체합니다.
+ */
+public final class SpecialEventRuleSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpecialEventRuleSet.class);
+
+    public static final SpecialEventRuleSet EMPTY = new SpecialEventRuleSet(new SpecialEventRule[0]);
+
+    private final SpecialEventRule[] rules;
+
+    private SpecialEventRuleSet(SpecialEventRule[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * 조건 목록을 특별 이벤트 ID 기준으로 묶어 규칙 집합으로 컴파일합니다.
+     *
+     * @param conditions 모든 특별 이벤트 조건
+     * @param priorities 특별 이벤트 ID → priority
+     */
+    public static SpecialEventRuleSet compile(List<SpecialEventCondition> conditions, Map<Long, Integer> priorities) {
+        Map<Long, List<SpecialEventCondition>> grouped = new LinkedHashMap<>();
+        for (SpecialEventCondition cond : conditions) {
+            grouped.computeIfAbsent(cond.getSpecialEvent().getId(), k -> new ArrayList<>()).add(cond);
+        }
+
+        List<SpecialEventRule> compiled = new ArrayList<>(grouped.size());
+        for (Map.Entry<Long, List<SpecialEventCondition>> entry : grouped.entrySet()) {
+            Long specialEventId = entry.getKey();
+            List<SpecialEventCondition> group = entry.getValue();
+
+            int size = group.size();
+            int[] statIndexes = new int[size];
+            ConditionOperator[] operators = new ConditionOperator[size];
+            int[] thresholds = new int[size];
+
+            boolean valid = true;
+            for (int i = 0; i < size; i++) {
+                SpecialEventCondition cond = group.get(i);
+                ConditionOperator op = ConditionOperator.fromSymbol(cond.getOperator());
+                if (op == null) {
+                    // 알 수 없는 연산자는 항상 false였으므로 이 이벤트는 절대 발동하지 않습니다.
+                    logger.warn("알 수 없는 연산자 '{}' (specialEventId={}) - 규칙에서 제외", cond.getOperator(), specialEventId);
+                    valid = false;
+                    break;
+                }
+                int statIndex = StatType.resolve(cond.getStatusType());
+                if (statIndex == StatType.UNKNOWN) {
+                    logger.warn("알 수 없는 수치 타입 '{}' (specialEventId={}) - 0으로 평가", cond.getStatusType(), specialEventId);
+                }
+                statIndexes[i] = statIndex;
+                operators[i] = op;
+                thresholds[i] = cond.getVariation();
+            }
+            if (!valid) continue;
+
+            int priority = priorities.getOrDefault(specialEventId, 0);
+            compiled.add(new SpecialEventRule(specialEventId, priority, statIndexes, operators, thresholds));
+        }
+
+        compiled.sort(Comparator.comparingInt(SpecialEventRule::getPriority)
+                .thenComparing(SpecialEventRule::getSpecialEventId));
+
+        return new SpecialEventRuleSet(compiled.toArray(new SpecialEventRule[0]));
+    }
+
+    /**
+     * 아직 사용되지 않았고 조건을 모두 만족하는 규칙 중 우선순위가 가장 높은 규칙을 반환합니다.
+     * 만족하는 규칙이 없으면 null을 반환합니다.
+     */
+    public SpecialEventRule findFirstMatch(UserStatus status) {
+        Set<Long> used = status.getUsedSpecialEventIds();
+        for (SpecialEventRule rule : rules) {
+            if (rule.matches(status) && !used.contains(rule.getSpecialEventId())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+}
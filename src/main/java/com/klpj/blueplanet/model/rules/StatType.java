@@ -0,0 +1,46 @@
+package com.klpj.blueplanet.model.rules;
+
+import com.klpj.blueplanet.model.dto.UserStatus;
+
+/**
+ * UserStatus의 네 가지 수치를 인덱스로 다루기 위한 유틸.
+ * 조건의 statusType 문자열은 로딩 시점에 인덱스로 변환해두고, 평가 시에는 인덱스로만 값을 읽습니다.
+ */
+public final class StatType {
+
+    public static final int UNKNOWN = -1;
+    public static final int AIR = 0;
+    public static final int WATER = 1;
+    public static final int BIOLOGY = 2;
+    public static final int POPULARITY = 3;
+
+    private StatType() {
+    }
+
+    /**
+     * statusType 문자열을 수치 인덱스로 변환합니다. 알 수 없는 값은 UNKNOWN(-1)입니다.
+     */
+    public static int resolve(String statusType) {
+        if (statusType == null) return UNKNOWN;
+        return switch (statusType.toLowerCase().trim()) {
+            case "air" -> AIR;
+            case "water" -> WATER;
+            case "biology" -> BIOLOGY;
+            case "popularity" -> POPULARITY;
+            default -> UNKNOWN;
+        };
+    }
+
+    /**
+     * 인덱스에 해당하는 현재 수치를 반환합니다. UNKNOWN은 기존 동작과 같이 0으로 평가합니다.
+     */
+    public static int valueOf(UserStatus status, int statIndex) {
+        return switch (statIndex) {
+            case AIR -> status.getAir();
+            case WATER -> status.getWater();
+            case BIOLOGY -> status.getBiology();
+            case POPULARITY -> status.getPopularity();
+            default -> 0;
+        };
+    }
+}
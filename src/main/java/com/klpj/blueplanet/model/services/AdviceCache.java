@@ -0,0 +1,282 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.dto.UserStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * GPT 조언 응답 캐시.
+ * - 키: 카탈로그 버전 + 이벤트 ID + 구간(bucket)으로 나눈 수치 + 힌트 추천 선택지 + 정규화된 질문 텍스트
+ *   (프롬프트는 {@link #representative(UserStatus)}로 만든 구간 대표 상태로 구성하므로, 같은 키의 응답은 어느 사용자에게나 같은 수치를 인용합니다.)
+ *   (카탈로그가 다시 로드되면 버전이 바뀌므로 이전 내용으로 만든 응답은 더 이상 사용되지 않습니다.)
+ * - 최대 항목 수를 넘으면 가장 오래 사용되지 않은 항목부터 제거(LRU)하고, TTL이 지난 항목은 조회 시 제거합니다.
+ * - 진행 중인 호출도 캐시에 두어, 같은 키로 동시에 들어온 요청은 한 번의 모델 호출을 공유합니다.
+ *   스트리밍 요청은 연결이 끊기면 구독만 해제하고, 기다리는 요청이 하나도 남지 않았을 때만 모델 호출을 중단합니다.
+ */
+@Component
+public class AdviceCache {
+
+    /**
+     * 캐시 키. 질문은 {@link #normalizeQuestion(String, String)}을 거친 값입니다.
+     */
+    public record Key(long catalogVersion, long eventId,
+                      int airBucket, int waterBucket, int biologyBucket, int popularityBucket,
+                      Long recommendedChoiceId, String question) {
+    }
+
+    /**
+     * 캐시 통계 (누적값)
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private static final class Entry {
+        final CompletableFuture<String> advice;
+        final long createdAtNanos;
+        // 응답을 기다리는 요청 수와 모델 호출 (entries 락 안에서만 접근)
+        int subscribers = 1;
+        CompletableFuture<String> call;
+        // 호출을 시작한 스트리밍 요청. 그 요청이 떠나면 null이 되고 이후 토큰은 버려집니다.
+        volatile Subscription owner;
+
+        Entry(CompletableFuture<String> advice, long createdAtNanos) {
+            this.advice = advice;
+            this.createdAtNanos = createdAtNanos;
+        }
+
+        void forwardToken(String token) {
+            Subscription subscription = owner;
+            if (subscription == null) {
+                return;
+            }
+            try {
+                subscription.onToken.accept(token);
+            } catch (RuntimeException e) {
+                // 그 요청의 연결만 끊긴 것 - 다른 요청이 기다리고 있으면 호출은 계속
+                subscription.cancel();
+            }
+        }
+    }
+
+    /**
+     * 조언 응답을 기다리는 요청 하나.
+     * 호출을 시작한 스트리밍 요청만 토큰을 받고(streaming), 캐시 적중이나 진행 중인 호출에 합류한 요청은 result만 완료됩니다.
+     */
+    public final class Subscription {
+
+        private final Entry entry;
+        private final CompletableFuture<String> result;
+        private final Consumer<String> onToken;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Subscription(Entry entry, Consumer<String> onToken) {
+            this.entry = entry;
+            this.result = entry.advice.copy();
+            this.onToken = onToken;
+        }
+
+        public CompletableFuture<String> result() {
+            return result;
+        }
+
+        public boolean streaming() {
+            return onToken != null;
+        }
+
+        /**
+         * 이 요청만 응답 대기에서 빠집니다. (클라이언트 연결이 끊긴 경우)
+         * 같은 호출을 기다리는 다른 요청이 없을 때만 모델 호출을 중단합니다. 여러 번 호출해도 됩니다.
+         */
+        public void cancel() {
+            if (released.compareAndSet(false, true)) {
+                release(this);
+            }
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final int statBucketSize;
+
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AdviceCache(@Value("${advice.cache.max-entries:1000}") int maxEntries,
+                       @Value("${advice.cache.ttl-ms:600000}") long ttlMillis,
+                       @Value("${advice.cache.stat-bucket-size:10}") int statBucketSize) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.statBucketSize = Math.max(1, statBucketSize);
+        // accessOrder=true: get()이 항목을 맨 뒤로 옮기므로 맨 앞이 가장 오래 사용되지 않은 항목
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > AdviceCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 사용자 상태와 질문으로 캐시 키를 만듭니다.
+     * 힌트는 수치 외에 턴과 사용한 이벤트에도 달라지므로, 프롬프트에 넣은 힌트의 추천 선택지도 키에 포함합니다.
+     */
+    public Key keyOf(long catalogVersion, long eventId, UserStatus status, Long recommendedChoiceId,
+                     String title, String content) {
+        return new Key(catalogVersion, eventId,
+                bucket(status.getAir()),
+                bucket(status.getWater()),
+                bucket(status.getBiology()),
+                bucket(status.getPopularity()),
+                recommendedChoiceId,
+                normalizeQuestion(title, content));
+    }
+
+    /**
+     * 키와 같은 구간의 대표 상태. 수치를 구간의 시작값으로 내리고 턴과 사용한 이벤트는 그대로 둡니다.
+     * 조언 프롬프트(현재 수치와 힌트 계산)는 이 상태로 만듭니다.
+     */
+    public UserStatus representative(UserStatus status) {
+        UserStatus copy = new UserStatus();
+        copy.setUserId(status.getUserId());
+        copy.setAir(bucket(status.getAir()) * statBucketSize);
+        copy.setWater(bucket(status.getWater()) * statBucketSize);
+        copy.setBiology(bucket(status.getBiology()) * statBucketSize);
+        copy.setPopularity(bucket(status.getPopularity()) * statBucketSize);
+        copy.setTurnCount(status.getTurnCount());
+        copy.setUsedEventIds(new HashSet<>(status.getUsedEventIds()));
+        copy.setUsedSpecialEventIds(new HashSet<>(status.getUsedSpecialEventIds()));
+        return copy;
+    }
+
+    /**
+     * 캐시에 있으면 그 응답을, 없으면 loader로 모델을 호출하고 결과를 캐시에 넣습니다.
+     * 호출이 실패하면 해당 항목을 지워 다음 요청이 다시 시도하도록 합니다.
+     * 이 요청은 응답 대기에서 빠지지 않으므로, 같은 호출을 함께 기다리는 스트리밍 요청이 끊겨도 호출은 중단되지 않습니다.
+     */
+    public CompletableFuture<String> getOrLoad(Key key, Supplier<CompletableFuture<String>> loader) {
+        return subscribe(key, tokens -> loader.get(), null).result();
+    }
+
+    /**
+     * getOrLoad의 스트리밍 버전. 새로 호출하는 경우 loader에 토큰 수신자를 넘기며, 토큰은 onToken으로 전달됩니다.
+     * 연결이 끊기면 반환된 구독의 cancel을 호출합니다.
+     */
+    public Subscription subscribe(Key key, Function<Consumer<String>, CompletableFuture<String>> loader,
+                                  Consumer<String> onToken) {
+        long now = System.nanoTime();
+        Entry created;
+        Subscription subscription;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.createdAtNanos < ttlNanos) {
+                    hits.incrementAndGet();
+                    entry.subscribers++;
+                    return new Subscription(entry, null);
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            created = new Entry(new CompletableFuture<>(), now);
+            subscription = new Subscription(created, onToken);
+            if (onToken != null) {
+                created.owner = subscription;
+            }
+            entries.put(key, created);
+        }
+
+        // 모델 호출은 락 밖에서 시작
+        CompletableFuture<String> call;
+        try {
+            call = loader.apply(created::forwardToken);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        boolean abandoned;
+        synchronized (entries) {
+            created.call = call;
+            abandoned = created.subscribers == 0; // 호출이 시작되기 전에 모두 떠남
+        }
+        call.whenComplete((advice, error) -> {
+            if (error != null) {
+                synchronized (entries) {
+                    Entry current = entries.get(key);
+                    if (current == created) {
+                        entries.remove(key);
+                    }
+                }
+                created.advice.completeExceptionally(error);
+            } else {
+                created.advice.complete(advice);
+            }
+        });
+        if (abandoned) {
+            call.cancel(true);
+        }
+        return subscription;
+    }
+
+    private void release(Subscription subscription) {
+        Entry entry = subscription.entry;
+        CompletableFuture<String> call;
+        synchronized (entries) {
+            if (entry.owner == subscription) {
+                entry.owner = null;
+            }
+            entry.subscribers--;
+            if (entry.subscribers > 0 || entry.call == null || entry.advice.isDone()) {
+                return;
+            }
+            call = entry.call;
+        }
+        // 기다리는 요청이 없으므로 모델 호출 중단 (실패로 끝나 캐시에서도 지워짐)
+        call.cancel(true);
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.get(), misses.get(), evictions.get(), size);
+    }
+
+    private int bucket(int value) {
+        return Math.floorDiv(value, statBucketSize);
+    }
+
+    /**
+     * 질문을 정규화합니다.
+     * 유니코드 호환 정규화(NFKC), 소문자화 후 문자/숫자 외의 기호와 연속 공백을 공백 하나로 바꿔
+     * 띄어쓰기·문장부호·대소문자만 다른 질문이 같은 키가 되도록 합니다.
+     * 어순과 반복은 뜻을 바꿀 수 있으므로("1번 말고 2번" / "2번 말고 1번") 그대로 둡니다.
+     */
+    static String normalizeQuestion(String title, String content) {
+        String text = (title == null ? "" : title) + " " + (content == null ? "" : content);
+        text = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return String.join(" ", Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new));
+    }
+}
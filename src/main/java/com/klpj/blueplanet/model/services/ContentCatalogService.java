@@ -0,0 +1,118 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dao.*;
+import com.klpj.blueplanet.model.dto.*;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게임 콘텐츠 카탈로그를 만들고 보관하는 서비스.
+ * 시작 시 한 번 DB에서 읽어 ContentCatalog를 만들고, reload() 호출 시 새 버전으로 원자적으로 교체합니다.
+ */
+@Service
+public class ContentCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentCatalogService.class);
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private ChoiceDao choiceDao;
+
+    @Autowired
+    private EndingDao endingDao;
+
+    @Autowired
+    private SpecialEventDao specialEventDao;
+
+    @Autowired
+    private SpecialEventConditionDao specialEventConditionDao;
+
+    @Autowired
+    private TooltipDao tooltipDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<ContentCatalog> current = new AtomicReference<>(ContentCatalog.EMPTY);
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    // DataInitializer 적재가 끝난 뒤 카탈로그를 메모리에 로딩
+    @Bean
+    public ApplicationRunner loadContentCatalogAfterStartup() {
+        return args -> {
+            try {
+                reload();
+            } catch (Exception e) {
+                logger.error("❌ 콘텐츠 카탈로그 로딩 실패", e);
+            }
+        };
+    }
+
+    /**
+     * 현재 카탈로그를 반환합니다. 한 요청 안에서는 같은 인스턴스를 계속 사용하는 것이 안전합니다.
+     */
+    public ContentCatalog current() {
+        return current.get();
+    }
+
+    /**
+     * DB에서 콘텐츠를 다시 읽어 새 버전의 카탈로그를 만들고 교체합니다.
+     */
+    public ContentCatalog reload() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        ContentCatalog catalog = tx.execute(status -> {
+            List<Event> events = eventDao.findAll();
+            List<Choice> choices = choiceDao.findAll();
+
+            // Choice.event는 lazy 프록시이므로 세션이 열려 있을 때 소속 이벤트 ID를 풀어둡니다.
+            Map<Long, Long> choiceEventIds = new HashMap<>();
+            for (Choice c : choices) {
+                if (c.getEvent() != null) {
+                    choiceEventIds.put(c.getId(), c.getEvent().getId());
+                }
+            }
+
+            List<SpecialEvent> specialEvents = specialEventDao.findAll();
+            Map<Long, Integer> priorities = new HashMap<>();
+            for (SpecialEvent s : specialEvents) {
+                priorities.put(s.getId(), s.getPriority());
+            }
+            SpecialEventRuleSet rules = SpecialEventRuleSet.compile(specialEventConditionDao.findAll(), priorities);
+
+            return new ContentCatalog(
+                    versionSequence.incrementAndGet(),
+                    events,
+                    choices,
+                    choiceEventIds,
+                    endingDao.findAll(),
+                    specialEvents,
+                    tooltipDao.findAll(),
+                    rules
+            );
+        });
+
+        current.set(catalog);
+        logger.info("✅ 콘텐츠 카탈로그 v{} 로딩 완료 (이벤트 {}, 특별 이벤트 {}, 규칙 {}, 툴팁 {})",
+                catalog.getVersion(), catalog.getEvents().size(), catalog.getSpecialEvents().size(),
+                catalog.getSpecialEventRules().size(), catalog.getTooltips().size());
+        return catalog;
+    }
+}
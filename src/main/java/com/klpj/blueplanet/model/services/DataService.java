@@ -1,9 +1,12 @@
 package com.klpj.blueplanet.model.services;
 
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
 import com.klpj.blueplanet.model.dao.*;
 import com.klpj.blueplanet.model.dto.*;
 import com.klpj.blueplanet.model.responses.*;
+import com.klpj.blueplanet.model.session.GameSessionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -13,77 +16,108 @@ import java.util.stream.Collectors;
 public class DataService {
 
     @Autowired
-    private TooltipDao tooltipDao;
-
-    @Autowired
-    private UserStatusDao userStatusDao;
-
-    @Autowired
-    private UserChoiceHistoryDao userChoiceHistoryDao;
-
-    @Autowired
-    private ChoiceDao choiceDao;
+    private AdviceEmailDao adviceEmailDao;
 
     @Autowired
-    private EventDao eventDao;
+    private InboxMessageDao inboxMessageDao;
 
     @Autowired
-    private SpecialEventDao specialEventDao;
+    private ContentCatalogService contentCatalogService;
 
     @Autowired
-    private AdviceEmailDao adviceEmailDao;
+    private GameSessionCache gameSessionCache;
 
     /**
      * 모든 툴팁 정보를 TooltipResponse DTO 형태로 반환합니다.
      */
     public List<TooltipResponse> getAllTooltips() {
-        return tooltipDao.findAll().stream()
+        return contentCatalogService.current().getTooltips().stream()
                 .map(t -> new TooltipResponse(t.getKeyword(), t.getContent()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * 사용자(userId)가 이미 수신한 이메일 목록(이벤트 요약: eventId, title)을 EmailSummaryResponse 형태로 반환합니다.
+     * 메일함 한 페이지.
+     * @param nextCursor   같은 방향으로 더 가져올 항목이 있으면 다음 요청에 쓸 커서 (없으면 null)
+     * @param latestCursor 이 응답에서 가장 최신 항목의 커서. 다음 폴링의 since로 사용 (오래된 페이지 조회 시 null)
      */
-    public List<EmailSummaryResponse> getEmailList(Long userId) {
-        UserStatus userStatus = userStatusDao.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
-        // 1. 이벤트 메일: UserChoiceHistory 기준
-        List<UserChoiceHistory> histories = userChoiceHistoryDao.findByUserStatusId(userId);
-        List<EmailSummaryResponse> eventMails = histories.stream()
-                .map(h -> {
-                    Event e = eventDao.findById(h.getEventId()).orElse(null);
-                    if (e == null) return null;
-                    return new EmailSummaryResponse(
-                            e.getId(),
-                            e.getTitle(),
-                            "event",
-                            h.getCreatedAt()  // 사용자 기준 수신 시간
-                    );
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public record EmailPage(List<EmailSummaryResponse> items, String nextCursor, String latestCursor) {
+    }
+
+    public static final int MAX_EMAIL_PAGE_SIZE = 200;
+
+    /**
+     * 메일함 목록의 ETag. 메일함 버전(UserStatus.inboxVersion)과 요청 파라미터로 만듭니다.
+     * 버전은 user_status에 저장되므로 여러 서버나 재시작 후에도 같은 목록이면 같은 ETag가 됩니다.
+     * 세션이 메모리에 있으면 DB를 읽지 않으므로, 바뀌지 않은 메일함의 폴링은 쿼리 없이 304가 됩니다.
+     */
+    public String emailListETag(Long userId, String since, String before, int limit) {
+        return "\"inbox-" + gameSessionCache.getInboxVersion(userId)
+                + "-" + Integer.toHexString(Objects.hash(since, before, limit)) + "\"";
+    }
+
+    /**
+     * 사용자(userId)가 이미 수신한 이메일 목록(이벤트 메일 + 조언 메일)을 최신순으로 keyset 페이지 단위로 반환합니다.
+     * - since: 이 커서보다 새로운 메일만 (폴링용 delta)
+     * - before: 이 커서보다 오래된 메일 (다음 페이지)
+     * - 둘 다 없으면 최신 메일부터
+     * 메일함 읽기 모델(inbox_message)의 (user_id, received_at, id) 인덱스 순서대로 읽으므로 별도 정렬이 없습니다.
+     */
+    public EmailPage getEmailPage(Long userId, String since, String before, int limit) {
+        if (since != null && before != null) {
+            throw new IllegalArgumentException("since와 before는 함께 사용할 수 없습니다.");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_EMAIL_PAGE_SIZE));
+
+        // 사용자 확인 후, 세션에 대기 중인 메일이 있으면 먼저 DB에 반영
+        gameSessionCache.flushInbox(userId);
+
+        // 한 개 더 읽어서 다음 페이지가 있는지 판단
+        List<InboxMessage> rows;
+        if (since != null) {
+            InboxCursor cursor = InboxCursor.decode(since);
+            rows = new ArrayList<>(inboxMessageDao.findNewer(userId, cursor.receivedAt(), cursor.id(), Limit.of(size + 1)));
+        } else if (before != null) {
+            InboxCursor cursor = InboxCursor.decode(before);
+            rows = new ArrayList<>(inboxMessageDao.findOlder(userId, cursor.receivedAt(), cursor.id(), Limit.of(size + 1)));
+        } else {
+            rows = new ArrayList<>(inboxMessageDao.findByUserIdOrderByReceivedAtDescIdDesc(userId, Limit.of(size + 1)));
+        }
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        if (since != null) {
+            // 새 메일은 오래된 순으로 읽었으므로 응답은 다른 경우와 같이 최신순으로 뒤집음
+            Collections.reverse(rows);
+        }
 
-        // 2. 조언 메일
-        List<AdviceEmail> adviceEmails = adviceEmailDao.findByUserId(userId);
-        List<EmailSummaryResponse> adviceMails = adviceEmails.stream()
-                .map(a -> new EmailSummaryResponse(
-                        a.getId(),
-                        a.getTitle(),
-                        "advice",
-                        a.getCreatedAt()
+        ContentCatalog catalog = contentCatalogService.current();
+        List<EmailSummaryResponse> items = rows.stream()
+                .map(m -> new EmailSummaryResponse(
+                        m.getRefId(),
+                        titleOf(m, catalog),
+                        m.getType(),
+                        m.getReceivedAt()  // 사용자 기준 수신 시간
                 ))
                 .collect(Collectors.toList());
 
-        // 3. 합치고 정렬 (최신순)
-        List<EmailSummaryResponse> merged = new ArrayList<>();
-        merged.addAll(eventMails);
-        merged.addAll(adviceMails);
-
-        merged.sort(Comparator.comparing(EmailSummaryResponse::getCreatedAt).reversed());
+        String latestCursor = null;
+        if (since != null) {
+            latestCursor = rows.isEmpty() ? since : cursorOf(rows.get(0));
+        } else if (before == null && !rows.isEmpty()) {
+            latestCursor = cursorOf(rows.get(0));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            // since: 아직 남은 새 메일을 이어서 받을 커서, 그 외: 다음(더 오래된) 페이지 커서
+            nextCursor = since != null ? latestCursor : cursorOf(rows.get(rows.size() - 1));
+        }
+        return new EmailPage(items, nextCursor, latestCursor);
+    }
 
-        return merged;
+    private static String cursorOf(InboxMessage message) {
+        return new InboxCursor(message.getReceivedAt(), message.getId()).encode();
     }
 
 
@@ -93,8 +127,10 @@ public class DataService {
      */
     public EmailDetailResponse getEmailDetail(Long userId, Long id, String type) {
         if (type.equals("advice")) {
-            // 조언 메일 상세 조회
-            AdviceEmail advice = adviceEmailDao.findById(id)
+            // 조언 메일 상세 조회 (세션에 대기 중인 조언 메일을 먼저 DB에 반영)
+            gameSessionCache.flushInbox(userId);
+            InboxMessage advice = inboxMessageDao
+                    .findFirstByUserIdAndTypeAndRefIdOrderByIdAsc(userId, InboxMessage.TYPE_ADVICE, id)
                     .orElseThrow(() -> new RuntimeException("조언 메일을 찾을 수 없습니다."));
             return new EmailDetailResponse(
                     advice.getEventId(),
@@ -102,28 +138,30 @@ public class DataService {
                     "과학자 박병호", // 또는 "AI 조언"
                     advice.getContent(),
                     List.of(), // 선택지 없음
-                    null
+                    null,
+                    // GPT 응답은 카탈로그에 없으므로 조회 시점에 키워드 위치를 계산
+                    contentCatalogService.current().getKeywordMatcher().annotate(advice.getContent())
             );
         } else if (type.equals("event")) {
-            // 일반 이벤트 메일 상세 조회
-            Event event = eventDao.findById(id)
-                    .orElseThrow(() -> new RuntimeException("이벤트를 찾을 수 없습니다."));
+            // 일반 이벤트 메일 상세 조회 (본문과 선택지는 카탈로그)
+            ContentCatalog catalog = contentCatalogService.current();
+            Event event = catalog.getEvent(id);
+            if (event == null) {
+                throw new RuntimeException("이벤트를 찾을 수 없습니다.");
+            }
 
-            List<ChoiceSimpleResponse> choices = event.getChoices()
+            List<ChoiceSimpleResponse> choices = catalog.getChoices(event.getId())
                     .stream()
                     .map(c -> new ChoiceSimpleResponse(c.getId(), c.getContent()))
                     .collect(Collectors.toList());
 
-            List<UserChoiceHistory> histories = userChoiceHistoryDao.findByUserStatusIdAndEventId(userId, id);
-
-            ChoiceSimpleResponse selectedChoice = null;
-            if (!histories.isEmpty()) {
-                UserChoiceHistory history = histories.get(0);
-                Choice choice = choiceDao.findById(history.getChoiceId()).orElse(null);
-                if (choice != null) {
-                    selectedChoice = new ChoiceSimpleResponse(choice.getId(), choice.getContent());
-                }
-            }
+            // 사용자가 고른 선택지는 메일함 행에 함께 저장되어 있음
+            gameSessionCache.flushInbox(userId);
+            ChoiceSimpleResponse selectedChoice = inboxMessageDao
+                    .findFirstByUserIdAndTypeAndRefIdOrderByIdAsc(userId, InboxMessage.TYPE_EVENT, id)
+                    .filter(m -> m.getSelectedChoiceId() != null)
+                    .map(m -> new ChoiceSimpleResponse(m.getSelectedChoiceId(), m.getSelectedChoiceContent()))
+                    .orElse(null);
 
             return new EmailDetailResponse(
                     event.getId(),
@@ -131,7 +169,8 @@ public class DataService {
                     event.getWriter(),
                     event.getContent(),
                     choices,
-                    selectedChoice
+                    selectedChoice,
+                    catalog.getEventAnnotations(event.getId())
             );
         }
 
@@ -139,17 +178,56 @@ public class DataService {
         throw new IllegalArgumentException("알 수 없는 type: " + type);
     }
 
+    // 이벤트 메일 제목은 카탈로그가 다시 로드되었을 수 있으므로 현재 카탈로그 값을 우선 사용
+    private String titleOf(InboxMessage message, ContentCatalog catalog) {
+        if (InboxMessage.TYPE_EVENT.equals(message.getType())) {
+            Event event = catalog.getEvent(message.getRefId());
+            if (event != null) {
+                return event.getTitle();
+            }
+        }
+        return message.getTitle();
+    }
+
+    /**
+     * GPT 조언을 조언 메일로 저장하고, 게임 세션에 메일함 행을 추가합니다.
+     * 메일함 행과 올라간 메일함 버전은 이벤트 메일처럼 세션의 다음 flush에서 함께 기록됩니다.
+     */
+    public AdviceEmail saveAdviceEmail(Long userId, Long eventId, String title, String content) {
+        return gameSessionCache.execute(userId, session -> {
+            AdviceEmail adviceEmail = new AdviceEmail();
+            adviceEmail.setUserId(userId);
+            adviceEmail.setEventId(eventId);
+            adviceEmail.setTitle(title);
+            adviceEmail.setContent(content);
+            AdviceEmail saved = adviceEmailDao.save(adviceEmail);
+
+            session.addInboxMessage(InboxMessage.ofAdvice(saved));
+            return saved;
+        });
+    }
+
+    /**
+     * 뉴스 목록의 ETag. 목록은 사용된 특별 이벤트 id로만 정해지므로 정렬한 id 목록으로 만듭니다.
+     */
+    public String newsListETag(Long userId) {
+        return "\"news-" + gameSessionCache.getStatus(userId).getUsedSpecialEventIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(".")) + "\"";
+    }
+
     /**
      * 사용자(userId)가 수신한 특수 이벤트(뉴스) 목록을 NewsSummaryResponse 형태로 반환합니다.
      */
     public List<NewsSummaryResponse> getNewsList(Long userId) {
-        UserStatus userStatus = userStatusDao.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
-        Set<Long> usedSpecialEventIds = userStatus.getUsedSpecialEventIds();
-        List<SpecialEvent> specialEvents = specialEventDao.findAllById(usedSpecialEventIds);
+        UserStatus userStatus = gameSessionCache.getStatus(userId);
 
-        return specialEvents.stream()
+        ContentCatalog catalog = contentCatalogService.current();
+        return userStatus.getUsedSpecialEventIds().stream()
+                .sorted()
+                .map(catalog::getSpecialEvent)
+                .filter(Objects::nonNull)
                 .map(se -> new NewsSummaryResponse(se.getId(), se.getTitle()))
                 .collect(Collectors.toList());
     }
@@ -158,13 +236,17 @@ public class DataService {
      * 특정 뉴스(특수 이벤트) ID를 받아, 상세 정보를 NewsDetailResponse 형태로 반환합니다.
      */
     public NewsDetailResponse getNewsDetail(Long specialEventId) {
-        SpecialEvent specialEvent = specialEventDao.findById(specialEventId)
-                .orElseThrow(() -> new RuntimeException("Special event not found with id: " + specialEventId));
+        ContentCatalog catalog = contentCatalogService.current();
+        SpecialEvent specialEvent = catalog.getSpecialEvent(specialEventId);
+        if (specialEvent == null) {
+            throw new RuntimeException("Special event not found with id: " + specialEventId);
+        }
         return new NewsDetailResponse(
                 specialEvent.getId(),
                 specialEvent.getTitle(),
                 specialEvent.getContent(),
-                specialEvent.getImgUrl()
+                specialEvent.getImgUrl(),
+                catalog.getSpecialEventAnnotations(specialEvent.getId())
         );
     }
 }
@@ -1,55 +1,47 @@
 package com.klpj.blueplanet.model.services;
 
 
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
 import com.klpj.blueplanet.model.dao.*;
 import com.klpj.blueplanet.model.dto.*;
+import com.klpj.blueplanet.model.metrics.GameMetrics;
 import com.klpj.blueplanet.model.responses.*;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.rules.SpecialEventRule;
+import com.klpj.blueplanet.model.session.GameSession;
+import com.klpj.blueplanet.model.session.GameSessionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
 public class GameService {
 
     @Autowired
-    private UserStatusDao userStatusDao;
+    private GameEventDao gameEventDao;
 
     @Autowired
-    private EndingDao endingDao;
-
-    @Autowired
-    private EventDao eventDao;
-
-    @Autowired
-    private ChoiceDao choiceDao;
+    private UserChoiceHistoryDao userChoiceHistoryDao;
 
     @Autowired
-    private SpecialEventDao specialEventDao;
+    private ContentCatalogService contentCatalogService;
 
     @Autowired
-    private SpecialEventConditionDao specialEventConditionDao;
+    private GameSessionCache gameSessionCache;
 
     @Autowired
-    private UserChoiceHistoryDao userChoiceHistoryDao;
+    private SummaryPromptBuilder summaryPromptBuilder;
 
     @Autowired
-    private GptService gptService;
+    private GameMetrics gameMetrics;
 
     private static final Logger logger = LoggerFactory.getLogger(GameService.class);
 
-    private List<SpecialEventCondition> cachedConditions; // 특별 이벤트 조건들을 미리 캐싱해두기 위한 변수
-
-    private Random random = new Random();
-
     /**
      * 새로운 게임을 시작합니다.
      * - 초기 게임 상태를 생성 (모든 수치 50, turnCount 1)
@@ -65,97 +57,52 @@ public class GameService {
         status.setPopularity(50);
         status.setTurnCount(1);
 
-        UserStatus savedStatus = userStatusDao.save(status);
+        // id가 필요하므로 생성(과 seq 0 스냅샷)만 즉시 저장하고, 이후 변경은 세션 캐시를 통해 게임 이벤트로 지연 저장합니다.
+        UserStatus savedStatus = gameSessionCache.create(status);
 
         return new StartGameResponse(savedStatus, 2);
     }
 
-    // 모든 특별 이벤트 발동 조건 미리 메모리에 로딩
-    @Bean
-    public ApplicationRunner loadSpecialEventConditionsAfterStartup() {
-        return args -> {
-            try {
-                cachedConditions = specialEventConditionDao.findAll();
-                System.out.println("✅ 캐싱된 조건 수: " + cachedConditions.size());
-                logger.info("✅ 캐싱된 조건 수: {}", cachedConditions.size());
-            } catch (Exception e) {
-                System.err.println("❌ 캐싱 실패: " + e.getMessage());
-                logger.error("❌ 캐싱 실패", e);
-                e.printStackTrace(); // 에러 로그 확인
-            }
-        };
+    /**
+     * 현재 상태에서 발동할 특별 이벤트 규칙(우선순위가 가장 높은 것 하나)을 반환합니다.
+     * 없으면 null을 반환합니다.
+     */
+    public SpecialEventRule findTriggeredSpecialEvent(UserStatus status) {
+        return contentCatalogService.current().getSpecialEventRules().findFirstMatch(status);
     }
 
-
     public List<SpecialEvent> getTriggeredSpecialEvents(UserStatus status) {
-        // 1. 조건들을 이벤트 ID 기준으로 그룹핑 (Map<special_event_id, 조건리스트>)
-        Map<Long, List<SpecialEventCondition>> groupedConditions = cachedConditions.stream()
-                .collect(Collectors.groupingBy(cond -> cond.getSpecialEvent().getId()));
-
-        // 2. 조건을 모두 만족하는 이벤트 ID 추출
-        List<Long> satisfiedEventIds = groupedConditions.entrySet().stream()
-                .filter(entry -> allConditionsMatch(entry.getValue(), status))
-                .map(Map.Entry::getKey)
-                .filter(eventId -> !status.getUsedSpecialEventIds().contains(eventId))
-                .collect(Collectors.toList());
-
-
-        // 3. DB에서 해당 이벤트들 조회
-        return specialEventDao.findAllById(satisfiedEventIds);
-    }
-
-    private boolean allConditionsMatch(List<SpecialEventCondition> conditions, UserStatus status) {
-        return conditions.stream().allMatch(cond -> {
-            int currentValue = switch (cond.getStatusType().toLowerCase().trim()) {
-                case "air" -> status.getAir();
-                case "water" -> status.getWater();
-                case "biology" -> status.getBiology(); // 혼용 대비
-                case "popularity" -> status.getPopularity();
-                default -> 0;
-            };
-
-            return switch (cond.getOperator().trim()) {
-                case ">" -> currentValue > cond.getVariation();
-                case ">=" -> currentValue >= cond.getVariation();
-                case "<" -> currentValue < cond.getVariation();
-                case "<=" -> currentValue <= cond.getVariation();
-                case "==" -> currentValue == cond.getVariation();
-                default -> false;
-            };
-        });
+        SpecialEventRule rule = findTriggeredSpecialEvent(status);
+        if (rule == null) {
+            return List.of();
+        }
+        SpecialEvent event = contentCatalogService.current().getSpecialEvent(rule.getSpecialEventId());
+        return event != null ? List.of(event) : List.of();
     }
 
 
     // 조건을 만족하는 특별 이벤트 가져오는 메서드
     public SpecialEventResponse triggerSpecialEventIfAny(Long userId) {
-        UserStatus userStatus = userStatusDao.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<SpecialEvent> triggered = getTriggeredSpecialEvents(userStatus);
-        if (triggered.isEmpty()) {
-            throw new RuntimeException("No special event triggered.");
-        }
+        return gameSessionCache.execute(userId, session -> {
+            checkNotEnded(session);
+            UserStatus userStatus = session.getStatus();
 
-        triggered.sort(new Comparator<SpecialEvent>() {
-            @Override
-            public int compare(SpecialEvent o1, SpecialEvent o2) {
-                return o1.getPriority() - o2.getPriority();
+            List<SpecialEvent> triggered = getTriggeredSpecialEvents(userStatus);
+            if (triggered.isEmpty()) {
+                throw new RuntimeException("No special event triggered.");
             }
-        });
-
-        SpecialEvent event = triggered.get(0); // 하나만 처리
 
-        // 수치 반영 (turnCount는 변경 ❌)
-        userStatus.setAir(userStatus.getAir() + event.getAirImpact());
-        userStatus.setWater(userStatus.getWater() + event.getWaterImpact());
-        userStatus.setBiology(userStatus.getBiology() + event.getBiologyImpact());
-        userStatus.setPopularity(userStatus.getPopularity() + event.getPopularityImpact());
+            SpecialEvent event = triggered.get(0); // 우선순위가 가장 높은 하나만 처리
 
-        userStatus.getUsedSpecialEventIds().add(event.getId());
-        userStatusDao.save(userStatus);
+            // 수치 반영 및 사용 처리 (turnCount는 변경 ❌)
+            session.apply(GameEvent.ofSpecialEvent(event));
+            gameMetrics.specialEventTriggered(event.getId());
 
-        int nextEvent = determineNextEventType(userStatus);
-        return new SpecialEventResponse(event, userStatus, nextEvent);
+            int nextEvent = determineNextEventType(userStatus);
+            return new SpecialEventResponse(event,
+                    contentCatalogService.current().getSpecialEventAnnotations(event.getId()),
+                    session.snapshot(), nextEvent);
+        });
     }
 
 
@@ -167,22 +114,15 @@ public class GameService {
      * @return NextEventResponse DTO
      */
     public NextEventResponse getNextEvent(Long userId) {
-        // UserStatus(또는 UserData) 조회
-        UserStatus userStatus = userStatusDao.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
-        // 모든 이벤트 조회
-        List<Event> allEvents = eventDao.findAll();
-        // 아직 사용되지 않은 이벤트 필터링 (UserStatus에 저장된 usedEventIds를 기준으로)
-        List<Event> availableEvents = allEvents.stream()
-                .filter(event -> !userStatus.getUsedEventIds().contains(event.getId()))
-                .toList();
-
-        if (availableEvents.isEmpty()) {
+        ContentCatalog catalog = contentCatalogService.current();
+
+        // 아직 사용되지 않은 이벤트 중 랜덤 선택 (세션별 샘플러, usedEventIds 기준으로 동기화됨)
+        long eventId = gameSessionCache.execute(userId,
+                session -> session.getSampler(catalog).pick(ThreadLocalRandom.current()));
+        if (eventId < 0) {
             throw new RuntimeException("No available event found.");
         }
-        // 랜덤으로 이벤트 선택
-        Event selectedEvent = availableEvents.get(random.nextInt(availableEvents.size()));
+        Event selectedEvent = catalog.getEvent(eventId);
 
         // 이벤트 정보를 EventResponse DTO로 생성
         EventResponse eventResponse = new EventResponse(
@@ -193,13 +133,14 @@ public class GameService {
         );
 
         // 선택지 단순화: Choice를 ChoiceSimpleResponse로 매핑 (id와 text만)
-        List<ChoiceSimpleResponse> choiceResponses = selectedEvent.getChoices()
+        List<ChoiceSimpleResponse> choiceResponses = catalog.getChoices(selectedEvent.getId())
                 .stream()
                 .map(choice -> new ChoiceSimpleResponse(choice.getId(), choice.getContent()))
                 .collect(Collectors.toList());
 
         // NextEventResponse를 생성하여 반환 (턴 수나 nextEvent 값은 FE에서 로직으로 결정)
-        return new NextEventResponse(eventResponse, choiceResponses);
+        return new NextEventResponse(eventResponse, choiceResponses,
+                catalog.getEventAnnotations(selectedEvent.getId()));
     }
 
     /**
@@ -229,164 +170,101 @@ public class GameService {
      * @return GameUpdateResponse DTO (업데이트된 UserStatus와 결정된 endingId)
      */
     public GameUpdateResponse processChoice(Long userStatusId, Long choiceId) {
-        // 1. UserStatus 조회
-        UserStatus userStatus = userStatusDao.findById(userStatusId)
-                .orElseThrow(() -> new RuntimeException("User status not found with id: " + userStatusId));
-
-        // 2. 선택지 조회
-        Choice choice = choiceDao.findById(choiceId)
-                .orElseThrow(() -> new RuntimeException("Choice not found with id: " + choiceId));
-
-        // 3. 선택지 효과 반영
-        userStatus.setAir(userStatus.getAir() + choice.getAirImpact());
-        userStatus.setWater(userStatus.getWater() + choice.getWaterImpact());
-        userStatus.setBiology(userStatus.getBiology() + choice.getBiologyImpact());
-        userStatus.setPopularity(userStatus.getPopularity() + choice.getPopularityImpact());
-        userStatus.setTurnCount(userStatus.getTurnCount() + 1);
-
-        // 4. 업데이트된 상태 저장
-        UserStatus updatedStatus = userStatusDao.save(userStatus);
-
-        // 5. 선택 이력 기록 (새로 추가된 부분)
-        // 선택한 이벤트의 ID는 선택지(choice)가 속한 이벤트의 ID를 통해 확인할 수 있습니다.
-        UserChoiceHistory history = new UserChoiceHistory();
-        history.setUserStatusId(userStatusId);
-        history.setEventId(choice.getEvent().getId());
-        history.setChoiceId(choiceId);
-        // history.setChosenAt(new Date()); // 기본값 생성자로 이미 현재 시각이 할당됨
+        // 1. 선택지 조회 (카탈로그)
+        ContentCatalog catalog = contentCatalogService.current();
+        Choice choice = catalog.getChoice(choiceId);
+        Event choiceEvent = catalog.getEventOfChoice(choiceId);
+        if (choice == null || choiceEvent == null) {
+            throw new RuntimeException("Choice not found with id: " + choiceId);
+        }
 
-        // 선택된 이벤트 ID를 사용된 이벤트 목록에 추가 및 저장
-        userStatus.getUsedEventIds().add(choice.getEvent().getId());
-        userStatusDao.save(userStatus);
+        // 2. 세션 lock 안에서 상태 변경 (DB 저장은 세션 캐시가 모아서 한 트랜잭션으로 처리)
+        return gameSessionCache.execute(userStatusId, session -> {
+            checkNotEnded(session);
+            UserStatus userStatus = session.getStatus();
 
-        userChoiceHistoryDao.save(history);  // UserChoiceHistoryDao를 주입 받아 사용합니다.
+            // 선택지 효과 반영, 턴 증가, 선택된 이벤트 사용 처리 (선택 이력은 이 게임 이벤트로 기록됨)
+            GameEvent applied = session.apply(GameEvent.ofChoice(choiceEvent, choice));
+            // 메일함 읽기 모델도 같은 flush에서 함께 기록
+            session.addInboxMessage(InboxMessage.ofChoice(applied, choiceEvent, choice));
 
-        // 다음 이벤트 타입 판단
-        int nextEventType = determineNextEventType(updatedStatus);
+            // 다음 이벤트 타입 판단
+            int nextEventType = determineNextEventType(userStatus);
 
-        return new GameUpdateResponse(updatedStatus, choice.getResult(), nextEventType);
+            return new GameUpdateResponse(session.snapshot(), choice.getResult(), nextEventType);
+        });
     }
 
-    // 다음 이벤트 판별하는 메서드
-    public int determineNextEventType(UserStatus userStatus) {
-        // 1. 엔딩 조건
-        if (userStatus.getAir() >= 100) return 3;
-        if (userStatus.getAir() <= 0) return 3;
-        if (userStatus.getWater() >= 100) return 3;
-        if (userStatus.getWater() <= 0) return 3;
-        if (userStatus.getBiology() >= 100) return 3;
-        if (userStatus.getBiology() <= 0) return 3;
-        if (userStatus.getPopularity() >= 100) return 3;
-        if (userStatus.getPopularity() <= 0) return 3;
-
-        if (userStatus.getTurnCount() >= 20) {
-            int sum = userStatus.getAir() + userStatus.getWater() +
-                    userStatus.getBiology() + userStatus.getPopularity();
-            int average = sum / 4;
-            return 3; // 엔딩으로 이동 (엔딩 ID는 따로 판단할 수 있음)
-        }
+    /**
+     * 엔딩에 도달했음을 게임 이벤트로 기록합니다.
+     *
+     * @throws IllegalStateException 이미 엔딩이 기록된 게임인 경우
+     */
+    public void recordEnding(Long userId, int endingId) {
+        gameSessionCache.execute(userId, session -> {
+            checkNotEnded(session);
+            session.apply(GameEvent.ofEnding(endingId));
+            gameMetrics.endingReached(endingId);
+            return null;
+        });
+    }
 
-        // 2. 특별 이벤트 조건
-        if (!getTriggeredSpecialEvents(userStatus).isEmpty()) {
-            return 2;
+    // 엔딩 이후에는 선택, 특별 이벤트, 엔딩을 더 기록하지 않음 (되돌리기로만 다시 진행 가능)
+    private static void checkNotEnded(GameSession session) {
+        if (session.hasEnded()) {
+            throw new IllegalStateException("게임 " + session.getUserId() + "은(는) 이미 엔딩 "
+                    + session.getStatus().getEndingId() + "에 도달했습니다");
         }
+    }
 
-        // 3. 상시 이벤트
-        return 1;
+    /**
+     * 게임을 turn 턴에서 선택하기 직전 상태로 되돌립니다.
+     * 그 뒤의 선택/특별 이벤트와 이벤트 메일은 지워지고, 사용된 이벤트 목록도 그 시점으로 돌아갑니다.
+     *
+     * @throws IllegalArgumentException 아직 도달하지 않은 턴인 경우
+     */
+    public GameUpdateResponse rewind(Long userId, int turn) {
+        UserStatus status = gameSessionCache.rewind(userId, turn);
+        return new GameUpdateResponse(status, null, determineNextEventType(status));
     }
 
-    // 어떤 엔딩이벤트를 반환해야하는지 판단하는 메서드
-    public int determineEndingId(UserStatus userStatus) {
-        if (userStatus.getAir() <= 0) return 1;
-        if (userStatus.getAir() >= 100) return 2;
-        if (userStatus.getWater() <= 0) return 3;
-        if (userStatus.getWater() >= 100) return 4;
-        if (userStatus.getBiology() <= 0) return 5;
-        if (userStatus.getBiology() >= 100) return 6;
-        if (userStatus.getPopularity() <= 0) return 7;
-        if (userStatus.getPopularity() >= 100) return 8;
-
-        if (userStatus.getTurnCount() >= 20) {
-            int sum = userStatus.getAir() + userStatus.getWater() +
-                    userStatus.getBiology() + userStatus.getPopularity();
-            int average = sum / 4;
-            return (average >= 50) ? 9 : 10;
-        }
+    // 다음 이벤트 판별하는 메서드 (1:상시, 2:특별, 3:엔딩)
+    public int determineNextEventType(UserStatus userStatus) {
+        return GameRules.nextEventType(userStatus, contentCatalogService.current().getSpecialEventRules(),
+                GameRules.ENDING_TURN);
+    }
 
-        return 0; // 0이면 엔딩 조건 미충족
+    // 어떤 엔딩이벤트를 반환해야하는지 판단하는 메서드 (0이면 엔딩 조건 미충족)
+    public int determineEndingId(UserStatus userStatus) {
+        return GameRules.endingId(userStatus, GameRules.ENDING_TURN);
     }
 
     public String summarizeUserFlow(Long userId) {
-        List<UserChoiceHistory> historyList = userChoiceHistoryDao.findByUserStatusIdOrderByChosenAtAsc(userId);
-
-        UserStatus status = userStatusDao.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        StringBuilder sb = new StringBuilder();
-        sb.append(
-                "당신은 게임의 스토리텔러입니다. 아래 선택 내용을 기반으로 두 가지를 작성해주세요:\n\n" +
-                        "1. 플레이어 성향을 한 문장으로 요약하세요.\n" +
-                        "- 출력 형식: 반드시 다음 형식으로 작성 (예시 아님):\n" +
-                        "  1. \"당신은 ○○한 사람입니다.\"\n\n" +
-                        "- 반드시 **한 가지 특징**만 사용하여 작성하세요.\n" +
-                        "- '그리고', '및', '하고', '또는', '같은 복수 표현'은 사용하지 마세요.\n" +
-                        "- 예: \"당신은 책임감 있는 사람입니다.\" ← ✅ OK\n" +
-                        "      \"당신은 창의적이고 책임감 있는 사람입니다.\" ← ❌ 금지\n" +
-                        "항상 긍정적으로 대답할 필요는 없습니다.\n" +
-                        "부정적인 방향으로 플레이했을 경우, 부정적인 표현을 사용해야 합니다.\n" +
-                        "예를 들면, 특정 수치가 0 이하에 도달한 엔딩이거나, 모든 수치의 평균치가 50 미만인 엔딩인 경우가 있을 수 있습니다.\n" +
-                        "혹은, air 등의 수치가 50 이상으로 높더라도, water 등의 수치가 50 미만으로 낮다면,\n" +
-                        "대기에는 ㅁㅁ한 좋은 영향을 미쳤으나, 수질에는 ㅇㅇ한 안좋은 영향을 미쳤습니다, 와 같이 수치별로 나눠서 생각할 수 있습니다.\n" +
-                        "하지만, 부정적으로 답변하더라도 개선 방안이 제시되어야 합니다.\n" +
-                        "즉, 일방적으로 비난하는 방면의 부정적 답변은 금지합니다.\n" +
-                        "어느 정도가 긍정적인 플레이인지 부정적인 플레이인지의 판단은 맡기겠습니다.\n" +
-                        "현재 사용자 상태와, 사용자가 지금껏 선택한 선택지를 잘 참고하여 답변해주시기 바랍니다.\n"+
-                        "2. 플레이어의 선택을 바탕으로 몰입이 가능한 엔딩 장면처럼 분석된 문단을 작성해주세요.\n" +
-                        "- 분량: 250자 이상 300자 이하\n" +
-                        "- 반드시 서론 없이 **본론부터 시작**하세요.\n" +
-                        "- 아래 표현은 **절대 사용하지 마세요**:\n" +
-                        "  - '사용자의 선택 이력:', '선택 이력:', '사용자 27의 선택 이력:', '사용자', '이 선택은...', '분석해보겠습니다', '이러한 선택들은...'\n" +
-                        "  - '번호가 붙은 사용자 지칭', 예: '사용자 12', '플레이어 1' 등의 표현도 금지합니다.\n"+
-                        "- 예시처럼 시작해주세요: \n" +
-                        "  - \"당신은 ○○한 정책을 도입하셔서~\"\n" +
-                        "  - \"○○을 추진함으로써 도시 환경을 개선하셨습니다.\"\n" +
-                        "- 문장은 반드시 '당신'으로 시작하고, 전부 **격식을 갖춘 존댓말**을 사용해야 합니다.\n" +
-                        "- 전체 응답은 반드시 **'하십시오체' 문체(격식 높임체)**를 사용하여 작성하세요.\n" +
-                        "- '~하셨습니다', '~해주셨습니다', '~하였습니다'처럼 **격식을 갖춘 종결어미**만 사용 가능합니다.\n" +
-                        "- '~했다', '~하였다', '~했어요' 등은 절대 사용하지 마세요 (해체, 해요체 금지).\n" +
-                        "- 예: '기여하셨습니다', '개선하셨습니다', '도움을 주셨습니다', '살렸습니다' 등의 존댓말로 끝나야 합니다.\n" +
-                        "단, 이 또한 모두 긍정적일 필요는 없습니다. 부정적인 선택지에 대해서는 부정적으로 답변해야 합니다.\n" +
-                        "- 예: \"당신은 ㅇㅇ한 정책을 추진함으로써 지지도를 크게 잃었습니다. \"\n" +
-                        "하지만, 부정적으로 답변하더라도 개선 방안이 제시되어야 합니다.\n" +
-                        "즉, 일방적으로 비난하는 방면의 부정적 답변은 금지합니다.\n" +
-                        "다시 말하지만, 현재 사용자 상태와, 사용자가 지금껏 선택한 선택지를 잘 참고하여 답변해주시기 바랍니다.\n" +
-                        "📌 최종 출력 형식:\n" +
-                        "1. \"당신은 ○○한 사람입니다.\"\n" +
-                        "2. [바로 본론 시작, 서론 없이, 전부 존댓말로]\n\n"+
-                        "- 💥 위 조건을 어길 경우 잘못된 응답으로 간주됩니다. 반드시 지침을 철저히 지켜서 작성해주세요.\n\n"
-        );
-
-        sb.append("【현재 사용자 상태】\n")
-                .append("대기: ").append(status.getAir()).append(", ")
-                .append("수질: ").append(status.getWater()).append(", ")
-                .append("생물: ").append(status.getBiology()).append(", ")
-                .append("지지도: ").append(status.getPopularity()).append("\n\n");
-
-        sb.append("사용자 ").append(userId).append("의 선택 이력 :\n\n");
-
-        for (UserChoiceHistory history : historyList) {
-            Event event = eventDao.findById(history.getEventId()).orElse(null);
-            Choice choice = choiceDao.findById(history.getChoiceId()).orElse(null);
+        // 대기 중인 게임 이벤트를 먼저 DB에 반영
+        gameSessionCache.flush(userId);
+        List<UserChoiceHistory> historyList = gameEventDao
+                .findByUserStatusIdAndTypeOrderBySeqAsc(userId, GameEvent.TYPE_CHOICE).stream()
+                .map(GameService::toHistory)
+                .collect(Collectors.toList());
+        if (historyList.isEmpty()) {
+            // 게임 이벤트 기록 이전에 진행된 게임
+            historyList = userChoiceHistoryDao.findByUserStatusIdOrderByChosenAtAsc(userId);
+        }
 
+        UserStatus status = gameSessionCache.getStatus(userId);
 
-            String eventTitle = event != null ? event.getTitle() : "알 수 없는 이벤트";
-            String choiceText = choice != null ? choice.getContent() : "알 수 없는 선택지";
+        String prompt = summaryPromptBuilder.build(userId, status, historyList, contentCatalogService.current());
+        logger.debug("SummarizeUserFlow 프롬프트:\n{}", prompt);
+        return prompt;
+    }
 
-            sb.append("이벤트 : ").append(eventTitle).append("\n")
-                    .append("선택 : ").append(choiceText).append("\n\n");
-        }
-        logger.info("SummarizeUserFlow 프롬프트:\n{}", sb.toString());
-        return sb.toString();
+    private static UserChoiceHistory toHistory(GameEvent event) {
+        UserChoiceHistory history = new UserChoiceHistory();
+        history.setUserStatusId(event.getUserStatusId());
+        history.setEventId(event.getEventId());
+        history.setChoiceId(event.getRefId());
+        history.setChosenAt(event.getOccurredAt());
+        return history;
     }
 
 }
\ No newline at end of file
@@ -1,90 +1,107 @@
 package com.klpj.blueplanet.model.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.klpj.blueplanet.model.dao.ChoiceDao;
-import com.klpj.blueplanet.model.dao.EventDao;
-import com.klpj.blueplanet.model.dao.UserStatusDao;
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
 import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Ending;
 import com.klpj.blueplanet.model.dto.Event;
 import com.klpj.blueplanet.model.dto.UserStatus;
-import jakarta.annotation.PostConstruct;
-import okhttp3.OkHttpClient;
+import com.klpj.blueplanet.model.hint.Hint;
+import com.klpj.blueplanet.model.session.GameSessionCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.AutoConfigureOrder;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 public class GptService {
 
     @Autowired
-    private UserStatusDao userStatusDao;
+    private GameSessionCache gameSessionCache;
 
     @Autowired
-    private ChoiceDao choiceDao;
+    private ContentCatalogService contentCatalogService;
 
     @Autowired
-    private EventDao eventDao;
+    private OpenAiClient openAiClient;
 
-    @Value("${openai.api-key:}")
-    private String apiKey;
+    @Autowired
+    private AdviceCache adviceCache;
 
-    @PostConstruct
-    public void init() {
-        if (apiKey == null || apiKey.isBlank()) {
-            System.err.println("❌ GPT API 키가 설정되지 않았습니다.");
-        } else {
-            System.out.println("✅ GPT API Key: " + apiKey);
-        }
+    @Autowired
+    private HintService hintService;
+
+    /**
+     * 프롬프트를 비동기로 전송합니다. 모델 응답을 기다리는 동안 호출 스레드를 점유하지 않습니다.
+     */
+    public CompletableFuture<String> sendPromptAsync(String prompt) {
+        return openAiClient.completeAsync(prompt);
     }
 
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
-    private final OkHttpClient client = new OkHttpClient();
-    private final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * 프롬프트를 보내고 생성되는 토큰을 도착하는 대로 onToken에 전달합니다.
+     */
+    public CompletableFuture<String> streamPrompt(String prompt, Consumer<String> onToken) {
+        return openAiClient.stream(prompt, onToken);
+    }
 
-    public String sendPrompt(String prompt) {
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+    /**
+     * 조언을 요청합니다. 같은 이벤트·비슷한 수치·같은 질문에 대한 응답이 캐시에 있으면 모델을 호출하지 않습니다.
+     */
+    public CompletableFuture<String> askAdviceAsync(Long userId, Long eventId, String title, String content) {
+        // 사용자 상태 조회
+        UserStatus userStatus = gameSessionCache.getStatus(userId);
 
-        Map<String, Object> body = Map.of(
-                "model", "gpt-4o",
-                "messages", List.of(Map.of("role", "user", "content", prompt)),
-                "temperature", 0.7
-        );
+        // 이벤트 정보 조회 (카탈로그)
+        ContentCatalog catalog = contentCatalogService.current();
+        Event event = catalog.getEvent(eventId);
+        if (event == null) {
+            throw new RuntimeException("Event not found");
+        }
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-        ResponseEntity<Map> response = restTemplate.postForEntity("https://api.openai.com/v1/chat/completions", request, Map.class);
+        // 프롬프트는 캐시 키와 같은 구간의 대표 상태로 구성 (캐시된 응답이 다른 사용자의 수치를 인용하지 않도록)
+        UserStatus representative = adviceCache.representative(userStatus);
+        Hint hint = hintService.hint(catalog, representative, eventId, HintService.DEFAULT_TARGET_ENDING);
 
-        Map message = (Map) ((Map) ((List<Object>) response.getBody().get("choices")).get(0)).get("message");
-        return message.get("content").toString();
+        AdviceCache.Key key = adviceCache.keyOf(catalog.getVersion(), eventId, representative,
+                hint.recommendedChoiceId(), title, content);
+        return adviceCache.getOrLoad(key,
+                () -> sendPromptAsync(buildAdvicePrompt(catalog, event, representative, hint, title, content)));
     }
 
-    public String askAdvice(Long userId, Long eventId, String title, String content){
-        // 사용자 상태 조회
-        UserStatus userStatus = userStatusDao.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * 조언을 스트리밍으로 요청합니다. 캐시에 없으면 모델 토큰을 onToken으로 전달하고, 완료된 응답은 캐시에 남습니다.
+     * 클라이언트 연결이 끊기면 반환된 구독의 cancel을 호출합니다. (같은 조언을 기다리는 다른 요청이 없을 때만 호출 중단)
+     */
+    public AdviceCache.Subscription streamAdvice(Long userId, Long eventId, String title, String content, Consumer<String> onToken) {
+        UserStatus userStatus = gameSessionCache.getStatus(userId);
+
+        ContentCatalog catalog = contentCatalogService.current();
+        Event event = catalog.getEvent(eventId);
+        if (event == null) {
+            throw new RuntimeException("Event not found");
+        }
 
-        // 이벤트 정보 조회
-        Event event = eventDao.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+        UserStatus representative = adviceCache.representative(userStatus);
+        Hint hint = hintService.hint(catalog, representative, eventId, HintService.DEFAULT_TARGET_ENDING);
+
+        AdviceCache.Key key = adviceCache.keyOf(catalog.getVersion(), eventId, representative,
+                hint.recommendedChoiceId(), title, content);
+        return adviceCache.subscribe(key,
+                tokens -> streamPrompt(buildAdvicePrompt(catalog, event, representative, hint, title, content), tokens),
+                onToken);
+    }
 
+    private String buildAdvicePrompt(ContentCatalog catalog, Event event, UserStatus userStatus, Hint hint,
+                                     String title, String content) {
         // 선택지 조회
-        List<Choice> choices = choiceDao.findByEventId(eventId);
+        List<Choice> choices = catalog.getChoices(event.getId());
 
         // 프롬프트 구성
         StringBuilder sb = new StringBuilder();
         sb.append("당신은 환경 문제에 대한 조언을 해주는 과학자입니다.\n");
-        sb.append("사용자의 현재 상태는 다음과 같습니다.\n")
+        sb.append("사용자의 현재 상태는 대략 다음과 같습니다.\n")
                 .append("대기: ").append(userStatus.getAir()).append(", ")
                 .append("수질: ").append(userStatus.getWater()).append(", ")
                 .append("생물: ").append(userStatus.getBiology()).append(", ")
@@ -104,6 +121,17 @@ public class GptService {
                     .append(", 지지도: ").append(choice.getPopularityImpact()).append("\n");
         }
 
+        // 1차 힌트와 같은 로컬 탐색 결과를 근거로 제공
+        Ending target = catalog.getEnding(hint.targetEndingId());
+        sb.append("\n각 선택지 이후 게임을 끝까지 진행했을 때의 예상 결과입니다 (참고용 계산값):\n");
+        idx = 1;
+        for (Hint.ChoiceHint choiceHint : hint.choices()) {
+            Ending expected = catalog.getEnding(choiceHint.expectedEndingId());
+            sb.append(idx++).append(") '").append(target != null ? target.getTitle() : hint.targetEndingId())
+                    .append("' 엔딩 확률 ").append(Math.round(choiceHint.targetRate() * 100)).append("%, ")
+                    .append("가장 가능성 높은 엔딩: ").append(expected != null ? expected.getTitle() : "없음").append("\n");
+        }
+
         sb.append("\n")
                 .append("질문: ").append(title).append("\n")
                 .append(content).append("\n\n");
@@ -117,9 +145,7 @@ public class GptService {
                 "조언은 어디까지나 조언이며, 정답을 가르쳐주면 안됩니다.\n" +
                 "한글로 250자 이내 내용으로 조언해주길 바랍니다.");
 
-        // 5. GPT 호출
-        return sendPrompt(sb.toString());
-
+        return sb.toString();
     }
 
 
@@ -0,0 +1,115 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.hint.Hint;
+import com.klpj.blueplanet.model.hint.HintSolver;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.session.GameSessionCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * 로컬 expectimax 탐색(HintSolver)으로 현재 이벤트의 선택지별 예상 엔딩을 계산합니다.
+ * - 모델 호출 없이 수 ms 안에 응답하므로 1차 힌트로 사용하고, /gpt/advice는 필요할 때 요청하는 2차 조언으로 둡니다.
+ * - 탐색기는 카탈로그 버전마다 하나 만들며, hint.target-endings의 목표 엔딩마다 엔딩 표를 함께 계산합니다.
+ *   표 계산은 요청마다 하지 않으므로, 그 밖의 목표 엔딩은 IllegalArgumentException(400)으로 거절합니다.
+ */
+@Service
+public class HintService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HintService.class);
+
+    // 추천 기준 엔딩 기본값: 모든 수치를 지키며 평균 50 이상으로 엔딩 턴에 도달 ("계속")
+    public static final int DEFAULT_TARGET_ENDING = 9;
+
+    @Autowired
+    private ContentCatalogService contentCatalogService;
+
+    @Autowired
+    private GameSessionCache gameSessionCache;
+
+    private final int depth;
+    private final int tableQuantum;
+    private final int[] targetEndings;
+    private final AtomicReference<HintSolver> solver = new AtomicReference<>();
+
+    /**
+     * @param targetEndings 힌트를 제공할 목표 엔딩. 엔딩 하나마다 표가 수 MB, 계산이 수백 ms이므로 필요한 엔딩만 둡니다.
+     */
+    public HintService(@Value("${hint.depth:2}") int depth,
+                       @Value("${hint.table-quantum:10}") int tableQuantum,
+                       @Value("${hint.target-endings:" + DEFAULT_TARGET_ENDING + "}") int[] targetEndings) {
+        this.depth = depth;
+        this.tableQuantum = tableQuantum;
+        this.targetEndings = IntStream.concat(IntStream.of(DEFAULT_TARGET_ENDING), Arrays.stream(targetEndings))
+                .distinct()
+                .toArray();
+        for (int target : this.targetEndings) {
+            if (target < 1 || target > GameRules.ENDING_COUNT) {
+                throw new IllegalArgumentException("hint.target-endings는 1~" + GameRules.ENDING_COUNT + " 사이여야 합니다: " + target);
+            }
+        }
+    }
+
+    /**
+     * 사용자의 현재 상태에서 eventId 이벤트의 선택지별 예상 엔딩을 계산합니다.
+     *
+     * @throws IllegalArgumentException 카탈로그에 없는 이벤트이거나 hint.target-endings에 없는 목표 엔딩인 경우
+     */
+    public Hint hint(Long userId, Long eventId, int targetEndingId) {
+        UserStatus status = gameSessionCache.getStatus(userId);
+        return hint(contentCatalogService.current(), status, eventId, targetEndingId);
+    }
+
+    public Hint hint(ContentCatalog catalog, UserStatus status, long eventId, int targetEndingId) {
+        Hint hint = solverFor(catalog).solve(status, eventId, targetEndingId);
+        logger.debug("힌트 계산 (eventId={}, 상태 {}개) {}us", eventId, hint.states(), hint.elapsedMicros());
+        return hint;
+    }
+
+    /**
+     * 시작 시 목표 엔딩들의 표를 미리 계산해 첫 힌트 요청이 기다리지 않도록 합니다.
+     * (ApplicationReadyEvent는 카탈로그를 로딩하는 ApplicationRunner 이후에 발생)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareAfterStartup() {
+        try {
+            solverFor(contentCatalogService.current());
+        } catch (Exception e) {
+            logger.error("❌ 힌트 엔딩 표 계산 실패", e);
+        }
+    }
+
+    // 카탈로그가 교체되었으면 새 탐색기를 만들고 목표 엔딩들의 표를 계산
+    private HintSolver solverFor(ContentCatalog catalog) {
+        HintSolver current = solver.get();
+        if (current != null && current.getCatalog() == catalog) {
+            return current;
+        }
+        synchronized (this) {
+            current = solver.get();
+            if (current != null && current.getCatalog() == catalog) {
+                return current;
+            }
+            HintSolver created = new HintSolver(catalog, depth, tableQuantum);
+            long started = System.nanoTime();
+            for (int target : targetEndings) {
+                created.prepare(target);
+            }
+            logger.info("힌트 엔딩 표 {}개 계산 완료 (카탈로그 v{}) {}ms",
+                    targetEndings.length, catalog.getVersion(), (System.nanoTime() - started) / 1_000_000);
+            solver.set(created);
+            return created;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.klpj.blueplanet.model.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 메일함 keyset 페이지 커서. (receivedAt, id) 위치를 클라이언트에 불투명한 문자열로 전달합니다.
+ */
+public record InboxCursor(LocalDateTime receivedAt, long id) {
+
+    public String encode() {
+        String raw = receivedAt + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static InboxCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new InboxCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+    }
+}
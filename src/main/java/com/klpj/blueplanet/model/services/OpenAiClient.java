@@ -0,0 +1,245 @@
+package com.klpj.blueplanet.model.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import okhttp3.*;
+import okio.BufferedSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * OpenAI 호환 Chat Completions API 클라이언트.
+ * - 하나의 OkHttpClient를 공유하여 keep-alive 커넥션을 재사용합니다.
+ * - 연결/읽기/전체 호출 시간 제한을 두며, 응답을 기다리는 동안 호출 스레드를 점유하지 않는 비동기 API만 제공합니다.
+ * - stream()은 모델이 생성하는 토큰을 도착하는 대로 전달합니다. (stream=true, SSE 응답)
+ * - 호출마다 응답 시간을 llm.requests 타이머(mode=complete|stream, outcome=success|error|cancelled)에 기록합니다.
+ */
+@Component
+public class OpenAiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiClient.class);
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    // 타이머 배열 순서
+    private static final String[] OUTCOMES = {"success", "error", "cancelled"};
+    private static final int SUCCESS = 0;
+    private static final int ERROR = 1;
+    private static final int CANCELLED = 2;
+
+    private final OkHttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String completionsUrl;
+    private final String apiKey;
+    private final String model;
+    private final Timer[] completeTimers;
+    private final Timer[] streamTimers;
+
+    public OpenAiClient(@Value("${openai.base-url:https://api.openai.com/v1}") String baseUrl,
+                        @Value("${openai.api-key:}") String apiKey,
+                        @Value("${openai.model:gpt-4o}") String model,
+                        @Value("${openai.connect-timeout-ms:3000}") long connectTimeoutMillis,
+                        @Value("${openai.read-timeout-ms:30000}") long readTimeoutMillis,
+                        @Value("${openai.call-timeout-ms:60000}") long callTimeoutMillis,
+                        @Value("${openai.max-concurrent-requests:64}") int maxConcurrentRequests,
+                        MeterRegistry registry) {
+        this.completionsUrl = baseUrl.replaceAll("/+$", "") + "/chat/completions";
+        this.apiKey = apiKey;
+        this.model = model;
+        this.completeTimers = timers(registry, "complete");
+        this.streamTimers = timers(registry, "stream");
+
+        if (apiKey == null || apiKey.isBlank()) {
+            logger.error("❌ GPT API 키가 설정되지 않았습니다.");
+        }
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrentRequests);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentRequests);
+
+        this.client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxConcurrentRequests, 5, TimeUnit.MINUTES))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .readTimeout(Duration.ofMillis(readTimeoutMillis))
+                .callTimeout(Duration.ofMillis(callTimeoutMillis))
+                .build();
+    }
+
+    /**
+     * 프롬프트를 보내고 응답 내용을 비동기로 돌려줍니다.
+     * 반환된 future를 취소하면 진행 중인 HTTP 호출도 취소됩니다.
+     */
+    public CompletableFuture<String> completeAsync(String prompt) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        recordLatency(future, completeTimers);
+        Call call;
+        try {
+            call = client.newCall(buildRequest(prompt, false));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call c, IOException e) {
+                future.completeExceptionally(new CompletionException("GPT 호출 실패: " + e.getMessage(), e));
+            }
+
+            @Override
+            public void onResponse(Call c, Response response) {
+                try (response) {
+                    future.complete(readContent(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        cancelOnCancel(future, call);
+        return future;
+    }
+
+    /**
+     * 프롬프트를 보내고 생성되는 토큰을 도착하는 대로 onToken에 전달합니다.
+     * 반환된 future는 스트림이 끝나면 전체 응답으로 완료됩니다.
+     * onToken이 예외를 던지거나(예: 클라이언트 연결 끊김) future를 취소하면 HTTP 호출을 중단합니다.
+     * onToken은 OkHttp 디스패처 스레드에서 호출됩니다.
+     */
+    public CompletableFuture<String> stream(String prompt, Consumer<String> onToken) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        recordLatency(future, streamTimers);
+        Call call;
+        try {
+            call = client.newCall(buildRequest(prompt, true));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call c, IOException e) {
+                future.completeExceptionally(new CompletionException("GPT 호출 실패: " + e.getMessage(), e));
+            }
+
+            @Override
+            public void onResponse(Call c, Response response) {
+                try (response) {
+                    ResponseBody body = response.body();
+                    if (!response.isSuccessful() || body == null) {
+                        throw new IOException("GPT 응답 오류 " + response.code() + ": "
+                                + (body != null ? body.string() : ""));
+                    }
+                    StringBuilder full = new StringBuilder();
+                    BufferedSource source = body.source();
+                    String line;
+                    while (!future.isDone() && (line = source.readUtf8Line()) != null) {
+                        // SSE: "data: {json}" 줄만 의미가 있고, 마지막은 "data: [DONE]"
+                        if (!line.startsWith("data:")) {
+                            continue;
+                        }
+                        String data = line.substring(5).trim();
+                        if (data.equals("[DONE]")) {
+                            break;
+                        }
+                        JsonNode delta = mapper.readTree(data).path("choices").path(0).path("delta").path("content");
+                        if (delta.isTextual() && !delta.asText().isEmpty()) {
+                            String token = delta.asText();
+                            full.append(token);
+                            onToken.accept(token);
+                        }
+                    }
+                    future.complete(full.toString());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        cancelOnCancel(future, call);
+        return future;
+    }
+
+    private Timer[] timers(MeterRegistry registry, String mode) {
+        Timer[] timers = new Timer[OUTCOMES.length];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            timers[i] = Timer.builder("llm.requests")
+                    .description("모델 호출 응답 시간")
+                    .tag("model", model)
+                    .tag("mode", mode)
+                    .tag("outcome", OUTCOMES[i])
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        return timers;
+    }
+
+    // 스트림은 마지막 토큰까지 받은 시간 (취소된 호출은 취소된 시점까지)
+    private static void recordLatency(CompletableFuture<String> future, Timer[] timers) {
+        long started = System.nanoTime();
+        future.whenComplete((result, error) -> {
+            int outcome = error == null ? SUCCESS : future.isCancelled() ? CANCELLED : ERROR;
+            timers[outcome].record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private static void cancelOnCancel(CompletableFuture<String> future, Call call) {
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+    }
+
+    private Request buildRequest(String prompt, boolean stream) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", model);
+        body.put("messages", List.of(Map.of("role", "user", "content", prompt)));
+        body.put("temperature", 0.7);
+        if (stream) {
+            body.put("stream", true);
+        }
+        String json;
+        try {
+            json = mapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new RuntimeException("GPT 요청 직렬화 실패", e);
+        }
+        return new Request.Builder()
+                .url(completionsUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .post(RequestBody.create(json, JSON))
+                .build();
+    }
+
+    private String readContent(Response response) throws IOException {
+        ResponseBody body = response.body();
+        String text = body != null ? body.string() : "";
+        if (!response.isSuccessful()) {
+            throw new IOException("GPT 응답 오류 " + response.code() + ": " + text);
+        }
+        JsonNode content = mapper.readTree(text).path("choices").path(0).path("message").path("content");
+        if (content.isMissingNode() || content.isNull()) {
+            throw new IOException("GPT 응답에 content가 없습니다.");
+        }
+        return content.asText();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+}
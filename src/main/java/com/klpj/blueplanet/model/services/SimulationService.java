@@ -0,0 +1,64 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.simulation.PlaythroughSimulator;
+import com.klpj.blueplanet.model.simulation.SimulationOptions;
+import com.klpj.blueplanet.model.simulation.SimulationReport;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 현재 카탈로그로 밸런스 시뮬레이션을 실행합니다. (관리자용, /admin API 토큰 필요)
+ * - 게임 요청을 처리하는 공용 풀과 섞이지 않도록 전용 ForkJoinPool을 사용합니다.
+ * - 한 번에 하나의 시뮬레이션만 실행하고, 게임 수는 simulation.max-playthroughs(기본 100만)로 제한합니다.
+ */
+@Service
+public class SimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationService.class);
+
+    @Autowired
+    private ContentCatalogService contentCatalogService;
+
+    private final ForkJoinPool pool;
+    private final long maxPlaythroughs;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SimulationService(@Value("${simulation.parallelism:0}") int parallelism,
+                             @Value("${simulation.max-playthroughs:1000000}") long maxPlaythroughs) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxPlaythroughs = maxPlaythroughs;
+    }
+
+    /**
+     * @throws IllegalArgumentException 게임 수가 제한을 넘는 경우
+     * @throws IllegalStateException    다른 시뮬레이션이 실행 중인 경우
+     */
+    public SimulationReport simulate(SimulationOptions options) {
+        if (options.playthroughs() > maxPlaythroughs) {
+            throw new IllegalArgumentException("게임 수는 " + maxPlaythroughs + " 이하여야 합니다: " + options.playthroughs());
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 시뮬레이션이 실행 중입니다");
+        }
+        try {
+            SimulationReport report = new PlaythroughSimulator(contentCatalogService.current()).run(options, pool);
+            logger.info("시뮬레이션 완료: {}게임 ({}, seed {}, 엔딩 턴 {}) {}ms",
+                    report.playthroughs(), report.policy(), report.seed(), report.endingTurn(), report.elapsedMillis());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,125 @@
+package com.klpj.blueplanet.model.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Ending;
+import com.klpj.blueplanet.model.responses.EndingResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 콘텐츠가 다시 로드될 때만 바뀌는 응답(툴팁 목록, 뉴스 상세, 엔딩)을 미리 직렬화해 두는 캐시.
+ * - 카탈로그 버전별로 JSON 바이트와 gzip 바이트를 한 번만 만들고, 카탈로그가 교체되면 자동으로 새로 만듭니다.
+ * - ETag는 JSON 바이트의 SHA-256이므로 서버 재시작이나 여러 서버 사이에서도 같은 내용이면 같습니다.
+ */
+@Component
+public class StaticContentCache {
+
+    // 이보다 작은 본문은 압축 이득이 없어 gzip을 만들지 않음
+    private static final int MIN_GZIP_SIZE = 256;
+
+    /**
+     * 미리 직렬화된 응답 본문.
+     * @param gzip     gzip 압축 본문 (압축하지 않는 크기면 null)
+     * @param etag     identity 표현의 강한 ETag
+     * @param gzipEtag gzip 표현의 강한 ETag (표현마다 강한 ETag는 달라야 함)
+     */
+    public record PreparedBody(byte[] identity, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    private static final class Snapshot {
+        final ContentCatalog catalog;
+        volatile PreparedBody tooltips;
+        final ConcurrentHashMap<Long, PreparedBody> newsDetails = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, PreparedBody> endings = new ConcurrentHashMap<>();
+
+        Snapshot(ContentCatalog catalog) {
+            this.catalog = catalog;
+        }
+    }
+
+    @Autowired
+    private ContentCatalogService contentCatalogService;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public PreparedBody tooltips() {
+        Snapshot s = snapshot();
+        PreparedBody body = s.tooltips;
+        if (body == null) {
+            body = prepare(dataService.getAllTooltips());
+            s.tooltips = body;
+        }
+        return body;
+    }
+
+    public PreparedBody newsDetail(Long specialEventId) {
+        return snapshot().newsDetails.computeIfAbsent(specialEventId,
+                id -> prepare(dataService.getNewsDetail(id)));
+    }
+
+    public PreparedBody ending(Ending ending) {
+        Snapshot s = snapshot();
+        return s.endings.computeIfAbsent(ending.getId(),
+                id -> prepare(new EndingResponse(ending, s.catalog.getEndingAnnotations(id))));
+    }
+
+    // 현재 카탈로그에 해당하는 스냅샷. 카탈로그가 교체되었으면 새로 만들어 이전 본문을 모두 버림
+    private Snapshot snapshot() {
+        ContentCatalog catalog = contentCatalogService.current();
+        Snapshot s = snapshot.get();
+        if (s == null || s.catalog != catalog) {
+            Snapshot fresh = new Snapshot(catalog);
+            s = snapshot.compareAndSet(s, fresh) ? fresh : snapshot.get();
+        }
+        return s;
+    }
+
+    private PreparedBody prepare(Object value) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+        String hash = hash(identity);
+        byte[] gzip = identity.length >= MIN_GZIP_SIZE ? gzip(identity) : null;
+        return new PreparedBody(identity, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
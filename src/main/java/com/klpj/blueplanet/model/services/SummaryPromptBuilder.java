@@ -0,0 +1,119 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.UserChoiceHistory;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 선택 흐름 요약(summarizeUserFlow) 프롬프트 작성기.
+ * - 고정 지침(PREAMBLE)은 한 번만 만들어 두고, 이벤트/선택지 내용은 메모리 카탈로그에서 읽으므로 이력 길이와 무관하게 DB 조회가 없습니다.
+ * - 스레드별로 재사용하는 StringBuilder에 필요한 길이를 먼저 계산해 한 번에 확보한 뒤 작성합니다.
+ */
+@Component
+public class SummaryPromptBuilder {
+
+    static final String PREAMBLE =
+            "당신은 게임의 스토리텔러입니다. 아래 선택 내용을 기반으로 두 가지를 작성해주세요:\n\n" +
+            "1. 플레이어 성향을 한 문장으로 요약하세요.\n" +
+            "- 출력 형식: 반드시 다음 형식으로 작성 (예시 아님):\n" +
+            "  1. \"당신은 ○○한 사람입니다.\"\n\n" +
+            "- 반드시 **한 가지 특징**만 사용하여 작성하세요.\n" +
+            "- '그리고', '및', '하고', '또는', '같은 복수 표현'은 사용하지 마세요.\n" +
+            "- 예: \"당신은 책임감 있는 사람입니다.\" ← ✅ OK\n" +
+            "      \"당신은 창의적이고 책임감 있는 사람입니다.\" ← ❌ 금지\n" +
+            "항상 긍정적으로 대답할 필요는 없습니다.\n" +
+            "부정적인 방향으로 플레이했을 경우, 부정적인 표현을 사용해야 합니다.\n" +
+            "예를 들면, 특정 수치가 0 이하에 도달한 엔딩이거나, 모든 수치의 평균치가 50 미만인 엔딩인 경우가 있을 수 있습니다.\n" +
+            "혹은, air 등의 수치가 50 이상으로 높더라도, water 등의 수치가 50 미만으로 낮다면,\n" +
+            "대기에는 ㅁㅁ한 좋은 영향을 미쳤으나, 수질에는 ㅇㅇ한 안좋은 영향을 미쳤습니다, 와 같이 수치별로 나눠서 생각할 수 있습니다.\n" +
+            "하지만, 부정적으로 답변하더라도 개선 방안이 제시되어야 합니다.\n" +
+            "즉, 일방적으로 비난하는 방면의 부정적 답변은 금지합니다.\n" +
+            "어느 정도가 긍정적인 플레이인지 부정적인 플레이인지의 판단은 맡기겠습니다.\n" +
+            "현재 사용자 상태와, 사용자가 지금껏 선택한 선택지를 잘 참고하여 답변해주시기 바랍니다.\n" +
+            "2. 플레이어의 선택을 바탕으로 몰입이 가능한 엔딩 장면처럼 분석된 문단을 작성해주세요.\n" +
+            "- 분량: 250자 이상 300자 이하\n" +
+            "- 반드시 서론 없이 **본론부터 시작**하세요.\n" +
+            "- 아래 표현은 **절대 사용하지 마세요**:\n" +
+            "  - '사용자의 선택 이력:', '선택 이력:', '사용자 27의 선택 이력:', '사용자', '이 선택은...', '분석해보겠습니다', '이러한 선택들은...'\n" +
+            "  - '번호가 붙은 사용자 지칭', 예: '사용자 12', '플레이어 1' 등의 표현도 금지합니다.\n" +
+            "- 예시처럼 시작해주세요: \n" +
+            "  - \"당신은 ○○한 정책을 도입하셔서~\"\n" +
+            "  - \"○○을 추진함으로써 도시 환경을 개선하셨습니다.\"\n" +
+            "- 문장은 반드시 '당신'으로 시작하고, 전부 **격식을 갖춘 존댓말**을 사용해야 합니다.\n" +
+            "- 전체 응답은 반드시 **'하십시오체' 문체(격식 높임체)**를 사용하여 작성하세요.\n" +
+            "- '~하셨습니다', '~해주셨습니다', '~하였습니다'처럼 **격식을 갖춘 종결어미**만 사용 가능합니다.\n" +
+            "- '~했다', '~하였다', '~했어요' 등은 절대 사용하지 마세요 (해체, 해요체 금지).\n" +
+            "- 예: '기여하셨습니다', '개선하셨습니다', '도움을 주셨습니다', '살렸습니다' 등의 존댓말로 끝나야 합니다.\n" +
+            "단, 이 또한 모두 긍정적일 필요는 없습니다. 부정적인 선택지에 대해서는 부정적으로 답변해야 합니다.\n" +
+            "- 예: \"당신은 ㅇㅇ한 정책을 추진함으로써 지지도를 크게 잃었습니다. \"\n" +
+            "하지만, 부정적으로 답변하더라도 개선 방안이 제시되어야 합니다.\n" +
+            "즉, 일방적으로 비난하는 방면의 부정적 답변은 금지합니다.\n" +
+            "다시 말하지만, 현재 사용자 상태와, 사용자가 지금껏 선택한 선택지를 잘 참고하여 답변해주시기 바랍니다.\n" +
+            "📌 최종 출력 형식:\n" +
+            "1. \"당신은 ○○한 사람입니다.\"\n" +
+            "2. [바로 본론 시작, 서론 없이, 전부 존댓말로]\n\n" +
+            "- 💥 위 조건을 어길 경우 잘못된 응답으로 간주됩니다. 반드시 지침을 철저히 지켜서 작성해주세요.\n\n";
+
+    private static final String UNKNOWN_EVENT = "알 수 없는 이벤트";
+    private static final String UNKNOWN_CHOICE = "알 수 없는 선택지";
+
+    // 이력 한 줄의 고정 문자열 길이 ("이벤트 : " + "\n" + "선택 : " + "\n\n")
+    private static final int HISTORY_FIXED_LENGTH = "이벤트 : \n선택 : \n\n".length();
+    // 상태/머리말 부분의 여유분 (숫자와 userId 포함)
+    private static final int HEADER_LENGTH = 128;
+    // 이보다 커진 버퍼는 스레드에 남겨두지 않음
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final ThreadLocal<StringBuilder> buffers =
+            ThreadLocal.withInitial(() -> new StringBuilder(PREAMBLE.length() + 4 * 1024));
+
+    public String build(Long userId, UserStatus status, List<UserChoiceHistory> historyList, ContentCatalog catalog) {
+        int capacity = PREAMBLE.length() + HEADER_LENGTH;
+        Event[] events = new Event[historyList.size()];
+        Choice[] choices = new Choice[historyList.size()];
+        for (int i = 0; i < historyList.size(); i++) {
+            UserChoiceHistory history = historyList.get(i);
+            events[i] = history.getEventId() != null ? catalog.getEvent(history.getEventId()) : null;
+            choices[i] = history.getChoiceId() != null ? catalog.getChoice(history.getChoiceId()) : null;
+            capacity += HISTORY_FIXED_LENGTH + eventTitle(events[i]).length() + choiceText(choices[i]).length();
+        }
+
+        StringBuilder sb = buffers.get();
+        sb.setLength(0);
+        sb.ensureCapacity(capacity);
+
+        sb.append(PREAMBLE);
+
+        sb.append("【현재 사용자 상태】\n")
+                .append("대기: ").append(status.getAir()).append(", ")
+                .append("수질: ").append(status.getWater()).append(", ")
+                .append("생물: ").append(status.getBiology()).append(", ")
+                .append("지지도: ").append(status.getPopularity()).append("\n\n");
+
+        sb.append("사용자 ").append(userId).append("의 선택 이력 :\n\n");
+
+        for (int i = 0; i < events.length; i++) {
+            sb.append("이벤트 : ").append(eventTitle(events[i])).append("\n")
+                    .append("선택 : ").append(choiceText(choices[i])).append("\n\n");
+        }
+
+        String prompt = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            buffers.remove();
+        }
+        return prompt;
+    }
+
+    private static String eventTitle(Event event) {
+        return event != null && event.getTitle() != null ? event.getTitle() : UNKNOWN_EVENT;
+    }
+
+    private static String choiceText(Choice choice) {
+        return choice != null && choice.getContent() != null ? choice.getContent() : UNKNOWN_CHOICE;
+    }
+}
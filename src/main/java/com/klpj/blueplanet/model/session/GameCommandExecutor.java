@@ -0,0 +1,103 @@
+package com.klpj.blueplanet.model.session;
+
+import com.klpj.blueplanet.model.metrics.QueryScope;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 게임(userId)별 명령 큐.
+ * - 같은 게임의 명령은 제출된 순서대로 하나씩 실행되고, 서로 다른 게임의 명령은 워커 스레드에서 병렬로 실행됩니다.
+ * - 대기 중인 명령은 스레드를 점유하지 않으므로(이전 명령의 CompletableFuture에 연결됨) 요청 스레드를 막지 않습니다.
+ * - 명령은 세션 로딩, 게임 종료 flush, 되돌리기처럼 DB를 기다리는 일을 포함하므로, 워커 수는 기본적으로
+ *   CPU 코어 수에 DB 커넥션 풀 크기를 더한 값입니다. 모든 커넥션이 느린 DB 작업에 묶여 있어도
+ *   메모리에서 끝나는 다른 게임의 턴은 남은 워커에서 계속 처리됩니다.
+ * - 명령 큐 밖의 DB 작업(조언 메일 저장 등)은 커넥션 풀 크기의 별도 I/O 풀에서 실행해 턴 처리 워커를 차지하지 않습니다.
+ * - 제출한 요청의 SQL 집계 범위(QueryScope)를 워커에서도 이어서 사용합니다.
+ */
+@Component
+public class GameCommandExecutor {
+
+    private static final CompletableFuture<Object> DONE = CompletableFuture.completedFuture(null);
+
+    private final ExecutorService workers;
+    private final ExecutorService io;
+    private final ConcurrentHashMap<Long, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads     명령 워커 수 (0이면 CPU 코어 수 + connections)
+     * @param connections DB 커넥션 풀 크기. I/O 풀 크기로 사용
+     */
+    public GameCommandExecutor(@Value("${game.command.threads:0}") int threads,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connections) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() + connections;
+        this.workers = Executors.newFixedThreadPool(size, daemonThreads("game-command-"));
+        this.io = Executors.newFixedThreadPool(Math.max(1, connections), daemonThreads("game-io-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 해당 게임의 명령 큐 뒤에 명령을 추가합니다. 앞선 명령이 실패해도 다음 명령은 실행됩니다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(Long userId, Supplier<T> command) {
+        QueryScope scope = QueryScope.current();
+        CompletableFuture<?> next = tails.compute(userId, (id, tail) -> {
+            CompletableFuture<?> previous = tail != null ? tail : DONE;
+            return previous.handleAsync((ignored, error) -> {
+                try (QueryScope.Binding binding = QueryScope.bind(scope)) {
+                    return command.get();
+                }
+            }, workers);
+        });
+        // 큐의 마지막 명령이 끝나면 항목 제거 (그 사이 새 명령이 들어왔으면 유지)
+        next.whenComplete((ignored, error) -> tails.remove(userId, next));
+        return ((CompletableFuture<T>) next).copy();
+    }
+
+    /**
+     * 현재 요청의 SQL 집계 범위를 이어서 I/O 풀에서 실행하는 Executor. 게임별 순서는 보장하지 않습니다.
+     * 모델 응답 콜백(OkHttp 스레드)에서 이어지는 DB 작업을 옮길 때 사용합니다. (요청 스레드에서 호출)
+     */
+    public Executor currentRequest() {
+        QueryScope scope = QueryScope.current();
+        return task -> io.execute(() -> {
+            try (QueryScope.Binding binding = QueryScope.bind(scope)) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 현재 명령이 대기 중이거나 실행 중인 게임 수
+     */
+    public int activeGames() {
+        return tails.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        io.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+        io.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.klpj.blueplanet.model.session;
+
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.dto.UserStatus;
+
+import java.util.List;
+
+/**
+ * 게임 이벤트를 UserStatus에 적용합니다.
+ * 진행 중인 턴 처리(GameSession.apply)와 스냅샷에서 상태를 다시 만드는 경우가 같은 코드를 사용하므로,
+ * 다시 만든 상태는 실제로 진행했던 상태와 같습니다.
+ */
+public final class GameProjection {
+
+    private GameProjection() {
+    }
+
+    public static void apply(UserStatus status, GameEvent event) {
+        if (event.getSeq() != status.getEventSeq() + 1) {
+            throw new IllegalStateException("게임 " + status.getUserId() + " 이벤트 순번이 이어지지 않음: "
+                    + status.getEventSeq() + " 다음에 " + event.getSeq());
+        }
+        status.setAir(status.getAir() + event.getAirDelta());
+        status.setWater(status.getWater() + event.getWaterDelta());
+        status.setBiology(status.getBiology() + event.getBiologyDelta());
+        status.setPopularity(status.getPopularity() + event.getPopularityDelta());
+        switch (event.getType()) {
+            case GameEvent.TYPE_CHOICE -> {
+                status.setTurnCount(status.getTurnCount() + 1);
+                status.getUsedEventIds().add(event.getEventId());
+                // 선택 하나에 이벤트 메일 하나가 함께 기록되므로, 다시 만든 상태의 메일함 버전도 같음
+                status.setInboxVersion(status.getInboxVersion() + 1);
+            }
+            case GameEvent.TYPE_SPECIAL_EVENT -> status.getUsedSpecialEventIds().add(event.getRefId());
+            case GameEvent.TYPE_ENDING -> status.setEndingId(event.getRefId().intValue());
+            default -> {
+            }
+        }
+        status.setEventSeq(event.getSeq());
+    }
+
+    /**
+     * base(보통 스냅샷)에 이후 이벤트를 순서대로 적용합니다. base에 이미 반영된 이벤트는 건너뜁니다.
+     */
+    public static UserStatus replay(UserStatus base, List<GameEvent> events) {
+        for (GameEvent event : events) {
+            if (event.getSeq() > base.getEventSeq()) {
+                apply(base, event);
+            }
+        }
+        return base;
+    }
+
+    /**
+     * turn 턴에서 선택하기 직전의 상태를 만듭니다. 그 턴을 시작하며 발동한 특별 이벤트까지 반영하고,
+     * turn 턴 이후의 선택과 엔딩은 반영하지 않습니다.
+     */
+    public static UserStatus replayToTurn(UserStatus base, List<GameEvent> events, int turn) {
+        for (GameEvent event : events) {
+            if (event.getSeq() <= base.getEventSeq()) {
+                continue;
+            }
+            if (event.getType() == GameEvent.TYPE_ENDING
+                    || (event.getType() == GameEvent.TYPE_CHOICE && event.getTurn() >= turn)) {
+                break;
+            }
+            apply(base, event);
+        }
+        return base;
+    }
+}
@@ -0,0 +1,271 @@
+package com.klpj.blueplanet.model.session;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.catalog.UnusedEventSampler;
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.dto.InboxMessage;
+import com.klpj.blueplanet.model.dto.UserStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 메모리에 올라와 있는 진행 중인 게임 하나의 상태.
+ * - status는 스냅샷에 이후 게임 이벤트를 모두 적용한 최신 상태이며, 아직 DB에 쓰이지 않은 게임 이벤트(pendingEvents)와 메일함 행(pendingInboxMessages)을 함께 들고 있습니다.
+ * - 상태 변경은 apply로 게임 이벤트를 적용하는 방식으로만 합니다.
+ * - status와 나머지 필드는 lock을 잡은 상태에서만 읽고 써야 합니다. (GameSessionCache.execute 사용)
+ */
+public final class GameSession {
+
+    private final Long userId;
+    private final UserStatus status;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private UnusedEventSampler sampler;
+    private final List<GameEvent> pendingEvents = new ArrayList<>();
+    private final List<InboxMessage> pendingInboxMessages = new ArrayList<>();
+    private boolean dirty;
+    private boolean snapshotRequested;
+    private boolean projectionRequested;
+    private volatile boolean evicted;
+    // 주기적 flush가 lock 밖에서 쓰다가 실패해 되돌려 놓은 변경 (다음 drain 때 pending보다 먼저 꺼냄)
+    private volatile FlushBatch returned;
+    private volatile boolean stale;
+    private volatile long lastAccessMillis;
+    private int snapshotSeq; // 마지막으로 저장된 스냅샷의 이벤트 seq (flushLock 안에서만 변경)
+
+    GameSession(UserStatus status, int snapshotSeq) {
+        this.userId = status.getUserId();
+        this.status = copyOf(status);
+        this.snapshotSeq = snapshotSeq;
+        touch();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * 세션의 실제 상태 객체. lock 안에서만 변경해야 하며, 변경 후에는 markDirty를 호출해야 합니다.
+     */
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * 응답 등 lock 밖으로 내보낼 때 사용할 상태 복사본을 반환합니다.
+     */
+    public UserStatus snapshot() {
+        return copyOf(status);
+    }
+
+    /**
+     * 카탈로그/usedEventIds와 일치하는 이벤트 샘플러를 반환합니다. 어긋나 있으면 다시 만듭니다.
+     */
+    public UnusedEventSampler getSampler(ContentCatalog catalog) {
+        if (sampler == null || !sampler.isInSync(catalog, status.getUsedEventIds().size())) {
+            sampler = UnusedEventSampler.create(catalog, status.getUsedEventIds());
+        }
+        return sampler;
+    }
+
+    /**
+     * 게임 이벤트에 순번과 턴을 붙여 상태에 적용하고 기록 대기열에 추가합니다.
+     * 선택한 이벤트는 샘플러에도 사용됨으로 반영합니다.
+     */
+    public GameEvent apply(GameEvent event) {
+        event.setUserStatusId(userId);
+        event.setSeq(status.getEventSeq() + 1);
+        event.setTurn(status.getTurnCount());
+        boolean newlyUsed = event.getType() == GameEvent.TYPE_CHOICE
+                && !status.getUsedEventIds().contains(event.getEventId());
+        GameProjection.apply(status, event);
+        if (newlyUsed && sampler != null) {
+            sampler.markUsed(event.getEventId());
+        }
+        pendingEvents.add(event);
+        markDirty();
+        return event;
+    }
+
+    /**
+     * 메일함 행을 기록 대기열에 추가하고 메일함 버전을 올립니다.
+     * 이벤트 메일은 함께 적용한 선택 게임 이벤트가 이미 버전을 올렸으므로(GameProjection) 다시 올리지 않습니다.
+     * 게임 이벤트가 없는 메일(조언 메일)은 다시 불러올 때 재현할 수 없으므로 다음 flush에서 UserStatus에 버전을 씁니다.
+     */
+    public void addInboxMessage(InboxMessage inboxMessage) {
+        pendingInboxMessages.add(inboxMessage);
+        if (!InboxMessage.TYPE_EVENT.equals(inboxMessage.getType())) {
+            status.setInboxVersion(status.getInboxVersion() + 1);
+            projectionRequested = true;
+        }
+        markDirty();
+    }
+
+    /**
+     * 아직 DB에 쓰이지 않은 메일함 행이 있는지 여부. 메일함을 DB에서 읽기 전에 flush가 필요한지 판단합니다.
+     */
+    public boolean hasPendingInboxMessages() {
+        FlushBatch failed = returned;
+        return !pendingInboxMessages.isEmpty() || (failed != null && !failed.inboxMessages().isEmpty());
+    }
+
+    /**
+     * 엔딩 이벤트가 기록된 게임인지 여부. 상태(endingId)로 판단하므로 세션을 다시 불러와도 유지됩니다.
+     */
+    public boolean hasEnded() {
+        return status.getEndingId() != 0;
+    }
+
+    /**
+     * 다음 flush에서 이벤트 수와 관계없이 스냅샷과 UserStatus를 함께 저장하도록 표시합니다. (게임 종료 등)
+     */
+    public void requestSnapshot() {
+        snapshotRequested = true;
+        markDirty();
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty || returned != null;
+    }
+
+    /**
+     * 되돌려진 변경과 아직 쓰이지 않은 변경을 순서대로 꺼내고 dirty 표시를 지웁니다. 쓰기에 실패하면 requeue로 되돌려야 합니다.
+     * lock과 GameSessionCache의 flushLock을 모두 잡은 상태에서 호출합니다.
+     */
+    FlushBatch drain() {
+        List<GameEvent> events = new ArrayList<>();
+        List<InboxMessage> inboxMessages = new ArrayList<>();
+        boolean snapshot = snapshotRequested;
+        boolean projection = projectionRequested;
+        FlushBatch failed = takeReturned();
+        if (failed != null) {
+            events.addAll(failed.events());
+            inboxMessages.addAll(failed.inboxMessages());
+            snapshot |= failed.snapshotRequested();
+            projection |= failed.projectionRequested();
+        }
+        events.addAll(pendingEvents);
+        inboxMessages.addAll(pendingInboxMessages);
+        FlushBatch batch = new FlushBatch(this, copyOf(status), snapshot, projection, events, inboxMessages);
+        pendingEvents.clear();
+        pendingInboxMessages.clear();
+        dirty = false;
+        snapshotRequested = false;
+        projectionRequested = false;
+        return batch;
+    }
+
+    /**
+     * 쓰기에 실패한 변경을 되돌려 놓습니다. 세션 lock 없이 flushLock 안에서 호출할 수 있으며,
+     * 다음 drain이 이 변경을 그 사이 쌓인 변경보다 먼저 꺼냅니다. 상태는 다음 drain 때 최신 값으로 다시 복사됩니다.
+     */
+    synchronized void requeue(FlushBatch batch) {
+        batch.discardIds();
+        FlushBatch previous = returned;
+        if (previous != null) {
+            // 되돌린 변경이 이미 있으면 그쪽이 더 이전 것
+            List<GameEvent> events = new ArrayList<>(previous.events());
+            events.addAll(batch.events());
+            List<InboxMessage> inboxMessages = new ArrayList<>(previous.inboxMessages());
+            inboxMessages.addAll(batch.inboxMessages());
+            batch = new FlushBatch(this, batch.status(), previous.snapshotRequested() || batch.snapshotRequested(),
+                    previous.projectionRequested() || batch.projectionRequested(), events, inboxMessages);
+        }
+        returned = batch;
+    }
+
+    private synchronized FlushBatch takeReturned() {
+        FlushBatch batch = returned;
+        returned = null;
+        return batch;
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    void markEvicted() {
+        evicted = true;
+    }
+
+    /**
+     * 다른 서버가 같은 게임에 이벤트를 먼저 기록해 이 세션의 상태가 DB와 어긋났을 때 표시합니다.
+     * 표시된 세션은 다음 접근 시 버려지고 DB에서 다시 불러옵니다.
+     */
+    void markStale() {
+        stale = true;
+    }
+
+    boolean isStale() {
+        return stale;
+    }
+
+    int getSnapshotSeq() {
+        return snapshotSeq;
+    }
+
+    void setSnapshotSeq(int snapshotSeq) {
+        this.snapshotSeq = snapshotSeq;
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    static UserStatus copyOf(UserStatus source) {
+        UserStatus copy = new UserStatus();
+        copy.setUserId(source.getUserId());
+        copy.setAir(source.getAir());
+        copy.setWater(source.getWater());
+        copy.setBiology(source.getBiology());
+        copy.setPopularity(source.getPopularity());
+        copy.setTurnCount(source.getTurnCount());
+        copy.setEventSeq(source.getEventSeq());
+        copy.setEndingId(source.getEndingId());
+        copy.setInboxVersion(source.getInboxVersion());
+        copy.setUsedEventIds(new HashSet<>(source.getUsedEventIds()));
+        copy.setUsedSpecialEventIds(new HashSet<>(source.getUsedSpecialEventIds()));
+        return copy;
+    }
+
+    /**
+     * 한 번의 flush에서 DB에 쓸 세션 하나의 변경분.
+     * projectionRequested는 스냅샷 주기와 관계없이 UserStatus를 갱신해야 하는 경우입니다. (조언 메일의 메일함 버전)
+     */
+    record FlushBatch(GameSession session, UserStatus status, boolean snapshotRequested, boolean projectionRequested,
+                      List<GameEvent> events, List<InboxMessage> inboxMessages) {
+
+        /** 롤백된 INSERT에서 할당된 id는 버리고, 다시 쓸 때 새로 할당받음 */
+        void discardIds() {
+            for (GameEvent event : events) {
+                event.setId(null);
+            }
+            for (InboxMessage message : inboxMessages) {
+                message.setId(null);
+            }
+        }
+    }
+}
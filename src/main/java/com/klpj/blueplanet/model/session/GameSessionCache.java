@@ -0,0 +1,460 @@
+package com.klpj.blueplanet.model.session;
+
+import com.klpj.blueplanet.model.dao.GameEventDao;
+import com.klpj.blueplanet.model.dao.GameSnapshotDao;
+import com.klpj.blueplanet.model.dao.InboxMessageDao;
+import com.klpj.blueplanet.model.dao.UserStatusDao;
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.dto.GameSnapshot;
+import com.klpj.blueplanet.model.dto.InboxMessage;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.session.GameSession.FlushBatch;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * userId별 진행 중인 게임 상태(GameSession)를 메모리에 보관하는 write-behind 캐시.
+ * - 읽기는 메모리에서 처리하고, 변경은 주기적으로 모아서(coalesced) 한 트랜잭션으로 DB에 씁니다.
+ * - 한 턴에 쓰는 것은 게임 이벤트(GameEvent)와 메일함 행 INSERT뿐이고, UserStatus는 이벤트가
+ *   game.event.snapshot-interval개 쌓일 때(또는 게임 종료 시) 스냅샷(GameSnapshot)과 함께 갱신되는 projection입니다.
+ *   세션을 불러올 때는 UserStatus에 이후 이벤트를 다시 적용합니다.
+ *   조언 메일은 게임 이벤트가 없으므로, 올라간 메일함 버전을 남기기 위해 다음 flush에서 UserStatus도 갱신합니다.
+ * - 같은 세션에 대한 작업은 세션별 lock으로 직렬화되며, 서로 다른 게임끼리는 막지 않습니다.
+ * - 오래 사용되지 않은 세션과 최대 개수를 넘는 세션은 DB에 쓴 뒤 메모리에서 내립니다.
+ * - 게임 종료(finish), 축출, 애플리케이션 종료 시에는 반드시 flush합니다.
+ * - 다른 서버가 같은 게임에 이벤트를 먼저 기록하면 (user_status_id, seq) 유일 제약으로 감지하고,
+ *   해당 세션의 변경은 버리고 DB 상태로 다시 불러옵니다.
+ *
+ * 락 순서: 단일 세션 flush는 세션 lock → flushLock, 주기적 flush/축출은 flushLock → 세션 tryLock 입니다.
+ * 변경을 꺼내고(drain) 쓰고, 실패 시 되돌리는(requeue) 일은 모두 flushLock 안에서 하므로
+ * 한 게임의 변경이 쓰이는 도중에 더 나중 변경이 먼저 꺼내져 쓰이는 일이 없습니다.
+ * execute에 넘긴 작업 안에서 flush/finish를 호출하지 마세요.
+ */
+@Component
+public class GameSessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameSessionCache.class);
+
+    @Autowired
+    private UserStatusDao userStatusDao;
+
+    @Autowired
+    private GameEventDao gameEventDao;
+
+    @Autowired
+    private GameSnapshotDao gameSnapshotDao;
+
+    @Autowired
+    private InboxMessageDao inboxMessageDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${game.session.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${game.session.idle-timeout-ms:1800000}")
+    private long idleTimeoutMillis;
+
+    @Value("${game.session.flush-batch-size:200}")
+    private int flushBatchSize;
+
+    @Value("${game.event.snapshot-interval:8}")
+    private int snapshotInterval;
+
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 새 게임의 초기 상태와 첫 스냅샷(seq 0)을 저장하고 세션으로 등록합니다.
+     */
+    public UserStatus create(UserStatus initial) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        UserStatus saved = tx.execute(status -> {
+            UserStatus created = userStatusDao.save(initial);
+            gameSnapshotDao.save(GameSnapshot.of(created));
+            return created;
+        });
+        register(saved);
+        return saved;
+    }
+
+    private void register(UserStatus status) {
+        sessions.put(status.getUserId(), new GameSession(status, status.getEventSeq()));
+    }
+
+    /**
+     * 세션 lock을 잡은 상태에서 작업을 실행합니다. 세션이 메모리에 없으면 DB에서 불러옵니다.
+     */
+    public <R> R execute(Long userId, Function<GameSession, R> action) {
+        while (true) {
+            GameSession session = getOrLoad(userId);
+            session.lock();
+            try {
+                if (session.isEvicted()) {
+                    continue; // 축출된 세션이면 다시 불러옴
+                }
+                if (session.isStale()) {
+                    // 다른 서버가 먼저 저장한 세션 - 버리고 DB에서 다시 불러옴
+                    session.markEvicted();
+                    sessions.remove(userId, session);
+                    continue;
+                }
+                session.touch();
+                return action.apply(session);
+            } finally {
+                session.unlock();
+            }
+        }
+    }
+
+    /**
+     * 상태 복사본을 반환합니다. (읽기 전용 용도)
+     */
+    public UserStatus getStatus(Long userId) {
+        return execute(userId, GameSession::snapshot);
+    }
+
+    /**
+     * 메일함 버전. 세션이 메모리에 있으면 DB를 읽지 않습니다. (메일함 목록 ETag)
+     */
+    public int getInboxVersion(Long userId) {
+        return execute(userId, session -> session.getStatus().getInboxVersion());
+    }
+
+    /**
+     * 아직 쓰이지 않은 메일함 행이 있을 때만 대기 중인 변경을 씁니다. 메일함을 DB에서 읽기 전에 호출합니다.
+     * 메일함과 관계없는 게임 이벤트만 쌓여 있으면 주기적 flush에 맡깁니다.
+     */
+    public void flushInbox(Long userId) {
+        execute(userId, session -> session.hasPendingInboxMessages() && flushLocked(session));
+    }
+
+    /**
+     * 해당 사용자의 대기 중인 변경을 즉시 DB에 씁니다. DB를 직접 읽기 전에 호출합니다.
+     */
+    public void flush(Long userId) {
+        GameSession session = sessions.get(userId);
+        if (session == null) {
+            return;
+        }
+        session.lock();
+        try {
+            flushLocked(session);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * 게임이 끝났을 때 호출합니다. 변경을 스냅샷과 함께 즉시 쓰고 세션을 메모리에서 내립니다.
+     */
+    public void finish(Long userId) {
+        GameSession session = sessions.get(userId);
+        if (session == null) {
+            return;
+        }
+        session.lock();
+        try {
+            if (session.getStatus().getEventSeq() > session.getSnapshotSeq()) {
+                session.requestSnapshot();
+            }
+            if (flushLocked(session)) {
+                session.markEvicted();
+                sessions.remove(userId, session);
+            }
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * 게임을 turn 턴에서 선택하기 직전 상태로 되돌립니다.
+     * 가장 가까운 스냅샷에 이후 이벤트 몇 개만 적용해 상태를 만들고, 그 뒤의 이벤트/스냅샷/이벤트 메일을 지운 다음
+     * 세션을 되돌린 상태로 바꿉니다. 메일함이 바뀌므로 메일함 버전은 되돌리지 않고 올립니다.
+     *
+     * @return 되돌린 상태의 복사본
+     * @throws IllegalArgumentException 아직 도달하지 않은 턴이거나 되돌릴 스냅샷이 없는 경우
+     */
+    public UserStatus rewind(Long userId, int turn) {
+        return execute(userId, session -> {
+            if (!flushLocked(session) || session.isStale()) {
+                throw new IllegalStateException("게임 " + userId + "의 변경을 저장하지 못해 되돌릴 수 없습니다");
+            }
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            UserStatus rewound = tx.execute(txStatus -> {
+                UserStatus state = stateAtTurn(userId, turn);
+                state.setInboxVersion(session.getStatus().getInboxVersion() + 1);
+                List<Long> rewoundEventIds = gameEventDao
+                        .findByUserStatusIdAndSeqGreaterThanOrderBySeqAsc(userId, state.getEventSeq()).stream()
+                        .filter(event -> event.getType() == GameEvent.TYPE_CHOICE)
+                        .map(GameEvent::getEventId)
+                        .toList();
+                if (!rewoundEventIds.isEmpty()) {
+                    inboxMessageDao.deleteEventMessages(userId, InboxMessage.TYPE_EVENT, rewoundEventIds);
+                }
+                gameEventDao.deleteAfter(userId, state.getEventSeq());
+                gameSnapshotDao.deleteFrom(userId, state.getEventSeq());
+                gameSnapshotDao.save(GameSnapshot.of(state));
+
+                UserStatus target = userStatusDao.findById(userId)
+                        .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                copyState(state, target);
+                userStatusDao.flush();
+                return GameSession.copyOf(target);
+            });
+            session.markEvicted();
+            register(rewound);
+            logger.info("게임 {} {}턴으로 되돌림 (이벤트 seq {})", userId, turn, rewound.getEventSeq());
+            return rewound;
+        });
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 변경된 세션들을 모아 한 트랜잭션으로 씁니다.
+     */
+    @Scheduled(fixedDelayString = "${game.session.flush-interval-ms:1000}")
+    public void flushDirty() {
+        List<FlushBatch> batches = new ArrayList<>();
+        List<FlushBatch> failed = List.of();
+        flushLock.lock();
+        try {
+            for (GameSession session : sessions.values()) {
+                if (batches.size() >= flushBatchSize) {
+                    break;
+                }
+                if (!session.isDirty() || !session.tryLock()) {
+                    continue; // 사용 중인 세션은 다음 주기에 씀
+                }
+                try {
+                    if (session.isDirty() && !session.isEvicted() && !session.isStale()) {
+                        batches.add(session.drain());
+                    }
+                } finally {
+                    session.unlock();
+                }
+            }
+            if (batches.isEmpty()) {
+                return;
+            }
+            failed = write(batches);
+            // flushLock을 놓기 전에 되돌려야, 그 사이 finish/flush가 더 나중 변경만 먼저 쓰지 않음
+            for (FlushBatch batch : failed) {
+                batch.session().requeue(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        for (FlushBatch batch : failed) {
+            if (batch.session().isEvicted()) {
+                // 축출은 flush에 성공한 세션만 하므로 일어나면 안 되는 경우
+                logger.error("❌ 축출된 게임 {} 세션에 저장하지 못한 변경 {}건이 남음",
+                        batch.status().getUserId(), batch.events().size());
+            }
+        }
+    }
+
+    /**
+     * 유휴 시간이 지난 세션과 최대 개수를 넘는 세션을 DB에 쓰고 메모리에서 내립니다.
+     */
+    @Scheduled(fixedDelayString = "${game.session.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<GameSession> candidates = new ArrayList<>(sessions.values());
+        candidates.sort(Comparator.comparingLong(GameSession::getLastAccessMillis));
+
+        int overflow = candidates.size() - maxSessions;
+        int evictedCount = 0;
+        for (GameSession session : candidates) {
+            boolean idle = now - session.getLastAccessMillis() > idleTimeoutMillis;
+            if (!idle && overflow <= 0) {
+                break; // 오래된 순으로 정렬되어 있으므로 이후는 모두 최근 세션
+            }
+            if (!session.tryLock()) {
+                continue;
+            }
+            try {
+                if (!session.isEvicted() && flushLocked(session)) {
+                    session.markEvicted();
+                    sessions.remove(session.getUserId(), session);
+                    overflow--;
+                    evictedCount++;
+                }
+            } finally {
+                session.unlock();
+            }
+        }
+        if (evictedCount > 0) {
+            logger.info("게임 세션 {}개 축출 (남은 세션 {})", evictedCount, sessions.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (int attempt = 0; attempt < 3 && sessions.values().stream().anyMatch(GameSession::isDirty); attempt++) {
+            flushDirty();
+        }
+        long remaining = sessions.values().stream().filter(GameSession::isDirty).count();
+        if (remaining > 0) {
+            logger.error("❌ 종료 시 저장하지 못한 게임 세션 {}개", remaining);
+        } else {
+            logger.info("✅ 종료 전 게임 세션 저장 완료");
+        }
+    }
+
+    // 세션 lock을 잡은 상태에서 호출. 성공(또는 쓸 것이 없음)하면 true
+    private boolean flushLocked(GameSession session) {
+        if (!session.isDirty()) {
+            return true;
+        }
+        flushLock.lock();
+        try {
+            // 주기적 flush가 쓰는 중이던 이 게임의 변경은 flushLock을 얻은 시점에 이미 쓰였거나 되돌려져 있음
+            FlushBatch batch = session.drain();
+            if (write(List.of(batch)).isEmpty()) {
+                return true;
+            }
+            session.requeue(batch);
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private GameSession getOrLoad(Long userId) {
+        GameSession session = sessions.get(userId);
+        if (session != null) {
+            return session;
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        GameSession created = tx.execute(status -> {
+            UserStatus found = userStatusDao.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+            // projection 이후에 기록된 이벤트를 적용 (스냅샷 주기보다 적음)
+            UserStatus current = GameProjection.replay(GameSession.copyOf(found),
+                    gameEventDao.findByUserStatusIdAndSeqGreaterThanOrderBySeqAsc(userId, found.getEventSeq()));
+            return new GameSession(current, found.getEventSeq());
+        });
+        GameSession existing = sessions.putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+
+    // turn 턴 이전의 가장 가까운 스냅샷에 이후 이벤트를 적용해 그 턴의 선택 직전 상태를 만듭니다. (트랜잭션 안에서 호출)
+    // 엔딩이 반영된 스냅샷(게임 종료 시 저장)은 마지막 턴과 turnCount가 같아도 엔딩 이후 상태이므로 쓰지 않습니다.
+    private UserStatus stateAtTurn(Long userId, int turn) {
+        GameSnapshot snapshot = gameSnapshotDao
+                .findFirstByUserStatusIdAndTurnCountLessThanEqualAndEndingIdOrderBySeqDesc(userId, turn, 0)
+                .orElseThrow(() -> new IllegalArgumentException("게임 " + userId + "의 " + turn + "턴 이전 스냅샷이 없습니다"));
+        List<GameEvent> events = gameEventDao
+                .findByUserStatusIdAndSeqGreaterThanAndTurnLessThanEqualOrderBySeqAsc(userId, snapshot.getSeq(), turn);
+        UserStatus state = GameProjection.replayToTurn(snapshot.toStatus(), events, turn);
+        if (state.getTurnCount() != turn) {
+            throw new IllegalArgumentException("게임 " + userId + "은(는) 아직 " + turn + "턴에 도달하지 않았습니다");
+        }
+        return state;
+    }
+
+    /**
+     * 여러 세션의 변경을 한 트랜잭션으로 씁니다. (게임 이벤트/메일함 INSERT 배치, 스냅샷 주기가 된 게임만 스냅샷 INSERT + UserStatus UPDATE,
+     * 조언 메일이 있는 게임은 UserStatus UPDATE)
+     * 다시 대기시켜야 하는 배치를 반환합니다. 이벤트 순번이 충돌한 게임은 변경을 버리고 stale로 표시합니다.
+     */
+    private List<FlushBatch> write(List<FlushBatch> batches) {
+        try {
+            Map<GameSession, Integer> snapshotSeqs = writeTransaction(batches);
+            // 커밋에 성공한 경우에만 세션이 기억하는 스냅샷 위치를 갱신
+            snapshotSeqs.forEach(GameSession::setSnapshotSeq);
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            if (batches.size() > 1) {
+                // 어느 게임이 충돌했는지 알 수 없으므로 게임별로 나눠 다시 씀
+                List<FlushBatch> failed = new ArrayList<>();
+                for (FlushBatch batch : batches) {
+                    batch.discardIds();
+                    failed.addAll(write(List.of(batch)));
+                }
+                return failed;
+            }
+            FlushBatch batch = batches.get(0);
+            // 다른 서버가 같은 게임에 먼저 기록함 - 덮어쓰지 않고 이 세션을 버림
+            logger.warn("게임 {} 이벤트 순번 충돌 (메모리 seq {}) - 게임 이벤트 {}건 폐기 후 다시 로딩",
+                    batch.status().getUserId(), batch.status().getEventSeq(), batch.events().size());
+            batch.session().markStale();
+            return List.of();
+        } catch (Exception e) {
+            logger.error("❌ 게임 세션 {}개 저장 실패", batches.size(), e);
+            return batches;
+        }
+    }
+
+    private Map<GameSession, Integer> writeTransaction(List<FlushBatch> batches) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        return tx.execute(txStatus -> {
+            List<GameEvent> events = new ArrayList<>();
+            List<InboxMessage> inboxMessages = new ArrayList<>();
+            List<GameSnapshot> snapshots = new ArrayList<>();
+            Map<Long, FlushBatch> projections = new HashMap<>();
+            Set<Long> snapshotted = new HashSet<>();
+            for (FlushBatch batch : batches) {
+                events.addAll(batch.events());
+                inboxMessages.addAll(batch.inboxMessages());
+                int seq = batch.status().getEventSeq();
+                int sinceSnapshot = seq - batch.session().getSnapshotSeq();
+                if (sinceSnapshot > 0 && (batch.snapshotRequested() || sinceSnapshot >= snapshotInterval)) {
+                    snapshots.add(GameSnapshot.of(batch.status()));
+                    snapshotted.add(batch.status().getUserId());
+                    projections.put(batch.status().getUserId(), batch);
+                } else if (batch.projectionRequested()) {
+                    projections.put(batch.status().getUserId(), batch);
+                }
+            }
+            gameEventDao.saveAll(events);
+            inboxMessageDao.saveAll(inboxMessages);
+            gameSnapshotDao.saveAll(snapshots);
+
+            Map<GameSession, Integer> snapshotSeqs = new HashMap<>();
+            if (!projections.isEmpty()) {
+                for (UserStatus target : userStatusDao.findAllById(projections.keySet())) {
+                    FlushBatch batch = projections.get(target.getUserId());
+                    copyState(batch.status(), target);
+                    if (snapshotted.contains(target.getUserId())) {
+                        snapshotSeqs.put(batch.session(), batch.status().getEventSeq());
+                    }
+                }
+            }
+            gameEventDao.flush(); // 커밋 전에 INSERT를 실행해 순번 충돌을 여기서 확인
+            return snapshotSeqs;
+        });
+    }
+
+    private static void copyState(UserStatus source, UserStatus target) {
+        target.setAir(source.getAir());
+        target.setWater(source.getWater());
+        target.setBiology(source.getBiology());
+        target.setPopularity(source.getPopularity());
+        target.setTurnCount(source.getTurnCount());
+        target.setEventSeq(source.getEventSeq());
+        target.setEndingId(source.getEndingId());
+        target.setInboxVersion(source.getInboxVersion());
+        target.setUsedEventIds(new HashSet<>(source.getUsedEventIds()));
+        target.setUsedSpecialEventIds(new HashSet<>(source.getUsedSpecialEventIds()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.klpj.blueplanet.model.simulation;
+
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.UserStatus;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * 시뮬레이션에서 가상 플레이어가 선택지를 고르는 방식.
+ */
+public enum ChoicePolicy {
+
+    /** 선택지 중 하나를 균등 확률로 고름 */
+    RANDOM {
+        @Override
+        int choose(UserStatus status, Choice[] choices, RandomGenerator random) {
+            return random.nextInt(choices.length);
+        }
+    },
+
+    /** 네 수치 중 50에서 가장 멀어지는 값이 가장 작은 선택지를 고름 (동률이면 무작위) */
+    BALANCED {
+        @Override
+        int choose(UserStatus status, Choice[] choices, RandomGenerator random) {
+            int best = 0;
+            int bestScore = Integer.MAX_VALUE;
+            int ties = 0;
+            for (int i = 0; i < choices.length; i++) {
+                Choice c = choices[i];
+                int score = Math.max(
+                        Math.max(distance(status.getAir() + c.getAirImpact()), distance(status.getWater() + c.getWaterImpact())),
+                        Math.max(distance(status.getBiology() + c.getBiologyImpact()), distance(status.getPopularity() + c.getPopularityImpact())));
+                if (score < bestScore) {
+                    best = i;
+                    bestScore = score;
+                    ties = 1;
+                } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        private int distance(int value) {
+            return Math.abs(value - 50);
+        }
+    };
+
+    /**
+     * @param choices 비어 있지 않은 선택지 배열
+     * @return 고른 선택지의 인덱스
+     */
+    abstract int choose(UserStatus status, Choice[] choices, RandomGenerator random);
+
+    /**
+     * 이름(대소문자 무시)으로 정책을 찾습니다.
+     *
+     * @throws IllegalArgumentException 알 수 없는 이름
+     */
+    public static ChoicePolicy of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("알 수 없는 선택 정책: " + name);
+        }
+    }
+}
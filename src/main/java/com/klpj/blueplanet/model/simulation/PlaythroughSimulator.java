@@ -0,0 +1,276 @@
+package com.klpj.blueplanet.model.simulation;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.catalog.UnusedEventSampler;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Ending;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.rules.SpecialEventRule;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+import com.klpj.blueplanet.model.simulation.SimulationReport.ChoiceStat;
+import com.klpj.blueplanet.model.simulation.SimulationReport.EndingStat;
+import com.klpj.blueplanet.model.simulation.SimulationReport.SpecialEventStat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 카탈로그의 콘텐츠로 게임을 처음부터 엔딩까지 반복해서 진행해 보는 헤드리스 시뮬레이터.
+ * - 진행 규칙은 실제 게임과 같은 GameRules, SpecialEventRuleSet, UnusedEventSampler를 사용합니다.
+ *   (시작 직후 특별 이벤트 확인 → 상시 이벤트 선택 → 다음 이벤트 판단 → ... → 엔딩)
+ * - 게임 수를 fork/join으로 나누고, 나눌 때마다 SplittableRandom.split()으로 난수 생성기를 나누므로
+ *   같은 seed면 병렬도와 관계없이 결과가 같습니다.
+ * - 작업 하나는 UserStatus와 샘플러를 재사용하며, 게임 진행 중에는 객체를 거의 만들지 않습니다.
+ */
+public final class PlaythroughSimulator {
+
+    // 작업 하나가 직접 진행하는 최대 게임 수
+    private static final long LEAF_PLAYTHROUGHS = 2048;
+
+    private static final int ENDING_SLOTS = GameRules.ENDING_COUNT + 1; // 0: 이벤트 소진
+
+    private final ContentCatalog catalog;
+    private final SpecialEventRuleSet rules;
+    private final List<Event> events;
+    private final Choice[][] choicesByEvent;   // 이벤트 위치 → 선택지
+    private final int[][] choiceSlotsByEvent;  // 이벤트 위치 → 선택지 집계 위치
+    private final List<Choice> choices;        // 집계 위치 → 선택지
+    private final List<Long> choiceEventIds;   // 집계 위치 → 소속 이벤트 ID
+    private final int[] eventIndexByChoiceSlot;
+    private final List<SpecialEvent> specialEvents;
+    private final Map<Long, Integer> specialEventSlots;
+
+    public PlaythroughSimulator(ContentCatalog catalog) {
+        this.catalog = catalog;
+        this.rules = catalog.getSpecialEventRules();
+        this.events = catalog.getEvents();
+
+        this.choicesByEvent = new Choice[events.size()][];
+        this.choiceSlotsByEvent = new int[events.size()][];
+        this.choices = new ArrayList<>();
+        this.choiceEventIds = new ArrayList<>();
+        List<Integer> eventIndexes = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            List<Choice> list = catalog.getChoices(events.get(i).getId());
+            choicesByEvent[i] = list.toArray(new Choice[0]);
+            choiceSlotsByEvent[i] = new int[list.size()];
+            for (int c = 0; c < list.size(); c++) {
+                choiceSlotsByEvent[i][c] = choices.size();
+                choices.add(list.get(c));
+                choiceEventIds.add(events.get(i).getId());
+                eventIndexes.add(i);
+            }
+        }
+        this.eventIndexByChoiceSlot = eventIndexes.stream().mapToInt(Integer::intValue).toArray();
+
+        this.specialEvents = catalog.getSpecialEvents();
+        this.specialEventSlots = new HashMap<>();
+        for (int i = 0; i < specialEvents.size(); i++) {
+            specialEventSlots.put(specialEvents.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * 게임을 options.playthroughs()번 진행하고 결과를 집계합니다.
+     */
+    public SimulationReport run(SimulationOptions options, ForkJoinPool pool) {
+        long started = System.nanoTime();
+        Tally tally = pool.invoke(new PlayTask(options, options.playthroughs(), new SplittableRandom(options.seed())));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return report(options, tally, elapsedMillis);
+    }
+
+    private SimulationReport report(SimulationOptions options, Tally tally, long elapsedMillis) {
+        long total = options.playthroughs();
+
+        List<EndingStat> endings = new ArrayList<>();
+        for (int id = 0; id < ENDING_SLOTS; id++) {
+            if (tally.endings[id] > 0) {
+                Ending ending = id > 0 ? catalog.getEnding(id) : null;
+                endings.add(new EndingStat(id, ending != null ? ending.getTitle() : null,
+                        tally.endings[id], (double) tally.endings[id] / total));
+            }
+        }
+
+        List<SpecialEventStat> specials = new ArrayList<>(specialEvents.size());
+        for (int i = 0; i < specialEvents.size(); i++) {
+            SpecialEvent s = specialEvents.get(i);
+            specials.add(new SpecialEventStat(s.getId(), s.getTitle(), tally.specialTriggers[i],
+                    (double) tally.specialTriggers[i] / total));
+        }
+
+        List<ChoiceStat> choiceStats = new ArrayList<>(choices.size());
+        for (int slot = 0; slot < choices.size(); slot++) {
+            long picks = tally.choicePicks[slot];
+            long draws = tally.eventDraws[eventIndexByChoiceSlot[slot]];
+            Map<Integer, Double> endingRates = new LinkedHashMap<>();
+            double distance = 0;
+            for (int id = 0; id < ENDING_SLOTS; id++) {
+                long count = tally.choiceEndings[slot * ENDING_SLOTS + id];
+                double rate = picks > 0 ? (double) count / picks : 0;
+                if (count > 0) {
+                    endingRates.put(id, rate);
+                }
+                distance += Math.abs(rate - (double) tally.endings[id] / total);
+            }
+            Choice choice = choices.get(slot);
+            choiceStats.add(new ChoiceStat(choice.getId(), choiceEventIds.get(slot), choice.getContent(), picks,
+                    draws > 0 ? (double) picks / draws : 0, endingRates, picks > 0 ? distance / 2 : 0));
+        }
+        choiceStats.sort(Comparator.comparingDouble(ChoiceStat::sensitivity).reversed()
+                .thenComparingLong(ChoiceStat::choiceId));
+
+        return new SimulationReport(total, options.policy(), options.seed(), options.endingTurn(),
+                catalog.getVersion(), (double) tally.totalTurns / total, elapsedMillis,
+                endings, specials, choiceStats);
+    }
+
+    /**
+     * 작업 하나(스레드 하나)의 집계.
+     */
+    private final class Tally {
+        final long[] endings = new long[ENDING_SLOTS];
+        final long[] specialTriggers = new long[specialEvents.size()];
+        final long[] eventDraws = new long[events.size()];
+        final long[] choicePicks = new long[choices.size()];
+        final long[] choiceEndings = new long[choices.size() * ENDING_SLOTS];
+        long totalTurns;
+
+        Tally merge(Tally other) {
+            add(endings, other.endings);
+            add(specialTriggers, other.specialTriggers);
+            add(eventDraws, other.eventDraws);
+            add(choicePicks, other.choicePicks);
+            add(choiceEndings, other.choiceEndings);
+            totalTurns += other.totalTurns;
+            return this;
+        }
+
+        private void add(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += source[i];
+            }
+        }
+    }
+
+    private final class PlayTask extends RecursiveTask<Tally> {
+        private final SimulationOptions options;
+        private final long count;
+        private final SplittableRandom random;
+
+        PlayTask(SimulationOptions options, long count, SplittableRandom random) {
+            this.options = options;
+            this.count = count;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (count <= LEAF_PLAYTHROUGHS) {
+                return playAll();
+            }
+            long half = count / 2;
+            // 나누는 순서가 게임 수로만 정해지므로 같은 seed면 같은 난수열
+            PlayTask left = new PlayTask(options, half, random.split());
+            PlayTask right = new PlayTask(options, count - half, random);
+            left.fork();
+            Tally tally = right.compute();
+            return tally.merge(left.join());
+        }
+
+        private Tally playAll() {
+            Tally tally = new Tally();
+            UserStatus status = new UserStatus();
+            UnusedEventSampler sampler = UnusedEventSampler.create(catalog, status.getUsedEventIds());
+            int[] path = new int[events.size()];
+            for (long i = 0; i < count; i++) {
+                play(status, sampler, path, tally);
+            }
+            return tally;
+        }
+
+        // 게임 하나를 엔딩까지 진행
+        private void play(UserStatus status, UnusedEventSampler sampler, int[] path, Tally tally) {
+            int endingTurn = options.endingTurn();
+            status.setAir(50);
+            status.setWater(50);
+            status.setBiology(50);
+            status.setPopularity(50);
+            status.setTurnCount(1);
+            status.getUsedSpecialEventIds().clear();
+            sampler.reset(); // 사용된 상시 이벤트는 샘플러가 관리 (규칙은 usedEventIds를 보지 않음)
+
+            int pathLength = 0;
+            int endingId = 0;
+            int next = GameRules.NEXT_SPECIAL; // 게임 시작 응답의 nextEvent (StartGameResponse)
+            while (true) {
+                if (next == GameRules.NEXT_ENDING) {
+                    endingId = GameRules.endingId(status, endingTurn);
+                    break;
+                }
+                if (next == GameRules.NEXT_SPECIAL && triggerSpecialEvent(status, tally)) {
+                    next = GameRules.nextEventType(status, rules, endingTurn);
+                    continue;
+                }
+                // 발동할 특별 이벤트가 없으면 상시 이벤트로 진행
+                long eventId = sampler.pick(random);
+                if (eventId < 0) {
+                    break; // 엔딩 전에 상시 이벤트 소진
+                }
+                sampler.markUsed(eventId);
+                int eventIndex = catalog.getEventIndex(eventId);
+                tally.eventDraws[eventIndex]++;
+                Choice[] eventChoices = choicesByEvent[eventIndex];
+                if (eventChoices.length > 0) {
+                    int picked = options.policy().choose(status, eventChoices, random);
+                    Choice choice = eventChoices[picked];
+                    status.setAir(status.getAir() + choice.getAirImpact());
+                    status.setWater(status.getWater() + choice.getWaterImpact());
+                    status.setBiology(status.getBiology() + choice.getBiologyImpact());
+                    status.setPopularity(status.getPopularity() + choice.getPopularityImpact());
+                    status.setTurnCount(status.getTurnCount() + 1);
+                    int slot = choiceSlotsByEvent[eventIndex][picked];
+                    tally.choicePicks[slot]++;
+                    path[pathLength++] = slot;
+                }
+                next = GameRules.nextEventType(status, rules, endingTurn);
+            }
+
+            tally.endings[endingId]++;
+            tally.totalTurns += status.getTurnCount();
+            for (int i = 0; i < pathLength; i++) {
+                tally.choiceEndings[path[i] * ENDING_SLOTS + endingId]++;
+            }
+        }
+
+        // 실제 게임과 같이 우선순위가 가장 높은 특별 이벤트 하나를 적용. 발동했으면 true
+        private boolean triggerSpecialEvent(UserStatus status, Tally tally) {
+            SpecialEventRule rule = rules.findFirstMatch(status);
+            if (rule == null) {
+                return false;
+            }
+            Integer slot = specialEventSlots.get(rule.getSpecialEventId());
+            if (slot == null) {
+                return false; // 조건만 있고 카탈로그에 없는 특별 이벤트 (실제 게임에서도 발동하지 않음)
+            }
+            SpecialEvent event = specialEvents.get(slot);
+            status.setAir(status.getAir() + event.getAirImpact());
+            status.setWater(status.getWater() + event.getWaterImpact());
+            status.setBiology(status.getBiology() + event.getBiologyImpact());
+            status.setPopularity(status.getPopularity() + event.getPopularityImpact());
+            status.getUsedSpecialEventIds().add(rule.getSpecialEventId());
+            tally.specialTriggers[slot]++;
+            return true;
+        }
+    }
+}
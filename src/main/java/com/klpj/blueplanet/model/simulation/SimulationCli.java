@@ -0,0 +1,164 @@
+package com.klpj.blueplanet.model.simulation;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Ending;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.SpecialEventCondition;
+import com.klpj.blueplanet.model.importer.ContentPack;
+import com.klpj.blueplanet.model.importer.ContentSheet;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+import com.klpj.blueplanet.model.simulation.SimulationReport.ChoiceStat;
+import com.klpj.blueplanet.model.simulation.SimulationReport.EndingStat;
+import com.klpj.blueplanet.model.simulation.SimulationReport.SpecialEventStat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * DB나 스프링 컨텍스트 없이 콘텐츠 원본으로 바로 시뮬레이션을 실행합니다.
+ *
+ * 사용법: java -cp ... SimulationCli [원본 data 디렉터리 또는 content.pack] [게임 수] [random|balanced] [seed] [엔딩 턴]
+ *   예) mvn -q exec:java -Dexec.mainClass=com.klpj.blueplanet.model.simulation.SimulationCli \
+ *         -Dexec.args="src/main/resources/data 1000000 balanced 42"
+ */
+public final class SimulationCli {
+
+    private static final String DATA_PREFIX = "/data/";
+    private static final int TOP_CHOICES = 20;
+
+    private SimulationCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path source = Path.of(args.length > 0 ? args[0] : "src/main/resources/data");
+        long playthroughs = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+        ChoicePolicy policy = args.length > 2 ? ChoicePolicy.of(args[2]) : ChoicePolicy.RANDOM;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int endingTurn = args.length > 4 ? Integer.parseInt(args[4]) : GameRules.ENDING_TURN;
+
+        ContentCatalog catalog = buildCatalog(readTables(source));
+        SimulationReport report = new PlaythroughSimulator(catalog)
+                .run(new SimulationOptions(playthroughs, policy, seed, endingTurn), ForkJoinPool.commonPool());
+        print(report);
+    }
+
+    /**
+     * 테이블 이름 → [id, 나머지 열...] 행. content.pack이면 팩에서, 디렉터리면 XLSX에서 읽습니다.
+     */
+    static Map<String, List<Object[]>> readTables(Path source) throws IOException {
+        Map<String, List<Object[]>> tables = new HashMap<>();
+        if (Files.isRegularFile(source)) {
+            ContentPack pack = ContentPack.open(ByteBuffer.wrap(Files.readAllBytes(source)));
+            for (ContentSheet sheet : ContentSheet.ALL) {
+                ContentPack.Section section = pack.section(sheet.path());
+                tables.put(sheet.table(), section != null ? section.readRows() : List.of());
+            }
+        } else {
+            for (ContentSheet sheet : ContentSheet.ALL) {
+                Path file = source.resolve(sheet.path().substring(DATA_PREFIX.length()));
+                tables.put(sheet.table(), sheet.readRows(Files.readAllBytes(file)));
+            }
+        }
+        return tables;
+    }
+
+    // 열 순서는 ContentSheet.columns와 같음
+    static ContentCatalog buildCatalog(Map<String, List<Object[]>> tables) {
+        Map<Long, Event> events = new HashMap<>();
+        for (Object[] row : tables.get("events")) {
+            Event event = new Event();
+            event.setId((Long) row[0]);
+            event.setTitle((String) row[1]);
+            event.setWriter((String) row[2]);
+            event.setContent((String) row[3]);
+            events.put(event.getId(), event);
+        }
+
+        List<Ending> endings = new ArrayList<>();
+        for (Object[] row : tables.get("endings")) {
+            Ending ending = new Ending();
+            ending.setId((Long) row[0]);
+            ending.setTitle((String) row[1]);
+            ending.setContent((String) row[2]);
+            ending.setImgUrl((String) row[3]);
+            endings.add(ending);
+        }
+
+        Map<Long, SpecialEvent> specialEvents = new HashMap<>();
+        Map<Long, Integer> priorities = new HashMap<>();
+        for (Object[] row : tables.get("special_events")) {
+            SpecialEvent specialEvent = new SpecialEvent((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (Integer) row[4], (Integer) row[5], (Integer) row[6], (Integer) row[7], (Integer) row[8]);
+            specialEvents.put(specialEvent.getId(), specialEvent);
+            priorities.put(specialEvent.getId(), specialEvent.getPriority());
+        }
+
+        List<Choice> choices = new ArrayList<>();
+        Map<Long, Long> choiceEventIds = new HashMap<>();
+        for (Object[] row : tables.get("choices")) {
+            Choice choice = new Choice();
+            choice.setId((Long) row[0]);
+            choice.setAirImpact((Integer) row[2]);
+            choice.setWaterImpact((Integer) row[3]);
+            choice.setBiologyImpact((Integer) row[4]);
+            choice.setPopularityImpact((Integer) row[5]);
+            choice.setResult((String) row[6]);
+            choice.setContent((String) row[7]);
+            if (events.containsKey((Long) row[1])) {
+                choices.add(choice);
+                choiceEventIds.put(choice.getId(), (Long) row[1]);
+            }
+        }
+
+        List<SpecialEventCondition> conditions = new ArrayList<>();
+        for (Object[] row : tables.get("special_event_conditions")) {
+            SpecialEvent owner = specialEvents.get((Long) row[1]);
+            if (owner == null) {
+                continue;
+            }
+            SpecialEventCondition condition = new SpecialEventCondition();
+            condition.setId((Long) row[0]);
+            condition.setSpecialEvent(owner);
+            condition.setStatusType((String) row[2]);
+            condition.setOperator((String) row[3]);
+            condition.setVariation((Integer) row[4]);
+            conditions.add(condition);
+        }
+
+        return new ContentCatalog(1L, new ArrayList<>(events.values()), choices, choiceEventIds, endings,
+                new ArrayList<>(specialEvents.values()), List.of(), SpecialEventRuleSet.compile(conditions, priorities));
+    }
+
+    private static void print(SimulationReport report) {
+        System.out.printf("게임 %,d회 (%s, seed %d, 엔딩 턴 %d) %,dms, 평균 %.2f턴%n",
+                report.playthroughs(), report.policy(), report.seed(), report.endingTurn(),
+                report.elapsedMillis(), report.averageTurns());
+
+        System.out.println("\n[엔딩]");
+        for (EndingStat ending : report.endings()) {
+            System.out.printf("%3d  %7.3f%%  %,12d  %s%n", ending.endingId(), ending.rate() * 100, ending.count(),
+                    ending.endingId() == 0 ? "(상시 이벤트 소진)" : ending.title());
+        }
+
+        System.out.println("\n[특별 이벤트 발동률]");
+        for (SpecialEventStat special : report.specialEvents()) {
+            System.out.printf("%3d  %7.3f%%  %s%n", special.specialEventId(), special.triggerRate() * 100, special.title());
+        }
+
+        System.out.println("\n[엔딩 분포에 영향이 큰 선택지 상위 " + TOP_CHOICES + "]");
+        for (ChoiceStat choice : report.choices().subList(0, Math.min(TOP_CHOICES, report.choices().size()))) {
+            System.out.printf("선택지 %4d (이벤트 %3d)  민감도 %.3f  선택률 %5.1f%%  %s%n",
+                    choice.choiceId(), choice.eventId(), choice.sensitivity(), choice.pickRate() * 100, choice.content());
+        }
+    }
+}
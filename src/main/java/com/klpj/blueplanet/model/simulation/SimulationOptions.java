@@ -0,0 +1,22 @@
+package com.klpj.blueplanet.model.simulation;
+
+/**
+ * @param playthroughs 진행할 게임 수
+ * @param policy       선택지 고르는 방식
+ * @param seed         난수 seed. 같은 seed, 같은 콘텐츠면 결과가 같음
+ * @param endingTurn   엔딩으로 넘어가는 턴 (실제 게임은 GameRules.ENDING_TURN)
+ */
+public record SimulationOptions(long playthroughs, ChoicePolicy policy, long seed, int endingTurn) {
+
+    public SimulationOptions {
+        if (playthroughs <= 0) {
+            throw new IllegalArgumentException("게임 수는 1 이상이어야 합니다: " + playthroughs);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("선택 정책이 없습니다");
+        }
+        if (endingTurn < 1) {
+            throw new IllegalArgumentException("엔딩 턴은 1 이상이어야 합니다: " + endingTurn);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.klpj.blueplanet.model.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시뮬레이션 결과.
+ *
+ * @param endings       엔딩별 빈도. endingId 0은 엔딩 조건을 만족하기 전에 상시 이벤트가 모두 소진된 게임
+ * @param specialEvents 특별 이벤트별 발동 횟수와 게임당 발동률
+ * @param choices       선택지별 민감도 (sensitivity 내림차순)
+ */
+public record SimulationReport(long playthroughs,
+                               ChoicePolicy policy,
+                               long seed,
+                               int endingTurn,
+                               long contentVersion,
+                               double averageTurns,
+                               long elapsedMillis,
+                               List<EndingStat> endings,
+                               List<SpecialEventStat> specialEvents,
+                               List<ChoiceStat> choices) {
+
+    public record EndingStat(int endingId, String title, long count, double rate) {
+    }
+
+    public record SpecialEventStat(long specialEventId, String title, long triggers, double triggerRate) {
+    }
+
+    /**
+     * @param pickRate    소속 이벤트가 나왔을 때 이 선택지를 고른 비율
+     * @param endingRates 이 선택지를 고른 게임의 엔딩 분포 (endingId → 비율)
+     * @param sensitivity 이 선택지를 고른 게임과 전체 게임의 엔딩 분포 차이 (total variation distance, 0~1)
+     */
+    public record ChoiceStat(long choiceId, long eventId, String content, long picks, double pickRate,
+                             Map<Integer, Double> endingRates, double sensitivity) {
+    }
+}
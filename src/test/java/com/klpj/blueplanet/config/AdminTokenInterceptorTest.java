@@ -0,0 +1,49 @@
+package com.klpj.blueplanet.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "admin.token=test-admin-token")
+@AutoConfigureMockMvc
+class AdminTokenInterceptorTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void rejectsAdminRequestsWithoutValidToken() throws Exception {
+        mvc.perform(get("/admin/gameLog").param("gameLogFile", "1_250101000000"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/admin/gameLog").param("gameLogFile", "1_250101000000")
+                        .header(AdminTokenInterceptor.TOKEN_HEADER, "wrong"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rejectsSimulationWithoutToken() throws Exception {
+        mvc.perform(post("/admin/simulation").param("playthroughs", "1000000"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rejectsSimulationOverPlaythroughLimit() throws Exception {
+        mvc.perform(post("/admin/simulation").param("playthroughs", "1000001")
+                        .header(AdminTokenInterceptor.TOKEN_HEADER, "test-admin-token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acceptsAdminRequestsWithToken() throws Exception {
+        // 토큰은 통과하고, 없는 게임 로그라 404
+        mvc.perform(get("/admin/gameLog").param("gameLogFile", "1_250101000000")
+                        .header(AdminTokenInterceptor.TOKEN_HEADER, "test-admin-token"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,79 @@
+package com.klpj.blueplanet.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klpj.blueplanet.model.dao.GameEventDao;
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.services.GameService;
+import com.klpj.blueplanet.model.session.GameSessionCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameSessionCache gameSessionCache;
+
+    @Autowired
+    private GameEventDao gameEventDao;
+
+    @Test
+    void choiceWithoutGameIdIsBadRequest() throws Exception {
+        assertThat(perform(choice("{\"choiceId\":1}")).getResponse().getStatus()).isEqualTo(400);
+        assertThat(perform(choice("{\"userStatusId\":1}")).getResponse().getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void choiceAfterEndingIsConflict() throws Exception {
+        long userId = gameService.startNewGame().getUserStatus().getUserId();
+        long choiceId = firstChoiceId(userId);
+        gameService.recordEnding(userId, 9);
+
+        // 엔딩 이후의 선택은 기록하지 않음 (되돌리기로만 다시 진행)
+        String body = "{\"userStatusId\":" + userId + ",\"choiceId\":" + choiceId + "}";
+        assertThat(perform(choice(body)).getResponse().getStatus()).isEqualTo(409);
+        gameSessionCache.flush(userId);
+        assertThat(gameEventDao.findByUserStatusIdAndTypeOrderBySeqAsc(userId, GameEvent.TYPE_CHOICE)).isEmpty();
+    }
+
+    private long firstChoiceId(long userId) throws Exception {
+        MvcResult result = perform(get("/game/common").param("userId", Long.toString(userId)));
+        JsonNode event = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        return event.path("choices").get(0).path("id").asLong();
+    }
+
+    private static RequestBuilder choice(String body) {
+        return post("/game/choice").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    // CompletableFuture를 반환하는 엔드포인트는 비동기 디스패치까지 실행
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+}
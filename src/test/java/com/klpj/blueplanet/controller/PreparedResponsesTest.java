@@ -0,0 +1,153 @@
+package com.klpj.blueplanet.controller;
+
+import com.klpj.blueplanet.model.services.ContentCatalogService;
+import com.klpj.blueplanet.model.services.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 미리 직렬화된 본문(툴팁, 뉴스 상세, 엔딩)의 조건부 요청(If-None-Match), gzip 협상, 캐시 정책을 확인합니다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PreparedResponsesTest {
+
+    private static final String PUBLIC_CACHE = "max-age=300, must-revalidate, public";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ContentCatalogService contentCatalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tooltipsNegotiateGzip() throws Exception {
+        MockHttpServletResponse identity = perform(get("/data/tooltips"));
+        assertThat(identity.getStatus()).isEqualTo(200);
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identity.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(identity.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(PUBLIC_CACHE);
+        String identityEtag = identity.getHeader(HttpHeaders.ETAG);
+        assertThat(identityEtag).startsWith("\"");
+
+        MockHttpServletResponse gzip = perform(get("/data/tooltips").header(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP"));
+        assertThat(gzip.getStatus()).isEqualTo(200);
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        // 표현마다 강한 ETag가 다르고, 압축을 풀면 같은 본문
+        assertThat(gzip.getHeader(HttpHeaders.ETAG)).isNotEqualTo(identityEtag);
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(identity.getContentAsByteArray());
+
+        // q=0은 거부, q>0은 허용
+        assertThat(perform(get("/data/tooltips").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(perform(get("/data/tooltips").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip; q=0.5"))
+                .getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void tooltipsRevalidateWithIfNoneMatch() throws Exception {
+        String identityEtag = perform(get("/data/tooltips")).getHeader(HttpHeaders.ETAG);
+        String gzipEtag = perform(get("/data/tooltips").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .getHeader(HttpHeaders.ETAG);
+
+        assertNotModified(get("/data/tooltips"), identityEtag, identityEtag);
+        assertNotModified(get("/data/tooltips"), "W/" + identityEtag, identityEtag);
+        assertNotModified(get("/data/tooltips"), "*", identityEtag);
+        assertNotModified(get("/data/tooltips"), "\"other\", " + gzipEtag, identityEtag);
+        // 다른 표현의 ETag로 재검증해도 304이며, 응답 ETag는 협상된 표현의 것
+        assertNotModified(get("/data/tooltips").header(HttpHeaders.ACCEPT_ENCODING, "gzip"), identityEtag, gzipEtag);
+
+        MockHttpServletResponse changed = perform(get("/data/tooltips").header(HttpHeaders.IF_NONE_MATCH, "\"other\""));
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getContentAsByteArray()).isNotEmpty();
+    }
+
+    @Test
+    void newsDetailRevalidatesAndSkipsGzipForSmallBodies() throws Exception {
+        long large = contentCatalogService.current().getSpecialEvents().get(0).getId();
+        MockHttpServletResponse gzip = perform(news(large).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertThat(gzip.getStatus()).isEqualTo(200);
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzip.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(PUBLIC_CACHE);
+        String etag = gzip.getHeader(HttpHeaders.ETAG);
+        assertNotModified(news(large).header(HttpHeaders.ACCEPT_ENCODING, "gzip"), etag, etag);
+
+        // 256바이트보다 작은 본문은 gzip을 요청해도 압축하지 않음
+        jdbcTemplate.update("INSERT INTO special_events (id, title, content, img_url, air_impact, water_impact, " +
+                "biology_impact, popularity_impact, priority) VALUES (9999, '짧은', '뉴스', '', 0, 0, 0, 0, 99)");
+        try {
+            contentCatalogService.reload();
+            MockHttpServletResponse small = perform(news(9999L).header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+            assertThat(small.getStatus()).isEqualTo(200);
+            assertThat(small.getContentAsByteArray().length).isLessThan(256);
+            assertThat(small.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(small.getHeader(HttpHeaders.ETAG))
+                    .isEqualTo(perform(news(9999L)).getHeader(HttpHeaders.ETAG));
+        } finally {
+            jdbcTemplate.update("DELETE FROM special_events WHERE id = 9999");
+            contentCatalogService.reload();
+        }
+    }
+
+    @Test
+    void endingIsNotPubliclyCacheable() throws Exception {
+        Long userId = gameService.startNewGame().getUserStatus().getUserId();
+        gameService.recordEnding(userId, 9);
+
+        MvcResult started = mvc.perform(get("/game/ending").param("userId", userId.toString())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn();
+        MockHttpServletResponse ending = mvc.perform(asyncDispatch(started)).andReturn().getResponse();
+
+        assertThat(ending.getStatus()).isEqualTo(200);
+        assertThat(ending.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, private");
+        assertThat(ending.getHeader(HttpHeaders.ETAG)).isNotNull();
+        assertThat(ending.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private void assertNotModified(MockHttpServletRequestBuilder request, String ifNoneMatch, String expectedEtag)
+            throws Exception {
+        MockHttpServletResponse response = perform(request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+        assertThat(response.getStatus()).as(ifNoneMatch).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(expectedEtag);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static MockHttpServletRequestBuilder news(long specialEventId) {
+        return get("/data/newsDetail").param("specialEventId", Long.toString(specialEventId));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request).andReturn().getResponse();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
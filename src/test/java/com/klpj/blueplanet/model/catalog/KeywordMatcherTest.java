@@ -0,0 +1,44 @@
+package com.klpj.blueplanet.model.catalog;
+
+import com.klpj.blueplanet.model.responses.TooltipAnnotation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    @Test
+    void findsLeftmostLongestNonOverlappingKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.build(List.of("오존", "오존층", "층", "미세먼지", "CO2"));
+
+        String text = "오존층 파괴와 미세먼지, co2 배출";
+        List<TooltipAnnotation> annotations = matcher.annotate(text);
+
+        assertThat(annotations).extracting(TooltipAnnotation::getKeyword)
+                .containsExactly("오존층", "미세먼지", "CO2");
+        for (TooltipAnnotation a : annotations) {
+            assertThat(text.substring(a.getStart(), a.getEnd())).isEqualToIgnoringCase(a.getKeyword());
+        }
+    }
+
+    @Test
+    void followsFailureLinksAcrossPartialMatches() {
+        KeywordMatcher matcher = KeywordMatcher.build(List.of("탄소중립", "중립", "소중"));
+
+        List<TooltipAnnotation> annotations = matcher.annotate("탄소중 중립 탄소중립");
+
+        assertThat(annotations).extracting(TooltipAnnotation::getKeyword, TooltipAnnotation::getStart)
+                .containsExactly(
+                        org.assertj.core.groups.Tuple.tuple("소중", 1),
+                        org.assertj.core.groups.Tuple.tuple("중립", 4),
+                        org.assertj.core.groups.Tuple.tuple("탄소중립", 7));
+    }
+
+    @Test
+    void emptyMatcherReturnsNoAnnotations() {
+        assertThat(KeywordMatcher.EMPTY.annotate("오존층")).isEmpty();
+        assertThat(KeywordMatcher.build(List.of("오존")).annotate(null)).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package com.klpj.blueplanet.model.catalog;
+
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnusedEventSamplerTest {
+
+    private static final int EVENT_COUNT = 40;
+
+    private final ContentCatalog catalog = catalog();
+
+    @Test
+    void neverPicksAUsedEvent() {
+        Random random = new Random(7);
+        UnusedEventSampler sampler = UnusedEventSampler.create(catalog, Set.of());
+        Set<Long> used = new HashSet<>();
+
+        for (int turn = 0; turn < EVENT_COUNT; turn++) {
+            for (int i = 0; i < 50; i++) {
+                assertThat(used).doesNotContain(sampler.pick(random));
+            }
+            long picked = sampler.pick(random);
+            used.add(picked);
+            sampler.markUsed(picked);
+            assertThat(remainingIds(sampler)).doesNotContainAnyElementsOf(used).hasSize(EVENT_COUNT - used.size());
+        }
+    }
+
+    @Test
+    void returnsMinusOneOnceEveryEventIsUsed() {
+        UnusedEventSampler sampler = UnusedEventSampler.create(catalog, Set.of());
+        for (Event event : catalog.getEvents()) {
+            sampler.markUsed(event.getId());
+        }
+        assertThat(sampler.remainingCount()).isZero();
+        assertThat(sampler.pick(new Random(1))).isEqualTo(-1L);
+
+        // 이미 사용한 이벤트를 다시 사용 처리해도 남은 목록은 그대로
+        sampler.markUsed(catalog.getEvents().get(0).getId());
+        assertThat(sampler.pick(new Random(1))).isEqualTo(-1L);
+
+        Set<Long> allIds = new HashSet<>();
+        catalog.getEvents().forEach(e -> allIds.add(e.getId()));
+        assertThat(UnusedEventSampler.create(catalog, allIds).pick(new Random(1))).isEqualTo(-1L);
+    }
+
+    @Test
+    void rebuiltSamplerMatchesUsedEventIds() {
+        Random random = new Random(3);
+        Set<Long> usedEventIds = new HashSet<>();
+        usedEventIds.add(999L); // 카탈로그에서 사라진 이벤트도 사용 이력에는 남아 있을 수 있음
+        UnusedEventSampler playing = UnusedEventSampler.create(catalog, usedEventIds);
+
+        for (int turn = 0; turn < 15; turn++) {
+            long picked = playing.pick(random);
+            usedEventIds.add(picked);
+            playing.markUsed(picked);
+
+            // 세션을 DB의 usedEventIds로 다시 만들면 진행 중이던 샘플러와 남은 이벤트가 같음
+            UnusedEventSampler rebuilt = UnusedEventSampler.create(catalog, Set.copyOf(usedEventIds));
+            assertThat(remainingIds(rebuilt)).isEqualTo(remainingIds(playing));
+            assertThat(remainingIds(rebuilt)).doesNotContainAnyElementsOf(usedEventIds)
+                    .hasSize(EVENT_COUNT - (usedEventIds.size() - 1));
+            assertThat(rebuilt.isInSync(catalog, usedEventIds.size())).isTrue();
+            assertThat(playing.isInSync(catalog, usedEventIds.size())).isTrue();
+        }
+
+        // 사용 이력이 바뀌었거나 카탈로그가 교체되었으면 다시 만들어야 함
+        assertThat(playing.isInSync(catalog, usedEventIds.size() + 1)).isFalse();
+        assertThat(playing.isInSync(catalog(), usedEventIds.size())).isFalse();
+    }
+
+    // 남은 이벤트를 하나씩 차례로 뽑아 모두 나열 (pick은 markUsed 전까지 남은 목록을 바꾸지 않음)
+    private static Set<Long> remainingIds(UnusedEventSampler sampler) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < sampler.remainingCount(); i++) {
+            ids.add(sampler.pick(fixed(i)));
+        }
+        assertThat(ids).hasSize(sampler.remainingCount());
+        return ids;
+    }
+
+    private static RandomGenerator fixed(int index) {
+        return new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                return index;
+            }
+
+            @Override
+            public int nextInt(int bound) {
+                return index;
+            }
+        };
+    }
+
+    private static ContentCatalog catalog() {
+        List<Event> events = new ArrayList<>();
+        for (long id = 1; id <= EVENT_COUNT; id++) {
+            Event event = new Event();
+            event.setId(id * 10); // 위치와 id가 다르도록
+            event.setTitle("이벤트 " + id);
+            events.add(event);
+        }
+        return new ContentCatalog(1L, events, List.of(), Map.of(), List.of(), List.of(), List.of(),
+                SpecialEventRuleSet.EMPTY);
+    }
+}
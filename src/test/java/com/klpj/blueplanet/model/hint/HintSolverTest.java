@@ -0,0 +1,118 @@
+package com.klpj.blueplanet.model.hint;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Ending;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.SpecialEventCondition;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.rules.GameRules;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HintSolverTest {
+
+    @Test
+    void lastTurnFollowsEndingRules() {
+        // 이벤트마다 선택지 두 개: 대기 +20 (홀수 id), 대기 -20 (짝수 id)
+        HintSolver solver = new HintSolver(catalog(false), 2, 10);
+        solver.prepare(9);
+        UserStatus status = status(GameRules.ENDING_TURN - 1);
+
+        Hint hint = solver.solve(status, 1L, 9);
+
+        // 마지막 선택 뒤 평균 55 → 엔딩 9, 평균 45 → 엔딩 10
+        assertThat(hint.recommendedChoiceId()).isEqualTo(1L);
+        assertThat(hint.choices()).extracting(Hint.ChoiceHint::expectedEndingId).containsExactly(9, 10);
+        assertThat(hint.choices()).extracting(Hint.ChoiceHint::targetRate).containsExactly(1.0, 0.0);
+    }
+
+    @Test
+    void includesSpecialEventTriggers() {
+        // 대기 80 이상이면 수질 -60 특별 이벤트 → 수질 low 엔딩(3)
+        HintSolver solver = new HintSolver(catalog(true), 2, 10);
+        solver.prepare(9);
+        UserStatus status = status(GameRules.ENDING_TURN - 2);
+        status.setAir(70);
+
+        Hint hint = solver.solve(status, 1L, 9);
+
+        // 대기 90 → 특별 이벤트 → 엔딩 3 / 대기 50 → 다음 이벤트에서 +20 → 엔딩 턴에 평균 55 → 엔딩 9
+        assertThat(hint.choices().get(0).endingRates()).isEqualTo(Map.of(3, 1.0));
+        assertThat(hint.choices().get(1).endingRates()).isEqualTo(Map.of(9, 1.0));
+        assertThat(hint.recommendedChoiceId()).isEqualTo(2L);
+    }
+
+    @Test
+    void rejectsUnknownEventAndEnding() {
+        HintSolver solver = new HintSolver(catalog(false), 2, 10);
+        solver.prepare(9);
+
+        assertThatThrownBy(() -> solver.solve(status(1), 999L, 9)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> solver.solve(status(1), 1L, 0)).isInstanceOf(IllegalArgumentException.class);
+        // 표를 만들어 두지 않은 목표 엔딩은 요청 중에 표를 만들지 않고 거절
+        assertThatThrownBy(() -> solver.solve(status(1), 1L, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(solver.isPrepared(3)).isFalse();
+    }
+
+    private static UserStatus status(int turn) {
+        UserStatus status = new UserStatus();
+        status.setAir(50);
+        status.setWater(50);
+        status.setBiology(50);
+        status.setPopularity(50);
+        status.setTurnCount(turn);
+        return status;
+    }
+
+    private static ContentCatalog catalog(boolean withSpecialEvent) {
+        List<Event> events = new ArrayList<>();
+        List<Choice> choices = new ArrayList<>();
+        Map<Long, Long> choiceEventIds = new HashMap<>();
+        long choiceId = 1;
+        for (long eventId = 1; eventId <= 30; eventId++) {
+            Event event = new Event();
+            event.setId(eventId);
+            event.setTitle("이벤트 " + eventId);
+            events.add(event);
+            for (int air : new int[]{20, -20}) {
+                Choice choice = new Choice();
+                choice.setId(choiceId);
+                choice.setAirImpact(air);
+                choice.setContent("선택지 " + choiceId);
+                choices.add(choice);
+                choiceEventIds.put(choiceId++, eventId);
+            }
+        }
+        List<Ending> endings = new ArrayList<>();
+        for (long id = 1; id <= GameRules.ENDING_COUNT; id++) {
+            Ending ending = new Ending();
+            ending.setId(id);
+            ending.setTitle("엔딩 " + id);
+            endings.add(ending);
+        }
+
+        if (!withSpecialEvent) {
+            return new ContentCatalog(1L, events, choices, choiceEventIds, endings, List.of(), List.of(),
+                    SpecialEventRuleSet.EMPTY);
+        }
+        SpecialEvent special = new SpecialEvent(1L, "특별", "내용", "", 0, -60, 0, 0, 0);
+        SpecialEventCondition condition = new SpecialEventCondition();
+        condition.setId(1L);
+        condition.setSpecialEvent(special);
+        condition.setStatusType("air");
+        condition.setOperator(">=");
+        condition.setVariation(80);
+        return new ContentCatalog(1L, events, choices, choiceEventIds, endings, List.of(special), List.of(),
+                SpecialEventRuleSet.compile(List.of(condition), Map.of(1L, 0)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이미 채워진 콘텐츠 테이블에 수정된 시트를 다시 반영하는 경우 (H2: ON CONFLICT 없이 비교 후 UPDATE/INSERT)
+ */
+@DataJpaTest
+@Import(BulkInserter.class)
+class BulkInserterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "title", "writer", "content");
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reimportingModifiedSheetWritesOnlyDifferences() {
+        bulkInserter.insert("events", COLUMNS, List.of(
+                new Object[]{1L, "하천", "시민", "녹조가 번졌다"},
+                new Object[]{2L, "공장", "기자", "매연"},
+                new Object[]{3L, "숲", "주민", "벌목"}));
+
+        // 1은 그대로, 2는 본문 수정, 3은 시트에서 삭제, 4는 새 행
+        List<Object[]> modified = List.of(
+                new Object[]{1L, "하천", "시민", "녹조가 번졌다"},
+                new Object[]{2L, "공장", "기자", "매연 기준 초과"},
+                new Object[]{4L, "바다", "어민", "적조"});
+        long written = bulkInserter.upsert("events", COLUMNS, modified);
+        long deleted = bulkInserter.deleteByIds("events", List.of(3L));
+
+        assertThat(written).isEqualTo(2);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(bulkInserter.ids("events")).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(jdbcTemplate.queryForObject("SELECT content FROM events WHERE id = 2", String.class)).isEqualTo("매연 기준 초과");
+
+        // 같은 시트를 다시 반영하면 바뀌는 행 없음
+        assertThat(bulkInserter.upsert("events", COLUMNS, modified)).isZero();
+    }
+}
@@ -0,0 +1,60 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ContentIdMigration.class)
+class ContentIdMigrationTest {
+
+    @Autowired
+    private ContentIdMigration contentIdMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesUserReferencesFromRowOrderIdsToSheetIds() {
+        // 예전 적재: 유효한 행 순서대로 1부터
+        jdbcTemplate.update("INSERT INTO events (id, title, writer, content) VALUES (1, '하천', '시민', '녹조'), (2, '공장', '기자', '매연'), (3, '숲', '주민', '벌목')");
+        jdbcTemplate.update("INSERT INTO choices (id, event_id, air_impact, water_impact, biology_impact, popularity_impact, result, content) "
+                + "VALUES (1, 1, 0, 5, 0, 0, '', '정화'), (2, 2, 5, 0, 0, 0, '', '규제'), (3, 2, -5, 0, 0, 5, '', '방치')");
+        jdbcTemplate.update("INSERT INTO special_events (id, title, content, img_url, air_impact, water_impact, biology_impact, popularity_impact, priority) "
+                + "VALUES (1, '독성물', '하천 오염', '', 0, 0, 0, 0, 1), (2, '프롤로그', '우리는', '', 0, 0, 0, 0, 0)");
+        jdbcTemplate.update("INSERT INTO user_status (user_id, air, water, biology, popularity, turn_count, event_seq, ending_id, event_id) "
+                + "VALUES (7, 50, 50, 50, 50, 3, 0, 0, ARRAY[1, 3])");
+        jdbcTemplate.update("INSERT INTO user_status_used_special_events (user_status_id, special_event_id) VALUES (7, 1), (7, 2)");
+        jdbcTemplate.update("INSERT INTO user_choice_history (id, user_status_id, event_id, choice_id) VALUES (1, 7, 2, 3)");
+
+        // 시트 A열: 이벤트 3은 5로, 선택지 2와 3이 서로 바뀌고, 프롤로그는 0
+        contentIdMigration.remapLegacyIds(Map.of(
+                "events", List.of(
+                        new Object[]{1L, "하천", "시민", "녹조"},
+                        new Object[]{2L, "공장", "기자", "매연"},
+                        new Object[]{5L, "숲", "주민", "벌목"}),
+                "choices", List.of(
+                        new Object[]{1L, 1L, 0, 5, 0, 0, "", "정화"},
+                        new Object[]{3L, 2L, 5, 0, 0, 0, "", "규제"},
+                        new Object[]{2L, 2L, -5, 0, 0, 5, "", "방치"}),
+                "special_events", List.of(
+                        new Object[]{1L, "독성물", "하천 오염", "", 0, 0, 0, 0, 1},
+                        new Object[]{0L, "프롤로그", "우리는", "", 0, 0, 0, 0, 0})));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT choice_id FROM user_choice_history WHERE id = 1", Long.class))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT special_event_id FROM user_status_used_special_events WHERE user_status_id = 7", Long.class))
+                .containsExactlyInAnyOrder(0L, 1L);
+        Object[] usedEvents = jdbcTemplate.queryForObject("SELECT event_id FROM user_status WHERE user_id = 7",
+                (rs, rowNum) -> (Object[]) rs.getArray(1).getArray());
+        assertThat(usedEvents).extracting(id -> ((Number) id).longValue()).containsExactlyInAnyOrder(1L, 5L);
+    }
+}
@@ -0,0 +1,68 @@
+package com.klpj.blueplanet.model.importer;
+
+import com.klpj.blueplanet.model.importer.ContentPackWriter.SectionData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentPackTest {
+
+    @Test
+    void roundTripsRowsAndStrings() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "도시 생태계", -7, ""});
+        rows.add(new Object[]{2L, "도시 생태계", 5, null});
+        rows.add(new Object[]{10L, "quote \" and 😀", 0, "<="});
+        byte[] bytes = ContentPackWriter.write(List.of(
+                new SectionData("/data/a.xlsx", "abc", List.of("id", "title", "impact", "operator"), rows),
+                new SectionData("/data/empty.xlsx", "def", List.of("id", "keyword"), List.of())));
+
+        ContentPack pack = ContentPack.open(ByteBuffer.wrap(bytes));
+
+        ContentPack.Section section = pack.section("/data/a.xlsx");
+        assertThat(section.sha256()).isEqualTo("abc");
+        assertThat(section.columns()).containsExactly("id", "title", "impact", "operator");
+        assertThat(section.rowCount()).isEqualTo(3);
+        assertThat(section.row(2)).containsExactly(10L, "quote \" and 😀", 0, "<=");
+        assertThat(section.readRows()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(rows);
+
+        assertThat(pack.section("/data/empty.xlsx").readRows()).isEmpty();
+        assertThat(pack.section("/data/missing.xlsx")).isNull();
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThatThrownBy(() -> ContentPack.open(ByteBuffer.wrap(new byte[32])))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] bytes = ContentPackWriter.write(List.of());
+        ByteBuffer.wrap(bytes).putInt(4, ContentPack.FORMAT_VERSION + 1);
+        assertThatThrownBy(() -> ContentPack.open(ByteBuffer.wrap(bytes)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compiledPackMatchesWorkbooks() throws IOException {
+        ContentPack pack = ContentPack.open(ByteBuffer.wrap(ContentPackCompiler.compile(Path.of("src/main/resources/data"))));
+
+        for (ContentSheet sheet : ContentSheet.ALL) {
+            byte[] xlsx;
+            try (var in = getClass().getResourceAsStream(sheet.path())) {
+                xlsx = in.readAllBytes();
+            }
+            ContentPack.Section section = pack.section(sheet.path());
+            assertThat(section.sha256()).isEqualTo(ContentSheet.sha256(xlsx));
+            assertThat(section.columns()).isEqualTo(sheet.columns());
+            assertThat(section.readRows()).as(sheet.name())
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(sheet.readRows(xlsx));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.klpj.blueplanet.model.importer;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍 리더가 XSSFWorkbook과 같은 셀 값을 읽는지 실제 콘텐츠 파일로 확인합니다.
+ * (적재 시간과 최대 힙 사용량은 DataInitializer가 적재할 때 로그로 남김)
+ */
+class XlsxSheetReaderTest {
+
+    private static final String[] FILES = {
+            "/data/events/Regular_Events.xlsx",
+            "/data/events/Regular_Events_Choices.xlsx",
+            "/data/events/Regular_Events_Keyword.xlsx",
+            "/data/endings/Endings.xlsx",
+            "/data/special/SpecialEvent_test.xlsx",
+            "/data/special/SpecialEventCondition_test.xlsx",
+    };
+
+    @Test
+    void columnIndexFromCellReference() {
+        assertThat(XlsxSheetReader.columnIndex("A1")).isZero();
+        assertThat(XlsxSheetReader.columnIndex("H12")).isEqualTo(7);
+        assertThat(XlsxSheetReader.columnIndex("AA3")).isEqualTo(26);
+    }
+
+    @Test
+    void streamingReaderMatchesWorkbook() throws IOException {
+        for (String file : FILES) {
+            List<XlsxRow> streamed = stream(file);
+
+            try (InputStream in = getClass().getResourceAsStream(file);
+                 Workbook wb = new XSSFWorkbook(in)) {
+                int index = 0;
+                for (Row row : wb.getSheetAt(0)) {
+                    XlsxRow actual = streamed.get(index++);
+                    assertThat(actual.getRowNum()).as(file).isEqualTo(row.getRowNum());
+                    for (int c = 0; c < Math.max(row.getLastCellNum(), 0); c++) {
+                        assertCell(file, row.getCell(c), actual, c);
+                    }
+                }
+                assertThat(streamed).as(file).hasSize(index);
+            }
+        }
+    }
+
+    private static void assertCell(String file, Cell cell, XlsxRow actual, int column) {
+        String where = file + " row " + actual.getRowNum() + " col " + column;
+        if (cell == null || cell.getCellType() == CellType.BLANK) {
+            assertThat(actual.isEmpty(column)).as(where).isTrue();
+        } else if (cell.getCellType() == CellType.NUMERIC) {
+            assertThat(actual.isNumeric(column)).as(where).isTrue();
+            assertThat(actual.getNumber(column)).as(where).isEqualTo(cell.getNumericCellValue());
+        } else if (cell.getCellType() == CellType.STRING) {
+            assertThat(actual.getString(column)).as(where).isEqualTo(cell.getStringCellValue());
+        }
+    }
+
+    private List<XlsxRow> stream(String file) throws IOException {
+        List<XlsxRow> rows = new ArrayList<>();
+        try (InputStream in = getClass().getResourceAsStream(file)) {
+            XlsxSheetReader.read(in, rows::add);
+        }
+        return rows;
+    }
+}
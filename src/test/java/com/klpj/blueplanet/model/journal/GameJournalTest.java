@@ -0,0 +1,106 @@
+package com.klpj.blueplanet.model.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsOneGameAcrossRotatedAndCompressedSegments() throws Exception {
+        // 세그먼트를 작게 잡아 여러 번 넘어가게 함
+        GameJournal journal = new GameJournal(dir.toString(), 2_048, 100, 10_000, 64);
+        journal.start();
+        for (int turn = 0; turn < 100; turn++) {
+            journal.info("1_250101120000", "User {} selected choice {}.", 1, turn);
+            journal.info("2_250101120000", "User {} selected choice {}.", 2, turn);
+        }
+        journal.warn("1_250101120000", "multi\nline \\ message");
+        journal.stop();
+
+        List<String> game1 = journal.read("1_250101120000");
+        assertThat(game1).hasSize(101);
+        assertThat(game1.get(0)).contains("INFO  gameLog - User 1 selected choice 0.");
+        assertThat(game1.get(99)).endsWith("User 1 selected choice 99.");
+        assertThat(game1.get(100)).contains("WARN ").endsWith("multi\nline \\ message");
+        assertThat(journal.read("2_250101120000")).hasSize(100).allMatch(line -> line.contains("User 2 "));
+        assertThat(journal.read("unknown")).isEmpty();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(p -> p.getFileName().toString()).filter(name -> name.endsWith(".log.gz"))).isNotEmpty();
+        }
+
+        // 재시작하면 색인 파일로 복구
+        GameJournal restarted = new GameJournal(dir.toString(), 2_048, 100, 10_000, 64);
+        restarted.start();
+        restarted.info("1_250101120000", "after restart");
+        restarted.stop();
+        List<String> recovered = restarted.read("1_250101120000");
+        assertThat(recovered).hasSize(102);
+        assertThat(recovered.subList(0, 101)).isEqualTo(game1);
+        assertThat(recovered.get(101)).endsWith("after restart");
+    }
+
+    @Test
+    void dropsOldestSegmentsBeyondRetention() throws Exception {
+        GameJournal journal = new GameJournal(dir.toString(), 512, 3, 10_000, 8);
+        journal.start();
+        for (int i = 0; i < 200; i++) {
+            journal.info("g", "record {}", i);
+        }
+        journal.stop();
+
+        List<String> lines = journal.read("g");
+        assertThat(lines).isNotEmpty().hasSizeLessThan(200);
+        assertThat(lines.get(lines.size() - 1)).endsWith("record 199");
+    }
+
+    @Test
+    void rotationAndRetentionDropIndexEntries() throws Exception {
+        GameJournal journal = new GameJournal(dir.toString(), 512, 3, 10_000, 8);
+        journal.start();
+        for (int i = 0; i < 20; i++) {
+            journal.info("old_" + i, "record {}", i);
+        }
+        for (int i = 0; i < 200; i++) {
+            journal.info("g", "record {}", i);
+        }
+        journal.stop();
+
+        // 닫힌 세그먼트의 오프셋은 .idx로만 남고, 메모리에는 마지막 세그먼트(512바이트)의 레코드만 있음
+        assertThat(journal.offsetsInMemory()).isPositive().isLessThanOrEqualTo(512 / 40);
+        // 보존 세그먼트 밖으로 밀려난 게임은 색인에서 빠짐
+        assertThat(journal.indexedGames()).isEqualTo(1);
+        assertThat(journal.read("old_0")).isEmpty();
+        List<String> lines = journal.read("g");
+        assertThat(lines.size()).isGreaterThan(journal.offsetsInMemory());
+        assertThat(lines.get(lines.size() - 1)).endsWith("record 199");
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.filter(p -> p.getFileName().toString().endsWith(".idx"))).hasSizeLessThanOrEqualTo(3);
+        }
+
+        // 재시작하면 .idx에서 세그먼트 목록만 복구하고 오프셋은 읽을 때 가져옴
+        GameJournal restarted = new GameJournal(dir.toString(), 512, 3, 10_000, 8);
+        restarted.start();
+        assertThat(restarted.indexedGames()).isEqualTo(1);
+        assertThat(restarted.offsetsInMemory()).isZero();
+        assertThat(restarted.read("g")).isEqualTo(lines);
+        restarted.stop();
+    }
+
+    @Test
+    void normalizesClientSuppliedGameIds() {
+        assertThat(GameJournal.normalizeGameId(null)).isEqualTo(GameJournal.DEFAULT_GAME_ID);
+        assertThat(GameJournal.normalizeGameId("12_250101\t../x")).isEqualTo("12_250101____x");
+        assertThat(GameJournal.unescape(GameJournal.escape("a\\b\nc\rd"))).isEqualTo("a\\b\nc\rd");
+    }
+}
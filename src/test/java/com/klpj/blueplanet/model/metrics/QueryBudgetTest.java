@@ -0,0 +1,136 @@
+package com.klpj.blueplanet.model.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klpj.blueplanet.model.dao.EventDao;
+import com.klpj.blueplanet.model.services.OpenAiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 게임 한 판을 끝까지 진행하면서 모든 요청이 엔드포인트의 쿼리 예산(@QueryBudget) 안에 드는지 확인합니다.
+ * query-budget.fail-on-exceed=true이므로 예산을 넘긴 요청은 QueryBudgetExceededException으로 실패하고,
+ * 원인(cause)에 예산을 처음 넘긴 SQL과 그 실행 위치가 남습니다.
+ * 주기적 flush를 끄므로 엔딩/요약은 게임 전체의 대기 변경을 요청 안에서 쓰는 최악의 경우를 측정합니다.
+ */
+@SpringBootTest(properties = {
+        "query-budget.fail-on-exceed=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "game.session.flush-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetTest.OverBudgetController.class)
+class QueryBudgetTest {
+
+    private static final int NEXT_SPECIAL = 2;
+    private static final int NEXT_ENDING = 3;
+    private static final int MAX_STEPS = 100;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private OpenAiClient openAiClient;
+
+    @BeforeEach
+    void stubModel() {
+        when(openAiClient.completeAsync(anyString())).thenReturn(CompletableFuture.completedFuture("요약"));
+    }
+
+    @Test
+    void fullGameStaysWithinQueryBudgets() throws Exception {
+        JsonNode start = json(perform(get("/game/start")));
+        long userId = start.path("userStatus").path("userId").asLong();
+        int next = start.path("nextEvent").asInt();
+
+        int steps = 0;
+        while (next != NEXT_ENDING) {
+            assertThat(++steps).as("엔딩 도달").isLessThan(MAX_STEPS);
+            if (next == NEXT_SPECIAL) {
+                MvcResult special = perform(get("/game/special").param("userId", Long.toString(userId)));
+                // 204: 발동할 특별 이벤트 없음 → 상시 이벤트
+                next = special.getResponse().getStatus() == 204 ? 1 : json(special).path("nextEvent").asInt();
+                continue;
+            }
+            JsonNode event = json(perform(get("/game/common").param("userId", Long.toString(userId))));
+            long eventId = event.path("event").path("eventId").asLong();
+            long choiceId = event.path("choices").get(0).path("id").asLong();
+
+            perform(get("/game/hint").param("userId", Long.toString(userId)).param("eventId", Long.toString(eventId)));
+            JsonNode update = json(perform(post("/game/choice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"userStatusId\":" + userId + ",\"choiceId\":" + choiceId + "}")));
+            next = update.path("nextEvent").asInt();
+        }
+
+        byte[] ending = perform(get("/game/ending").param("userId", Long.toString(userId))).getResponse().getContentAsByteArray();
+        // 새로고침/재시도: 같은 엔딩을 다시 받음 (기록은 한 번)
+        byte[] again = perform(get("/game/ending").param("userId", Long.toString(userId))).getResponse().getContentAsByteArray();
+        assertThat(again).isEqualTo(ending);
+        perform(get("/gpt/summary").param("userId", Long.toString(userId)));
+        perform(get("/data/emailList").param("userId", Long.toString(userId)));
+        perform(get("/data/newsList").param("userId", Long.toString(userId)));
+    }
+
+    @Test
+    void requestOverBudgetFails() {
+        assertThatThrownBy(() -> mvc.perform(get("/test/over-budget")))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("SQL 3개, 예산 1개")
+                .cause().hasMessageContaining("쿼리 예산(1)을 넘긴 첫 SQL");
+    }
+
+    // CompletableFuture를 반환하는 엔드포인트는 비동기 디스패치까지 실행
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).as(result.getRequest().getRequestURI()).isLessThan(300);
+        return result;
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    @RestController
+    static class OverBudgetController {
+
+        @Autowired
+        private EventDao eventDao;
+
+        @QueryBudget(1)
+        @GetMapping("/test/over-budget")
+        long overBudget() {
+            // 요청 하나에서 SQL 3개
+            return eventDao.count() + eventDao.count() + eventDao.count();
+        }
+    }
+}
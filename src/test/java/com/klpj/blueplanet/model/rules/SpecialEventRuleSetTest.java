@@ -0,0 +1,238 @@
+package com.klpj.blueplanet.model.rules;
+
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.SpecialEventCondition;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.importer.ContentSheet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 컴파일한 특별 이벤트 규칙이 기존 groupingBy + allConditionsMatch 평가와 같은 이벤트를 고르는지 확인합니다.
+ */
+class SpecialEventRuleSetTest {
+
+    @Test
+    void picksLowestPriorityThenLowestId() {
+        Map<Long, SpecialEvent> events = Map.of(
+                1L, specialEvent(1L, 2),
+                2L, specialEvent(2L, 1),
+                3L, specialEvent(3L, 1));
+        // 입력 순서와 관계없이 (priority, id) 순서로 정렬
+        List<SpecialEventCondition> conditions = List.of(
+                condition(events.get(3L), "air", ">=", 0),
+                condition(events.get(1L), "air", ">=", 0),
+                condition(events.get(2L), "air", ">=", 0));
+        SpecialEventRuleSet rules = SpecialEventRuleSet.compile(conditions, priorities(events));
+
+        UserStatus status = status(50, 50, 50, 50);
+        assertThat(rules.findFirstMatch(status).getSpecialEventId()).isEqualTo(2L);
+
+        // 사용된 이벤트는 건너뜀
+        status.getUsedSpecialEventIds().add(2L);
+        assertThat(rules.findFirstMatch(status).getSpecialEventId()).isEqualTo(3L);
+        status.getUsedSpecialEventIds().add(3L);
+        assertThat(rules.findFirstMatch(status).getSpecialEventId()).isEqualTo(1L);
+        status.getUsedSpecialEventIds().add(1L);
+        assertThat(rules.findFirstMatch(status)).isNull();
+    }
+
+    @Test
+    void requiresEveryConditionOfAnEvent() {
+        SpecialEvent event = specialEvent(1L, 0);
+        SpecialEventRuleSet rules = SpecialEventRuleSet.compile(List.of(
+                condition(event, "air", ">=", 70),
+                condition(event, "water", "<", 30),
+                condition(event, "popularity", "==", 50)), Map.of(1L, 0));
+
+        assertThat(rules.size()).isEqualTo(1);
+        assertThat(rules.findFirstMatch(status(70, 29, 50, 50))).isNotNull();
+        assertThat(rules.findFirstMatch(status(69, 29, 50, 50))).isNull();
+        assertThat(rules.findFirstMatch(status(70, 30, 50, 50))).isNull();
+        assertThat(rules.findFirstMatch(status(70, 29, 50, 51))).isNull();
+    }
+
+    @Test
+    void operatorsAtTheThreshold() {
+        assertMatches(">", 49, false);
+        assertMatches(">", 50, false);
+        assertMatches(">", 51, true);
+
+        assertMatches(">=", 49, false);
+        assertMatches(">=", 50, true);
+        assertMatches(">=", 51, true);
+
+        assertMatches("<", 49, true);
+        assertMatches("<", 50, false);
+        assertMatches("<", 51, false);
+
+        assertMatches("<=", 49, true);
+        assertMatches("<=", 50, true);
+        assertMatches("<=", 51, false);
+
+        assertMatches("==", 49, false);
+        assertMatches("==", 50, true);
+        assertMatches("==", 51, false);
+
+        // 앞뒤 공백은 기존처럼 무시
+        assertMatches(" >= ", 50, true);
+    }
+
+    @Test
+    void excludesEventsWithAnUnknownOperator() {
+        SpecialEvent broken = specialEvent(1L, 0);
+        SpecialEvent valid = specialEvent(2L, 1);
+        SpecialEventRuleSet rules = SpecialEventRuleSet.compile(List.of(
+                condition(broken, "air", ">=", 0),
+                condition(broken, "water", "=>", 0),
+                condition(valid, "air", ">=", 0)), Map.of(1L, 0, 2L, 1));
+
+        // 기존 평가에서 알 수 없는 연산자는 항상 false였으므로 우선순위가 높아도 발동하지 않음
+        assertThat(rules.size()).isEqualTo(1);
+        assertThat(rules.findFirstMatch(status(50, 50, 50, 50)).getSpecialEventId()).isEqualTo(2L);
+    }
+
+    @Test
+    void unknownStatTypeReadsAsZero() {
+        SpecialEvent event = specialEvent(1L, 0);
+        SpecialEventRuleSet rules = SpecialEventRuleSet.compile(
+                List.of(condition(event, "temperature", "==", 0)), Map.of(1L, 0));
+
+        assertThat(rules.findFirstMatch(status(50, 50, 50, 50))).isNotNull();
+    }
+
+    @Test
+    void matchesGroupingByEvaluationOnBundledConditions() throws IOException {
+        Map<Long, SpecialEvent> events = new HashMap<>();
+        for (Object[] row : readSheet("special_events")) {
+            events.put((Long) row[0], specialEvent((Long) row[0], (Integer) row[8]));
+        }
+        List<SpecialEventCondition> conditions = new ArrayList<>();
+        for (Object[] row : readSheet("special_event_conditions")) {
+            SpecialEvent owner = events.get((Long) row[1]);
+            if (owner != null) {
+                conditions.add(condition(owner, (String) row[2], (String) row[3], (Integer) row[4]));
+            }
+        }
+        assertThat(conditions).isNotEmpty();
+        SpecialEventRuleSet rules = SpecialEventRuleSet.compile(conditions, priorities(events));
+
+        int triggered = 0;
+        for (int air = -5; air <= 105; air += 5) {
+            for (int water = -5; water <= 105; water += 5) {
+                for (int biology = -5; biology <= 105; biology += 5) {
+                    for (int popularity = -5; popularity <= 105; popularity += 5) {
+                        UserStatus status = status(air, water, biology, popularity);
+                        // 사용된 이벤트가 없을 때와, 처음 고른 이벤트를 사용한 뒤
+                        for (int round = 0; round < 2; round++) {
+                            SpecialEvent expected = legacyFirstTriggered(conditions, status);
+                            SpecialEventRule actual = rules.findFirstMatch(status);
+                            if (expected == null) {
+                                assertThat(actual).as("%s", status).isNull();
+                                break;
+                            }
+                            assertThat(actual).as("%s", status).isNotNull();
+                            assertThat(actual.getSpecialEventId()).as("%s", status).isEqualTo(expected.getId());
+                            triggered++;
+                            status.getUsedSpecialEventIds().add(expected.getId());
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(triggered).as("발동한 경우가 있어야 비교가 의미 있음").isPositive();
+    }
+
+    // 변경 전 GameService.getTriggeredSpecialEvents + triggerSpecialEventIfAny의 선택 (priority 순, 동률이면 id 순)
+    private static SpecialEvent legacyFirstTriggered(List<SpecialEventCondition> conditions, UserStatus status) {
+        Map<Long, List<SpecialEventCondition>> grouped = conditions.stream()
+                .collect(Collectors.groupingBy(cond -> cond.getSpecialEvent().getId()));
+        return grouped.entrySet().stream()
+                .filter(entry -> allConditionsMatch(entry.getValue(), status))
+                .filter(entry -> !status.getUsedSpecialEventIds().contains(entry.getKey()))
+                .map(entry -> entry.getValue().get(0).getSpecialEvent())
+                .min(Comparator.comparingInt(SpecialEvent::getPriority).thenComparing(SpecialEvent::getId))
+                .orElse(null);
+    }
+
+    private static boolean allConditionsMatch(List<SpecialEventCondition> conditions, UserStatus status) {
+        return conditions.stream().allMatch(cond -> {
+            int currentValue = switch (cond.getStatusType().toLowerCase().trim()) {
+                case "air" -> status.getAir();
+                case "water" -> status.getWater();
+                case "biology" -> status.getBiology();
+                case "popularity" -> status.getPopularity();
+                default -> 0;
+            };
+
+            return switch (cond.getOperator().trim()) {
+                case ">" -> currentValue > cond.getVariation();
+                case ">=" -> currentValue >= cond.getVariation();
+                case "<" -> currentValue < cond.getVariation();
+                case "<=" -> currentValue <= cond.getVariation();
+                case "==" -> currentValue == cond.getVariation();
+                default -> false;
+            };
+        });
+    }
+
+    private static void assertMatches(String operator, int air, boolean expected) {
+        SpecialEvent event = specialEvent(1L, 0);
+        SpecialEventRuleSet rules = SpecialEventRuleSet.compile(
+                List.of(condition(event, "air", operator, 50)), Map.of(1L, 0));
+        assertThat(rules.findFirstMatch(status(air, 50, 50, 50)) != null)
+                .as("air %d %s 50", air, operator)
+                .isEqualTo(expected);
+    }
+
+    private static List<Object[]> readSheet(String table) throws IOException {
+        ContentSheet sheet = ContentSheet.ALL.stream()
+                .filter(s -> s.table().equals(table))
+                .findFirst()
+                .orElseThrow();
+        try (InputStream in = SpecialEventRuleSetTest.class.getResourceAsStream(sheet.path())) {
+            return sheet.readRows(in.readAllBytes());
+        }
+    }
+
+    private static Map<Long, Integer> priorities(Map<Long, SpecialEvent> events) {
+        Map<Long, Integer> priorities = new HashMap<>();
+        events.values().forEach(e -> priorities.put(e.getId(), e.getPriority()));
+        return priorities;
+    }
+
+    private static SpecialEvent specialEvent(Long id, int priority) {
+        SpecialEvent specialEvent = new SpecialEvent();
+        specialEvent.setId(id);
+        specialEvent.setPriority(priority);
+        return specialEvent;
+    }
+
+    private static SpecialEventCondition condition(SpecialEvent owner, String statusType, String operator, int variation) {
+        SpecialEventCondition condition = new SpecialEventCondition();
+        condition.setSpecialEvent(owner);
+        condition.setStatusType(statusType);
+        condition.setOperator(operator);
+        condition.setVariation(variation);
+        return condition;
+    }
+
+    private static UserStatus status(int air, int water, int biology, int popularity) {
+        UserStatus status = new UserStatus();
+        status.setAir(air);
+        status.setWater(water);
+        status.setBiology(biology);
+        status.setPopularity(popularity);
+        return status;
+    }
+}
@@ -0,0 +1,104 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.dto.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdviceCacheTest {
+
+    private static final AdviceCache.Key KEY = new AdviceCache.Key(1, 1, 5, 5, 5, 5, 10L, "질문");
+
+    @Test
+    void normalizationIgnoresSpacingPunctuationAndCase() {
+        assertThat(AdviceCache.normalizeQuestion("질문", "  ＡＢＣ 발전소,   어떻게 할까요?! "))
+                .isEqualTo(AdviceCache.normalizeQuestion("질문", "abc 발전소 어떻게 할까요"));
+    }
+
+    @Test
+    void normalizationKeepsWordOrderAndRepetition() {
+        assertThat(AdviceCache.normalizeQuestion("질문", "1번 말고 2번"))
+                .isNotEqualTo(AdviceCache.normalizeQuestion("질문", "2번 말고 1번"));
+        assertThat(AdviceCache.normalizeQuestion("질문", "정말 정말 괜찮을까"))
+                .isNotEqualTo(AdviceCache.normalizeQuestion("질문", "정말 괜찮을까"));
+    }
+
+    @Test
+    void statusesInSameBucketShareKeyAndPromptState() {
+        AdviceCache cache = new AdviceCache(10, 60_000, 10);
+        UserStatus first = status(42, 57, 60, 9);
+        UserStatus second = status(48, 51, 69, 0);
+
+        UserStatus representative = cache.representative(first);
+        assertThat(cache.representative(second)).usingRecursiveComparison().isEqualTo(representative);
+        assertThat(representative.getAir()).isEqualTo(40);
+        assertThat(representative.getPopularity()).isZero();
+        assertThat(representative.getUsedEventIds()).containsExactly(3L);
+        assertThat(cache.keyOf(1, 1, first, 10L, "질문", "내용"))
+                .isEqualTo(cache.keyOf(1, 1, second, 10L, "질문", "내용"))
+                .isNotEqualTo(cache.keyOf(1, 1, second, 11L, "질문", "내용"));
+    }
+
+    private static UserStatus status(int air, int water, int biology, int popularity) {
+        UserStatus status = new UserStatus();
+        status.setUserId(1L);
+        status.setAir(air);
+        status.setWater(water);
+        status.setBiology(biology);
+        status.setPopularity(popularity);
+        status.setTurnCount(4);
+        status.getUsedEventIds().add(3L);
+        return status;
+    }
+
+    @Test
+    void disconnectingStreamOwnerKeepsCallForOtherSubscribers() {
+        AdviceCache cache = new AdviceCache(10, 60_000, 10);
+        CompletableFuture<String> call = new CompletableFuture<>();
+        List<Consumer<String>> upstream = new ArrayList<>();
+        List<String> ownerTokens = new ArrayList<>();
+
+        AdviceCache.Subscription owner = cache.subscribe(KEY, tokens -> {
+            upstream.add(tokens);
+            return call;
+        }, ownerTokens::add);
+        AdviceCache.Subscription waiter = cache.subscribe(KEY, tokens -> {
+            throw new AssertionError("진행 중인 호출에 합류해야 함");
+        }, token -> {
+        });
+        assertThat(owner.streaming()).isTrue();
+        assertThat(waiter.streaming()).isFalse();
+
+        upstream.get(0).accept("첫 ");
+        owner.cancel();
+        upstream.get(0).accept("토큰");
+        assertThat(call).isNotCancelled();
+        assertThat(ownerTokens).containsExactly("첫 ");
+
+        call.complete("첫 토큰");
+        assertThat(waiter.result()).isCompletedWithValue("첫 토큰");
+    }
+
+    @Test
+    void lastSubscriberLeavingCancelsCall() {
+        AdviceCache cache = new AdviceCache(10, 60_000, 10);
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        AdviceCache.Subscription owner = cache.subscribe(KEY, tokens -> call, token -> {
+            throw new IllegalStateException("연결 끊김");
+        });
+        AdviceCache.Subscription waiter = cache.subscribe(KEY, tokens -> call, null);
+
+        waiter.cancel();
+        assertThat(call).isNotCancelled();
+        owner.cancel();
+        owner.cancel(); // 연결 종료 콜백이 여러 번 불려도 한 번만 해제
+        assertThat(call).isCancelled();
+        assertThat(owner.result()).isCompletedExceptionally();
+    }
+}
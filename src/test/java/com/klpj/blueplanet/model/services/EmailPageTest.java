@@ -0,0 +1,142 @@
+package com.klpj.blueplanet.model.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klpj.blueplanet.controller.DataController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 메일함 목록의 keyset 페이지(before/since 커서)와 ETag(304)를 /data/emailList로 확인합니다.
+ * 조언 메일만 쓰므로 메일 id는 저장 순서와 같고, 목록은 최신순입니다.
+ * 주기적 flush를 끄므로 측정한 SQL 문은 모두 요청이 실행한 것입니다.
+ */
+@SpringBootTest(properties = "game.session.flush-interval-ms=3600000")
+@AutoConfigureMockMvc
+class EmailPageTest {
+
+    private static final int LIMIT = 2;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void pagesOlderWithBeforeAndNewerWithSince() throws Exception {
+        Long userId = gameService.startNewGame().getUserStatus().getUserId();
+        List<Long> ids = saveAdvice(userId, 5);
+
+        // 최신 페이지 → before로 오래된 페이지를 끝까지
+        MvcResult first = perform(list(userId));
+        assertThat(idsOf(first)).containsExactly(ids.get(4), ids.get(3));
+        String latest = first.getResponse().getHeader(DataController.LATEST_CURSOR_HEADER);
+        String next = first.getResponse().getHeader(DataController.NEXT_CURSOR_HEADER);
+        assertThat(latest).isNotNull();
+
+        MvcResult second = perform(list(userId).param("before", next));
+        assertThat(idsOf(second)).containsExactly(ids.get(2), ids.get(1));
+        assertThat(second.getResponse().getHeader(DataController.LATEST_CURSOR_HEADER)).isNull();
+
+        MvcResult last = perform(list(userId)
+                .param("before", second.getResponse().getHeader(DataController.NEXT_CURSOR_HEADER)));
+        assertThat(idsOf(last)).containsExactly(ids.get(0));
+        assertThat(last.getResponse().getHeader(DataController.NEXT_CURSOR_HEADER)).isNull();
+
+        // 새 메일 3개를 since로 받음: 한 페이지에 다 안 들어가면 X-Next-Cursor로 이어서 받고, 각 페이지는 최신순
+        List<Long> newer = saveAdvice(userId, 3);
+        MvcResult delta = perform(list(userId).param("since", latest));
+        assertThat(idsOf(delta)).containsExactly(newer.get(1), newer.get(0));
+        String more = delta.getResponse().getHeader(DataController.NEXT_CURSOR_HEADER);
+        assertThat(more).isEqualTo(delta.getResponse().getHeader(DataController.LATEST_CURSOR_HEADER));
+
+        MvcResult rest = perform(list(userId).param("since", more));
+        assertThat(idsOf(rest)).containsExactly(newer.get(2));
+        assertThat(rest.getResponse().getHeader(DataController.NEXT_CURSOR_HEADER)).isNull();
+
+        // 더 새 메일이 없으면 빈 목록과 같은 커서
+        String upToDate = rest.getResponse().getHeader(DataController.LATEST_CURSOR_HEADER);
+        MvcResult empty = perform(list(userId).param("since", upToDate));
+        assertThat(idsOf(empty)).isEmpty();
+        assertThat(empty.getResponse().getHeader(DataController.LATEST_CURSOR_HEADER)).isEqualTo(upToDate);
+    }
+
+    @Test
+    void unchangedListIsNotModified() throws Exception {
+        Long userId = gameService.startNewGame().getUserStatus().getUserId();
+        saveAdvice(userId, 3);
+
+        String etag = perform(list(userId)).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        double before = queries();
+        MvcResult cached = perform(list(userId).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(cached.getResponse().getStatus()).isEqualTo(304);
+        // 세션이 메모리에 있으므로 바뀌지 않은 메일함은 DB를 읽지 않음
+        assertThat(queries() - before).isZero();
+
+        // 다른 페이지 요청이나 새 메일이 생긴 목록은 ETag가 다름
+        assertThat(perform(list(userId, 3).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .getResponse().getStatus()).isEqualTo(200);
+        saveAdvice(userId, 1);
+        assertThat(perform(list(userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .getResponse().getStatus()).isEqualTo(200);
+    }
+
+    private double queries() {
+        return meterRegistry.get("db.queries").counter().count();
+    }
+
+    private List<Long> saveAdvice(Long userId, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(dataService.saveAdviceEmail(userId, 1L, "RE:질문", "조언").getId());
+        }
+        return ids;
+    }
+
+    private MockHttpServletRequestBuilder list(Long userId) {
+        return list(userId, LIMIT);
+    }
+
+    private MockHttpServletRequestBuilder list(Long userId, int limit) {
+        return get("/data/emailList")
+                .param("userId", userId.toString())
+                .param("limit", Integer.toString(limit));
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request).andReturn();
+    }
+
+    private List<Long> idsOf(MvcResult result) throws Exception {
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(result.getResponse().getContentAsByteArray())) {
+            ids.add(item.path("id").asLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,117 @@
+package com.klpj.blueplanet.model.services;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OpenAI 호환 스텁 서버를 띄워 OpenAiClient의 비동기 호출과 시간 제한을 확인합니다.
+ */
+class OpenAiClientTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private volatile long responseDelayMillis = 0;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/chat/completions", exchange -> {
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body;
+            if (request.contains("\"stream\":true")) {
+                body = ("data: {\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}\n\n"
+                        + "data: {\"choices\":[{\"delta\":{\"content\":\"안녕\"}}]}\n\n"
+                        + "data: {\"choices\":[{\"delta\":{\"content\":\"하세요\"}}]}\n\n"
+                        + "data: [DONE]\n\n").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            } else {
+                body = "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"안녕하세요\"}}]}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // 클라이언트가 시간 초과로 먼저 끊은 경우
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private OpenAiClient client(long readTimeoutMillis) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+        return new OpenAiClient(baseUrl, "test-key", "gpt-4o", 1000, readTimeoutMillis, 5000, 8, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void completeAsyncReturnsMessageContent() throws Exception {
+        OpenAiClient client = client(2000);
+        try {
+            String content = client.completeAsync("질문").get(5, TimeUnit.SECONDS);
+
+            assertThat(content).isEqualTo("안녕하세요");
+            assertThat(authorization.get()).isEqualTo("Bearer test-key");
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void streamDeliversTokensInOrderAndCompletesWithFullText() throws Exception {
+        OpenAiClient client = client(2000);
+        try {
+            List<String> tokens = new CopyOnWriteArrayList<>();
+            String content = client.stream("질문", tokens::add).get(5, TimeUnit.SECONDS);
+
+            assertThat(tokens).containsExactly("안녕", "하세요");
+            assertThat(content).isEqualTo("안녕하세요");
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void readTimeoutCompletesFutureExceptionally() {
+        responseDelayMillis = 1000;
+        OpenAiClient client = client(200);
+        try {
+            CompletableFuture<String> future = client.completeAsync("질문");
+
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class);
+        } finally {
+            client.shutdown();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.dao.ChoiceDao;
+import com.klpj.blueplanet.model.dao.EventDao;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.metrics.GameMetrics;
+import com.klpj.blueplanet.model.session.GameSessionCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * processChoice 한 턴이 DB에 쓰일 때 실행되는 SQL 문 수를 측정합니다.
+ * 턴 처리는 메모리에서 끝나고, 세션 flush 때 한 트랜잭션에서 game_event INSERT와 inbox_message INSERT만 씁니다.
+ * user_status는 스냅샷 주기(game.event.snapshot-interval)마다 game_snapshot과 함께 갱신합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "game.session.flush-interval-ms=3600000" // 주기적 flush가 측정에 끼어들지 않도록
+})
+@Import({GameService.class, ContentCatalogService.class, GameSessionCache.class, SummaryPromptBuilder.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // processChoice가 자기 트랜잭션을 커밋하도록 테스트 트랜잭션을 끔
+class ProcessChoiceStatementCountTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ContentCatalogService contentCatalogService;
+
+    @Autowired
+    private GameSessionCache gameSessionCache;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private ChoiceDao choiceDao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private GameMetrics gameMetrics;
+
+    @Test
+    void processChoiceWritesOneGameEventAndOneInboxInsertPerTurn() {
+        Event event = new Event();
+        event.setTitle("테스트 이벤트");
+        event.setContent("내용");
+        event = eventDao.save(event);
+
+        Choice choice = new Choice();
+        choice.setEvent(event);
+        choice.setContent("선택지");
+        choice.setAirImpact(1);
+        choiceDao.save(choice);
+
+        contentCatalogService.reload();
+        Long userId = gameService.startNewGame().getUserStatus().getUserId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // pooled 시퀀스는 처음 두 번의 nextval로 id 블록을 잡으므로, 블록이 잡힌 세 번째 턴을 측정
+        for (int turn = 0; turn < 2; turn++) {
+            gameService.processChoice(userId, choice.getId());
+            gameSessionCache.flush(userId);
+        }
+        statistics.clear();
+        gameService.processChoice(userId, choice.getId());
+        gameSessionCache.flush(userId);
+
+        // 스냅샷 주기 전이므로 INSERT game_event + INSERT inbox_message (user_status 조회/갱신 없음)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+    }
+}
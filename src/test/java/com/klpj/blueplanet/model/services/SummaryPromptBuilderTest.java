@@ -0,0 +1,84 @@
+package com.klpj.blueplanet.model.services;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.UserChoiceHistory;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import com.klpj.blueplanet.model.rules.SpecialEventRuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 긴 선택 이력으로 만든 요약 프롬프트의 내용을 검증합니다. (작성 시간은 JMH SummaryBenchmark에서 측정)
+ */
+class SummaryPromptBuilderTest {
+
+    private static final int EVENT_COUNT = 200;
+
+    @Test
+    void buildPromptForLongHistories() {
+        ContentCatalog catalog = catalog();
+        UserStatus status = new UserStatus();
+        status.setAir(42);
+        status.setWater(57);
+        status.setBiology(61);
+        status.setPopularity(38);
+
+        SummaryPromptBuilder builder = new SummaryPromptBuilder();
+
+        for (int turns : new int[]{20, 100, 500}) {
+            List<UserChoiceHistory> history = history(turns);
+
+            String prompt = builder.build(7L, status, history, catalog);
+            assertThat(prompt).startsWith(SummaryPromptBuilder.PREAMBLE);
+            assertThat(prompt).contains("대기: 42, 수질: 57, 생물: 61, 지지도: 38");
+            assertThat(prompt.split("이벤트 : ", -1)).hasSize(turns + 1);
+            assertThat(prompt).doesNotContain("알 수 없는");
+            // 빌더를 재사용해도 같은 프롬프트
+            assertThat(builder.build(7L, status, history, catalog)).isEqualTo(prompt);
+        }
+    }
+
+    private static ContentCatalog catalog() {
+        List<Event> events = new ArrayList<>();
+        List<Choice> choices = new ArrayList<>();
+        Map<Long, Long> choiceEventIds = new HashMap<>();
+        for (long eventId = 1; eventId <= EVENT_COUNT; eventId++) {
+            Event event = new Event();
+            event.setId(eventId);
+            event.setTitle("이벤트 제목 " + eventId + " - 도시 환경 정책 검토");
+            event.setContent("내용");
+            events.add(event);
+            for (int c = 0; c < 2; c++) {
+                Choice choice = new Choice();
+                long choiceId = eventId * 10 + c;
+                choice.setId(choiceId);
+                choice.setContent("선택지 " + choiceId + ": 예산을 투입하여 대응한다");
+                choices.add(choice);
+                choiceEventIds.put(choiceId, eventId);
+            }
+        }
+        return new ContentCatalog(1L, events, choices, choiceEventIds,
+                List.of(), List.of(), List.of(), SpecialEventRuleSet.EMPTY);
+    }
+
+    private static List<UserChoiceHistory> history(int turns) {
+        List<UserChoiceHistory> history = new ArrayList<>(turns);
+        for (int i = 0; i < turns; i++) {
+            long eventId = (i % EVENT_COUNT) + 1;
+            UserChoiceHistory row = new UserChoiceHistory();
+            row.setUserStatusId(7L);
+            row.setEventId(eventId);
+            row.setChoiceId(eventId * 10 + (i % 2));
+            history.add(row);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,100 @@
+package com.klpj.blueplanet.model.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameCommandExecutorTest {
+
+    private final GameCommandExecutor executor = new GameCommandExecutor(4, 2);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsOneGameInSubmitOrderWithoutOverlap() throws Exception {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int command = i;
+            results.add(executor.submit(1L, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                order.add(command);
+                if (command % 3 == 0) {
+                    Thread.yield(); // 다른 워커가 끼어들 틈을 줌
+                }
+                running.decrementAndGet();
+                if (command == 50) {
+                    throw new IllegalStateException("실패한 명령"); // 앞선 명령이 실패해도 다음 명령은 실행됨
+                }
+                return command;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).exceptionally(e -> null).get(10, TimeUnit.SECONDS);
+
+        assertThat(overlapped).isFalse();
+        assertThat(order).hasSize(200);
+        for (int i = 0; i < 200; i++) {
+            assertThat(order.get(i)).isEqualTo(i);
+        }
+        assertThat(results.get(50)).isCompletedExceptionally();
+        assertThat(results.get(199).get()).isEqualTo(199);
+    }
+
+    @Test
+    void runsDifferentGamesConcurrently() throws Exception {
+        // 게임 1의 명령은 게임 2의 명령이 실행되어야만 끝나므로, 두 게임이 한 줄로 실행되면 시간 초과
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = executor.submit(1L, () -> await(secondStarted));
+        CompletableFuture<Boolean> second = executor.submit(2L, () -> {
+            secondStarted.countDown();
+            return true;
+        });
+
+        assertThat(second.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void blockedGameDoesNotHoldBackOthers() throws Exception {
+        // 워커 4개 중 3개가 느린 DB 작업처럼 막혀 있어도 다른 게임의 명령은 실행됨
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> blocked = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++) {
+            blocked.add(executor.submit(userId, () -> await(release)));
+        }
+        for (long userId = 10; userId < 20; userId++) {
+            assertThat(executor.submit(userId, () -> true).get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        release.countDown();
+        for (CompletableFuture<Boolean> future : blocked) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.klpj.blueplanet.model.session;
+
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.dto.GameSnapshot;
+import com.klpj.blueplanet.model.dto.SpecialEvent;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameProjectionTest {
+
+    @Test
+    void replayFromSnapshotMatchesLiveSession() {
+        UserStatus initial = initialStatus();
+        GameSession session = new GameSession(initial, 0);
+        GameSnapshot start = GameSnapshot.of(initial);
+
+        List<GameEvent> events = new ArrayList<>();
+        events.add(session.apply(GameEvent.ofChoice(event(1), choice(10, 5, -3, 0, 2))));
+        events.add(session.apply(GameEvent.ofSpecialEvent(specialEvent(100, -10, 0, 4, 0))));
+        events.add(session.apply(GameEvent.ofChoice(event(2), choice(20, 0, 7, -1, -5))));
+        GameSnapshot middle = GameSnapshot.of(session.getStatus());
+        events.add(session.apply(GameEvent.ofChoice(event(3), choice(30, 1, 1, 1, 1))));
+        events.add(session.apply(GameEvent.ofEnding(9)));
+
+        UserStatus fromStart = GameProjection.replay(start.toStatus(), events);
+        UserStatus fromMiddle = GameProjection.replay(middle.toStatus(), events);
+
+        for (UserStatus rebuilt : List.of(fromStart, fromMiddle)) {
+            assertThat(rebuilt.getEventSeq()).isEqualTo(5);
+            assertThat(rebuilt.getTurnCount()).isEqualTo(4);
+            assertThat(rebuilt.getAir()).isEqualTo(session.getStatus().getAir());
+            assertThat(rebuilt.getWater()).isEqualTo(session.getStatus().getWater());
+            assertThat(rebuilt.getBiology()).isEqualTo(session.getStatus().getBiology());
+            assertThat(rebuilt.getPopularity()).isEqualTo(session.getStatus().getPopularity());
+            assertThat(rebuilt.getUsedEventIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+            assertThat(rebuilt.getUsedSpecialEventIds()).containsExactly(100L);
+            assertThat(rebuilt.getEndingId()).isEqualTo(9);
+        }
+        assertThat(session.hasEnded()).isTrue();
+        // 엔딩 이후 세션을 다시 불러와도 끝난 게임으로 남음
+        assertThat(new GameSession(fromMiddle, middle.getSeq()).hasEnded()).isTrue();
+    }
+
+    @Test
+    void replayToTurnStopsBeforeThatTurnsChoice() {
+        UserStatus initial = initialStatus();
+        GameSession session = new GameSession(initial, 0);
+
+        List<GameEvent> events = new ArrayList<>();
+        events.add(session.apply(GameEvent.ofChoice(event(1), choice(10, 5, 0, 0, 0))));   // 1턴 선택
+        events.add(session.apply(GameEvent.ofSpecialEvent(specialEvent(100, 0, 3, 0, 0)))); // 2턴 시작 시 특별 이벤트
+        events.add(session.apply(GameEvent.ofChoice(event(2), choice(20, 0, 0, 7, 0))));   // 2턴 선택
+
+        UserStatus turn2 = GameProjection.replayToTurn(GameSnapshot.of(initial).toStatus(), events, 2);
+        assertThat(turn2.getTurnCount()).isEqualTo(2);
+        assertThat(turn2.getEventSeq()).isEqualTo(2);
+        assertThat(turn2.getAir()).isEqualTo(55);
+        assertThat(turn2.getWater()).isEqualTo(53);
+        assertThat(turn2.getBiology()).isEqualTo(50);
+        assertThat(turn2.getUsedEventIds()).containsExactly(1L);
+        assertThat(turn2.getUsedSpecialEventIds()).containsExactly(100L);
+
+        UserStatus turn1 = GameProjection.replayToTurn(GameSnapshot.of(initial).toStatus(), events, 1);
+        assertThat(turn1.getEventSeq()).isZero();
+        assertThat(turn1.getUsedEventIds()).isEmpty();
+    }
+
+    @Test
+    void rejectsGapInEventSequence() {
+        UserStatus status = initialStatus();
+        GameEvent event = GameEvent.ofEnding(1);
+        event.setSeq(2);
+
+        assertThatThrownBy(() -> GameProjection.apply(status, event)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void requeuedBatchIsDrainedBeforeLaterEvents() {
+        GameSession session = new GameSession(initialStatus(), 0);
+        session.apply(GameEvent.ofChoice(event(1), choice(10, 1, 0, 0, 0)));
+        session.apply(GameEvent.ofChoice(event(2), choice(20, 1, 0, 0, 0)));
+        GameSession.FlushBatch inFlight = session.drain();
+
+        // 주기적 flush가 쓰는 사이 새 턴이 진행되고, 이전 변경은 쓰기에 실패해 되돌려짐
+        session.apply(GameEvent.ofChoice(event(3), choice(30, 1, 0, 0, 0)));
+        session.requeue(inFlight);
+        assertThat(session.isDirty()).isTrue();
+
+        GameSession.FlushBatch batch = session.drain();
+        assertThat(batch.events()).extracting(GameEvent::getSeq).containsExactly(1, 2, 3);
+        assertThat(batch.status().getEventSeq()).isEqualTo(3);
+        assertThat(session.isDirty()).isFalse();
+    }
+
+    private static UserStatus initialStatus() {
+        UserStatus status = new UserStatus();
+        status.setUserId(1L);
+        status.setAir(50);
+        status.setWater(50);
+        status.setBiology(50);
+        status.setPopularity(50);
+        status.setTurnCount(1);
+        return status;
+    }
+
+    private static Event event(long id) {
+        Event event = new Event();
+        event.setId(id);
+        return event;
+    }
+
+    private static Choice choice(long id, int air, int water, int biology, int popularity) {
+        Choice choice = new Choice();
+        choice.setId(id);
+        choice.setAirImpact(air);
+        choice.setWaterImpact(water);
+        choice.setBiologyImpact(biology);
+        choice.setPopularityImpact(popularity);
+        return choice;
+    }
+
+    private static SpecialEvent specialEvent(long id, int air, int water, int biology, int popularity) {
+        SpecialEvent specialEvent = new SpecialEvent();
+        specialEvent.setId(id);
+        specialEvent.setAirImpact(air);
+        specialEvent.setWaterImpact(water);
+        specialEvent.setBiologyImpact(biology);
+        specialEvent.setPopularityImpact(popularity);
+        return specialEvent;
+    }
+}
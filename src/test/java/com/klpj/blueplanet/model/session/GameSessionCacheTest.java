@@ -0,0 +1,102 @@
+package com.klpj.blueplanet.model.session;
+
+import com.klpj.blueplanet.model.dao.GameEventDao;
+import com.klpj.blueplanet.model.dto.Choice;
+import com.klpj.blueplanet.model.dto.Event;
+import com.klpj.blueplanet.model.dto.GameEvent;
+import com.klpj.blueplanet.model.dto.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔딩까지 간 게임을 마지막 턴으로 되돌리는 경우 (게임 종료 시 저장된 스냅샷에는 엔딩이 반영되어 있음)와
+ * 여러 게임을 함께 쓰다 한 게임의 이벤트 순번이 충돌한 경우
+ */
+@DataJpaTest
+@Import(GameSessionCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 캐시가 직접 트랜잭션을 열고 커밋함
+class GameSessionCacheTest {
+
+    @Autowired
+    private GameSessionCache gameSessionCache;
+
+    @Autowired
+    private GameEventDao gameEventDao;
+
+    @Test
+    void rewindToEndingTurnDropsTheEnding() {
+        Long userId = gameSessionCache.create(initialStatus()).getUserId();
+        for (long id = 1; id <= 3; id++) {
+            choose(userId, id);
+        }
+        gameSessionCache.execute(userId, session -> session.apply(GameEvent.ofEnding(9)));
+        gameSessionCache.finish(userId);
+
+        // 세션을 내린 뒤에도 선택 3번의 메일함 버전이 남고, 되돌리면 메일함이 바뀌므로 버전이 올라감
+        assertThat(gameSessionCache.getInboxVersion(userId)).isEqualTo(3);
+        UserStatus rewound = gameSessionCache.rewind(userId, 4);
+        assertThat(rewound.getInboxVersion()).isEqualTo(4);
+        assertThat(rewound.getTurnCount()).isEqualTo(4);
+        assertThat(rewound.getEventSeq()).isEqualTo(3);
+        assertThat(rewound.getEndingId()).isZero();
+        assertThat(gameEventDao.findByUserStatusIdAndTypeOrderBySeqAsc(userId, GameEvent.TYPE_ENDING)).isEmpty();
+
+        // 되돌린 뒤 계속 진행하고, 더 이전 턴으로도 되돌릴 수 있음
+        choose(userId, 4);
+        gameSessionCache.flush(userId);
+        UserStatus earlier = gameSessionCache.rewind(userId, 2);
+        assertThat(earlier.getTurnCount()).isEqualTo(2);
+        assertThat(earlier.getEndingId()).isZero();
+        assertThat(earlier.getUsedEventIds()).containsExactly(1L);
+    }
+
+    @Test
+    void seqConflictInMultiGameFlushKeepsTheOtherGame() {
+        Long conflicted = gameSessionCache.create(initialStatus()).getUserId();
+        Long other = gameSessionCache.create(initialStatus()).getUserId();
+        choose(conflicted, 1);
+        choose(other, 1);
+        choose(other, 2);
+
+        // 다른 서버가 같은 게임의 1번 이벤트를 먼저 기록한 경우
+        GameEvent foreign = GameEvent.ofEnding(9);
+        foreign.setUserStatusId(conflicted);
+        foreign.setSeq(1);
+        foreign.setTurn(1);
+        gameEventDao.save(foreign);
+
+        // 두 게임을 한 트랜잭션으로 쓰다 실패하면 게임별로 다시 쓰며, 롤백된 INSERT의 id는 다시 할당받음
+        gameSessionCache.flushDirty();
+
+        assertThat(gameEventDao.findByUserStatusIdAndTypeOrderBySeqAsc(other, GameEvent.TYPE_CHOICE))
+                .extracting(GameEvent::getSeq)
+                .containsExactly(1, 2);
+        assertThat(gameEventDao.findByUserStatusIdAndTypeOrderBySeqAsc(conflicted, GameEvent.TYPE_CHOICE)).isEmpty();
+        assertThat(gameSessionCache.getStatus(conflicted).getEndingId()).isEqualTo(9);
+    }
+
+    private void choose(Long userId, long id) {
+        Event event = new Event();
+        event.setId(id);
+        Choice choice = new Choice();
+        choice.setId(id * 10);
+        choice.setAirImpact(1);
+        gameSessionCache.execute(userId, session -> session.apply(GameEvent.ofChoice(event, choice)));
+    }
+
+    private static UserStatus initialStatus() {
+        UserStatus status = new UserStatus();
+        status.setAir(50);
+        status.setWater(50);
+        status.setBiology(50);
+        status.setPopularity(50);
+        status.setTurnCount(1);
+        return status;
+    }
+}
@@ -0,0 +1,84 @@
+package com.klpj.blueplanet.model.simulation;
+
+import com.klpj.blueplanet.model.catalog.ContentCatalog;
+import com.klpj.blueplanet.model.rules.GameRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaythroughSimulatorTest {
+
+    @Test
+    void sameSeedGivesSameResultRegardlessOfParallelism() {
+        PlaythroughSimulator simulator = new PlaythroughSimulator(catalog(new int[]{8, -7}));
+        SimulationOptions options = new SimulationOptions(20_000, ChoicePolicy.RANDOM, 42L, GameRules.ENDING_TURN);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            SimulationReport a = simulator.run(options, single);
+            SimulationReport b = simulator.run(options, parallel);
+
+            assertThat(b.endings()).isEqualTo(a.endings());
+            assertThat(b.specialEvents()).isEqualTo(a.specialEvents());
+            assertThat(b.choices()).isEqualTo(a.choices());
+            assertThat(a.endings().stream().mapToLong(SimulationReport.EndingStat::count).sum()).isEqualTo(20_000);
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void followsGameRulesToTheEnding() {
+        // 모든 선택지가 대기 +20: 50 → 70(특별 이벤트 발동, 수질 -10) → 90 → 110 → 대기 high 엔딩(2)
+        PlaythroughSimulator simulator = new PlaythroughSimulator(catalog(new int[]{20}));
+        SimulationReport report = simulator.run(
+                new SimulationOptions(1_000, ChoicePolicy.BALANCED, 7L, GameRules.ENDING_TURN), ForkJoinPool.commonPool());
+
+        assertThat(report.endings()).extracting(SimulationReport.EndingStat::endingId).containsExactly(2);
+        assertThat(report.averageTurns()).isEqualTo(4.0);
+        assertThat(report.specialEvents()).singleElement()
+                .satisfies(s -> assertThat(s.triggerRate()).isEqualTo(1.0));
+    }
+
+    @Test
+    void earlierEndingTurnEndsGamesByAverage() {
+        PlaythroughSimulator simulator = new PlaythroughSimulator(catalog(new int[]{0}));
+        SimulationReport report = simulator.run(
+                new SimulationOptions(100, ChoicePolicy.RANDOM, 1L, 5), ForkJoinPool.commonPool());
+
+        // 수치가 변하지 않으므로 5턴에 평균 50으로 엔딩 9
+        assertThat(report.endings()).extracting(SimulationReport.EndingStat::endingId).containsExactly(9);
+        assertThat(report.averageTurns()).isEqualTo(5.0);
+        assertThat(report.choices()).allSatisfy(c -> assertThat(c.sensitivity()).isZero());
+    }
+
+    // 이벤트 30개, 이벤트마다 airImpacts 개수만큼의 선택지, 대기 60 이상이면 발동하는 특별 이벤트 하나
+    private static ContentCatalog catalog(int[] airImpacts) {
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> choices = new ArrayList<>();
+        long choiceId = 1;
+        for (long eventId = 1; eventId <= 30; eventId++) {
+            events.add(new Object[]{eventId, "이벤트 " + eventId, "작성자", "내용"});
+            for (int air : airImpacts) {
+                choices.add(new Object[]{choiceId, eventId, air, 0, 0, 0, "결과", "선택지 " + choiceId++});
+            }
+        }
+        List<Object[]> endings = new ArrayList<>();
+        for (long id = 1; id <= GameRules.ENDING_COUNT; id++) {
+            endings.add(new Object[]{id, "엔딩 " + id, "내용", ""});
+        }
+        return SimulationCli.buildCatalog(Map.of(
+                "events", events,
+                "choices", choices,
+                "endings", endings,
+                "special_events", List.<Object[]>of(new Object[]{1L, "특별", "내용", "", 0, -10, 0, 0, 0}),
+                "special_event_conditions", List.<Object[]>of(new Object[]{1L, 1L, "air", ">=", 60})));
+    }
+}